@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.benchmarks
+
+import io.frinx.unitopo.unit.utils.As
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Conversion of the AS numbers of 1000 peers to typed XR dot notation halves, as done when rendering neighbors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+open class AsConversionBenchmark {
+
+    private lateinit var asNumbers: List<AsNumber>
+
+    private val ranges = As.Ranges { BgpAsRange(it) }
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        // mix of 2-byte and 4-byte AS numbers
+        asNumbers = (0 until PEERS).map { AsNumber(if (it % 2 == 0) 65001L + it else 4200000000L + it) }
+    }
+
+    @Benchmark
+    fun pairAndNewRanges(blackhole: Blackhole) {
+        asNumbers.forEach {
+            val (asXX, asYY) = As.asToDotNotation(it)
+            blackhole.consume(BgpAsRange(asXX))
+            blackhole.consume(BgpAsRange(asYY))
+        }
+    }
+
+    @Benchmark
+    fun halvesAndInternedRanges(blackhole: Blackhole) {
+        asNumbers.forEach {
+            blackhole.consume(ranges.get(As.asXx(it)))
+            blackhole.consume(ranges.get(As.asYy(it)))
+        }
+    }
+
+    companion object {
+        private const val PEERS = 1000
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.benchmarks
+
+import com.google.common.base.Optional
+import com.google.common.util.concurrent.CheckedFuture
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.NetconfAccessHelper
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import org.mockito.Mockito
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.openjdk.jmh.annotations.AuxCounters
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Base of benchmark suites reading from a [NetconfAccessHelper] loaded with a generated fixture of [size] list
+ * entries.
+ */
+@State(Scope.Benchmark)
+abstract class UnderlayBenchmark {
+
+    @Param("10", "1000", "10000")
+    @JvmField
+    var size: Int = 0
+
+    protected lateinit var access: CountingUnderlayAccess
+
+    /**
+     * Reply with [size] entries of the benchmarked list.
+     */
+    protected abstract fun fixture(size: Int): Fixture
+
+    /**
+     * Reported as the current operation type, handlers mixing config and oper data only read in OPERATIONAL.
+     */
+    protected open val operationType = LogicalDatastoreType.CONFIGURATION
+
+    @Setup(Level.Trial)
+    fun setUpAccess() {
+        access = CountingUnderlayAccess(fixture(size).toAccess(), operationType)
+    }
+
+    /**
+     * Run [read] within a fresh read transaction, underlay reads it issued are added to [counters].
+     */
+    protected fun <T> readTransaction(counters: UnderlayReads, read: (ReadContext) -> T): T {
+        val before = access.readCount
+        val result = read(readContext())
+        counters.underlayReads += access.readCount - before
+        return result
+    }
+
+    private fun readContext(): ReadContext {
+        val readContext = Mockito.mock(ReadContext::class.java)
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        return readContext
+    }
+}
+
+/**
+ * Underlay reads issued by a benchmark, reported by JMH as total per iteration.
+ */
+@AuxCounters(AuxCounters.Type.EVENTS)
+@State(Scope.Thread)
+open class UnderlayReads {
+
+    @JvmField
+    var underlayReads: Long = 0
+
+    @Setup(Level.Iteration)
+    fun reset() {
+        underlayReads = 0
+    }
+}
+
+class CountingUnderlayAccess(
+    private val delegate: UnderlayAccess,
+    private val operationType: LogicalDatastoreType
+) : UnderlayAccess by delegate {
+
+    private val reads = AtomicLong()
+
+    val readCount: Long
+        get() = reads.get()
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>): CheckedFuture<Optional<T>, ReadFailedException> {
+        reads.incrementAndGet()
+        return delegate.read(path)
+    }
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>, type: LogicalDatastoreType):
+        CheckedFuture<Optional<T>, ReadFailedException> {
+        reads.incrementAndGet()
+        return delegate.read(path, type)
+    }
+
+    override fun getCurrentOperationType(): LogicalDatastoreType = operationType
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.benchmarks
+
+import org.openjdk.jmh.profile.GCProfiler
+import org.openjdk.jmh.runner.Runner
+import org.openjdk.jmh.runner.options.CommandLineOptions
+import org.openjdk.jmh.runner.options.OptionsBuilder
+
+/**
+ * Runs the benchmarks with JMH command line options, allocation rate is always reported.
+ *
+ * E.g. java -jar target/benchmarks.jar XrBgpNeighborBenchmark -p size=1000
+ */
+fun main(args: Array<String>) {
+    val options = OptionsBuilder()
+        .parent(CommandLineOptions(*args))
+        .addProfiler(GCProfiler::class.java)
+        .build()
+    Runner(options).run()
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.benchmarks
+
+import io.frinx.openconfig.openconfig.interfaces.IIDs
+import io.frinx.unitopo.unit.junos18.acl.handler.AclInterfaceReader
+import io.frinx.unitopo.unit.junos18.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.JunosFixtures
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+import io.frinx.openconfig.openconfig.acl.IIDs as AclIIDs
+
+/**
+ * Listing of Junos 18 interfaces and of interfaces with ACLs applied.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+open class JunosInterfaceBenchmark : UnderlayBenchmark() {
+
+    override fun fixture(size: Int): Fixture {
+        val scale = FixtureScale(interfaces = Math.max(1, size / 10), subinterfacesPerInterface = 9)
+        return Fixture(JunosFixtures.configuration(scale, true, false))
+    }
+
+    @Benchmark
+    fun readInterfaceIds(counters: UnderlayReads) = readTransaction(counters) {
+        InterfaceReader(access).getAllIds(IIDs.IN_INTERFACE, it)
+    }
+
+    @Benchmark
+    fun readAclInterfaceIds(counters: UnderlayReads) = readTransaction(counters) {
+        AclInterfaceReader(access).getAllIds(AclIIDs.AC_IN_INTERFACE, it)
+    }
+}
\ No newline at end of file
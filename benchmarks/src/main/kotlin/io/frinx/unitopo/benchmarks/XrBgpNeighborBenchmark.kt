@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.benchmarks
+
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborConfigReader
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborReader
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.Config
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.ConfigBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Neighbors
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.NetworkInstances
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.BGP
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Listing of XR 6 BGP neighbors in the default VRF together with their config.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+open class XrBgpNeighborBenchmark : UnderlayBenchmark() {
+
+    override fun fixture(size: Int) = Fixture(XrFixtures.bgp(FixtureScale(bgpNeighbors = size)))
+
+    @Benchmark
+    fun readNeighbors(counters: UnderlayReads, blackhole: Blackhole) {
+        readTransaction(counters) { ctx ->
+            val configReader = NeighborConfigReader(access)
+            NeighborReader(access).getAllIds(NEIGHBORS, ctx).forEach {
+                val builder = ConfigBuilder()
+                configReader.readCurrentAttributes(NEIGHBORS_ID.child(Neighbor::class.java, it)
+                    .child(Config::class.java), builder, ctx)
+                blackhole.consume(builder.build())
+            }
+        }
+    }
+
+    companion object {
+        private val NEIGHBORS_ID = InstanceIdentifier.create(NetworkInstances::class.java)
+            .child(NetworkInstance::class.java, NetworInstance.DEFAULT_NETWORK)
+            .child(Protocols::class.java)
+            .child(Protocol::class.java, ProtocolKey(BGP::class.java, "default"))
+            .child(Bgp::class.java)
+            .child(Neighbors::class.java)
+
+        private val NEIGHBORS = NEIGHBORS_ID.child(Neighbor::class.java)
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.benchmarks
+
+import io.frinx.openconfig.openconfig.interfaces.IIDs
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.subifc.SubinterfaceReader
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.Interface
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.Subinterfaces
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.subinterfaces.Subinterface
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Listing of XR 6 interfaces and their subinterfaces.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+open class XrInterfaceBenchmark : UnderlayBenchmark() {
+
+    override fun fixture(size: Int): Fixture {
+        val scale = FixtureScale(interfaces = Math.max(1, size / 10), subinterfacesPerInterface = 9)
+        return Fixture(XrFixtures.interfaceConfigurations(scale), XrFixtures.interfaceProperties(scale))
+    }
+
+    @Benchmark
+    fun readInterfaceIds(counters: UnderlayReads, blackhole: Blackhole) {
+        readTransaction(counters) { ctx ->
+            val subinterfaceReader = SubinterfaceReader(access)
+            InterfaceReader(access).getAllIds(IIDs.IN_INTERFACE, ctx).forEach {
+                val subifcId = IIDs.INTERFACES
+                    .child(Interface::class.java, it)
+                    .child(Subinterfaces::class.java)
+                    .child(Subinterface::class.java)
+                blackhole.consume(subinterfaceReader.getAllIds(subifcId, ctx))
+            }
+        }
+    }
+}
\ No newline at end of file
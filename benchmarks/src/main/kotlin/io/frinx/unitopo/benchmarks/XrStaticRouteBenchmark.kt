@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.benchmarks
+
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import io.frinx.unitopo.unit.xr6.lr.handler.NextHopReader
+import io.frinx.unitopo.unit.xr6.lr.handler.StaticRouteReader
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.local.routing.rev170515.local._static.top.StaticRoutes
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.local.routing.rev170515.local._static.top._static.routes.Static
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.local.routing.rev170515.local._static.top._static.routes._static.NextHops
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.local.routing.rev170515.local._static.top._static.routes._static.next.hops.NextHop
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.NetworkInstances
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.STATIC
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Listing of XR 6 static routes in the default VRF and their next hops. Next hops are only read in oper reads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+open class XrStaticRouteBenchmark : UnderlayBenchmark() {
+
+    override val operationType = LogicalDatastoreType.OPERATIONAL
+
+    override fun fixture(size: Int) = Fixture(XrFixtures.routerStatic(FixtureScale(staticRoutes = size)))
+
+    @Benchmark
+    fun readStaticRoutes(counters: UnderlayReads, blackhole: Blackhole) {
+        readTransaction(counters) { ctx ->
+            val nextHopReader = NextHopReader(access)
+            StaticRouteReader(access).getAllIds(ROUTES, ctx).forEach {
+                blackhole.consume(nextHopReader.getAllIds(STATIC_ROUTES_ID.child(Static::class.java, it)
+                    .child(NextHops::class.java)
+                    .child(NextHop::class.java), ctx))
+            }
+        }
+    }
+
+    companion object {
+        private val STATIC_ROUTES_ID = InstanceIdentifier.create(NetworkInstances::class.java)
+            .child(NetworkInstance::class.java, NetworInstance.DEFAULT_NETWORK)
+            .child(Protocols::class.java)
+            .child(Protocol::class.java, ProtocolKey(STATIC::class.java, NetworInstance.DEFAULT_NETWORK_NAME))
+            .child(StaticRoutes::class.java)
+
+        private val ROUTES = STATIC_ROUTES_ID.child(Static::class.java)
+    }
+}
\ No newline at end of file
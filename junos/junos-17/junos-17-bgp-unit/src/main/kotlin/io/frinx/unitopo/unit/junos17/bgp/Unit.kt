@@ -29,6 +29,10 @@ import io.frinx.unitopo.unit.junos17.bgp.handler.BgpGlobalConfigWriter
 import io.frinx.unitopo.unit.junos17.bgp.handler.BgpNeighborConfigReader
 import io.frinx.unitopo.unit.junos17.bgp.handler.BgpNeighborConfigWriter
 import io.frinx.unitopo.unit.junos17.bgp.handler.BgpNeighborListReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.`$YangModuleInfoImpl` as OpenconfigBgp
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.`$YangModuleInfoImpl` as OpenconfigNetworkInstances
@@ -49,7 +53,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -82,14 +88,14 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_CONFIG, BgpGlobalConfigReader(underlayAccess))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_CONFIG, scoped(BgpGlobalConfigReader(underlayAccess)))
 
         // peergroups
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_PE_PE_CONFIG, BgpPeerGroupConfigReader(underlayAccess))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_PE_PE_CONFIG, scoped(BgpPeerGroupConfigReader(underlayAccess)))
 
         // neighbors
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR, BgpNeighborListReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG, BgpNeighborConfigReader(underlayAccess))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR, scoped(BgpNeighborListReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG, scoped(BgpNeighborConfigReader(underlayAccess)))
     }
 
     override fun toString(): String = "Junos 17.3 BGP translate unit"
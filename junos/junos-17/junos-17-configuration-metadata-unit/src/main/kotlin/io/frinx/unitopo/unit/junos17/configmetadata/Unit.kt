@@ -25,6 +25,10 @@ import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.TranslateUnit
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.junos17.configmetadata.handler.ConfigMetadataReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.configuration.metadata.rev180731.`$YangModuleInfoImpl` as OpenconfigConfigMetadata
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jrpc.show.system.junos._17._3r1._10.rev170101.`$YangModuleInfoImpl` as JunosYangInfoimport
@@ -43,8 +47,14 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         rRegistry: CustomizerAwareReadRegistryBuilder,
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         context: UnderlayAccess
-    ) =
-            provideReaders(rRegistry, context)
+    ) {
+        // configuration snapshot shared with the other units of the device is carried over to the next read
+        // transaction while the last commit stays the same, the reader holds the shared access for as long as the
+        // handlers are registered
+        val access = CachingUnderlayAccess.fullSnapshot(context, InstanceIdentifier.create(Configuration::class.java))
+            .gateOn { ConfigMetadataReader.readFingerprint(context) }
+        provideReaders(rRegistry, access)
+    }
 
     private var reg: TranslationUnitCollector.Registration? = null
 
@@ -59,7 +69,7 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     override fun getRpcs(context: UnderlayAccess) = emptySet<RpcService<*, *>>()
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
-        rRegistry.add(GenericOperReader(IIDs.CONFIGURATIONMETADATA, ConfigMetadataReader(underlayAccess)))
+        rRegistry.add(GenericOperReader(IIDs.CONFIGURATIONMETADATA, scoped(ConfigMetadataReader(underlayAccess))))
     }
 
     override fun toString() = "Junos 17.3 Configuration metadata translation unit"
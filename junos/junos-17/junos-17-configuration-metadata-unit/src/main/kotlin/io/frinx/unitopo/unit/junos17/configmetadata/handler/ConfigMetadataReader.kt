@@ -45,25 +45,7 @@ class ConfigMetadataReader(private val access: UnderlayAccess) :
         configmetadata: ConfigurationMetadataBuilder,
         ctx: ReadContext
     ) {
-
-        val invokeRpc = access.invokeRpc(schema, input)
-
-        val checkedGet = invokeRpc.checkedGet()
-        checkedGet.result ?: return
-        val choice = (checkedGet.result as ContainerNode)
-            .getChild(YangInstanceIdentifier.NodeIdentifier(QName.create(qName, "output_c")))
-
-        if (choice.isPresent) {
-            val xmlNode = (choice.get() as ChoiceNode).getChild(yangIid)
-            if (xmlNode.isPresent) {
-                val domSource = (xmlNode.get() as AnyXmlNode).value
-
-                val elementsByTagName = (domSource.node as Element).getElementsByTagName("date-time")
-                elementsByTagName?.item(0)?.textContent?.let {
-                    configmetadata.lastConfigurationFingerprint = it
-                }
-            }
-        }
+        readFingerprint(access)?.let { configmetadata.lastConfigurationFingerprint = it }
     }
 
     override fun merge(parentBuilder: Builder<out DataObject>, data: ConfigurationMetadata) {
@@ -73,6 +55,33 @@ class ConfigMetadataReader(private val access: UnderlayAccess) :
 
     companion object {
 
+        /**
+         * Date and time of the last commit on the device followed by its revision, e.g.
+         * `2020-01-01 10:00:00 UTC re0-1577872800-42`, null if the device does not report the date and time.
+         *
+         * The date and time has a resolution of one second, the revision tells apart commits within the same second
+         * by their sequence number. A device not reporting the revision is fingerprinted by the date and time alone,
+         * a commit made within the same second as the previous one, after its fingerprint was read, then goes
+         * unnoticed until the next commit.
+         */
+        fun readFingerprint(access: UnderlayAccess): String? {
+            val result = access.invokeRpc(schema, input).checkedGet().result ?: return null
+            val choice = (result as ContainerNode)
+                .getChild(YangInstanceIdentifier.NodeIdentifier(QName.create(qName, "output_c")))
+            if (!choice.isPresent) {
+                return null
+            }
+            val xmlNode = (choice.get() as ChoiceNode).getChild(yangIid)
+            if (!xmlNode.isPresent) {
+                return null
+            }
+            val information = (xmlNode.get() as AnyXmlNode).value.node as Element
+            val dateTime = information.textOf("date-time") ?: return null
+            return information.textOf("revision")?.let { "$dateTime $it" } ?: dateTime
+        }
+
+        private fun Element.textOf(tagName: String): String? = getElementsByTagName(tagName)?.item(0)?.textContent
+
         private val qName = GetCommitRevisionInformationInput.QNAME
 
         private val leaf = Builders.leafBuilder<String>()
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.junos17.configmetadata.handler
+
+import com.google.common.base.Ticker
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator
+import org.junit.After
+import org.junit.Assert
+import org.junit.Test
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import java.util.concurrent.TimeUnit
+
+class ConfigMetadataReaderTest {
+
+    private val device = NetconfDeviceSimulator(null)
+
+    @After
+    fun tearDown() {
+        device.close()
+    }
+
+    @Test
+    fun testFingerprintChangesWithEveryCommit() {
+        val initial = ConfigMetadataReader.readFingerprint(device)
+        Assert.assertEquals(initial, ConfigMetadataReader.readFingerprint(device))
+
+        // commits within the same second differ by the revision
+        device.commit()
+        val first = ConfigMetadataReader.readFingerprint(device)
+        device.commit()
+        val second = ConfigMetadataReader.readFingerprint(device)
+
+        Assert.assertEquals(3, setOf(initial, first, second).size)
+    }
+
+    @Test
+    fun testGateKeepsConfigurationUntilCommit() {
+        var now = 0L
+        val gated = CachingUnderlayAccess(device, 1, TimeUnit.SECONDS, object : Ticker() {
+            override fun read() = now
+        }).gateOn { ConfigMetadataReader.readFingerprint(device) }
+
+        gated.read(CONFIGURATION, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        // first expiry records the revision
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(CONFIGURATION, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Assert.assertEquals(2, device.rpcCount(NetconfDeviceSimulator.Rpc.GET_CONFIG))
+
+        // unchanged device costs the revision RPC only
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(CONFIGURATION, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Assert.assertEquals(2, device.rpcCount(NetconfDeviceSimulator.Rpc.GET_CONFIG))
+        Assert.assertEquals(2, device.rpcCount(NetconfDeviceSimulator.Rpc.OTHER))
+
+        // commit within the same second as the recorded revision is noticed
+        device.commit()
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(CONFIGURATION, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Assert.assertEquals(3, device.rpcCount(NetconfDeviceSimulator.Rpc.GET_CONFIG))
+    }
+
+    companion object {
+        private val CONFIGURATION = InstanceIdentifier.create(Configuration::class.java)
+    }
+}
\ No newline at end of file
@@ -52,8 +52,10 @@ import io.frinx.unitopo.unit.junos.interfaces.handler.subinterfaces.Subinterface
 import io.frinx.unitopo.unit.junos.interfaces.handler.subinterfaces.SubinterfaceConfigReader
 import io.frinx.unitopo.unit.junos.interfaces.handler.subinterfaces.SubinterfaceConfigWriter
 import io.frinx.unitopo.unit.junos.interfaces.handler.subinterfaces.SubinterfaceReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
 import io.frinx.unitopo.unit.utils.NoopWriter
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.damping.rev171024.IfDampAugBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.damping.rev171024.damping.top.DampingBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.aggregate.rev161222.aggregation.logical.top.AggregationBuilder
@@ -67,6 +69,7 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222._interface.phys.holdtime.top.HoldTimeBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.SubinterfacesBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.damping.rev171024.`$YangModuleInfoImpl` as DampingYangInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.aggregate.rev161222.Interface1Builder as AggregateInterface1AugBuilder
@@ -115,7 +118,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -164,33 +169,34 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         rRegistry.addStructuralReader(IIDs.INTERFACES, InterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, InterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, InterfaceConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, scoped(InterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, scoped(InterfaceConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.IN_IN_HOLDTIME, HoldTimeBuilder::class.java)
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_HO_CONFIG, InterfaceHoldTimeConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_HO_CONFIG, scoped(InterfaceHoldTimeConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFDAMPAUG, IfDampAugBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFDAMPAUG_DAMPING, DampingBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_AUG_IFDAMPAUG_DA_CONFIG,
-            InterfaceDampingConfigReader(underlayAccess)))
+            scoped(InterfaceDampingConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.INTER_INTER_AUG_INTERFACE1, Interface1Builder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_INTERFACE1_ETHERNET, EthernetBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_INTERFACE1_ET_CONFIG, ConfigBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_ET_CO_AUG_CONFIG1,
-            InterfaceIfAggregateConfigReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(LacpIIDs.IN_IN_ET_CO_AUG_CONFIG1, InterfaceLacpConfigReader(underlayAccess)))
+            scoped(InterfaceIfAggregateConfigReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(LacpIIDs.IN_IN_ET_CO_AUG_CONFIG1,
+            scoped(InterfaceLacpConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.IN_IN_SUBINTERFACES, SubinterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, SubinterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, SubinterfaceConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, scoped(SubinterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, scoped(SubinterfaceConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1, Subinterface1Builder::class.java)
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IPV4, Ipv4Builder::class.java)
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_ADDRESSES, AddressesBuilder::class.java)
         rRegistry.add(GenericConfigListReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_ADDRESS,
-            SubinterfaceAddressReader(underlayAccess)))
+            scoped(SubinterfaceAddressReader(underlayAccess))))
         rRegistry.add(GenericConfigReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_AD_CONFIG,
-            SubinterfaceAddressConfigReader(underlayAccess)))
+            scoped(SubinterfaceAddressConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.INT_INT_AUG_INTERFACE1, AggregateInterface1AugBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_INTERFACE1_AGGREGATION, AggregationBuilder::class.java)
@@ -198,9 +204,10 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         rRegistry.addStructuralReader(IIDs.IN_IN_AG_AUG_IFLAGBFDAUG_BFD, BfdBuilder::class.java)
         rRegistry.subtreeAdd(setOf(
             RWUtils.cutIdFromStart(IIDs.IN_IN_AG_CO_AUG_IFLAGJUNIPERAUG, IFC_AGGREGATE_IID)),
-            GenericConfigReader(IIDs.IN_IN_AUG_INTERFACE1_AG_CONFIG, InterfaceAggregationConfigReader(underlayAccess)))
+            GenericConfigReader(IIDs.IN_IN_AUG_INTERFACE1_AG_CONFIG,
+                scoped(InterfaceAggregationConfigReader(underlayAccess))))
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_AG_AUG_IFLAGBFDAUG_BF_CONFIG,
-            InterfaceAggregationBfdConfigReader(underlayAccess)))
+            scoped(InterfaceAggregationBfdConfigReader(underlayAccess))))
     }
 
     override fun toString(): String = "Junos 17.3 interface translate unit"
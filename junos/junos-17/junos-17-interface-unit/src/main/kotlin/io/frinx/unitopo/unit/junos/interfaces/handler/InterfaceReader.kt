@@ -18,6 +18,7 @@ package io.frinx.unitopo.unit.junos.interfaces.handler
 
 import io.frinx.unitopo.ifc.base.handler.AbstractInterfaceReader
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.ListEntryReader
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv4.top.ipv4.addresses.AddressKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.InterfaceKey
@@ -47,6 +48,14 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
         val JUNOS_CFG = InstanceIdentifier.create(Configuration::class.java)!!
         val IFCS = JUNOS_CFG.child(JunosInterfaces::class.java)!!
 
+        /**
+         * Interfaces read at most once per read snapshot, every helper below is served from the same interface.
+         */
+        private val INTERFACES = ListEntryReader<JunosInterfaces, JunosInterface, String>(
+            IFCS, LogicalDatastoreType.CONFIGURATION, { it.`interface` }, { it.name }) { prefix, name ->
+            prefix.child(JunosInterface::class.java, JunosInterfaceKey(name))
+        }
+
         /**
          * Read interface configuration
          */
@@ -57,9 +66,7 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
         }
 
         fun readInterface(underlayAccess: UnderlayAccess, name: String): JunosInterface? =
-            underlayAccess.read(IFCS.child(JunosInterface::class.java, JunosInterfaceKey(name)),
-                LogicalDatastoreType.CONFIGURATION)
-                .checkedGet().orNull()
+            INTERFACES.read(underlayAccess, name)
 
         fun readHoldTimeCfg(underlayAccess: UnderlayAccess, name: String, handler: (JunosHoldTime) -> Unit) {
             readInterface(underlayAccess, name)
@@ -85,12 +92,17 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
             unitId: Long,
             handler: (JunosInterfaceUnit) -> Unit
         ) {
-            readInterface(underlayAccess, name)
+            readUnit(underlayAccess, name, unitId)
                     // Invoke handler with read UnitCfg
-                    .let { it?.unit?.first { it1 -> it1.name == unitId.toString() }
-                            ?.let { it2 -> handler(it2) } }
+                    ?.let { handler(it) }
         }
 
+        /**
+         * Read unit of interface, looked up in the unit index of the interface.
+         */
+        fun readUnit(underlayAccess: UnderlayAccess, ifcName: String, unitId: Long): JunosInterfaceUnit? =
+            readInterface(underlayAccess, ifcName)?.let { InterfaceUnitIndex.of(it).unit(unitId) }
+
         fun readUnitAddress(
             underlayAccess: UnderlayAccess,
             ifcName: String,
@@ -99,13 +111,9 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
             handler: (JunosInterfaceUnitAddress) -> Unit
         ) {
             readInterface(underlayAccess, ifcName)
-                    // Invoke handler with read UnitAddress
-                    .let {
-                        it?.unit?.first { it1 -> it1.name == subIfcId.toString() }
-                                ?.family?.inet?.address
-                            ?.first { address -> address.name.value.contains(addressKey.ip.value) }
-                                ?.let { it2 -> handler(it2) }
-                    }
+                    // Invoke handler with read UnitAddress, matching the address exactly
+                    ?.let { InterfaceUnitIndex.of(it).address(subIfcId, addressKey.ip) }
+                    ?.let { handler(it) }
         }
 
         fun readAggregationCfg(
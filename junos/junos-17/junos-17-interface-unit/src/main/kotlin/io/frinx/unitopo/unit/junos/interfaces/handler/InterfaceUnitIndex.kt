@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.junos.interfaces.handler
+
+import io.frinx.unitopo.unit.utils.SnapshotIndexer
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4AddressNoZone
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.Unit as JunosInterfaceUnit
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.unit.family.inet.Address as JunosInterfaceUnitAddress
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.juniper.config.interfaces.Interface as JunosInterface
+
+/**
+ * Logical units of a Junos interface keyed by unit number and their IPv4 addresses keyed by the exact address of
+ * the prefix, e.g. `10.0.0.1` for `10.0.0.1/24`.
+ *
+ * Built once per interface read, see [of].
+ */
+class InterfaceUnitIndex private constructor(ifc: JunosInterface) {
+
+    private val units = ifc.unit.orEmpty().associateBy { it.name }
+
+    private val addresses = units.mapValues { (_, unit) ->
+        unit.family?.inet?.address.orEmpty().associateBy { it.name.value.substringBefore('/') }
+    }
+
+    fun unit(unitId: Long): JunosInterfaceUnit? = units[unitId.toString()]
+
+    fun address(unitId: Long, address: Ipv4AddressNoZone): JunosInterfaceUnitAddress? =
+        addresses[unitId.toString()]?.get(address.value)
+
+    companion object {
+
+        private val INDEXER = SnapshotIndexer(::InterfaceUnitIndex)
+
+        fun of(ifc: JunosInterface): InterfaceUnitIndex = INDEXER.indexOf(ifc)
+    }
+}
\ No newline at end of file
@@ -21,7 +21,6 @@ import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.junos.interfaces.handler.InterfaceReader
 import org.apache.commons.net.util.SubnetUtils
-import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv4.top.ipv4.addresses.Address
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv4.top.ipv4.addresses.AddressBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv4.top.ipv4.addresses.AddressKey
@@ -31,10 +30,7 @@ import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configur
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4AddressNoZone
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.Unit as JunosInterfaceUnit
-import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.UnitKey as JunosInterfaceUnitKey
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.unit.family.inet.Address as JunosInterfaceUnitAddress
-import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.juniper.config.interfaces.Interface as JunosInterface
-import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.juniper.config.interfaces.InterfaceKey as JunosInterfaceKey
 
 class SubinterfaceAddressReader(private val underlayAccess: UnderlayAccess) :
     ConfigListReaderCustomizer<Address, AddressKey, AddressBuilder> {
@@ -42,18 +38,7 @@ class SubinterfaceAddressReader(private val underlayAccess: UnderlayAccess) :
     override fun getAllIds(iid: InstanceIdentifier<Address>, context: ReadContext): List<AddressKey> {
         val ifcName = iid.firstKeyOf(Interface::class.java).name
         val unitId = iid.firstKeyOf(Subinterface::class.java).index
-        return getSubInterfaceAddressIds(underlayAccess, ifcName, unitId.toString())
-    }
-
-    private fun getSubInterfaceAddressIds(underlayAccess: UnderlayAccess, ifcName: String, unitId: String):
-        List<AddressKey> {
-        val instanceIdentifier = InterfaceReader.IFCS.child(JunosInterface::class.java, JunosInterfaceKey(ifcName))
-                .child(JunosInterfaceUnit::class.java, JunosInterfaceUnitKey(unitId))
-
-        return underlayAccess.read(instanceIdentifier, LogicalDatastoreType.CONFIGURATION)
-                .checkedGet()
-                .orNull()
-                ?.let { parseAddressIds(it) }.orEmpty()
+        return InterfaceReader.readUnit(underlayAccess, ifcName, unitId)?.let { parseAddressIds(it) }.orEmpty()
     }
 
     private fun parseAddressIds(it: JunosInterfaceUnit): List<AddressKey> {
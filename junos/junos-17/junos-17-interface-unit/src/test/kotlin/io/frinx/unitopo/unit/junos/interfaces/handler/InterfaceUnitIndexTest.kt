@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.frinx.unitopo.unit.junos.interfaces.handler
+
+import org.junit.Assert
+import org.junit.Test
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Ipv4prefix
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4AddressNoZone
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.UnitBuilder as JunosInterfaceUnitBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.unit.FamilyBuilder as JunosInterfaceUnitFamilyBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.unit.family.InetBuilder as JunosInterfaceUnitFamilyInetBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.interfaces_type.unit.family.inet.AddressBuilder as JunosInterfaceUnitFamilyInetAddressBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.juniper.config.interfaces.InterfaceBuilder as JunosInterfaceBuilder
+
+class InterfaceUnitIndexTest {
+
+    private val ifc = JunosInterfaceBuilder()
+            .setName("ge-0/0/1")
+            .setUnit(listOf(JunosInterfaceUnitBuilder()
+                    .setName("0")
+                    .setFamily(JunosInterfaceUnitFamilyBuilder()
+                            .setInet(JunosInterfaceUnitFamilyInetBuilder()
+                                    .setAddress(listOf("10.0.0.1/24", "10.0.0.11/24").map {
+                                        JunosInterfaceUnitFamilyInetAddressBuilder().setName(Ipv4prefix(it)).build()
+                                    })
+                                    .build())
+                            .build())
+                    .build()))
+            .build()
+
+    @Test
+    fun testUnit() {
+        val index = InterfaceUnitIndex.of(ifc)
+
+        Assert.assertEquals("0", index.unit(0L)?.name)
+        Assert.assertNull(index.unit(1L))
+    }
+
+    @Test
+    fun testAddressMatchedExactly() {
+        val index = InterfaceUnitIndex.of(ifc)
+
+        // 10.0.0.1 is a substring of 10.0.0.11/24, each address must resolve to its own prefix
+        Assert.assertEquals("10.0.0.1/24", index.address(0L, Ipv4AddressNoZone("10.0.0.1"))?.name?.value)
+        Assert.assertEquals("10.0.0.11/24", index.address(0L, Ipv4AddressNoZone("10.0.0.11"))?.name?.value)
+        Assert.assertNull(index.address(0L, Ipv4AddressNoZone("10.0.0.10")))
+        Assert.assertNull(index.address(1L, Ipv4AddressNoZone("10.0.0.1")))
+    }
+
+    @Test
+    fun testIndexedOncePerInterface() {
+        Assert.assertSame(InterfaceUnitIndex.of(ifc), InterfaceUnitIndex.of(ifc))
+    }
+}
\ No newline at end of file
@@ -35,6 +35,10 @@ import io.frinx.unitopo.unit.junos17.mpls.handler.TeInterfaceReader
 import io.frinx.unitopo.unit.junos17.mpls.handler.TunnelConfigReader
 import io.frinx.unitopo.unit.junos17.mpls.handler.TunnelConfigWriter
 import io.frinx.unitopo.unit.junos17.mpls.handler.TunnelReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.mpls.extension.rev171024.`$YangModuleInfoImpl` as RsvpExtension
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.mpls.rev170824.`$YangModuleInfoImpl` as MplsYangInfo
@@ -70,7 +74,9 @@ class MplsUnit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -100,20 +106,20 @@ class MplsUnit(private val registry: TranslationUnitCollector) : TranslateUnit {
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         // RSVP
-        rRegistry.add(IIDs.NE_NE_MP_SI_RS_IN_INTERFACE, RsvpInterfaceReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_MP_SI_RS_IN_IN_CONFIG, RsvpInterfaceConfigReader(underlayAccess))
+        rRegistry.add(IIDs.NE_NE_MP_SI_RS_IN_INTERFACE, scoped(RsvpInterfaceReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_MP_SI_RS_IN_IN_CONFIG, scoped(RsvpInterfaceConfigReader(underlayAccess)))
         rRegistry.add(IIDs.NE_NE_MP_SI_RS_IN_IN_SU_CO_AUG_NIMPLSRSVPIFSUBSCRIPAUG,
-            NiMplsRsvpIfSubscripAugReader(underlayAccess))
+            scoped(NiMplsRsvpIfSubscripAugReader(underlayAccess)))
 
         // TE
-        rRegistry.add(IIDs.NE_NE_MP_TE_INTERFACE, TeInterfaceReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_MP_TE_IN_CONFIG, TeInterfaceConfigReader())
+        rRegistry.add(IIDs.NE_NE_MP_TE_INTERFACE, scoped(TeInterfaceReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_MP_TE_IN_CONFIG, scoped(TeInterfaceConfigReader()))
 
         // Tunnel
-        rRegistry.add(IIDs.NE_NE_MP_LS_CO_TU_TUNNEL, TunnelReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_MP_LS_CO_TU_TU_CONFIG, TunnelConfigReader(underlayAccess))
+        rRegistry.add(IIDs.NE_NE_MP_LS_CO_TU_TUNNEL, scoped(TunnelReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_MP_LS_CO_TU_TU_CONFIG, scoped(TunnelConfigReader(underlayAccess)))
         rRegistry.add(IIDs.NE_NE_MP_LS_CO_TU_TU_P2_CONFIG,
-            P2pAttributesConfigReader(underlayAccess))
+            scoped(P2pAttributesConfigReader(underlayAccess)))
     }
 
     override fun toString(): String {
@@ -28,7 +28,11 @@ import io.frinx.unitopo.unit.junos17.network.instance.handler.NetworkInstanceCon
 import io.frinx.unitopo.unit.junos17.network.instance.handler.NetworkInstanceReader
 import io.frinx.unitopo.unit.junos17.network.instance.handler.NetworkInstanceStateReader
 import io.frinx.unitopo.unit.junos17.network.instance.handler.vrf.protocol.ProtocolReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.`$YangModuleInfoImpl`
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.`$YangModuleInfoImpl` as JunosYangInfo
 
@@ -55,7 +59,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     ) {
         rRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
         wRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -73,12 +79,12 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NETWORKINSTANCE, NetworkInstanceReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_CONFIG, NetworkInstanceConfigReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_STATE, NetworkInstanceStateReader(underlayAccess))
+        rRegistry.add(IIDs.NE_NETWORKINSTANCE, scoped(NetworkInstanceReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_CONFIG, scoped(NetworkInstanceConfigReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_STATE, scoped(NetworkInstanceStateReader(underlayAccess)))
 
-        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, ProtocolReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, ProtocolConfigReader())
+        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, scoped(ProtocolReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, scoped(ProtocolConfigReader()))
     }
 
     override fun toString(): String = "Junos 17.3 network-instance translate unit"
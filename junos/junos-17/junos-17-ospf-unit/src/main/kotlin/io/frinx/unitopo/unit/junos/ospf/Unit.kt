@@ -31,6 +31,10 @@ import io.frinx.unitopo.unit.junos.ospf.handler.OspfAreaInterfaceReader
 import io.frinx.unitopo.unit.junos.ospf.handler.OspfAreaReader
 import io.frinx.unitopo.unit.junos.ospf.handler.OspfMaxMetricConfigReader
 import io.frinx.unitopo.unit.junos.ospf.handler.OspfMaxMetricConfigWriter
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.ospf.types.rev170228.`$YangModuleInfoImpl` as OspfTypesYangInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.ospfv2.rev170228.`$YangModuleInfoImpl` as OspfYangInfo
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.`$YangModuleInfoImpl` as UnderlayInterfacesYangInfo
@@ -62,7 +66,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -82,11 +88,11 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_GL_TI_MA_CONFIG, OspfMaxMetricConfigReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AREA, OspfAreaReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_CONFIG, OspfAreaConfigReader())
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_INTERFACE, OspfAreaInterfaceReader(underlayAccess))
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_IN_CONFIG, OspfAreaInterfaceConfigReader(underlayAccess))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_GL_TI_MA_CONFIG, scoped(OspfMaxMetricConfigReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AREA, scoped(OspfAreaReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_CONFIG, scoped(OspfAreaConfigReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_INTERFACE, scoped(OspfAreaInterfaceReader(underlayAccess)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_IN_CONFIG, scoped(OspfAreaInterfaceConfigReader(underlayAccess)))
     }
 
     override fun toString(): String = "Junos 17.3 ospf translate unit"
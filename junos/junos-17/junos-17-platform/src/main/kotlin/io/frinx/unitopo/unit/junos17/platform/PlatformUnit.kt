@@ -25,6 +25,7 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.TranslateUnit
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.OperationalDataCache
 import io.frinx.unitopo.unit.junos17.platform.handler.ComponentConfigReader
 import io.frinx.unitopo.unit.junos17.platform.handler.ComponentReader
 import io.frinx.unitopo.unit.junos17.platform.handler.ComponentStateReader
@@ -62,8 +63,11 @@ class PlatformUnit(private val registry: TranslationUnitCollector) : TranslateUn
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         access: UnderlayAccess
     ) {
-        provideReaders(rRegistry, access)
-        provideWriters(wRegistry, access)
+        // software version changes only with an upgrade, which reboots the device and reconnects the mount
+        val cached = OperationalDataCache.shared(access)
+            .keepRpcUntilReconnect(ComponentStateReader.GET_SOFTWARE_INFORMATION)
+        provideReaders(rRegistry, cached)
+        provideWriters(wRegistry, cached)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, access: UnderlayAccess) {
@@ -88,6 +88,8 @@ class ComponentStateReader(private val access: UnderlayAccess) : OperReaderCusto
 
         private val qName = GetSoftwareInformationInput.QNAME
 
+        val GET_SOFTWARE_INFORMATION: QName = QName.create(qName, GET_SOFT_INF).intern()
+
         private val leaf = Builders.leafBuilder<String>()
                 .withNodeIdentifier(YangInstanceIdentifier
                         .NodeIdentifier(QName.create(qName, "level")))
@@ -99,7 +101,7 @@ class ComponentStateReader(private val access: UnderlayAccess) : OperReaderCusto
                 .withChild(leaf)
                 .build()
 
-        private val schema = SchemaPath.create(true, QName.create(qName, GET_SOFT_INF).intern())
+        private val schema = SchemaPath.create(true, GET_SOFTWARE_INFORMATION)
 
         private val yangIid = YangInstanceIdentifier
             .NodeIdentifier(QName.create(qName, SOFT_INF).intern())
@@ -30,9 +30,12 @@ import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.junos17.policy.forwarding.handler.PolicyForwardingInterfaceConfigReader
 import io.frinx.unitopo.unit.junos17.policy.forwarding.handler.PolicyForwardingInterfaceConfigWriter
 import io.frinx.unitopo.unit.junos17.policy.forwarding.handler.PolicyForwardingInterfaceReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.forwarding.rev170621.pf.interfaces.structural.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.forwarding.rev170621.policy.forwarding.top.PolicyForwardingBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.pf.interfaces.extension.juniper.rev171109.`$YangModuleInfoImpl` as PfExtensionModuleInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.forwarding.rev170621.`$YangModuleInfoImpl` as PolicyModuleInfo
@@ -68,7 +71,9 @@ class PolicyFwdUnit(private val registry: TranslationUnitCollector) : TranslateU
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -83,9 +88,9 @@ class PolicyFwdUnit(private val registry: TranslationUnitCollector) : TranslateU
         rRegistry.addStructuralReader(IIDs.NE_NE_POLICYFORWARDING, PolicyForwardingBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.NE_NE_PO_INTERFACES, InterfacesBuilder::class.java)
         rRegistry.add(GenericConfigListReader(IIDs.NE_NE_PO_IN_INTERFACE,
-            PolicyForwardingInterfaceReader(underlayAccess)))
+            scoped(PolicyForwardingInterfaceReader(underlayAccess))))
         rRegistry.subtreeAdd(JUNIPER_AUG_SUBTREE, GenericConfigReader(IIDs.NE_NE_PO_IN_IN_CONFIG,
-            PolicyForwardingInterfaceConfigReader(underlayAccess)))
+            scoped(PolicyForwardingInterfaceConfigReader(underlayAccess))))
     }
 
     override fun toString(): String {
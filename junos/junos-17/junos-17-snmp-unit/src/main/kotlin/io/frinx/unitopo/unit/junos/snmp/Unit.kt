@@ -30,12 +30,15 @@ import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.junos.snmp.handler.SnmpConfigReader
 import io.frinx.unitopo.unit.junos.snmp.handler.SnmpConfigWriter
 import io.frinx.unitopo.unit.junos.snmp.handler.SnmpInterfaceReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
 import io.frinx.unitopo.unit.utils.NoopWriter
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.snmp.rev171024.snmp._interface.config.EnabledTrapForEvent
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.snmp.rev171024.snmp.interfaces.structural.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.snmp.rev171024.snmp.interfaces.structural.interfaces._interface.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.snmp.rev171024.snmp.top.SnmpBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.Configuration
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.snmp.rev171024.`$YangModuleInfoImpl` as SnmpYangInfo
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.yang._1._1.jc.configuration.junos._17._3r1._10.rev170101.`$YangModuleInfoImpl` as UnderlayInterfacesYangInfo
@@ -65,7 +68,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -81,8 +86,8 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         rRegistry.addStructuralReader(IIDs.SNMP, SnmpBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.SN_INTERFACES, InterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.SN_IN_INTERFACE, SnmpInterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.SN_IN_IN_CONFIG, SnmpConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.SN_IN_INTERFACE, scoped(SnmpInterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.SN_IN_IN_CONFIG, scoped(SnmpConfigReader(underlayAccess))))
     }
 
     override fun toString(): String = "Junos 17.3 snmp translate unit"
@@ -36,12 +36,16 @@ import io.frinx.unitopo.unit.junos18.acl.handler.EgressAclSetReader
 import io.frinx.unitopo.unit.junos18.acl.handler.IngressAclSetConfigReader
 import io.frinx.unitopo.unit.junos18.acl.handler.IngressAclSetConfigWriter
 import io.frinx.unitopo.unit.junos18.acl.handler.IngressAclSetReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
 import io.frinx.unitopo.unit.utils.NoopWriter
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.acl.rev170526._interface.egress.acl.top.EgressAclSetsBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.acl.rev170526._interface.ingress.acl.top.IngressAclSetsBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.acl.rev170526.acl.interfaces.top.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.acl.rev170526.acl.top.AclBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.root.rev180101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import io.frinx.openconfig.openconfig.interfaces.IIDs as InterfaceIIDs
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.acl.rev170526.`$YangModuleInfoImpl` as AclYangInfo
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.interfaces.rev180101.`$YangModuleInfoImpl` as UnderlayInterfacesYangInfo
@@ -73,7 +77,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -95,14 +101,16 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         rRegistry.addStructuralReader(IIDs.ACL, AclBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.AC_INTERFACES, InterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.AC_IN_INTERFACE, AclInterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.AC_IN_IN_CONFIG, AclInterfaceConfigReader()))
+        rRegistry.add(GenericConfigListReader(IIDs.AC_IN_INTERFACE, scoped(AclInterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.AC_IN_IN_CONFIG, scoped(AclInterfaceConfigReader())))
         rRegistry.addStructuralReader(IIDs.AC_IN_IN_INGRESSACLSETS, IngressAclSetsBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.AC_IN_IN_IN_INGRESSACLSET, IngressAclSetReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.AC_IN_IN_IN_IN_CONFIG, IngressAclSetConfigReader()))
+        rRegistry.add(GenericConfigListReader(IIDs.AC_IN_IN_IN_INGRESSACLSET,
+            scoped(IngressAclSetReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.AC_IN_IN_IN_IN_CONFIG, scoped(IngressAclSetConfigReader())))
         rRegistry.addStructuralReader(IIDs.AC_IN_IN_EGRESSACLSETS, EgressAclSetsBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.AC_IN_IN_EG_EGRESSACLSET, EgressAclSetReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.AC_IN_IN_EG_EG_CONFIG, EgressAclSetConfigReader()))
+        rRegistry.add(GenericConfigListReader(IIDs.AC_IN_IN_EG_EGRESSACLSET,
+            scoped(EgressAclSetReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.AC_IN_IN_EG_EG_CONFIG, scoped(EgressAclSetConfigReader())))
     }
 
     override fun toString(): String = "Junos 18.2 acl translate unit"
@@ -19,6 +19,7 @@ package io.frinx.unitopo.unit.junos18.acl.handler
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.IidTemplate
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.acl.rev170526.acl.interfaces.top.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.acl.rev170526.acl.interfaces.top.interfaces.InterfaceBuilder
@@ -78,6 +79,15 @@ class AclInterfaceReader(private val underlayAccess: UnderlayAccess) :
 
         val INTERFACE_ID_PATTERN = Pattern.compile("(?<interface>[^\\.]+)\\.(?<unit>.*)")
 
+        private val IPV4_FILTER = IidTemplate<Interfaces, Ipv4Filter, Pair<String, String>>(
+            JUNOS_IFCS) { prefix, (ifcName, unitName) ->
+            prefix.child(Interface::class.java, InterfaceKey(ifcName))
+                .child(JunosInterfaceUnit::class.java, UnitKey(unitName))
+                .child(Family::class.java)
+                .child(Inet::class.java)
+                .child(Ipv4Filter::class.java)
+        }
+
         fun getUnderlayIpv4FilterId(ifcName: String): IID<Ipv4Filter> {
             val matcher = INTERFACE_ID_PATTERN.matcher(ifcName)
 
@@ -88,13 +98,7 @@ class AclInterfaceReader(private val underlayAccess: UnderlayAccess) :
             }
         }
 
-        fun getUnderlayIpv4FilterId(ifcName: String, unitName: String): IID<Ipv4Filter> {
-            return JUNOS_IFCS
-                .child(Interface::class.java, InterfaceKey(ifcName))
-                .child(JunosInterfaceUnit::class.java, UnitKey(unitName))
-                .child(Family::class.java)
-                .child(Inet::class.java)
-                .child(Ipv4Filter::class.java)
-        }
+        fun getUnderlayIpv4FilterId(ifcName: String, unitName: String): IID<Ipv4Filter> =
+            IPV4_FILTER.get(ifcName to unitName)
     }
 }
\ No newline at end of file
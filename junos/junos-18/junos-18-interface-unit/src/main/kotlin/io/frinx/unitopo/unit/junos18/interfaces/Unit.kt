@@ -38,6 +38,7 @@ import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.Subinterfa
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceAddressConfigWriter
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceVrrpGroupConfigWriter
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceReader
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.subinterfaces.subinterface.Config
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceConfigReader
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceVlanConfigReader
@@ -45,6 +46,7 @@ import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.Subinterfa
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceAddressConfigReader
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceVrrpGroupReader
 import io.frinx.unitopo.unit.junos18.interfaces.handler.subinterfaces.SubinterfaceVrrpGroupConfigReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
 import io.frinx.unitopo.unit.utils.NoopWriter
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.Address1Builder
@@ -56,6 +58,7 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.re
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.SubinterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.Subinterface1Builder as SubinterfaceVlanAugBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.vlan.logical.top.VlanBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.root.rev180101.Configuration
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.`$YangModuleInfoImpl` as InterfacesYangInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.`$YangModuleInfoImpl` as VlanYangInfo
@@ -95,7 +98,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -134,35 +139,35 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         rRegistry.addStructuralReader(IIDs.INTERFACES, InterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, InterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, InterfaceConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, scoped(InterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, scoped(InterfaceConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.IN_IN_SUBINTERFACES, SubinterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, SubinterfaceReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, scoped(SubinterfaceReader(underlayAccess))))
 
         rRegistry.subtreeAdd(
             IID_SUBIFC_CONFIG_SUBTREE,
-            GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, SubinterfaceConfigReader(underlayAccess)))
+            GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, scoped(SubinterfaceConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1, SubinterfaceVlanAugBuilder::class.java)
         rRegistry.addStructuralReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_VLAN, VlanBuilder::class.java)
         rRegistry.add(GenericConfigReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_VL_CONFIG,
-                SubinterfaceVlanConfigReader(underlayAccess)))
+                scoped(SubinterfaceVlanConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IPIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1, Subinterface1Builder::class.java)
         rRegistry.addStructuralReader(IPIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IPV4, Ipv4Builder::class.java)
         rRegistry.addStructuralReader(IPIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_ADDRESSES, AddressesBuilder::class.java)
         rRegistry.add(GenericConfigListReader(IPIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_ADDRESS,
-                SubinterfaceAddressReader(underlayAccess)))
+                scoped(SubinterfaceAddressReader(underlayAccess))))
         rRegistry.add(GenericConfigReader(IPIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_AD_CONFIG,
-                SubinterfaceAddressConfigReader(underlayAccess)))
+                scoped(SubinterfaceAddressConfigReader(underlayAccess))))
         // vrrp
         rRegistry.addStructuralReader(IPIIDs.IN_IN_SU_SU_IP_AD_AD_AUG_ADDRESS1, Address1Builder::class.java)
         rRegistry.addStructuralReader(IPIIDs.IN_IN_SU_SU_IP_AD_AD_AUG_ADDRESS1_VRRP, VrrpBuilder::class.java)
         rRegistry.add(GenericConfigListReader(IPIIDs.IN_IN_SU_SU_IP_AD_AD_AUG_ADDRESS1_VR_VRRPGROUP,
-                SubinterfaceVrrpGroupReader(underlayAccess)))
+                scoped(SubinterfaceVrrpGroupReader(underlayAccess))))
         rRegistry.add(GenericConfigReader(IPIIDs.IN_IN_SU_SU_IP_AD_AD_AUG_ADDRESS1_VR_VR_CONFIG,
-                SubinterfaceVrrpGroupConfigReader(underlayAccess)))
+                scoped(SubinterfaceVrrpGroupConfigReader(underlayAccess))))
     }
 
     companion object {
@@ -18,6 +18,7 @@ package io.frinx.unitopo.unit.junos18.interfaces.handler
 
 import io.frinx.unitopo.ifc.base.handler.AbstractInterfaceReader
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.ListEntryReader
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ip.vrrp.top.vrrp.VrrpGroupKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv4.top.ipv4.addresses.AddressKey
@@ -45,6 +46,14 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
         private val JUNOS_IFCS_AUG = JUNOS_CFG.augmentation(IfConfigurationAug::class.java)!!
         val JUNOS_IFCS = JUNOS_IFCS_AUG.child(JunosInterfaces::class.java)!!
 
+        /**
+         * Interfaces read at most once per read snapshot, every helper below is served from the same interface.
+         */
+        private val INTERFACES = ListEntryReader<JunosInterfaces, JunosInterface, String>(
+            JUNOS_IFCS, LogicalDatastoreType.CONFIGURATION, { it.`interface` }, { it.name }) { prefix, name ->
+            prefix.child(JunosInterface::class.java, JunosInterfaceKey(name))
+        }
+
         fun readInterfaceCfg(underlayAccess: UnderlayAccess, name: String, handler: (JunosInterface) -> Unit) {
             readInterface(underlayAccess, name)
                 // Invoke handler with read value or use default
@@ -52,9 +61,7 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
         }
 
         private fun readInterface(underlayAccess: UnderlayAccess, name: String): JunosInterface? =
-            underlayAccess.read(JUNOS_IFCS.child(JunosInterface::class.java, JunosInterfaceKey(name)),
-                LogicalDatastoreType.CONFIGURATION)
-                .checkedGet().orNull()
+            INTERFACES.read(underlayAccess, name)
 
         fun readUnitCfg(
             underlayAccess: UnderlayAccess,
@@ -62,12 +69,17 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
             unitId: Long,
             handler: (JunosInterfaceUnit) -> Unit
         ) {
-            readInterface(underlayAccess, name)
+            readUnit(underlayAccess, name, unitId)
                 // Invoke handler with read UnitCfg
-                .let { it?.unit?.first { it1 -> it1.name == unitId.toString() }
-                    ?.let { it2 -> handler(it2) } }
+                ?.let { handler(it) }
         }
 
+        /**
+         * Read unit of interface, looked up in the unit index of the interface.
+         */
+        fun readUnit(underlayAccess: UnderlayAccess, ifcName: String, unitId: Long): JunosInterfaceUnit? =
+            readInterface(underlayAccess, ifcName)?.let { InterfaceUnitIndex.of(it).unit(unitId) }
+
         fun readUnitAddress(
             underlayAccess: UnderlayAccess,
             ifcName: String,
@@ -76,13 +88,9 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
             handler: (JunosInterfaceUnitAddress) -> Unit
         ) {
             readInterface(underlayAccess, ifcName)
-                    // Invoke handler with read UnitAddress
-                    .let {
-                        it?.unit?.first { it1 -> it1.name == subIfcId.toString() }
-                                ?.family?.inet?.address
-                                ?.first { address -> address.name.value.contains(addressKey.ip.value) }
-                                ?.let { it2 -> handler(it2) }
-                    }
+                    // Invoke handler with read UnitAddress, matching the address exactly
+                    ?.let { InterfaceUnitIndex.of(it).address(subIfcId, addressKey.ip) }
+                    ?.let { handler(it) }
         }
 
         fun readUnitVrrpGroup(
@@ -93,30 +101,9 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
             handler: (JunosVrrpGroup) -> Unit
         ) {
             readInterface(underlayAccess, ifcName)
-                    // Invoke handler with read UnitAddress
-                    .let {
-                        it?.unit?.first {
-                            it1 -> it1.name == subIfcId.toString()
-                        }?.family?.inet?.address?.map {
-                            if (it.vrrpGroup?.size == 0) {
-                                null
-                            } else {
-                                it.vrrpGroup?.filter {
-                                    val x: (
-                                        v: JunosVrrpGroup
-                                    )
-                                    -> Boolean = {
-                                        it.name.toShort().equals(vrrpGroupKey.virtualRouterId)
-                                    }
-                                    x(it)
-                                }?.get(0)
-                            }
-                        }?.map {
-                            it?.let {
-                                handler(it)
-                            }
-                        }
-                    }
+                    // Invoke handler with each VRRP group of the unit having the id
+                    ?.let { InterfaceUnitIndex.of(it).vrrpGroups(subIfcId, vrrpGroupKey.virtualRouterId) }
+                    ?.forEach { handler(it) }
         }
     }
 }
\ No newline at end of file
@@ -29,11 +29,7 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.re
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.subinterfaces.Subinterface
 import org.opendaylight.yangtools.yang.binding.DataObject
 import org.opendaylight.yangtools.concepts.Builder
-import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
-import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.interfaces.rev180101.interfaces.group.interfaces.Interface as JunosInterface
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.interfaces.rev180101.interfaces_type.Unit as JunosInterfaceUnit
-import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.interfaces.rev180101.interfaces_type.UnitKey as JunosInterfaceUnitKey
-import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.interfaces.rev180101.interfaces.group.interfaces.InterfaceKey as JunosInterfaceKey
 import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.interfaces.rev180101.interfaces_type.unit.family.inet.address.VrrpGroup as JunosVrrpGroup
 
 open class SubinterfaceVrrpGroupReader(private val underlayAccess: UnderlayAccess)
@@ -42,21 +38,7 @@ open class SubinterfaceVrrpGroupReader(private val underlayAccess: UnderlayAcces
     override fun getAllIds(iid: InstanceIdentifier<VrrpGroup>, context: ReadContext): List<VrrpGroupKey> {
         val ifcName = iid.firstKeyOf(Interface::class.java).name
         val unitId = iid.firstKeyOf(Subinterface::class.java).index
-        return getSubInterfaceAddressIds(underlayAccess, ifcName, unitId.toString())
-    }
-
-    private fun getSubInterfaceAddressIds(underlayAccess: UnderlayAccess, ifcName: String, unitId: String):
-            List<VrrpGroupKey> {
-        val instanceIdentifier = InterfaceReader.JUNOS_IFCS
-                .child(JunosInterface::class.java, JunosInterfaceKey(ifcName))
-                .child(JunosInterfaceUnit::class.java, JunosInterfaceUnitKey(unitId))
-
-        return underlayAccess.read(instanceIdentifier, LogicalDatastoreType.CONFIGURATION)
-                .checkedGet()
-                .orNull()
-                ?.let {
-                    parseVrrpGroupIds(it)
-                }.orEmpty()
+        return InterfaceReader.readUnit(underlayAccess, ifcName, unitId)?.let { parseVrrpGroupIds(it) }.orEmpty()
     }
 
     override fun readCurrentAttributes(
@@ -26,6 +26,7 @@ import org.junit.Before
 import org.junit.Test
 import org.mockito.Mock
 import org.mockito.MockitoAnnotations
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ip.vrrp.top.vrrp.VrrpGroupKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.Interface
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.InterfaceBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.InterfaceKey
@@ -67,4 +68,15 @@ class InterfaceReaderTest {
 
         Assert.assertEquals(ifName, builder.name)
     }
+
+    @Test
+    fun testReadUnitVrrpGroup() {
+        val groups = mutableListOf<Long>()
+
+        InterfaceReader.readUnitVrrpGroup(underlayAccess, "ae2220", 46L, VrrpGroupKey(46)) { groups.add(it.name) }
+        InterfaceReader.readUnitVrrpGroup(underlayAccess, "ae2220", 46L, VrrpGroupKey(47)) { groups.add(it.name) }
+        InterfaceReader.readUnitVrrpGroup(underlayAccess, "ae2220", 0L, VrrpGroupKey(46)) { groups.add(it.name) }
+
+        Assert.assertEquals(listOf(46L), groups)
+    }
 }
\ No newline at end of file
@@ -91,4 +91,15 @@ class SubinterfaceAddressReaderTest : AbstractNetconfHandlerTest() {
 
         Assert.assertThat(builder.key.ip, CoreMatchers.equalTo(Ipv4AddressNoZone(ipAddress)))
     }
+
+    @Test
+    fun testReadCurrentAttributesExactAddress() {
+        // 10.128.178.9 is a substring of the configured 10.128.178.94 but a different address
+        val builder = AddressBuilder()
+
+        target.readCurrentAttributes(id.firstIdentifierOf(Addresses::class.java)
+                .child(Address::class.java, AddressKey(Ipv4AddressNoZone("10.128.178.9"))), builder, readContext)
+
+        Assert.assertThat(builder.key, CoreMatchers.nullValue())
+    }
 }
\ No newline at end of file
@@ -37,7 +37,10 @@ import io.frinx.unitopo.unit.junos18.network.instance.handler.vrf.protocol.Proto
 import io.frinx.unitopo.unit.junos18.network.instance.handler.vrf.protocol.aggregate.LocalAggregateConfigReader
 import io.frinx.unitopo.unit.junos18.network.instance.handler.vrf.protocol.aggregate.LocalAggregateConfigWriter
 import io.frinx.unitopo.unit.junos18.network.instance.handler.vrf.protocol.aggregate.LocalAggregateReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.extension.rev180323.NiProtAggAug
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.root.rev180101.Configuration
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.extension.rev180323.`$YangModuleInfoImpl` as OpenconfigBgpExtensionYangModuleInfo
@@ -82,7 +85,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     ) {
         rRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
         wRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -105,17 +110,17 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlay: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NETWORKINSTANCE, NetworkInstanceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_CONFIG, NetworkInstanceConfigReader(underlay))
+        rRegistry.add(IIDs.NE_NETWORKINSTANCE, scoped(NetworkInstanceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_CONFIG, scoped(NetworkInstanceConfigReader(underlay)))
 
-        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, VrfInterfaceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, VrfInterfaceConfigReader(underlay))
+        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, scoped(VrfInterfaceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, scoped(VrfInterfaceConfigReader(underlay)))
 
-        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, ProtocolReader(underlay))
-        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, ProtocolConfigReader())
-        rRegistry.add(IIDs.NE_NE_PR_PR_STATE, ProtocolStateReader())
-        rRegistry.add(IIDs.NE_NE_PR_PR_LO_AGGREGATE, LocalAggregateReader(underlay))
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_LO_AG_CONFIG, LocalAggregateConfigReader(underlay),
+        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, scoped(ProtocolReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, scoped(ProtocolConfigReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PR_STATE, scoped(ProtocolStateReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PR_LO_AGGREGATE, scoped(LocalAggregateReader(underlay)))
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_LO_AG_CONFIG, scoped(LocalAggregateConfigReader(underlay)),
             NE_NE_PR_PR_LO_AG_CONFIG_SUBTREE)
     }
 
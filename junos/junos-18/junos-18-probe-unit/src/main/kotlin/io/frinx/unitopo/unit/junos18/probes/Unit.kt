@@ -36,12 +36,16 @@ import io.frinx.unitopo.unit.junos18.probes.handler.test.ProbeTargetConfigWriter
 import io.frinx.unitopo.unit.junos18.probes.handler.test.ProbeTestConfigReader
 import io.frinx.unitopo.unit.junos18.probes.handler.test.ProbeTestConfigWriter
 import io.frinx.unitopo.unit.junos18.probes.handler.test.ProbeTestReader
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
 import io.frinx.unitopo.unit.utils.NoopWriter
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.probes.rev170905.openconfig.probes.top.ProbesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.probes.rev170905.probes.top.probe.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.probes.rev170905.probes.top.probe.TestsBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.probes.rev170905.test.target.TargetBuilder
+import org.opendaylight.yang.gen.v1.http.yang.juniper.net.junos.conf.root.rev180101.Configuration
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.probes.juniper.rev181203.`$YangModuleInfoImpl` as ProbeJunosExtYangInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.probes.rev170905.`$YangModuleInfoImpl` as ProbeYangInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.probes.rev170905.probe.tests.top.test.Config as TestConfig
@@ -81,7 +85,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.fullSnapshot(underlayAccess,
+            InstanceIdentifier.create(Configuration::class.java))
+        provideReaders(rRegistry, access)
         provideWriters(wRegistry, underlayAccess)
     }
 
@@ -101,17 +107,17 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         rRegistry.addStructuralReader(IIDs.PROBES, ProbesBuilder::class.java)
-        rRegistry.add(GenericListReader(IIDs.PR_PROBE, ProbeReader(underlayAccess)))
+        rRegistry.add(GenericListReader(IIDs.PR_PROBE, scoped(ProbeReader(underlayAccess))))
         rRegistry.subtreeAdd(PR_PR_CONFIG_SUBTREE,
-            GenericConfigReader(IIDs.PR_PR_CONFIG, ProbeConfigReader(underlayAccess)))
+            GenericConfigReader(IIDs.PR_PR_CONFIG, scoped(ProbeConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.PR_PR_TESTS, TestsBuilder::class.java)
-        rRegistry.add(GenericListReader(IIDs.PR_PR_TE_TEST, ProbeTestReader(underlayAccess)))
+        rRegistry.add(GenericListReader(IIDs.PR_PR_TE_TEST, scoped(ProbeTestReader(underlayAccess))))
         rRegistry.subtreeAdd(PR_PR_TE_TE_CONFIG_SUBTREE,
-            GenericConfigReader(IIDs.PR_PR_TE_TE_CONFIG, ProbeTestConfigReader(underlayAccess)))
+            GenericConfigReader(IIDs.PR_PR_TE_TE_CONFIG, scoped(ProbeTestConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.PR_PR_TE_TE_TARGET, TargetBuilder::class.java)
-        rRegistry.add(GenericConfigReader(IIDs.PR_PR_TE_TE_TA_CONFIG, ProbeTargetConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigReader(IIDs.PR_PR_TE_TE_TA_CONFIG, scoped(ProbeTargetConfigReader(underlayAccess))))
     }
 
     override fun toString(): String = "Junos 18.2 probe translate unit"
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.ni.base
+
+import io.fd.honeycomb.translate.write.WriteContext
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.AFISAFITYPE
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.NetworkInstances
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.types.rev170228.RouteDistinguisher
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.BGP
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.INSTALLPROTOCOLTYPE
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Config as NetworkInstanceConfig
+
+/**
+ * Network instance as seen by a write transaction, either before or after it.
+ *
+ * Writers of BGP and of redistribution between protocols need the BGP global configuration and the other protocols
+ * of the same network instance. The view reads each subtree of the network instance at most once and keeps the
+ * protocols grouped by type, the view itself is kept in the modification cache of the write transaction. A commit
+ * touching many neighbors or table connections of many VRFs therefore shares one resolved view per VRF instead of
+ * reading and scanning the same subtrees in every writer invocation.
+ */
+class NetworkInstanceView private constructor(
+    private val writeContext: WriteContext,
+    private val after: Boolean,
+    val vrfKey: NetworkInstanceKey
+) {
+
+    private val id = InstanceIdentifier.create(NetworkInstances::class.java)
+        .child(NetworkInstance::class.java, vrfKey)
+
+    val protocols: List<Protocol> by lazy { read(id.child(Protocols::class.java))?.protocol.orEmpty() }
+
+    private val protocolsByType by lazy { protocols.groupBy { it.identifier } }
+
+    val routeDistinguisher: RouteDistinguisher? by lazy {
+        read(id.child(NetworkInstanceConfig::class.java))?.routeDistinguisher
+    }
+
+    /**
+     * Protocol carrying the BGP configuration of the network instance.
+     */
+    val bgpProtocol: Protocol? by lazy { protocols(BGP::class.java).firstOrNull() }
+
+    val bgp: Bgp? get() = bgpProtocol?.bgp
+
+    val bgpAs: AsNumber? get() = bgp?.global?.config?.`as`
+
+    /**
+     * AFI/SAFIs enabled in the BGP global configuration.
+     */
+    val bgpAfiSafis: List<Class<out AFISAFITYPE>> by lazy {
+        bgp?.global?.afiSafis?.afiSafi.orEmpty().map { it.afiSafiName }
+    }
+
+    fun protocols(type: Class<out INSTALLPROTOCOLTYPE>?): List<Protocol> = protocolsByType[type].orEmpty()
+
+    private fun <T : DataObject> read(path: InstanceIdentifier<T>): T? =
+        (if (after) writeContext.readAfter(path) else writeContext.readBefore(path)).orNull()
+
+    companion object {
+
+        /**
+         * View of the network instance of [id] after the write transaction of [writeContext].
+         */
+        fun after(id: InstanceIdentifier<*>, writeContext: WriteContext) = resolve(id, writeContext, true)
+
+        /**
+         * View of the network instance of [id] before the write transaction of [writeContext].
+         */
+        fun before(id: InstanceIdentifier<*>, writeContext: WriteContext) = resolve(id, writeContext, false)
+
+        private fun resolve(
+            id: InstanceIdentifier<*>,
+            writeContext: WriteContext,
+            after: Boolean
+        ): NetworkInstanceView {
+            val vrfKey = requireNotNull(id.firstKeyOf(NetworkInstance::class.java)) {
+                "$id is not a path within a network instance"
+            }
+            val key = CacheKey(vrfKey, after)
+            val cache = writeContext.modificationCache
+            return cache?.get(key) as NetworkInstanceView?
+                ?: NetworkInstanceView(writeContext, after, vrfKey).also { cache?.put(key, it) }
+        }
+    }
+
+    private data class CacheKey(val vrfKey: NetworkInstanceKey, val after: Boolean)
+}
\ No newline at end of file
@@ -17,30 +17,67 @@
 package io.frinx.unitopo.unit.utils
 
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import java.util.concurrent.atomic.AtomicReferenceArray
 
+/**
+ * Conversions of AS numbers to and from the dot notation (asdot) used by the XR models.
+ *
+ * A 4-byte AS number already is the packed form of its dot notation, [asXx] and [asYy] extract the halves as
+ * primitives without allocating a pair. [Ranges] interns typed instances of the halves.
+ */
 class As {
 
+    /**
+     * Typed 2-byte AS halves (e.g. BgpAsRange of a model revision), created on first use and shared afterwards.
+     */
+    class Ranges<T : Any>(private val factory: (Long) -> T) {
+
+        private val values = AtomicReferenceArray<T>((MAX_AS_2BYTE + 1).toInt())
+
+        fun get(value: Long): T {
+            require(value in 0..MAX_AS_2BYTE)
+            val index = value.toInt()
+            values.get(index)?.let { return it }
+            values.compareAndSet(index, null, factory(value))
+            return values.get(index)
+        }
+    }
+
     companion object {
 
         public const val MAX_AS_2BYTE = 65535L
         public const val MAX_AS_4BYTE = 4294967295L
 
-        public fun asFromDotNotation(first: Long?, second: Long): AsNumber {
-            require(first == null || first <= MAX_AS_2BYTE)
+        public fun asFromDotNotation(first: Long?, second: Long): AsNumber =
+            AsNumber(packDotNotation(first ?: 0, second))
+
+        /**
+         * AS number value of dot notation [first].[second].
+         */
+        public fun packDotNotation(first: Long, second: Long): Long {
+            require(first <= MAX_AS_2BYTE)
             require(second <= MAX_AS_2BYTE)
 
-            return AsNumber((first ?: 0) * (MAX_AS_2BYTE + 1) + second)
+            return first shl 16 or second
         }
 
-        public fun asToDotNotation(asN: AsNumber): Pair<Long, Long> {
-            require(asN.value <= MAX_AS_4BYTE)
-            require(asN.value > 0)
+        public fun asToDotNotation(asN: AsNumber): Pair<Long, Long> = Pair(asXx(asN), asYy(asN))
+
+        /**
+         * First half of the dot notation of [asN], 0 for 2-byte AS numbers.
+         */
+        public fun asXx(asN: AsNumber): Long = checked(asN.value) ushr 16
+
+        /**
+         * Second half of the dot notation of [asN], the AS number itself for 2-byte AS numbers.
+         */
+        public fun asYy(asN: AsNumber): Long = checked(asN.value) and MAX_AS_2BYTE
+
+        private fun checked(value: Long): Long {
+            require(value <= MAX_AS_4BYTE)
+            require(value > 0)
 
-            return if (asN.value > MAX_AS_2BYTE) {
-                Pair(asN.value / (MAX_AS_2BYTE + 1), asN.value % (MAX_AS_2BYTE + 1))
-            } else {
-                Pair(0, asN.value)
-            }
+            return value
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Optional
+import com.google.common.util.concurrent.CheckedFuture
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+/**
+ * Non-blocking reads on top of [UnderlayAccess], shared within a read transaction.
+ *
+ * Honeycomb calls customizers one after another and each of them blocks on its result. A list reader can instead
+ * issue the reads its per-key readers will need with [readAsync] before waiting for its own data, independent
+ * subtrees are then fetched concurrently on the session. The issued future is kept in the modification cache of the
+ * read transaction, [readAsync] and [read] of the same path pick it up instead of reading again. Reads without
+ * a datastore type go to the datastore of the current operation, as [UnderlayAccess.read] does.
+ */
+object AsyncUnderlayReads {
+
+    /**
+     * Read of [path] issued within the read transaction of [readContext], issued now if there is none yet.
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun <T : DataObject> readAsync(
+        access: UnderlayAccess,
+        readContext: ReadContext,
+        path: InstanceIdentifier<T>,
+        type: LogicalDatastoreType? = null
+    ): CheckedFuture<Optional<T>, ReadFailedException> {
+        val cache = readContext.modificationCache ?: return access.readFrom(path, type)
+        val key = Key(path, type ?: access.currentOperationType)
+        @Suppress("UNCHECKED_CAST")
+        (cache.get(key) as CheckedFuture<Optional<T>, ReadFailedException>?)?.let { return it }
+        return access.readFrom(path, type).also { cache.put(key, it) }
+    }
+
+    /**
+     * Result of [path], waiting for the read issued by [readAsync] if there is one.
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun <T : DataObject> read(
+        access: UnderlayAccess,
+        readContext: ReadContext,
+        path: InstanceIdentifier<T>,
+        type: LogicalDatastoreType? = null
+    ): T? = readAsync(access, readContext, path, type).checkedGet().orNull()
+
+    private fun <T : DataObject> UnderlayAccess.readFrom(path: InstanceIdentifier<T>, type: LogicalDatastoreType?) =
+        if (type == null) read(path) else read(path, type)
+
+    private data class Key(val path: InstanceIdentifier<*>, val type: LogicalDatastoreType?)
+}
\ No newline at end of file
@@ -0,0 +1,421 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Function
+import com.google.common.base.Optional
+import com.google.common.base.Ticker
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.util.concurrent.CheckedFuture
+import com.google.common.util.concurrent.Futures
+import com.google.common.util.concurrent.MoreExecutors
+import com.google.common.util.concurrent.SettableFuture
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yangtools.yang.binding.util.DataObjectReadingUtil
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArraySet
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Decorator of [UnderlayAccess] memoizing subtree reads in a read snapshot.
+ *
+ * The snapshot is scoped to the read transaction served on the calling thread (see [ReadTransactionScope]), it is
+ * kept in the modification cache of the transaction and dropped together with it. Reads outside of a transaction
+ * scope, e.g. reads of writers, go to the device. Any write operation (put, merge, delete and their safe variants)
+ * issued through this access or [invalidate] drops the snapshot of the current transaction.
+ *
+ * Snapshots outliving a transaction are opt-in. With a [snapshotTtl] the snapshot is shared by all transactions
+ * until it gets older than the TTL, so reads may be up to [snapshotTtl] stale and a read made after a write was
+ * staged but before it was committed is served until the snapshot expires.
+ *
+ * Reads of a descendant IID are served from an already cached ancestor subtree, e.g. reading a single
+ * InterfaceConfiguration after the whole InterfaceConfigurations container was read costs no device call.
+ * Every subtree is extracted from its ancestor only once, repeated reads return the same instance. A miss does not
+ * block the caller, its result is kept once the device read completes.
+ *
+ * Entries are kept per datastore, reads without datastore type are kept under the current operation type of the
+ * underlay. Only configuration is memoized by default, operational data changes on its own and is read from the
+ * device every time unless [includeOperational] is set, see [OperationalDataCache] for per-subtree freshness.
+ *
+ * Units opt in by wrapping the underlay access passed to provideHandlers and registering their readers wrapped
+ * with [ReadTransactionScope.scoped].
+ *
+ * In full snapshot mode (see [fullSnapshot]) the first configuration read below a snapshot root reads the whole
+ * root subtree, e.g. the complete device configuration in a single get-config, and all further configuration reads
+ * below it are resolved from that tree for the rest of the snapshot.
+ *
+ * With a revision gate (see [gateOn]) a finished or expired snapshot is not dropped as long as the configuration
+ * revision of the device, e.g. the time of its last commit, stays the same. Its configuration subtrees are carried
+ * over to the snapshot of the next transaction, so checking an unchanged device costs a single revision read
+ * instead of re-reading its configuration, and structures derived from the subtrees (see [SnapshotIndexer]) stay
+ * valid as well.
+ */
+class CachingUnderlayAccess @JvmOverloads constructor(
+    private val delegate: UnderlayAccess,
+    snapshotTtl: Long = 0,
+    snapshotTtlUnit: TimeUnit = TimeUnit.MILLISECONDS,
+    private val ticker: Ticker = Ticker.systemTicker()
+) : UnderlayAccess by delegate {
+
+    private val snapshotRoots = CopyOnWriteArraySet<InstanceIdentifier<out DataObject>>()
+
+    @Volatile
+    private var operational = false
+
+    private val snapshotTtlNanos = snapshotTtlUnit.toNanos(snapshotTtl)
+
+    @Volatile
+    private var snapshot = Snapshot(ticker.read(), null)
+
+    @Volatile
+    private var revisionGate: (() -> String?)? = null
+
+    private val hits = AtomicLong()
+
+    private val misses = AtomicLong()
+
+    /**
+     * Number of reads served from the snapshot.
+     */
+    val hitCount: Long
+        get() = hits.get()
+
+    /**
+     * Number of reads delegated to the device, including wildcarded ones.
+     */
+    val missCount: Long
+        get() = misses.get()
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>): CheckedFuture<Optional<T>, ReadFailedException> =
+        cachedRead(path, null) { delegate.read(path) }
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>, type: LogicalDatastoreType):
+        CheckedFuture<Optional<T>, ReadFailedException> = cachedRead(path, type) { delegate.read(path, type) }
+
+    override fun <T : DataObject?> put(path: InstanceIdentifier<T>?, data: T) {
+        invalidate()
+        delegate.put(path, data)
+    }
+
+    override fun <T : DataObject?> merge(path: InstanceIdentifier<T>?, data: T) {
+        invalidate()
+        delegate.merge(path, data)
+    }
+
+    override fun delete(path: InstanceIdentifier<*>?) {
+        invalidate()
+        delegate.delete(path)
+    }
+
+    override fun <T : DataObject?> safePut(path: InstanceIdentifier<T>?, data: T) {
+        invalidate()
+        delegate.safePut(path, data)
+    }
+
+    override fun <T : DataObject?> safeMerge(
+        pathBefore: InstanceIdentifier<T>?,
+        before: T,
+        pathAfter: InstanceIdentifier<T>?,
+        after: T
+    ) {
+        invalidate()
+        delegate.safeMerge(pathBefore, before, pathAfter, after)
+    }
+
+    override fun <T : DataObject?> safeDelete(path: InstanceIdentifier<T>?, before: T) {
+        invalidate()
+        delegate.safeDelete(path, before)
+    }
+
+    override fun close() {
+        invalidate()
+        delegate.close()
+    }
+
+    /**
+     * Subtree of [path] if the current snapshot holds it, the device is never read.
+     */
+    @JvmOverloads
+    fun <T : DataObject> cached(path: InstanceIdentifier<T>, type: LogicalDatastoreType? = null): Optional<T>? {
+        val datastore = datastore(type)
+        return if (path.isWildcarded || !cacheable(datastore)) null else currentSnapshot()?.lookup(path, datastore)
+    }
+
+    /**
+     * Memoize operational reads in the snapshot as well, they are then up to [snapshotTtl] stale.
+     */
+    fun includeOperational() = apply {
+        operational = true
+    }
+
+    /**
+     * Read the whole subtree of [root] on first configuration read below it. Reads without datastore type read
+     * configuration and are served from the same tree.
+     */
+    fun addSnapshotRoot(root: InstanceIdentifier<out DataObject>) = apply {
+        require(!root.isWildcarded) { "Snapshot root $root must not be wildcarded" }
+        snapshotRoots.add(root)
+    }
+
+    /**
+     * Keep configuration subtrees of expired snapshots while [revision] returns the same non-null value as when
+     * the snapshot was taken, the revision is read once per snapshot. A failed revision read is taken as a changed
+     * revision.
+     */
+    fun gateOn(revision: () -> String?) = apply {
+        revisionGate = revision
+    }
+
+    /**
+     * Drop all cached subtrees, next read of any IID goes to the device.
+     */
+    fun invalidate() {
+        snapshot = Snapshot(ticker.read(), null)
+        ReadTransactionScope.current()?.put(this, snapshot)
+    }
+
+    /**
+     * Snapshot of the current transaction, null outside of a transaction scope unless snapshots outlive
+     * transactions.
+     */
+    private fun currentSnapshot(): Snapshot? {
+        val transaction = ReadTransactionScope.current()
+        if (transaction == null && snapshotTtlNanos == 0L) {
+            return null
+        }
+        (transaction?.get(this) as Snapshot?)?.let { return it }
+        return nextSnapshot().also { transaction?.put(this, it) }
+    }
+
+    private fun nextSnapshot(): Snapshot {
+        val current = snapshot
+        val now = ticker.read()
+        if (snapshotTtlNanos > 0 && now - current.createdAt <= snapshotTtlNanos) {
+            return current
+        }
+        val gate = revisionGate ?: return Snapshot(now, null).also { snapshot = it }
+        val revision = try {
+            gate()
+        } catch (e: Exception) {
+            LOG.warn("Unable to read configuration revision, dropping snapshot", e)
+            null
+        }
+        val next = if (revision != null && revision == current.revision) {
+            current.renew(now)
+        } else {
+            Snapshot(now, revision)
+        }
+        snapshot = next
+        return next
+    }
+
+    private fun <T : DataObject> cachedRead(
+        path: InstanceIdentifier<T>,
+        type: LogicalDatastoreType?,
+        read: () -> CheckedFuture<Optional<T>, ReadFailedException>
+    ): CheckedFuture<Optional<T>, ReadFailedException> {
+        val datastore = datastore(type)
+        // wildcarded reads cannot be keyed reliably
+        val current = if (path.isWildcarded || !cacheable(datastore)) null else currentSnapshot()
+        if (current == null) {
+            misses.incrementAndGet()
+            return read()
+        }
+
+        current.lookup(path, datastore)?.let {
+            hits.incrementAndGet()
+            return Futures.immediateCheckedFuture(it)
+        }
+        misses.incrementAndGet()
+
+        val root = snapshotRoot(current, path, datastore) ?: return readAndStore(current, path, datastore, read)
+        val rootRead = delegate.read(root, LogicalDatastoreType.CONFIGURATION)
+        val result = SettableFuture.create<Optional<T>>()
+        rootRead.addListener(Runnable {
+            try {
+                current.store(root, LogicalDatastoreType.CONFIGURATION, rootRead.checkedGet())
+                val resolved = current.lookup(path, datastore)
+                if (resolved != null) {
+                    result.set(resolved)
+                } else {
+                    // path not navigable in the root subtree, it is read on its own
+                    result.completeWith(readAndStore(current, path, datastore, read))
+                }
+            } catch (e: ReadFailedException) {
+                result.setException(e)
+            }
+        }, MoreExecutors.directExecutor())
+        return Futures.makeChecked(result, READ_FAILED)
+    }
+
+    /**
+     * Issue [read] and store its result in [snapshot] once it completes, the caller is not blocked.
+     */
+    private fun <T : DataObject> readAndStore(
+        snapshot: Snapshot,
+        path: InstanceIdentifier<T>,
+        type: LogicalDatastoreType?,
+        read: () -> CheckedFuture<Optional<T>, ReadFailedException>
+    ): CheckedFuture<Optional<T>, ReadFailedException> {
+        val future = read()
+        future.addListener(Runnable {
+            try {
+                snapshot.store(path, type, future.checkedGet())
+            } catch (e: ReadFailedException) {
+                // failed reads are not kept, the caller gets the failure from the future
+            }
+        }, MoreExecutors.directExecutor())
+        return future
+    }
+
+    private fun <T> SettableFuture<T>.completeWith(future: CheckedFuture<T, ReadFailedException>) {
+        future.addListener(Runnable {
+            try {
+                set(future.checkedGet())
+            } catch (e: ReadFailedException) {
+                setException(e)
+            }
+        }, MoreExecutors.directExecutor())
+    }
+
+    /**
+     * Datastore a read of [type] is kept under. Reads without type read the datastore of the current operation,
+     * in full snapshot mode configuration.
+     */
+    private fun datastore(type: LogicalDatastoreType?): LogicalDatastoreType? = when {
+        type != null -> type
+        snapshotRoots.isNotEmpty() -> LogicalDatastoreType.CONFIGURATION
+        else -> delegate.currentOperationType
+    }
+
+    private fun cacheable(type: LogicalDatastoreType?) = operational || type != LogicalDatastoreType.OPERATIONAL
+
+    /**
+     * Snapshot root holding [path] that is still to be read, null if there is no such root.
+     */
+    private fun snapshotRoot(
+        snapshot: Snapshot,
+        path: InstanceIdentifier<*>,
+        type: LogicalDatastoreType?
+    ): InstanceIdentifier<out DataObject>? {
+        if (type != LogicalDatastoreType.CONFIGURATION) {
+            return null
+        }
+        val root = snapshotRoots.firstOrNull { it != path && it.contains(path) } ?: return null
+        // root in the snapshot already means the path is not navigable in it
+        return if (snapshot.lookup(root, type) == null) root else null
+    }
+
+    private data class CacheKey(val path: InstanceIdentifier<*>, val type: LogicalDatastoreType?)
+
+    private class Snapshot(val createdAt: Long, val revision: String?) {
+
+        private val entries = ConcurrentHashMap<CacheKey, Optional<out DataObject>>()
+
+        /**
+         * Snapshot of the same revision holding configuration subtrees of this one.
+         */
+        fun renew(createdAt: Long) = Snapshot(createdAt, revision).also { renewed ->
+            entries.filterKeys { it.type == LogicalDatastoreType.CONFIGURATION }.let { renewed.entries.putAll(it) }
+        }
+
+        fun store(path: InstanceIdentifier<*>, type: LogicalDatastoreType?, data: Optional<out DataObject>) {
+            entries[CacheKey(path, type)] = data
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        fun <T : DataObject> lookup(path: InstanceIdentifier<T>, type: LogicalDatastoreType?): Optional<T>? {
+            entries[CacheKey(path, type)]?.let { return it as Optional<T> }
+
+            // walk up from the closest ancestor, the first cached one holds the complete requested subtree
+            val pathArgs = path.pathArguments.toList()
+            for (depth in pathArgs.size - 1 downTo 1) {
+                val ancestorPath = InstanceIdentifier.create(pathArgs.subList(0, depth))
+                val ancestor = entries[CacheKey(ancestorPath, type)] ?: continue
+                if (!ancestor.isPresent) {
+                    return Optional.absent()
+                }
+                // keep the descendant, so it is extracted once and the same instance is served for the snapshot
+                return readDescendant(ancestor.get(), ancestorPath, path)?.also { store(path, type, it) }
+            }
+            return null
+        }
+
+        private fun <T : DataObject> readDescendant(
+            ancestor: DataObject,
+            ancestorPath: InstanceIdentifier<out DataObject>,
+            path: InstanceIdentifier<T>
+        ): Optional<T>? {
+            return try {
+                Optional.fromNullable(DataObjectReadingUtil.readData(ancestor, ancestorPath, path)[path])
+            } catch (e: IllegalArgumentException) {
+                // path not navigable in binding representation (e.g. unsupported choice/case), read from device
+                null
+            }
+        }
+    }
+
+    companion object {
+        private val LOG = LoggerFactory.getLogger(CachingUnderlayAccess::class.java)
+
+        private val READ_FAILED = Function<Exception, ReadFailedException> {
+            it as? ReadFailedException ?: it.cause as? ReadFailedException ?: ReadFailedException("Read failed", it)
+        }
+
+        // values reference their keys, so both are weak, the shared access lives as long as handlers hold it
+        private val SHARED: Cache<UnderlayAccess, CachingUnderlayAccess> = CacheBuilder.newBuilder()
+            .weakKeys()
+            .weakValues()
+            .build()
+
+        /**
+         * Caching access shared by all units wrapping the same [delegate].
+         *
+         * Units of a device then serve each other's reads of a transaction from one snapshot and a revision gate
+         * (see [gateOn]) installed by one of them applies to all. Snapshot misses read through the
+         * [OperationalDataCache.shared] cache of the device, so operational data with a freshness policy outlives
+         * the snapshot.
+         */
+        @JvmStatic
+        fun shared(delegate: UnderlayAccess): CachingUnderlayAccess =
+            shared(delegate, OperationalDataCache.shared(delegate))
+
+        /**
+         * [shared] caching access of [delegate] reading through [cache], the [OperationalDataCache.shared] cache of
+         * the device. The caller holds [cache] while configuring it, so its freshness policies are not lost before
+         * the access references it.
+         */
+        @JvmStatic
+        fun shared(delegate: UnderlayAccess, cache: OperationalDataCache): CachingUnderlayAccess =
+            SHARED.get(delegate) { CachingUnderlayAccess(cache) }
+
+        /**
+         * Full snapshot mode, [shared] caching access reading the whole subtree of [root] at once, so units of
+         * a device resolve their data from a single read of the root per snapshot.
+         */
+        @JvmStatic
+        fun fullSnapshot(delegate: UnderlayAccess, root: InstanceIdentifier<out DataObject>): CachingUnderlayAccess =
+            shared(delegate).addSnapshotRoot(root)
+    }
+}
\ No newline at end of file
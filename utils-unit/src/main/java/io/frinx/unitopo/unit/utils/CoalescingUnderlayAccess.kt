@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Optional
+import com.google.common.util.concurrent.CheckedFuture
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode
+import org.opendaylight.yangtools.yang.model.api.SchemaPath
+
+/**
+ * Decorator of [UnderlayAccess] dropping put, merge and delete operations of a single writer that are superseded
+ * by its later ones, e.g. a delete followed by a put of the same subtree becomes the put alone. It is not a batching
+ * layer, operations of different writers and of different invocations are sent separately.
+ *
+ * Operations are buffered only inside [coalesce], separately for each calling thread, so concurrent write
+ * transactions never share a buffer. The buffer is sent when the outermost [coalesce] returns, before any read, RPC,
+ * safe operation or close of the same thread, and on [flush], so handlers always observe their own writes. Outside
+ * of [coalesce] operations go straight to the delegate. While buffered:
+ *  - put of a subtree drops earlier put/merge/delete operations on the same subtree or any of its descendants,
+ *    the replaced subtree ends up the same regardless of them,
+ *  - merge or delete repeating the immediately preceding operation on the same path is dropped.
+ *
+ * Underlay does not notify about the end of a write transaction and writers are only invoked for modified data, so
+ * no writer can be ordered to flush a transaction-wide buffer. The widest scope is therefore a single customizer
+ * invocation, see [CoalescingWriterCustomizer].
+ */
+class CoalescingUnderlayAccess(private val delegate: UnderlayAccess) : UnderlayAccess by delegate {
+
+    private val scope = ThreadLocal<MutableList<Operation>>()
+
+    /**
+     * Run [block] with put, merge and delete operations of the calling thread buffered, send them when it returns.
+     * Operations buffered by a failed [block] are dropped. Nested calls share the buffer of the outermost one.
+     */
+    fun <R> coalesce(block: () -> R): R {
+        if (scope.get() != null) {
+            return block()
+        }
+        val pending = mutableListOf<Operation>()
+        scope.set(pending)
+        val result = try {
+            block()
+        } finally {
+            scope.remove()
+        }
+        pending.forEach { it.applyTo(delegate) }
+        return result
+    }
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>): CheckedFuture<Optional<T>, ReadFailedException> {
+        flush()
+        return delegate.read(path)
+    }
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>, type: LogicalDatastoreType):
+        CheckedFuture<Optional<T>, ReadFailedException> {
+        flush()
+        return delegate.read(path, type)
+    }
+
+    override fun invokeRpc(schemaPath: SchemaPath, input: NormalizedNode<*, *>?):
+        CheckedFuture<DOMRpcResult, DOMRpcException> {
+        flush()
+        return delegate.invokeRpc(schemaPath, input)
+    }
+
+    override fun <T : DataObject?> put(path: InstanceIdentifier<T>?, data: T) {
+        val pending = scope.get() ?: return delegate.put(path, data)
+        pending.removeAll { path!!.contains(it.path) }
+        pending.add(Operation(OperationType.PUT, path!!, data))
+    }
+
+    override fun <T : DataObject?> merge(path: InstanceIdentifier<T>?, data: T) {
+        val pending = scope.get() ?: return delegate.merge(path, data)
+        pending.append(Operation(OperationType.MERGE, path!!, data))
+    }
+
+    override fun delete(path: InstanceIdentifier<*>?) {
+        val pending = scope.get() ?: return delegate.delete(path)
+        pending.append(Operation(OperationType.DELETE, path!!, null))
+    }
+
+    override fun <T : DataObject?> safePut(path: InstanceIdentifier<T>?, data: T) {
+        flush()
+        delegate.safePut(path, data)
+    }
+
+    override fun <T : DataObject?> safeMerge(
+        pathBefore: InstanceIdentifier<T>?,
+        before: T,
+        pathAfter: InstanceIdentifier<T>?,
+        after: T
+    ) {
+        flush()
+        delegate.safeMerge(pathBefore, before, pathAfter, after)
+    }
+
+    override fun <T : DataObject?> safeDelete(path: InstanceIdentifier<T>?, before: T) {
+        flush()
+        delegate.safeDelete(path, before)
+    }
+
+    override fun close() {
+        flush()
+        delegate.close()
+    }
+
+    /**
+     * Send operations buffered by the calling thread to the delegate, in the order they were issued.
+     */
+    fun flush() {
+        val pending = scope.get() ?: return
+        val operations = pending.toList()
+        pending.clear()
+        operations.forEach { it.applyTo(delegate) }
+    }
+
+    private fun MutableList<Operation>.append(operation: Operation) {
+        if (lastOrNull() != operation) {
+            add(operation)
+        }
+    }
+
+    private enum class OperationType {
+        PUT, MERGE, DELETE
+    }
+
+    private data class Operation(val type: OperationType, val path: InstanceIdentifier<*>, val data: DataObject?) {
+
+        @Suppress("UNCHECKED_CAST")
+        fun applyTo(access: UnderlayAccess) {
+            when (type) {
+                OperationType.PUT -> access.put(path as InstanceIdentifier<DataObject>, data)
+                OperationType.MERGE -> access.merge(path as InstanceIdentifier<DataObject>, data)
+                OperationType.DELETE -> access.delete(path)
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import io.fd.honeycomb.translate.spi.write.WriterCustomizer
+import io.fd.honeycomb.translate.write.WriteContext
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+/**
+ * Runs every invocation of [delegate] in [CoalescingUnderlayAccess.coalesce], operations it issues are folded and
+ * sent to the device before the invocation returns, e.g. a delete and put of the same subtree become a put. Each
+ * invocation gets its own buffer, invocations of concurrent write transactions do not see each other's operations.
+ */
+class CoalescingWriterCustomizer<T : DataObject>(
+    private val delegate: WriterCustomizer<T>,
+    private val access: CoalescingUnderlayAccess
+) : WriterCustomizer<T> {
+
+    override fun writeCurrentAttributes(id: InstanceIdentifier<T>, dataAfter: T, writeContext: WriteContext) =
+        access.coalesce { delegate.writeCurrentAttributes(id, dataAfter, writeContext) }
+
+    override fun updateCurrentAttributes(
+        id: InstanceIdentifier<T>,
+        dataBefore: T,
+        dataAfter: T,
+        writeContext: WriteContext
+    ) = access.coalesce { delegate.updateCurrentAttributes(id, dataBefore, dataAfter, writeContext) }
+
+    override fun deleteCurrentAttributes(id: InstanceIdentifier<T>, dataBefore: T, writeContext: WriteContext) =
+        access.coalesce { delegate.deleteCurrentAttributes(id, dataBefore, writeContext) }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.CacheLoader
+import com.google.common.cache.LoadingCache
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+/**
+ * Underlay path made of a static [prefix] and a keyed tail.
+ *
+ * The prefix is built once, [tail] only appends the keyed path arguments to it. Identifiers of the most recently
+ * used keys are interned, so hot paths (e.g. a neighbor written by several writers of one transaction, or polled
+ * repeatedly) are not rebuilt at all and equal identifiers share their path arguments and hash code.
+ *
+ * [K] can be any value object holding the keys of the tail, e.g. a key of a list or a pair of keys.
+ */
+class IidTemplate<P : DataObject, T : DataObject, K : Any> @JvmOverloads constructor(
+    val prefix: InstanceIdentifier<P>,
+    maxInterned: Long = DEFAULT_MAX_INTERNED,
+    private val tail: (InstanceIdentifier<P>, K) -> InstanceIdentifier<T>
+) {
+
+    private val interned: LoadingCache<K, InstanceIdentifier<T>> = CacheBuilder.newBuilder()
+        .maximumSize(maxInterned)
+        .build(object : CacheLoader<K, InstanceIdentifier<T>>() {
+            override fun load(key: K): InstanceIdentifier<T> = tail(prefix, key)
+        })
+
+    fun get(key: K): InstanceIdentifier<T> = interned.getUnchecked(key)
+
+    companion object {
+        const val DEFAULT_MAX_INTERNED = 4096L
+    }
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Optional
+import com.google.common.util.concurrent.CheckedFuture
+import com.google.common.util.concurrent.MoreExecutors
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.UnderlayAccessStatistics.Key
+import io.frinx.unitopo.unit.utils.UnderlayAccessStatistics.Operation
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode
+import org.opendaylight.yangtools.yang.model.api.SchemaPath
+import org.slf4j.LoggerFactory
+import java.lang.management.ManagementFactory
+import java.lang.ref.ReferenceQueue
+import java.lang.ref.WeakReference
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import javax.management.JMException
+import javax.management.ObjectName
+
+/**
+ * Decorator of [UnderlayAccess] recording call statistics into [statistics].
+ *
+ * Calls are counted per operation, target type of the IID and datastore. Read and RPC latencies are measured until
+ * the returned future completes. Payload size is the length of the string form of the data and the customizer
+ * issuing the call is found by walking the stack, so they are only collected when [collectPayloadSizes] and
+ * [collectCallers] are set. When the delegate is a [CachingUnderlayAccess], its hit rate is reported as well. That
+ * access is usually [CachingUnderlayAccess.shared] by all units of the device, the rate is then device-wide.
+ *
+ * Statistics are registered as an MBean named after [name]. Each instance gets its own MBean, a unit providing
+ * handlers for several devices can use the same name. Units are never closed, the MBean is unregistered on close
+ * or, once the instance is no longer reachable, when the next instance registers its MBean. Closing does not close
+ * the delegate, other units of the device may still use it.
+ */
+class InstrumentingUnderlayAccess @JvmOverloads constructor(
+    private val delegate: UnderlayAccess,
+    name: String,
+    private val collectPayloadSizes: Boolean = false,
+    private val collectCallers: Boolean = false
+) : UnderlayAccess by delegate {
+
+    // the MBean server keeps statistics, they must not keep the device session
+    val statistics = WeakReference(delegate as? CachingUnderlayAccess).let { caching ->
+        UnderlayAccessStatistics { caching.get()?.let { it.hitCount to it.missCount } }
+    }
+
+    private val objectName = ObjectName(
+        "$OBJECT_NAME_DOMAIN:type=UnderlayAccess,name=${ObjectName.quote(name)},id=${INSTANCES.incrementAndGet()}")
+
+    init {
+        unregisterUnreachable()
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, objectName)
+            REGISTRATIONS.add(Registration(this, objectName))
+        } catch (e: JMException) {
+            LOG.warn("Unable to register underlay access statistics {}", objectName, e)
+        }
+    }
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>): CheckedFuture<Optional<T>, ReadFailedException> =
+        timedRead(path, null) { delegate.read(path) }
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>, type: LogicalDatastoreType):
+        CheckedFuture<Optional<T>, ReadFailedException> = timedRead(path, type) { delegate.read(path, type) }
+
+    override fun invokeRpc(schemaPath: SchemaPath, input: NormalizedNode<*, *>?):
+        CheckedFuture<DOMRpcResult, DOMRpcException> {
+        val key = Key(Operation.RPC, schemaPath.lastComponent?.localName.toString(), null, caller())
+        val start = System.nanoTime()
+        val future = delegate.invokeRpc(schemaPath, input)
+        future.addListener(Runnable { statistics.record(key, System.nanoTime() - start, null) },
+            MoreExecutors.directExecutor())
+        return future
+    }
+
+    override fun <T : DataObject?> put(path: InstanceIdentifier<T>?, data: T) {
+        record(Operation.PUT, path, data)
+        delegate.put(path, data)
+    }
+
+    override fun <T : DataObject?> merge(path: InstanceIdentifier<T>?, data: T) {
+        record(Operation.MERGE, path, data)
+        delegate.merge(path, data)
+    }
+
+    override fun delete(path: InstanceIdentifier<*>?) {
+        record(Operation.DELETE, path, null)
+        delegate.delete(path)
+    }
+
+    override fun <T : DataObject?> safePut(path: InstanceIdentifier<T>?, data: T) {
+        record(Operation.PUT, path, data)
+        delegate.safePut(path, data)
+    }
+
+    override fun <T : DataObject?> safeMerge(
+        pathBefore: InstanceIdentifier<T>?,
+        before: T,
+        pathAfter: InstanceIdentifier<T>?,
+        after: T
+    ) {
+        record(Operation.MERGE, pathAfter, after)
+        delegate.safeMerge(pathBefore, before, pathAfter, after)
+    }
+
+    override fun <T : DataObject?> safeDelete(path: InstanceIdentifier<T>?, before: T) {
+        record(Operation.DELETE, path, null)
+        delegate.safeDelete(path, before)
+    }
+
+    override fun close() {
+        REGISTRATIONS.removeIf { it.objectName == objectName }
+        unregister(objectName)
+    }
+
+    private fun <T : DataObject> timedRead(
+        path: InstanceIdentifier<T>,
+        type: LogicalDatastoreType?,
+        read: () -> CheckedFuture<Optional<T>, ReadFailedException>
+    ): CheckedFuture<Optional<T>, ReadFailedException> {
+        val key = Key(Operation.READ, path.targetType.simpleName, type?.name, caller())
+        val start = System.nanoTime()
+        val future = read()
+        future.addListener(Runnable {
+            val payloadSize = if (collectPayloadSizes && future.isDone && !future.isCancelled) {
+                try {
+                    future.checkedGet().orNull()?.toString()?.length
+                } catch (e: ReadFailedException) {
+                    null
+                }
+            } else null
+            statistics.record(key, System.nanoTime() - start, payloadSize)
+        }, MoreExecutors.directExecutor())
+        return future
+    }
+
+    private fun record(operation: Operation, path: InstanceIdentifier<*>?, data: DataObject?) {
+        val key = Key(operation, path?.targetType?.simpleName.toString(), LogicalDatastoreType.CONFIGURATION.name,
+            caller())
+        statistics.record(key, null, if (collectPayloadSizes) data?.toString()?.length else null)
+    }
+
+    private fun caller(): String? = if (collectCallers) stackCaller() else null
+
+    private class Registration(access: InstrumentingUnderlayAccess, val objectName: ObjectName) :
+        WeakReference<InstrumentingUnderlayAccess>(access, UNREACHABLE)
+
+    companion object {
+        private val LOG = LoggerFactory.getLogger(InstrumentingUnderlayAccess::class.java)
+        private const val OBJECT_NAME_DOMAIN = "io.frinx.unitopo.underlay"
+        private const val UNIT_PACKAGE = "io.frinx.unitopo.unit."
+        private val UTILS_PACKAGE = InstrumentingUnderlayAccess::class.java.`package`.name + "."
+        private val CALLER_NAMES = ConcurrentHashMap<String, String>()
+        private val DECORATORS = ConcurrentHashMap<String, Boolean>()
+        private val INSTANCES = AtomicInteger()
+        private val UNREACHABLE = ReferenceQueue<InstrumentingUnderlayAccess>()
+        // registrations are only referenced from here until their access is collected
+        private val REGISTRATIONS: MutableSet<Registration> = ConcurrentHashMap.newKeySet()
+
+        private fun unregisterUnreachable() {
+            generateSequence { UNREACHABLE.poll() as Registration? }
+                .filter { REGISTRATIONS.remove(it) }
+                .forEach { unregister(it.objectName) }
+        }
+
+        private fun unregister(objectName: ObjectName) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName)
+            } catch (e: JMException) {
+                LOG.debug("Unable to unregister underlay access statistics {}", objectName, e)
+            }
+        }
+
+        /**
+         * Simple name of the closest unit class on the stack, other than the underlay access decorators of utils.
+         * Companion objects and lambdas are attributed to their enclosing class, e.g. a read issued by
+         * NeighborReader.Companion from NeighborConfigReader is attributed to NeighborConfigReader.
+         */
+        private fun stackCaller(): String? = Thread.currentThread().stackTrace
+            .map { it.className }
+            .firstOrNull { it.startsWith(UNIT_PACKAGE) && !isCompanion(it) && !isDecorator(it) }
+            ?.let { className ->
+                CALLER_NAMES.computeIfAbsent(className) { it.substringBefore('$').substringAfterLast('.') }
+            }
+
+        private fun isCompanion(className: String) = className.contains("\$Companion")
+
+        private fun isDecorator(className: String) = DECORATORS.computeIfAbsent(className.substringBefore('$')) {
+            it.startsWith(UTILS_PACKAGE) && try {
+                UnderlayAccess::class.java.isAssignableFrom(
+                    Class.forName(it, false, InstrumentingUnderlayAccess::class.java.classLoader))
+            } catch (e: ClassNotFoundException) {
+                false
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import java.util.regex.Pattern
+
+/**
+ * Immutable hash index of underlay entries keyed by interface name.
+ *
+ * Subinterfaces (named `<parent>.<index>`) are additionally grouped by the name of their parent interface.
+ * When more entries share the same name, the first one wins, same as a `firstOrNull` scan over the list.
+ */
+class InterfaceIndex<V : Any>(entries: Iterable<V>, nameOf: (V) -> String) {
+
+    private val byName = LinkedHashMap<String, V>()
+    private val byParent = HashMap<String, MutableList<V>>()
+
+    init {
+        for (entry in entries) {
+            val name = nameOf(entry)
+            if (byName.putIfAbsent(name, entry) == null) {
+                parentName(name)?.let { byParent.getOrPut(it) { mutableListOf() }.add(entry) }
+            }
+        }
+    }
+
+    val names: Set<String>
+        get() = byName.keys
+
+    val values: Collection<V>
+        get() = byName.values
+
+    operator fun get(name: String): V? = byName[name]
+
+    fun contains(name: String) = byName.containsKey(name)
+
+    /**
+     * Entries of subinterfaces of interface with [parentName], in the order of the underlying list.
+     */
+    fun subinterfaces(parentName: String): List<V> = byParent[parentName].orEmpty()
+
+    companion object {
+        private val SUBINTERFACE_NAME = Pattern.compile("(?<ifcId>.+)[.](?<subifcIndex>[0-9]+)")
+
+        fun parentName(name: String): String? {
+            val matcher = SUBINTERFACE_NAME.matcher(name)
+            return if (matcher.matches()) matcher.group("ifcId") else null
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+/**
+ * Reads single entries of an underlay list by name.
+ *
+ * With [CachingUnderlayAccess] every entry is read from the device at most once per read snapshot, so helpers
+ * reading different parts of the same entry share a single device call. When the whole list is in the snapshot
+ * already (e.g. the list reader of a full tree read listed all entries), entries are served from an index of the
+ * list built once per snapshot instead of being looked up one by one. Any other [UnderlayAccess] reads the entry
+ * from the device on every call.
+ */
+class ListEntryReader<L : DataObject, E : DataObject, N : Any>(
+    val listId: InstanceIdentifier<L>,
+    private val type: LogicalDatastoreType,
+    entries: (L) -> List<E>?,
+    name: (E) -> N,
+    private val entryId: (InstanceIdentifier<L>, N) -> InstanceIdentifier<E>
+) {
+
+    private val indexer = SnapshotIndexer<L, Map<N, E>> { list -> entries(list).orEmpty().associateBy(name) }
+
+    fun read(access: UnderlayAccess, name: N): E? {
+        if (access is CachingUnderlayAccess) {
+            access.cached(listId, type)?.let { list -> return list.orNull()?.let { indexer.indexOf(it)[name] } }
+        }
+        return access.read(entryId(listId, name), type).checkedGet().orNull()
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Optional
+import com.google.common.base.Ticker
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.util.concurrent.CheckedFuture
+import com.google.common.util.concurrent.Futures
+import com.google.common.util.concurrent.UncheckedExecutionException
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yangtools.yang.common.QName
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode
+import org.opendaylight.yangtools.yang.model.api.SchemaPath
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Decorator of [UnderlayAccess] keeping expensive operational data for as long as it is considered fresh.
+ *
+ * Freshness is configured per subtree type, e.g. inventory for an hour (see [expireAfter]), and per RPC, e.g. the
+ * software version until the device reconnects (see [keepRpcUntilReconnect]). An operational read is governed by
+ * the policy of the closest type on its path, the RPC by the policy of its name. Reads and RPCs without a policy,
+ * configuration reads, reads without datastore type and wildcarded reads always go to the device.
+ *
+ * Concurrent readers of the same subtree (or callers of the same RPC with the same input) share one in-flight
+ * device call. Failed reads and RPC results carrying errors are not kept.
+ *
+ * Operational data is not dropped on writes, policies are meant for state that a configuration change does not
+ * affect or that may be stale for the policy TTL anyway. Reconnect creates a new underlay access and with it a new
+ * [shared] cache, so data kept until reconnect never outlives the session it was read in.
+ */
+class OperationalDataCache @JvmOverloads constructor(
+    private val delegate: UnderlayAccess,
+    private val ticker: Ticker = Ticker.systemTicker()
+) : UnderlayAccess by delegate {
+
+    private val subtreePolicies = ConcurrentHashMap<Class<out DataObject>, Policy<InstanceIdentifier<*>, Optional<*>>>()
+
+    private val rpcPolicies = ConcurrentHashMap<QName, Policy<RpcKey, DOMRpcResult>>()
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>, type: LogicalDatastoreType):
+        CheckedFuture<Optional<T>, ReadFailedException> {
+        val policy = subtreePolicy(path, type) ?: return delegate.read(path, type)
+        return try {
+            @Suppress("UNCHECKED_CAST")
+            val data = policy.get(path) { delegate.read(path, type).checkedGet() } as Optional<T>
+            Futures.immediateCheckedFuture(data)
+        } catch (e: ExecutionException) {
+            Futures.immediateFailedCheckedFuture(e.cause as? ReadFailedException
+                ?: ReadFailedException("Unable to read $path", e.cause))
+        }
+    }
+
+    override fun invokeRpc(schemaPath: SchemaPath, input: NormalizedNode<*, *>?):
+        CheckedFuture<DOMRpcResult, DOMRpcException> {
+        val policy = rpcPolicies[schemaPath.lastComponent] ?: return delegate.invokeRpc(schemaPath, input)
+        val key = RpcKey(schemaPath, input)
+        return try {
+            val result = policy.get(key) { delegate.invokeRpc(schemaPath, input).checkedGet() }
+            if (result.errors.isNotEmpty()) {
+                policy.invalidate(key)
+            }
+            Futures.immediateCheckedFuture(result)
+        } catch (e: ExecutionException) {
+            (e.cause as? DOMRpcException)?.let { return Futures.immediateFailedCheckedFuture(it) }
+            throw e.cause ?: e
+        }
+    }
+
+    /**
+     * Keep operational subtrees of [type] and their descendants for [ttl] after they were read.
+     */
+    fun expireAfter(type: Class<out DataObject>, ttl: Long, unit: TimeUnit) = apply {
+        subtreePolicies.register(type, Policy(unit.toNanos(ttl), ticker))
+    }
+
+    /**
+     * Keep operational subtrees of [type] and their descendants until the device reconnects.
+     */
+    fun keepUntilReconnect(type: Class<out DataObject>) = apply {
+        subtreePolicies.register(type, Policy(null, ticker))
+    }
+
+    /**
+     * Keep results of RPC [rpc] for [ttl] after it was invoked, separately for each input.
+     */
+    fun expireRpcAfter(rpc: QName, ttl: Long, unit: TimeUnit) = apply {
+        rpcPolicies.register(rpc, Policy(unit.toNanos(ttl), ticker))
+    }
+
+    /**
+     * Keep results of RPC [rpc] until the device reconnects, separately for each input.
+     */
+    fun keepRpcUntilReconnect(rpc: QName) = apply {
+        rpcPolicies.register(rpc, Policy(null, ticker))
+    }
+
+    private fun subtreePolicy(path: InstanceIdentifier<*>, type: LogicalDatastoreType):
+        Policy<InstanceIdentifier<*>, Optional<*>>? {
+        if (type != LogicalDatastoreType.OPERATIONAL || path.isWildcarded || subtreePolicies.isEmpty()) {
+            return null
+        }
+        return path.pathArguments.reversed().asSequence().mapNotNull { subtreePolicies[it.type] }.firstOrNull()
+    }
+
+    /**
+     * Keep the policy already in place if it has the same TTL, so units registering the same policy again do not
+     * drop the data kept so far.
+     */
+    private fun <K : Any, P : Policy<*, *>> ConcurrentHashMap<K, P>.register(key: K, policy: P) {
+        merge(key, policy) { current, _ -> if (current.ttlNanos == policy.ttlNanos) current else policy }
+    }
+
+    private data class RpcKey(val schemaPath: SchemaPath, val input: NormalizedNode<*, *>?)
+
+    /**
+     * Values kept for [ttlNanos], forever if null. Guava cache loads a missing key once, concurrent getters of
+     * the same key wait for that load.
+     */
+    private class Policy<K : Any, V : Any>(val ttlNanos: Long?, ticker: Ticker) {
+
+        private val values: Cache<K, V> = CacheBuilder.newBuilder()
+            .ticker(ticker)
+            .apply { ttlNanos?.let { expireAfterWrite(it, TimeUnit.NANOSECONDS) } }
+            .build()
+
+        /**
+         * Value of [key], loaded by [load] if missing or expired. Checked exceptions of [load] are thrown wrapped
+         * in [ExecutionException], unchecked ones as they are.
+         */
+        fun get(key: K, load: () -> V): V = try {
+            values.get(key, Callable(load))
+        } catch (e: UncheckedExecutionException) {
+            throw e.cause ?: e
+        }
+
+        fun invalidate(key: K) = values.invalidate(key)
+    }
+
+    companion object {
+
+        // values reference their keys, so both are weak, the shared cache lives as long as units hold it
+        private val SHARED: Cache<UnderlayAccess, OperationalDataCache> = CacheBuilder.newBuilder()
+            .weakKeys()
+            .weakValues()
+            .build()
+
+        /**
+         * Operational data cache shared by all units of the device behind [delegate], policies registered by any
+         * of them apply to all. [CachingUnderlayAccess.shared] reads through it as well.
+         */
+        @JvmStatic
+        fun shared(delegate: UnderlayAccess): OperationalDataCache =
+            SHARED.get(delegate) { OperationalDataCache(delegate) }
+    }
+}
\ No newline at end of file
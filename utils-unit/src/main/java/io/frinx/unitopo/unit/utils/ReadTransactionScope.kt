@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
+import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
+import io.fd.honeycomb.translate.spi.read.OperListReaderCustomizer
+import io.fd.honeycomb.translate.spi.read.OperReaderCustomizer
+import org.opendaylight.yangtools.concepts.Builder
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.Identifiable
+import org.opendaylight.yangtools.yang.binding.Identifier
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+/**
+ * Read transaction served on the current thread.
+ *
+ * A read transaction is served on the calling thread, but only customizers get its [ReadContext], the underlay
+ * access they share does not see it. Customizers wrapped with [scoped] bind the modification cache of the
+ * transaction to the thread for the duration of each call. [CachingUnderlayAccess] keeps its snapshot in that cache,
+ * so the snapshot is dropped together with the transaction.
+ */
+object ReadTransactionScope {
+
+    private val BOUND = ThreadLocal<ModificationCache>()
+
+    /**
+     * Modification cache of the transaction served on this thread, null outside of [within].
+     */
+    @JvmStatic
+    fun current(): ModificationCache? = BOUND.get()
+
+    /**
+     * Run [block] as part of the transaction owning [cache].
+     */
+    @JvmStatic
+    fun <T> within(cache: ModificationCache, block: () -> T): T {
+        val outer = BOUND.get()
+        BOUND.set(cache)
+        try {
+            return block()
+        } finally {
+            if (outer == null) BOUND.remove() else BOUND.set(outer)
+        }
+    }
+
+    @JvmStatic
+    fun <O : DataObject, B : Builder<O>> scoped(customizer: ConfigReaderCustomizer<O, B>):
+        ConfigReaderCustomizer<O, B> = object : ConfigReaderCustomizer<O, B> by customizer {
+            override fun readCurrentAttributes(id: InstanceIdentifier<O>, builder: B, ctx: ReadContext) =
+                within(ctx.modificationCache) { customizer.readCurrentAttributes(id, builder, ctx) }
+        }
+
+    @JvmStatic
+    fun <O : DataObject, B : Builder<O>> scoped(customizer: OperReaderCustomizer<O, B>):
+        OperReaderCustomizer<O, B> = object : OperReaderCustomizer<O, B> by customizer {
+            override fun readCurrentAttributes(id: InstanceIdentifier<O>, builder: B, ctx: ReadContext) =
+                within(ctx.modificationCache) { customizer.readCurrentAttributes(id, builder, ctx) }
+        }
+
+    @JvmStatic
+    fun <O, K, B> scoped(customizer: ConfigListReaderCustomizer<O, K, B>): ConfigListReaderCustomizer<O, K, B>
+        where O : DataObject, O : Identifiable<K>, K : Identifier<O>, B : Builder<O> =
+        object : ConfigListReaderCustomizer<O, K, B> by customizer {
+            override fun getAllIds(id: InstanceIdentifier<O>, ctx: ReadContext): List<K> =
+                within(ctx.modificationCache) { customizer.getAllIds(id, ctx) }
+
+            override fun readCurrentAttributes(id: InstanceIdentifier<O>, builder: B, ctx: ReadContext) =
+                within(ctx.modificationCache) { customizer.readCurrentAttributes(id, builder, ctx) }
+        }
+
+    @JvmStatic
+    fun <O, K, B> scoped(customizer: OperListReaderCustomizer<O, K, B>): OperListReaderCustomizer<O, K, B>
+        where O : DataObject, O : Identifiable<K>, K : Identifier<O>, B : Builder<O> =
+        object : OperListReaderCustomizer<O, K, B> by customizer {
+            override fun getAllIds(id: InstanceIdentifier<O>, ctx: ReadContext): List<K> =
+                within(ctx.modificationCache) { customizer.getAllIds(id, ctx) }
+
+            override fun readCurrentAttributes(id: InstanceIdentifier<O>, builder: B, ctx: ReadContext) =
+                within(ctx.modificationCache) { customizer.readCurrentAttributes(id, builder, ctx) }
+        }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.CacheLoader
+import com.google.common.cache.LoadingCache
+
+/**
+ * Builds a derived structure (typically an index) once per underlay snapshot.
+ *
+ * Sources are compared by identity and held weakly, so as long as handlers receive the very same data object
+ * (e.g. from [CachingUnderlayAccess]), the index is built only once and is dropped together with the snapshot.
+ */
+class SnapshotIndexer<S : Any, I : Any>(private val build: (S) -> I) {
+
+    private val indexes: LoadingCache<S, I> = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build(object : CacheLoader<S, I>() {
+            override fun load(source: S): I = build(source)
+        })
+
+    fun indexOf(source: S): I = indexes.getUnchecked(source)
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * JMX view of [UnderlayAccessStatistics].
+ */
+interface UnderlayAccessStatisticsMXBean {
+
+    val readCount: Long
+
+    val writeCount: Long
+
+    val rpcCount: Long
+
+    /**
+     * Ratio of reads served by a cache sitting under the instrumented access, -1 if there is none. The cache is
+     * usually shared by all units of the device, so the ratio covers reads of all of them, not just the counted ones.
+     */
+    val deviceCacheHitRate: Double
+
+    fun dump(): String
+
+    fun reset()
+}
+
+/**
+ * Underlay access call statistics keyed by operation, target type of the IID, datastore and calling customizer.
+ *
+ * Latency histograms are collected for reads and RPCs, payload sizes for reads and writes carrying data.
+ */
+class UnderlayAccessStatistics(private val cacheStats: () -> Pair<Long, Long>? = { null }) :
+    UnderlayAccessStatisticsMXBean {
+
+    private val entries = ConcurrentHashMap<Key, Entry>()
+
+    override val readCount: Long
+        get() = count(Operation.READ)
+
+    override val writeCount: Long
+        get() = count(Operation.PUT) + count(Operation.MERGE) + count(Operation.DELETE)
+
+    override val rpcCount: Long
+        get() = count(Operation.RPC)
+
+    override val deviceCacheHitRate: Double
+        get() = cacheStats()
+            ?.let { (hits, misses) -> if (hits + misses == 0L) 0.0 else hits.toDouble() / (hits + misses) }
+            ?: -1.0
+
+    fun record(key: Key, latencyNanos: Long?, payloadSize: Int?) {
+        entries.computeIfAbsent(key) { Entry() }.record(latencyNanos, payloadSize)
+    }
+
+    /**
+     * Current statistics ordered by call count, most frequent first.
+     */
+    fun snapshot(): List<Pair<Key, Entry>> = entries.entries
+        .map { it.key to it.value }
+        .sortedByDescending { it.second.count }
+
+    override fun dump(): String {
+        val builder = StringBuilder()
+        builder.append("device cache hit rate: ").append(deviceCacheHitRate).append('\n')
+        snapshot().forEach { (key, entry) ->
+            builder.append(key.operation).append(' ')
+                .append(key.type).append(' ')
+                .append(key.datastore ?: "-").append(' ')
+                .append(key.caller ?: "-")
+                .append(" count=").append(entry.count)
+            if (entry.count > 0 && key.operation.timed) {
+                builder.append(" avgMs=").append(TimeUnit.NANOSECONDS.toMillis(entry.totalNanos / entry.count))
+                    .append(" histogramMs=").append(entry.histogram())
+            }
+            if (entry.payloadCount > 0) {
+                builder.append(" avgPayload=").append(entry.totalPayload / entry.payloadCount)
+            }
+            builder.append('\n')
+        }
+        return builder.toString()
+    }
+
+    override fun reset() {
+        entries.clear()
+    }
+
+    private fun count(operation: Operation) = entries.entries
+        .filter { it.key.operation == operation }
+        .map { it.value.count }
+        .sum()
+
+    enum class Operation(val timed: Boolean) {
+        READ(true), RPC(true), PUT(false), MERGE(false), DELETE(false)
+    }
+
+    data class Key(val operation: Operation, val type: String, val datastore: String?, val caller: String?)
+
+    class Entry {
+
+        private val calls = AtomicLong()
+        private val nanos = AtomicLong()
+        private val payloads = AtomicLong()
+        private val payloadSum = AtomicLong()
+        private val buckets = AtomicLongArray(BUCKET_BOUNDS_MILLIS.size + 1)
+
+        val count: Long
+            get() = calls.get()
+
+        val totalNanos: Long
+            get() = nanos.get()
+
+        val payloadCount: Long
+            get() = payloads.get()
+
+        val totalPayload: Long
+            get() = payloadSum.get()
+
+        fun record(latencyNanos: Long?, payloadSize: Int?) {
+            calls.incrementAndGet()
+            latencyNanos?.let {
+                nanos.addAndGet(it)
+                val millis = TimeUnit.NANOSECONDS.toMillis(it)
+                val bucket = BUCKET_BOUNDS_MILLIS.indexOfFirst { millis <= it }
+                buckets.incrementAndGet(if (bucket < 0) BUCKET_BOUNDS_MILLIS.size else bucket)
+            }
+            payloadSize?.let {
+                payloads.incrementAndGet()
+                payloadSum.addAndGet(it.toLong())
+            }
+        }
+
+        /**
+         * Non-empty buckets as upper bound in milliseconds to number of calls, "+inf" for the overflow bucket.
+         */
+        fun histogram(): Map<String, Long> = (0 until buckets.length())
+            .filter { buckets.get(it) > 0 }
+            .associate { (BUCKET_BOUNDS_MILLIS.getOrNull(it)?.toString() ?: "+inf") to buckets.get(it) }
+    }
+
+    companion object {
+        val BUCKET_BOUNDS_MILLIS = longArrayOf(1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000)
+    }
+}
\ No newline at end of file
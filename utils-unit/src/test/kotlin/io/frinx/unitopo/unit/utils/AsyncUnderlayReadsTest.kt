@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Optional
+import com.google.common.util.concurrent.Futures
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+class AsyncUnderlayReadsTest {
+
+    private lateinit var device: NetconfAccessHelper
+
+    companion object {
+        private val NC_HELPER = NetconfAccessHelper("xr6_interfaces.xml")
+        private val IFC_CFGS = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+    }
+
+    @Before
+    fun setUp() {
+        device = Mockito.spy(NetconfAccessHelper(NC_HELPER))
+    }
+
+    private fun transaction() = Mockito.mock(ReadContext::class.java).also {
+        Mockito.`when`(it.modificationCache).thenReturn(ModificationCache())
+    }
+
+    @Test
+    fun testIssuedReadPickedUp() {
+        val ctx = transaction()
+
+        val future = AsyncUnderlayReads.readAsync(device, ctx, IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Assert.assertSame(future, AsyncUnderlayReads.readAsync(device, ctx, IFC_CFGS,
+            LogicalDatastoreType.CONFIGURATION))
+        Assert.assertNotNull(AsyncUnderlayReads.read(device, ctx, IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+
+        Mockito.verify(device, Mockito.times(1)).read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testReadPerTransaction() {
+        AsyncUnderlayReads.read(device, transaction(), IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        AsyncUnderlayReads.read(device, transaction(), IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+
+        Mockito.verify(device, Mockito.times(2)).read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testDatastoresKeptApart() {
+        val ctx = transaction()
+        // helper has no oper data
+        Mockito.doReturn(Futures.immediateCheckedFuture(Optional.absent<InterfaceConfigurations>()))
+            .`when`(device).read(IFC_CFGS, LogicalDatastoreType.OPERATIONAL)
+
+        AsyncUnderlayReads.readAsync(device, ctx, IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        AsyncUnderlayReads.readAsync(device, ctx, IFC_CFGS, LogicalDatastoreType.OPERATIONAL)
+
+        Mockito.verify(device, Mockito.times(1)).read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Mockito.verify(device, Mockito.times(1)).read(IFC_CFGS, LogicalDatastoreType.OPERATIONAL)
+    }
+}
\ No newline at end of file
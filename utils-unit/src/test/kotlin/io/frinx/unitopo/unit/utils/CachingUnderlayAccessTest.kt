@@ -0,0 +1,290 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Optional
+import com.google.common.base.Ticker
+import com.google.common.util.concurrent.Futures
+import com.google.common.util.concurrent.SettableFuture
+import io.fd.honeycomb.translate.ModificationCache
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceActive
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfigurationKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730.InterfaceProperties
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730._interface.properties.DataNodes
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.InterfaceName
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import java.util.concurrent.TimeUnit
+
+class CachingUnderlayAccessTest {
+
+    private lateinit var delegate: NetconfAccessHelper
+
+    private lateinit var target: CachingUnderlayAccess
+
+    companion object {
+        private val NC_HELPER = NetconfAccessHelper("xr6_interfaces.xml")
+        private const val IFC_NAME = "GigabitEthernet0/0/0/0"
+        private val IFC_CFGS = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+        private val DATA_NODES_ID = InstanceIdentifier.create(InterfaceProperties::class.java)
+            .child(DataNodes::class.java)
+        private val IFC_CFG_ID = IFC_CFGS
+            .child(InterfaceConfiguration::class.java,
+                InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName(IFC_NAME)))
+    }
+
+    @Before
+    fun setUp() {
+        delegate = Mockito.spy(NetconfAccessHelper(NC_HELPER))
+        target = CachingUnderlayAccess(delegate)
+    }
+
+    private fun inTransaction(block: () -> Unit) = ReadTransactionScope.within(ModificationCache(), block)
+
+    @Test
+    fun testSnapshotScopedToTransaction() {
+        inTransaction {
+            target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+            target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        }
+        // write staged before the next transaction, it is committed after the transaction read the device
+        Mockito.doNothing().`when`(delegate).delete(IFC_CFG_ID)
+        target.delete(IFC_CFG_ID)
+        inTransaction {
+            target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        }
+        inTransaction {
+            Assert.assertNull(target.cached(IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+            target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        }
+
+        Mockito.verify(delegate, Mockito.times(3))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Assert.assertEquals(1, target.hitCount)
+    }
+
+    @Test
+    fun testNotCachedOutsideOfTransaction() {
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+
+        Assert.assertNull(target.cached(IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+        Mockito.verify(delegate, Mockito.times(2))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testRepeatedReadHitsDeviceOnce() = inTransaction {
+        val first = target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        val second = target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+
+        Assert.assertSame(first.get(), second.get())
+        Mockito.verify(delegate, Mockito.times(1))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testMissDoesNotBlock() = inTransaction {
+        val device = Mockito.mock(UnderlayAccess::class.java)
+        val pending = SettableFuture.create<Optional<InterfaceConfigurations>>()
+        Mockito.`when`(device.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+            .thenReturn(Futures.makeChecked(pending) { ReadFailedException("failed", it) })
+        val access = CachingUnderlayAccess(device)
+
+        val read = access.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Assert.assertFalse(read.isDone)
+        Assert.assertNull(access.cached(IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+
+        val data = NC_HELPER.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        pending.set(data)
+        Assert.assertSame(data, read.checkedGet())
+        Assert.assertSame(data, access.cached(IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+    }
+
+    @Test
+    fun testDescendantServedFromAncestor() = inTransaction {
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        val ifcCfg = target.read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION).checkedGet()
+
+        Assert.assertEquals(IFC_NAME, ifcCfg.get().interfaceName.value)
+        Assert.assertEquals("IF_DESCRIPTION-001", ifcCfg.get().description)
+        Mockito.verify(delegate, Mockito.never()).read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testDescendantExtractedOnce() = inTransaction {
+        Assert.assertNull(target.cached(IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+
+        val first = target.cached(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION)!!.get()
+        val second = target.read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION).checkedGet().get()
+        Assert.assertSame(first, second)
+    }
+
+    @Test
+    fun testListEntryReader() = inTransaction {
+        val entries = ListEntryReader<InterfaceConfigurations, InterfaceConfiguration, String>(
+            IFC_CFGS, LogicalDatastoreType.CONFIGURATION,
+            { it.interfaceConfiguration }, { it.interfaceName.value }) { prefix, name ->
+            prefix.child(InterfaceConfiguration::class.java,
+                InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName(name)))
+        }
+
+        // single entry read on its own and memoized
+        Assert.assertEquals("IF_DESCRIPTION-001", entries.read(target, IFC_NAME)!!.description)
+        Assert.assertSame(entries.read(target, IFC_NAME), entries.read(target, IFC_NAME))
+        Mockito.verify(delegate, Mockito.times(1)).read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION)
+
+        // served from the index once the whole list is in the snapshot
+        target.invalidate()
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Assert.assertEquals("IF_DESCRIPTION-001", entries.read(target, IFC_NAME)!!.description)
+        Assert.assertNull(entries.read(target, "GigabitEthernet9/9/9/9"))
+        Mockito.verify(delegate, Mockito.times(1)).read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testFullSnapshot() = inTransaction {
+        val full = CachingUnderlayAccess.fullSnapshot(delegate, IFC_CFGS)
+        Assert.assertSame(full, CachingUnderlayAccess.fullSnapshot(delegate, IFC_CFGS))
+
+        // root read once, descendants resolved from it, untyped reads served as configuration
+        Assert.assertEquals("IF_DESCRIPTION-001",
+            full.read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION).checkedGet().get().description)
+        Assert.assertEquals("IF_DESCRIPTION-001", full.read(IFC_CFG_ID).checkedGet().get().description)
+        Mockito.verify(delegate, Mockito.times(1))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Mockito.verify(delegate, Mockito.never()).read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION)
+        Mockito.verify(delegate, Mockito.never()).read(IFC_CFG_ID)
+
+        // other datastores are not served from the root
+        full.read(IFC_CFG_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Mockito.verify(delegate, Mockito.times(1)).read(IFC_CFG_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testRevisionGate() {
+        var now = 0L
+        var revision = "rev-1"
+        val gated = CachingUnderlayAccess(delegate, 1, TimeUnit.SECONDS, object : Ticker() {
+            override fun read() = now
+        }).gateOn { revision }
+
+        gated.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        // first expiry records the revision
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Mockito.verify(delegate, Mockito.times(2))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+
+        // unchanged revision keeps configuration
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Mockito.verify(delegate, Mockito.times(2))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+
+        // new commit
+        revision = "rev-2"
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Mockito.verify(delegate, Mockito.times(3))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testRevisionGateAcrossTransactions() {
+        var revision = "rev-1"
+        val gated = CachingUnderlayAccess(delegate).gateOn { revision }
+
+        // configuration of the first transaction is kept while the revision stays the same
+        inTransaction { gated.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet() }
+        inTransaction { gated.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet() }
+        Mockito.verify(delegate, Mockito.times(1))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+
+        revision = "rev-2"
+        inTransaction { gated.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet() }
+        Mockito.verify(delegate, Mockito.times(2))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testUntypedReadKeptWithUnchangedRevision() {
+        var now = 0L
+        val gated = CachingUnderlayAccess(delegate, 1, TimeUnit.SECONDS, object : Ticker() {
+            override fun read() = now
+        }).gateOn { "rev-1" }
+
+        gated.read(IFC_CFGS).checkedGet()
+        // first expiry records the revision, the second one carries the untyped read over
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(IFC_CFGS).checkedGet()
+        now += TimeUnit.SECONDS.toNanos(2)
+        gated.read(IFC_CFGS).checkedGet()
+
+        Mockito.verify(delegate, Mockito.times(2)).read(IFC_CFGS)
+        Assert.assertEquals(1, gated.hitCount)
+    }
+
+    @Test
+    fun testDatastoresCachedSeparately() = inTransaction {
+        target.includeOperational()
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        target.read(IFC_CFGS, LogicalDatastoreType.OPERATIONAL).checkedGet()
+
+        Mockito.verify(delegate, Mockito.times(1))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Mockito.verify(delegate, Mockito.times(1))
+            .read(IFC_CFGS, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testOperationalNotCachedByDefault() = inTransaction {
+        target.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        target.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Assert.assertNull(target.cached(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL))
+
+        Mockito.verify(delegate, Mockito.times(2)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testUntypedReadKeyedByOperationType() = inTransaction {
+        target.read(IFC_CFGS).checkedGet()
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+
+        Assert.assertEquals(1, target.hitCount)
+        Assert.assertNotNull(target.cached(IFC_CFGS, LogicalDatastoreType.CONFIGURATION))
+    }
+
+    @Test
+    fun testInvalidate() = inTransaction {
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        target.invalidate()
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+
+        Mockito.verify(delegate, Mockito.times(2))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+}
\ No newline at end of file
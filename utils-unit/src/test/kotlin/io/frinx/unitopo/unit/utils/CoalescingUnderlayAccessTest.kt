@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.MockitoAnnotations
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceActive
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfigurationBuilder
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfigurationKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations._interface.configuration.Dampening
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations._interface.configuration.DampeningBuilder
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.InterfaceName
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
+
+class CoalescingUnderlayAccessTest {
+
+    @Mock
+    private lateinit var delegate: UnderlayAccess
+
+    private lateinit var target: CoalescingUnderlayAccess
+
+    companion object {
+        private const val IFC_NAME = "GigabitEthernet0/0/0/0"
+        private val IFC_CFG_ID = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+            .child(InterfaceConfiguration::class.java,
+                InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName(IFC_NAME)))
+        private val DAMPENING_ID = IFC_CFG_ID.child(Dampening::class.java)
+        private val IFC_CFG = InterfaceConfigurationBuilder()
+            .setKey(IFC_CFG_ID.firstKeyOf(InterfaceConfiguration::class.java))
+            .setDescription("desc")
+            .build()
+        private val DAMPENING = DampeningBuilder().setHalfLife(10L).build()
+    }
+
+    @Before
+    fun setUp() {
+        MockitoAnnotations.initMocks(this)
+        target = CoalescingUnderlayAccess(delegate)
+    }
+
+    @Test
+    fun testNothingSentBeforeScopeEnds() {
+        target.coalesce {
+            target.merge(DAMPENING_ID, DAMPENING)
+            Mockito.verifyZeroInteractions(delegate)
+        }
+        Mockito.verify(delegate).merge(DAMPENING_ID, DAMPENING)
+    }
+
+    @Test
+    fun testOutsideScopeSentImmediately() {
+        target.merge(DAMPENING_ID, DAMPENING)
+        Mockito.verify(delegate).merge(DAMPENING_ID, DAMPENING)
+    }
+
+    @Test
+    fun testFailedScopeDropsOperations() {
+        try {
+            target.coalesce {
+                target.merge(DAMPENING_ID, DAMPENING)
+                throw IllegalStateException("failed")
+            }
+        } catch (e: IllegalStateException) {
+            Mockito.verifyZeroInteractions(delegate)
+            return
+        }
+        Assert.fail("Exception expected")
+    }
+
+    @Test
+    fun testPutSupersedesSubtreeOperations() {
+        target.coalesce {
+            target.delete(DAMPENING_ID)
+            target.merge(DAMPENING_ID, DAMPENING)
+            target.delete(IFC_CFG_ID)
+            target.put(IFC_CFG_ID, IFC_CFG)
+        }
+
+        Mockito.verify(delegate).put(IFC_CFG_ID, IFC_CFG)
+        Mockito.verifyNoMoreInteractions(delegate)
+    }
+
+    @Test
+    fun testDeleteKeepsPrecedingOperations() {
+        target.coalesce {
+            target.put(IFC_CFG_ID, IFC_CFG)
+            target.delete(DAMPENING_ID)
+            target.delete(DAMPENING_ID)
+        }
+
+        val inOrder = Mockito.inOrder(delegate)
+        inOrder.verify(delegate).put(IFC_CFG_ID, IFC_CFG)
+        inOrder.verify(delegate, Mockito.times(1)).delete(DAMPENING_ID)
+        Mockito.verifyNoMoreInteractions(delegate)
+    }
+
+    @Test
+    fun testReadFlushesPendingOperations() {
+        target.coalesce {
+            target.merge(DAMPENING_ID, DAMPENING)
+            target.read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION)
+        }
+
+        val inOrder = Mockito.inOrder(delegate)
+        inOrder.verify(delegate).merge(DAMPENING_ID, DAMPENING)
+        inOrder.verify(delegate).read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION)
+        Mockito.verifyNoMoreInteractions(delegate)
+    }
+
+    @Test
+    fun testConcurrentScopesNotShared() {
+        val buffered = CountDownLatch(1)
+        val flushed = CountDownLatch(1)
+        val other = thread {
+            target.coalesce {
+                target.merge(DAMPENING_ID, DAMPENING)
+                buffered.countDown()
+                flushed.await(1, TimeUnit.SECONDS)
+            }
+        }
+        buffered.await(1, TimeUnit.SECONDS)
+        target.coalesce {
+            target.put(IFC_CFG_ID, IFC_CFG)
+        }
+        Mockito.verify(delegate).put(IFC_CFG_ID, IFC_CFG)
+        Mockito.verifyNoMoreInteractions(delegate)
+
+        flushed.countDown()
+        other.join()
+        Mockito.verify(delegate).merge(DAMPENING_ID, DAMPENING)
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.frinx.unitopo.unit.utils
+
+import org.junit.Assert
+import org.junit.Test
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceActive
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfigurationKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.InterfaceName
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+class IidTemplateTest {
+
+    private var builds = 0
+
+    private fun template(maxInterned: Long = IidTemplate.DEFAULT_MAX_INTERNED) =
+        IidTemplate<InterfaceConfigurations, InterfaceConfiguration, String>(IFC_CFGS, maxInterned) { prefix, name ->
+            builds++
+            prefix.child(InterfaceConfiguration::class.java, key(name))
+        }
+
+    @Test
+    fun testSameAsHandBuilt() {
+        val expected = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+            .child(InterfaceConfiguration::class.java, key("GigabitEthernet0/0/0/0"))
+
+        Assert.assertEquals(expected, template().get("GigabitEthernet0/0/0/0"))
+    }
+
+    @Test
+    fun testEqualKeysInterned() {
+        val template = template()
+
+        val iid = template.get("GigabitEthernet0/0/0/0")
+        Assert.assertSame(iid, template.get(String("GigabitEthernet0/0/0/0".toCharArray())))
+        Assert.assertEquals(1, builds)
+    }
+
+    @Test
+    fun testMaxInternedRespected() {
+        val template = template(2)
+
+        val first = template.get("GigabitEthernet0/0/0/0")
+        template.get("GigabitEthernet0/0/0/1")
+        template.get("GigabitEthernet0/0/0/2")
+        Assert.assertEquals(3, builds)
+
+        // least recently used one was dropped to stay within the bound, it is built again
+        val again = template.get("GigabitEthernet0/0/0/0")
+        Assert.assertEquals(4, builds)
+        Assert.assertEquals(first, again)
+        Assert.assertNotSame(first, again)
+    }
+
+    companion object {
+        private val IFC_CFGS = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+
+        private fun key(name: String) = InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName(name))
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import io.fd.honeycomb.translate.ModificationCache
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceActive
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfigurationKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.InterfaceName
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import java.lang.management.ManagementFactory
+import javax.management.ObjectName
+
+class InstrumentingUnderlayAccessTest {
+
+    private lateinit var target: InstrumentingUnderlayAccess
+
+    private var deviceClosed = false
+
+    companion object {
+        private val NC_HELPER = NetconfAccessHelper("xr6_interfaces.xml")
+        private const val NAME = "test unit"
+        private val IFC_CFGS = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+        private val IFC_CFG_ID = IFC_CFGS
+            .child(InterfaceConfiguration::class.java,
+                InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName("GigabitEthernet0/0/0/0")))
+    }
+
+    private fun device() = object : NetconfAccessHelper(NC_HELPER) {
+        override fun close() {
+            deviceClosed = true
+        }
+    }
+
+    @Before
+    fun setUp() {
+        target = InstrumentingUnderlayAccess(CachingUnderlayAccess(device()), NAME, true, true)
+    }
+
+    @After
+    fun tearDown() {
+        target.close()
+    }
+
+    @Test
+    fun testReadsCounted() {
+        ReadTransactionScope.within(ModificationCache()) {
+            target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+            target.read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION).checkedGet()
+            target.read(IFC_CFG_ID, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        }
+
+        val statistics = target.statistics.snapshot()
+        val (key, entry) = statistics.first()
+        Assert.assertEquals(UnderlayAccessStatistics.Operation.READ, key.operation)
+        Assert.assertEquals("InterfaceConfiguration", key.type)
+        Assert.assertEquals(LogicalDatastoreType.CONFIGURATION.name, key.datastore)
+        Assert.assertEquals("InstrumentingUnderlayAccessTest", key.caller)
+        Assert.assertEquals(2L, entry.count)
+        Assert.assertEquals(2L, entry.payloadCount)
+        Assert.assertEquals(2L, entry.histogram().values.sum())
+
+        Assert.assertEquals(3L, target.statistics.readCount)
+        Assert.assertEquals(2.0 / 3, target.statistics.deviceCacheHitRate, 0.001)
+    }
+
+    @Test
+    fun testRegisteredAsMBean() {
+        target.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+
+        val server = ManagementFactory.getPlatformMBeanServer()
+        val names = server.queryNames(ObjectName("io.frinx.unitopo.underlay:type=UnderlayAccess,*"), null)
+            .filter { it.getKeyProperty("name") == ObjectName.quote(NAME) }
+        Assert.assertEquals(1, names.size)
+        Assert.assertEquals(1L, server.getAttribute(names.first(), "ReadCount"))
+        Assert.assertTrue((server.invoke(names.first(), "dump", null, null) as String)
+            .contains("READ InterfaceConfigurations CONFIGURATION InstrumentingUnderlayAccessTest count=1"))
+    }
+
+    @Test
+    fun testCallersNotCollectedByDefault() {
+        val access = InstrumentingUnderlayAccess(device(), NAME)
+        try {
+            access.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+            Assert.assertNull(access.statistics.snapshot().single().first.caller)
+        } finally {
+            access.close()
+        }
+    }
+
+    @Test
+    fun testUnregisteredOnClose() {
+        target.close()
+
+        val server = ManagementFactory.getPlatformMBeanServer()
+        Assert.assertTrue(server.queryNames(ObjectName("io.frinx.unitopo.underlay:type=UnderlayAccess,*"), null)
+            .none { it.getKeyProperty("name") == ObjectName.quote(NAME) })
+        Assert.assertFalse(deviceClosed)
+    }
+}
\ No newline at end of file
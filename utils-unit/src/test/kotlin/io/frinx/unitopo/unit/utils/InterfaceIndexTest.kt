@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import org.junit.Assert
+import org.junit.Test
+
+class InterfaceIndexTest {
+
+    private data class Entry(val name: String, val description: String)
+
+    companion object {
+        private val ENTRIES = listOf(
+            Entry("Bundle-Ether30", "bundle"),
+            Entry("Bundle-Ether30.1", "sub 1"),
+            Entry("Bundle-Ether301", "other bundle"),
+            Entry("Bundle-Ether301.1", "other sub 1"),
+            Entry("Bundle-Ether30.2", "sub 2"),
+            Entry("Bundle-Ether30", "duplicate"),
+            Entry("Bundle-Ether30.1", "duplicate sub 1")
+        )
+    }
+
+    private val index = InterfaceIndex(ENTRIES) { it.name }
+
+    @Test
+    fun testLookupByName() {
+        Assert.assertEquals("bundle", index["Bundle-Ether30"]!!.description)
+        Assert.assertEquals("other sub 1", index["Bundle-Ether301.1"]!!.description)
+        Assert.assertNull(index["Bundle-Ether3"])
+        Assert.assertTrue(index.contains("Bundle-Ether301"))
+        Assert.assertFalse(index.contains("Bundle-Ether3"))
+    }
+
+    @Test
+    fun testFirstEntryWins() {
+        Assert.assertEquals(listOf("Bundle-Ether30", "Bundle-Ether30.1", "Bundle-Ether301", "Bundle-Ether301.1",
+            "Bundle-Ether30.2"), index.names.toList())
+        Assert.assertEquals(ENTRIES.first { it.name == "Bundle-Ether30.1" }, index["Bundle-Ether30.1"])
+    }
+
+    @Test
+    fun testSubinterfacesOfExactParent() {
+        Assert.assertEquals(listOf("sub 1", "sub 2"), index.subinterfaces("Bundle-Ether30").map { it.description })
+        Assert.assertEquals(listOf("other sub 1"), index.subinterfaces("Bundle-Ether301").map { it.description })
+        Assert.assertTrue(index.subinterfaces("Bundle-Ether3").isEmpty())
+        Assert.assertTrue(index.subinterfaces("Bundle-Ether30.1").isEmpty())
+    }
+
+    @Test
+    fun testParentName() {
+        Assert.assertEquals("Bundle-Ether30", InterfaceIndex.parentName("Bundle-Ether30.1"))
+        Assert.assertEquals("GigabitEthernet0/0/0/0", InterfaceIndex.parentName("GigabitEthernet0/0/0/0.100"))
+        Assert.assertNull(InterfaceIndex.parentName("Bundle-Ether30"))
+        Assert.assertNull(InterfaceIndex.parentName("Bundle-Ether30.a"))
+    }
+}
\ No newline at end of file
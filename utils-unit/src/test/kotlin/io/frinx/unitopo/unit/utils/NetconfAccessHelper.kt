@@ -34,25 +34,28 @@ import org.opendaylight.yangtools.yang.binding.DataObject
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yangtools.yang.binding.util.BindingReflections
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes
 import org.opendaylight.yangtools.yang.model.api.SchemaContext
 import org.opendaylight.yangtools.yang.model.api.SchemaPath
 import java.net.URL
+import java.util.concurrent.ConcurrentHashMap
 
+/**
+ * [UnderlayAccess] serving reads from a get-config reply.
+ *
+ * The reply is parsed once into a [NormalizedNode] tree and reads are served by subtree lookup. Schema context,
+ * codec and IID conversions are shared by all instances within the JVM.
+ */
 open class NetconfAccessHelper() : UnderlayAccess {
 
-    private val mib = createMib()
-    private val schemaContext = createSchemaContext(mib)
-    private val transformer = NetconfMessageTransformer(schemaContext, true)
-    private val codec = GenericTranslateContext.getCodec(mib, schemaContext)
-
     private var configUrl: URL? = null
-    private var configXml: String? = null
+    private var configData: NormalizedNode<*, *>? = null
 
     private var operUrl: URL? = null
-    private var operXml: String? = null
+    private var operData: NormalizedNode<*, *>? = null
 
     override fun <T : DataObject> read(path: InstanceIdentifier<T>): CheckedFuture<Optional<T>, ReadFailedException> {
         return read(path, LogicalDatastoreType.CONFIGURATION)
@@ -61,32 +64,31 @@ open class NetconfAccessHelper() : UnderlayAccess {
     override fun <T : DataObject> read(path: InstanceIdentifier<T>, type: LogicalDatastoreType):
         CheckedFuture<Optional<T>, ReadFailedException> {
 
-        val xml = when (type) {
-            LogicalDatastoreType.CONFIGURATION -> configXml
-            else -> operXml
+        val data = when (type) {
+            LogicalDatastoreType.CONFIGURATION -> configData
+            else -> operData
         }
-        val result = parseGetCfgResponse(xml!!, path)
-        return Futures.immediateCheckedFuture(Optional.of(result))
+        return Futures.immediateCheckedFuture(Optional.of(findSubtree(data!!, path)))
     }
 
     fun compile(): NetconfAccessHelper {
-        configXml = getResourceAsString(configUrl!!)
+        configData = parseGetCfgResponse(getResourceAsString(configUrl!!))
         when {
             operUrl == null -> {
                 operUrl = configUrl
-                operXml = configXml
+                operData = configData
             }
-            operUrl!!.equals(configUrl) -> operXml = configXml
-            else -> operXml = getResourceAsString(operUrl!!)
+            operUrl!!.equals(configUrl) -> operData = configData
+            else -> operData = parseGetCfgResponse(getResourceAsString(operUrl!!))
         }
         return this
     }
 
     constructor(src: NetconfAccessHelper) : this() {
         this.configUrl = src.configUrl!!
-        this.configXml = src.configXml!!
+        this.configData = src.configData!!
         this.operUrl = src.operUrl
-        this.operXml = src.operXml
+        this.operData = src.operData
     }
 
     constructor(name: String): this() {
@@ -104,24 +106,18 @@ open class NetconfAccessHelper() : UnderlayAccess {
         compile()
     }
 
-    private fun <T : DataObject> parseGetCfgResponse(xml: String, type: InstanceIdentifier<T>): T {
-        val msg = NetconfMessage(XmlUtil.readXmlToDocument(xml))
-
-        val normalizedRpcResult = transformer.toRpcResult(msg, SchemaPath.create(true,
-                NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME)).result
-        val normalizedData = (normalizedRpcResult as ContainerNode).getChild(
-                NetconfMessageTransformUtil.toId(NetconfMessageTransformUtil.NETCONF_DATA_QNAME)).get()
-
-        val yangIID = codec.toYangInstanceIdentifier(type)
-        val findNode = NormalizedNodes.findNode(normalizedData, yangIID)
+    private fun <T : DataObject> findSubtree(data: NormalizedNode<*, *>, type: InstanceIdentifier<T>): T {
+        val yangIID = toYangInstanceIdentifier(type)
+        val findNode = NormalizedNodes.findNode(data, yangIID)
 
-        val value = codec.fromNormalizedNode(yangIID, findNode.get())!!.value
+        val value = CODEC.fromNormalizedNode(yangIID, findNode.get())!!.value
         return type.targetType.cast(value)
     }
 
-    override fun getCurrentOperationType(): LogicalDatastoreType {
-        throw UnsupportedOperationException("not implemented")
-    }
+    /**
+     * Reads without datastore type read configuration.
+     */
+    override fun getCurrentOperationType(): LogicalDatastoreType = LogicalDatastoreType.CONFIGURATION
 
     override fun invokeRpc(schemaPath: SchemaPath, normalizedNode: NormalizedNode<*, *>?):
         CheckedFuture<DOMRpcResult, DOMRpcException> {
@@ -163,6 +159,27 @@ open class NetconfAccessHelper() : UnderlayAccess {
     }
 
     companion object {
+        private val MIB by lazy { createMib() }
+        internal val SCHEMA_CONTEXT by lazy { createSchemaContext(MIB) }
+        private val TRANSFORMER by lazy { NetconfMessageTransformer(SCHEMA_CONTEXT, true) }
+        internal val CODEC by lazy { GenericTranslateContext.getCodec(MIB, SCHEMA_CONTEXT) }
+        private val YANG_IIDS = ConcurrentHashMap<InstanceIdentifier<*>, YangInstanceIdentifier>()
+
+        /**
+         * Data element of a get or get-config reply.
+         */
+        internal fun parseGetCfgResponse(xml: String): NormalizedNode<*, *> {
+            val msg = NetconfMessage(XmlUtil.readXmlToDocument(xml))
+
+            val normalizedRpcResult = TRANSFORMER.toRpcResult(msg, SchemaPath.create(true,
+                    NetconfMessageTransformUtil.NETCONF_GET_CONFIG_QNAME)).result
+            return (normalizedRpcResult as ContainerNode).getChild(
+                    NetconfMessageTransformUtil.toId(NetconfMessageTransformUtil.NETCONF_DATA_QNAME)).get()
+        }
+
+        internal fun toYangInstanceIdentifier(id: InstanceIdentifier<*>): YangInstanceIdentifier =
+            YANG_IIDS.computeIfAbsent(id) { CODEC.toYangInstanceIdentifier(it) }
+
         private fun createSchemaContext(mib: ModuleInfoBackedContext): SchemaContext {
             return mib.schemaContext
         }
@@ -186,6 +203,6 @@ open class NetconfAccessHelper() : UnderlayAccess {
 
         private fun getResourceAsString(name: String) = getResourceAsString(javaClass, name)
 
-        private fun getResourceAsString(url: URL) = url.readText(Charsets.UTF_8)
+        internal fun getResourceAsString(url: URL) = url.readText(Charsets.UTF_8)
     }
 }
\ No newline at end of file
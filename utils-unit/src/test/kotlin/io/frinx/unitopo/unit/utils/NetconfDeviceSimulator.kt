@@ -0,0 +1,279 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Function
+import com.google.common.base.Optional
+import com.google.common.util.concurrent.CheckedFuture
+import com.google.common.util.concurrent.Futures
+import com.google.common.util.concurrent.SettableFuture
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.opendaylight.controller.config.util.xml.XmlUtil
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yangtools.yang.common.QName
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory
+import org.opendaylight.yangtools.yang.model.api.SchemaPath
+import java.net.URL
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.TimeZone
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import javax.xml.transform.dom.DOMSource
+
+/**
+ * In-process stand-in of a NETCONF device for load tests, backed by the underlay models on the classpath.
+ *
+ * The device keeps running and state datastores and a candidate. Reads in CONFIGURATION are get-config of
+ * running, reads in OPERATIONAL are get, served from state data and falling back to running. Writes are
+ * edit-config into the candidate, which is applied to running by [commit]. Each RPC takes [latencyMillis]:
+ * reads complete asynchronously after the delay, edit-config, commit and other RPCs block the caller.
+ *
+ * Other RPCs are answered by replies registered in [replyTo], matched by RPC name regardless of the module.
+ * Junos get-commit-revision-information is answered out of the box with the time and a revision of the last
+ * [commit], any RPC without a reply fails as not implemented by the device.
+ *
+ * Reads without a datastore type follow [operationType], as they do on a mounted device.
+ *
+ * Executed RPCs are counted per [Rpc], so that round trips of a full-device sync can be asserted or measured.
+ */
+class NetconfDeviceSimulator @JvmOverloads constructor(
+    config: URL?,
+    state: URL? = null,
+    private val latencyMillis: Long = 0,
+    private val operationType: LogicalDatastoreType = LogicalDatastoreType.CONFIGURATION
+) : UnderlayAccess {
+
+    enum class Rpc { GET, GET_CONFIG, EDIT_CONFIG, COMMIT, DISCARD_CHANGES, OTHER }
+
+    private val running = createDataTree(TreeType.CONFIGURATION, config)
+    private val state = createDataTree(TreeType.OPERATIONAL, state)
+    private var candidate: DataTreeModification = running.takeSnapshot().newModification()
+    private val rpcCounts = Rpc.values().associate { it to AtomicLong() }
+    private val rpcReplies = ConcurrentHashMap<String, (SchemaPath, NormalizedNode<*, *>?) -> NormalizedNode<*, *>?>()
+    private var commits = 0L
+    private var lastCommitMillis = System.currentTimeMillis()
+    private val scheduler: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor {
+        Thread(it, "netconf-device-simulator").apply { isDaemon = true }
+    }
+
+    fun rpcCount(rpc: Rpc) = rpcCounts[rpc]!!.get()
+
+    fun resetRpcCounts() = rpcCounts.values.forEach { it.set(0) }
+
+    init {
+        replyTo(GET_COMMIT_REVISION_INFORMATION) { rpc, _ -> commitRevisionInformation(rpc.lastComponent) }
+    }
+
+    /**
+     * Answer RPCs named [rpcName] with the output returned by [reply] for the RPC path and input.
+     */
+    fun replyTo(rpcName: String, reply: (SchemaPath, NormalizedNode<*, *>?) -> NormalizedNode<*, *>?) {
+        rpcReplies[rpcName] = reply
+    }
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>): CheckedFuture<Optional<T>, ReadFailedException> =
+        read(path, operationType)
+
+    override fun <T : DataObject> read(path: InstanceIdentifier<T>, type: LogicalDatastoreType):
+        CheckedFuture<Optional<T>, ReadFailedException> {
+        val yangIID = NetconfAccessHelper.toYangInstanceIdentifier(path)
+        val node = when (type) {
+            LogicalDatastoreType.CONFIGURATION -> {
+                count(Rpc.GET_CONFIG)
+                running.takeSnapshot().readNode(yangIID)
+            }
+            else -> {
+                count(Rpc.GET)
+                state.takeSnapshot().readNode(yangIID).or(running.takeSnapshot().readNode(yangIID))
+            }
+        }
+        return delayed(node.transform {
+            path.targetType.cast(NetconfAccessHelper.CODEC.fromNormalizedNode(yangIID, it)!!.value)
+        })
+    }
+
+    override fun <T : DataObject?> put(path: InstanceIdentifier<T>?, data: T) {
+        editConfig(path!!, data) { yangIID, node -> write(yangIID, node!!) }
+    }
+
+    override fun <T : DataObject?> merge(path: InstanceIdentifier<T>?, data: T) {
+        editConfig(path!!, data) { yangIID, node -> merge(yangIID, node!!) }
+    }
+
+    override fun delete(path: InstanceIdentifier<*>?) {
+        editConfig(path!!, null) { yangIID, _ -> delete(yangIID) }
+    }
+
+    override fun <T : DataObject?> safePut(path: InstanceIdentifier<T>?, data: T) = put(path, data)
+
+    override fun <T : DataObject?> safeMerge(
+        pathBefore: InstanceIdentifier<T>?,
+        before: T,
+        pathAfter: InstanceIdentifier<T>?,
+        after: T
+    ) = merge(pathAfter, after)
+
+    override fun <T : DataObject?> safeDelete(path: InstanceIdentifier<T>?, before: T) = delete(path)
+
+    /**
+     * Apply the candidate to running, failing with the data tree validation error when it is not valid. A sealed
+     * candidate cannot be edited any more, so the changes of a failed commit are discarded.
+     */
+    fun commit() {
+        rpc(Rpc.COMMIT)
+        synchronized(this) {
+            candidate.ready()
+            try {
+                running.validate(candidate)
+                running.commit(running.prepare(candidate))
+                commits++
+                lastCommitMillis = System.currentTimeMillis()
+            } finally {
+                candidate = running.takeSnapshot().newModification()
+            }
+        }
+    }
+
+    fun discardChanges() {
+        rpc(Rpc.DISCARD_CHANGES)
+        synchronized(this) {
+            candidate = running.takeSnapshot().newModification()
+        }
+    }
+
+    override fun getCurrentOperationType() = operationType
+
+    override fun invokeRpc(schemaPath: SchemaPath, normalizedNode: NormalizedNode<*, *>?):
+        CheckedFuture<DOMRpcResult, DOMRpcException> {
+        rpc(Rpc.OTHER)
+        val reply = rpcReplies[schemaPath.lastComponent.localName]
+            ?: return Futures.immediateFailedCheckedFuture(
+                DOMRpcImplementationNotAvailableException("RPC %s is not implemented by the device", schemaPath))
+        return Futures.immediateCheckedFuture(DefaultDOMRpcResult(reply(schemaPath, normalizedNode)))
+    }
+
+    override fun close() {
+        scheduler.shutdownNow()
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun editConfig(
+        path: InstanceIdentifier<*>,
+        data: DataObject?,
+        edit: DataTreeModification.(YangInstanceIdentifier, NormalizedNode<*, *>?) -> Unit
+    ) {
+        rpc(Rpc.EDIT_CONFIG)
+        val yangIID = NetconfAccessHelper.toYangInstanceIdentifier(path)
+        val node = data?.let {
+            NetconfAccessHelper.CODEC.toNormalizedNode(path as InstanceIdentifier<DataObject>, it).value
+        }
+        synchronized(this) {
+            if (node != null && yangIID.pathArguments.size > 1) {
+                // edit-config creates missing parents, the data tree does not
+                val parent = ImmutableNodes.fromInstanceId(NetconfAccessHelper.SCHEMA_CONTEXT, yangIID.parent!!)
+                candidate.merge(YangInstanceIdentifier.create(parent.identifier), parent)
+            }
+            candidate.edit(yangIID, node)
+        }
+    }
+
+    private fun rpc(rpc: Rpc) {
+        count(rpc)
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis)
+        }
+    }
+
+    private fun count(rpc: Rpc) = rpcCounts[rpc]!!.incrementAndGet()
+
+    /**
+     * Output of Junos get-commit-revision-information, the revision is re0-<seconds of commit>-<commit number>.
+     */
+    private fun commitRevisionInformation(rpc: QName): NormalizedNode<*, *> {
+        val (number, millis) = synchronized(this) { commits to lastCommitMillis }
+        val dateTime = SimpleDateFormat("yyyy-MM-dd HH:mm:ss zzz")
+            .apply { timeZone = TimeZone.getTimeZone("UTC") }
+            .format(Date(millis))
+        val information = XmlUtil.readXmlToDocument("""
+            <commit-revision-information xmlns="${rpc.namespace}">
+                <date-time>$dateTime</date-time>
+                <revision>re0-${millis / 1000}-$number</revision>
+            </commit-revision-information>""".trimIndent()).documentElement
+        return Builders.containerBuilder()
+            .withNodeIdentifier(NodeIdentifier(QName.create(rpc, "output")))
+            .withChild(Builders.choiceBuilder()
+                .withNodeIdentifier(NodeIdentifier(QName.create(rpc, "output_c")))
+                .withChild(Builders.anyXmlBuilder()
+                    .withNodeIdentifier(NodeIdentifier(QName.create(rpc, "commit-revision-information")))
+                    .withValue(DOMSource(information))
+                    .build())
+                .build())
+            .build()
+    }
+
+    private fun <T> delayed(value: T): CheckedFuture<T, ReadFailedException> {
+        if (latencyMillis <= 0) {
+            return Futures.immediateCheckedFuture(value)
+        }
+        val future = SettableFuture.create<T>()
+        scheduler.schedule(Runnable { future.set(value) }, latencyMillis, TimeUnit.MILLISECONDS)
+        return Futures.makeChecked(future, Function<Exception, ReadFailedException> {
+            ReadFailedException("Simulated read failed", it)
+        })
+    }
+
+    companion object {
+
+        const val GET_COMMIT_REVISION_INFORMATION = "get-commit-revision-information"
+
+        private fun createDataTree(type: TreeType, fixture: URL?): DataTree {
+            val dataTree = InMemoryDataTreeFactory.getInstance().create(type)
+            dataTree.setSchemaContext(NetconfAccessHelper.SCHEMA_CONTEXT)
+            fixture?.let {
+                val data = NetconfAccessHelper.parseGetCfgResponse(NetconfAccessHelper.getResourceAsString(it))
+                val modification = dataTree.takeSnapshot().newModification()
+                (data as ContainerNode).value.forEach {
+                    modification.write(YangInstanceIdentifier.create(it.identifier), it)
+                }
+                modification.ready()
+                dataTree.validate(modification)
+                dataTree.commit(dataTree.prepare(modification))
+            }
+            return dataTree
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import com.google.common.base.Optional
+import com.google.common.base.Ticker
+import com.google.common.util.concurrent.Futures
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730.InterfaceProperties
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730._interface.properties.DataNodes
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yangtools.yang.common.QName
+import org.opendaylight.yangtools.yang.common.RpcError
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes
+import org.opendaylight.yangtools.yang.model.api.SchemaPath
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class OperationalDataCacheTest {
+
+    private lateinit var delegate: NetconfAccessHelper
+
+    private var now = 0L
+
+    private val ticker = object : Ticker() {
+        override fun read() = now
+    }
+
+    companion object {
+        private val NC_HELPER = NetconfAccessHelper("xr6_interfaces.xml")
+        private val IFC_CFGS = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+        private val IFC_PROPERTIES_ID = InstanceIdentifier.create(InterfaceProperties::class.java)
+        private val DATA_NODES_ID = IFC_PROPERTIES_ID.child(DataNodes::class.java)
+        private val RPC = QName.create("urn:test:rpc", "2020-01-01", "get-version")
+        private val RPC_PATH = SchemaPath.create(true, RPC)
+        private val INPUT = ImmutableNodes.containerNode(QName.create(RPC, "input"))
+        private val OTHER_INPUT = ImmutableNodes.containerNode(QName.create(RPC, "other-input"))
+    }
+
+    @Before
+    fun setUp() {
+        delegate = Mockito.spy(NetconfAccessHelper(NC_HELPER))
+    }
+
+    @Test
+    fun testSubtreeKeptForTtl() {
+        val cache = OperationalDataCache(delegate, ticker)
+            .expireAfter(DATA_NODES_ID.targetType, 5, TimeUnit.SECONDS)
+
+        val first = cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        now += TimeUnit.SECONDS.toNanos(4)
+        Assert.assertSame(first.get(), cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet().get())
+        Mockito.verify(delegate, Mockito.times(1)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+
+        now += TimeUnit.SECONDS.toNanos(2)
+        cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Mockito.verify(delegate, Mockito.times(2)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testKeptUntilReconnect() {
+        val cache = OperationalDataCache(delegate, ticker).keepUntilReconnect(DATA_NODES_ID.targetType)
+
+        cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        now += TimeUnit.DAYS.toNanos(1)
+        cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+
+        Mockito.verify(delegate, Mockito.times(1)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testReadsWithoutPolicyGoToDevice() {
+        val cache = OperationalDataCache(delegate, ticker)
+            .expireAfter(DATA_NODES_ID.targetType, 5, TimeUnit.SECONDS)
+
+        // policy of a descendant does not cover its parent, configuration is never kept
+        repeat(2) {
+            cache.read(IFC_PROPERTIES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+            cache.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        }
+
+        Mockito.verify(delegate, Mockito.times(2)).read(IFC_PROPERTIES_ID, LogicalDatastoreType.OPERATIONAL)
+        Mockito.verify(delegate, Mockito.times(2)).read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testSamePolicyRegisteredAgainKeepsData() {
+        val cache = OperationalDataCache(delegate, ticker)
+            .expireAfter(DATA_NODES_ID.targetType, 5, TimeUnit.SECONDS)
+
+        cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        cache.expireAfter(DATA_NODES_ID.targetType, 5, TimeUnit.SECONDS)
+        cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Mockito.verify(delegate, Mockito.times(1)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+
+        // a different TTL replaces the policy along with its data
+        cache.expireAfter(DATA_NODES_ID.targetType, 10, TimeUnit.SECONDS)
+        cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Mockito.verify(delegate, Mockito.times(2)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testRpcKeptPerInput() {
+        val device = Mockito.mock(UnderlayAccess::class.java)
+        Mockito.`when`(device.invokeRpc(Mockito.eq(RPC_PATH), Mockito.any()))
+            .thenReturn(Futures.immediateCheckedFuture(DefaultDOMRpcResult(INPUT)))
+        val cache = OperationalDataCache(device, ticker).expireRpcAfter(RPC, 1, TimeUnit.MINUTES)
+
+        cache.invokeRpc(RPC_PATH, INPUT).checkedGet()
+        cache.invokeRpc(RPC_PATH, INPUT).checkedGet()
+        cache.invokeRpc(RPC_PATH, OTHER_INPUT).checkedGet()
+        Mockito.verify(device, Mockito.times(1)).invokeRpc(RPC_PATH, INPUT)
+        Mockito.verify(device, Mockito.times(1)).invokeRpc(RPC_PATH, OTHER_INPUT)
+
+        now += TimeUnit.MINUTES.toNanos(2)
+        cache.invokeRpc(RPC_PATH, INPUT).checkedGet()
+        Mockito.verify(device, Mockito.times(2)).invokeRpc(RPC_PATH, INPUT)
+    }
+
+    @Test
+    fun testRpcErrorsNotKept() {
+        val device = Mockito.mock(UnderlayAccess::class.java)
+        val error = RpcResultBuilder.newError(RpcError.ErrorType.RPC, "operation-failed", "device busy")
+        Mockito.`when`(device.invokeRpc(RPC_PATH, INPUT))
+            .thenReturn(Futures.immediateCheckedFuture(DefaultDOMRpcResult(listOf(error))))
+        val cache = OperationalDataCache(device, ticker).keepRpcUntilReconnect(RPC)
+
+        Assert.assertEquals(listOf(error), cache.invokeRpc(RPC_PATH, INPUT).checkedGet().errors.toList())
+        cache.invokeRpc(RPC_PATH, INPUT).checkedGet()
+
+        Mockito.verify(device, Mockito.times(2)).invokeRpc(RPC_PATH, INPUT)
+    }
+
+    @Test
+    fun testConcurrentReadersShareOneRead() {
+        val device = Mockito.mock(UnderlayAccess::class.java)
+        val loading = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        val data = NC_HELPER.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Mockito.`when`(device.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)).thenAnswer {
+            loading.countDown()
+            release.await()
+            Futures.immediateCheckedFuture<Optional<DataNodes>, ReadFailedException>(data)
+        }
+        val cache = OperationalDataCache(device, ticker)
+            .expireAfter(DATA_NODES_ID.targetType, 5, TimeUnit.SECONDS)
+
+        val executor = Executors.newFixedThreadPool(2)
+        try {
+            val first = executor.submit<Optional<DataNodes>> {
+                cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+            }
+            loading.await()
+            val second = executor.submit<Optional<DataNodes>> {
+                cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+            }
+            release.countDown()
+
+            Assert.assertSame(data.get(), first.get().get())
+            Assert.assertSame(data.get(), second.get().get())
+        } finally {
+            executor.shutdownNow()
+        }
+        Mockito.verify(device, Mockito.times(1)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testKeptAcrossSnapshots() {
+        val cached = CachingUnderlayAccess(OperationalDataCache(delegate, ticker)
+            .expireAfter(DATA_NODES_ID.targetType, 5, TimeUnit.SECONDS))
+
+        val first = cached.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        // kept across snapshots, configuration is not
+        cached.invalidate()
+        Assert.assertSame(first.get(),
+            cached.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet().get())
+        cached.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        cached.invalidate()
+        cached.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION).checkedGet()
+        Mockito.verify(delegate, Mockito.times(1))
+            .read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+        Mockito.verify(delegate, Mockito.times(2))
+            .read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testSnapshotDoesNotExtendTtl() {
+        val cache = OperationalDataCache(delegate, ticker)
+            .expireAfter(DATA_NODES_ID.targetType, 5, TimeUnit.SECONDS)
+        cache.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+
+        // snapshot taken shortly before the data expires, it is not served from the snapshot once it does
+        now += TimeUnit.SECONDS.toNanos(4)
+        val cached = CachingUnderlayAccess(cache, 5, TimeUnit.SECONDS, ticker)
+        cached.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Mockito.verify(delegate, Mockito.times(1)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+
+        now += TimeUnit.SECONDS.toNanos(2)
+        cached.read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+        Mockito.verify(delegate, Mockito.times(2)).read(DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+}
\ No newline at end of file
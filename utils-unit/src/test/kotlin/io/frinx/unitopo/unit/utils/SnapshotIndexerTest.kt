@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils
+
+import org.junit.Assert
+import org.junit.Test
+
+class SnapshotIndexerTest {
+
+    private var builds = 0
+
+    private val indexer = SnapshotIndexer<List<String>, Map<String, Int>> { source ->
+        builds++
+        source.withIndex().associate { it.value to it.index }
+    }
+
+    @Test
+    fun testIndexBuiltOncePerSource() {
+        val source = listOf("a", "b")
+
+        val index = indexer.indexOf(source)
+        Assert.assertEquals(mapOf("a" to 0, "b" to 1), index)
+        Assert.assertSame(index, indexer.indexOf(source))
+        Assert.assertEquals(1, builds)
+    }
+
+    @Test
+    fun testSourcesComparedByIdentity() {
+        // equal data of another snapshot is indexed on its own
+        val first = indexer.indexOf(mutableListOf("a", "b"))
+        val second = indexer.indexOf(mutableListOf("a", "b"))
+
+        Assert.assertEquals(first, second)
+        Assert.assertNotSame(first, second)
+        Assert.assertEquals(2, builds)
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils.fixture
+
+import io.frinx.unitopo.unit.utils.NetconfAccessHelper
+import java.io.File
+
+/**
+ * Top level container of a generated reply, written into the data element.
+ */
+typealias FixturePart = XmlWriter.() -> Unit
+
+/**
+ * Generated get or get-config reply, composed of [FixturePart]s provided by [XrFixtures] and [JunosFixtures].
+ *
+ * Usage:
+ * ```
+ * val access = Fixture(XrFixtures.interfaceConfigurations(scale), XrFixtures.bgp(scale)).toAccess()
+ * ```
+ */
+class Fixture(private val parts: List<FixturePart>) {
+
+    constructor(vararg parts: FixturePart) : this(parts.toList())
+
+    operator fun plus(part: FixturePart) = Fixture(parts + part)
+
+    operator fun plus(other: Fixture) = Fixture(parts + other.parts)
+
+    fun writeTo(out: Appendable) {
+        out.append("<rpc-reply xmlns=\"$NETCONF_BASE_NAMESPACE\" message-id=\"m-1\">\n")
+        XmlWriter(out).element("data") {
+            parts.forEach { it(this) }
+        }
+        out.append("</rpc-reply>\n")
+    }
+
+    /**
+     * Write the reply into a temporary file deleted on exit.
+     */
+    fun toFile(): File {
+        val file = File.createTempFile("unitopo-fixture", ".xml")
+        file.deleteOnExit()
+        file.bufferedWriter().use { writeTo(it) }
+        return file
+    }
+
+    fun toAccess() = NetconfAccessHelper(toFile().toURI().toURL())
+
+    override fun toString() = StringBuilder().also { writeTo(it) }.toString()
+
+    companion object {
+        private const val NETCONF_BASE_NAMESPACE = "urn:ietf:params:xml:ns:netconf:base:1.0"
+
+        /**
+         * Dotted IPv4 address of [index] within [firstOctet]/8.
+         */
+        fun ipv4(index: Int, firstOctet: Int = 10) =
+            "$firstOctet.${index shr 16 and 0xff}.${index shr 8 and 0xff}.${index and 0xff}"
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils.fixture
+
+/**
+ * Size of a generated device configuration.
+ *
+ * OSPF, ISIS, L2VPN and routing instance members are taken from the generated subinterfaces, so they are capped
+ * by [subinterfaces].
+ */
+data class FixtureScale(
+    val interfaces: Int = 10,
+    val subinterfacesPerInterface: Int = 0,
+    val bgpNeighbors: Int = 10,
+    val staticRoutes: Int = 10,
+    val ospfAreas: Int = 1,
+    val ospfInterfaces: Int = 10,
+    val isisInterfaces: Int = 10,
+    val l2vpnXconnects: Int = 10,
+    val l2vpnBridgeDomains: Int = 10,
+    val routingInstances: Int = 10
+) {
+
+    val subinterfaces: Int
+        get() = interfaces * subinterfacesPerInterface
+
+    companion object {
+
+        /**
+         * Scale of a large production PE.
+         */
+        val PRODUCTION = FixtureScale(
+            interfaces = 500,
+            subinterfacesPerInterface = 100,
+            bgpNeighbors = 5000,
+            staticRoutes = 100000,
+            ospfAreas = 100,
+            ospfInterfaces = 2000,
+            isisInterfaces = 2000,
+            l2vpnXconnects = 10000,
+            l2vpnBridgeDomains = 4000,
+            routingInstances = 2000)
+    }
+}
\ No newline at end of file
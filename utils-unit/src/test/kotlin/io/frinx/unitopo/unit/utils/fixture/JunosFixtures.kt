@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils.fixture
+
+import io.frinx.unitopo.unit.utils.fixture.Fixture.Companion.ipv4
+
+/**
+ * Junos conf-root underlay data of a given [FixtureScale].
+ *
+ * Physical interfaces are named ge-0/0/N, unit M of interface N has VLAN M, an input filter and address
+ * 10.x.y.z/31. Units are assigned to routing instances in order of creation.
+ */
+object JunosFixtures {
+
+    private const val CONF_ROOT = "http://yang.juniper.net/junos/conf/root"
+    private const val CONF_INTERFACES = "http://yang.juniper.net/junos/conf/interfaces"
+    private const val CONF_ROUTING_INSTANCES = "http://yang.juniper.net/junos/conf/routing-instances"
+
+    fun interfaceName(index: Int) = "ge-0/0/$index"
+
+    fun unitName(scale: FixtureScale, index: Int) =
+        "${interfaceName(index / scale.subinterfacesPerInterface)}.${index % scale.subinterfacesPerInterface + 1}"
+
+    /**
+     * Whole configuration, interfaces and routing instances.
+     */
+    fun getConfig(scale: FixtureScale) = Fixture(configuration(scale, true, true))
+
+    /**
+     * Configuration root, containing interfaces and routing instances when requested.
+     */
+    fun configuration(scale: FixtureScale, withInterfaces: Boolean, withRoutingInstances: Boolean): FixturePart = {
+        element("configuration", CONF_ROOT) {
+            if (withInterfaces) {
+                interfaces(scale)
+            }
+            if (withRoutingInstances) {
+                routingInstances(scale)
+            }
+        }
+    }
+
+    private fun XmlWriter.interfaces(scale: FixtureScale) {
+        element("interfaces", CONF_INTERFACES) {
+            for (ifc in 0 until scale.interfaces) {
+                element("interface") {
+                    leaf("name", interfaceName(ifc))
+                    leaf("description", "${interfaceName(ifc)} description")
+                    leaf("mtu", 1514)
+                    if (scale.subinterfacesPerInterface > 0) {
+                        empty("vlan-tagging")
+                    }
+                    for (unit in 1..scale.subinterfacesPerInterface) {
+                        unit(ifc * scale.subinterfacesPerInterface + unit - 1, unit)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun XmlWriter.unit(index: Int, unit: Int) {
+        element("unit") {
+            leaf("name", unit)
+            leaf("description", "unit $index")
+            leaf("vlan-id", unit)
+            element("family") {
+                element("inet") {
+                    element("filter") {
+                        element("input") {
+                            leaf("filter-name", "FILTER-${index % 100}")
+                        }
+                    }
+                    element("address") {
+                        leaf("name", "${ipv4(index * 2)}/31")
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Virtual router instances, each with one unit and a static default route via its peer address.
+     */
+    private fun XmlWriter.routingInstances(scale: FixtureScale) {
+        element("routing-instances", CONF_ROUTING_INSTANCES) {
+            for (instance in 0 until Math.min(scale.routingInstances, scale.subinterfaces)) {
+                element("instance") {
+                    leaf("name", "VRF$instance")
+                    leaf("instance-type", "virtual-router")
+                    element("routing-options") {
+                        element("static") {
+                            element("route") {
+                                leaf("name", "0.0.0.0/0")
+                                leaf("next-hop", ipv4(instance * 2 + 1))
+                            }
+                        }
+                    }
+                    element("interface") {
+                        leaf("name", unitName(scale, instance))
+                    }
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils.fixture
+
+/**
+ * Minimal indenting XML writer, appending directly to [out] so that large fixtures are not built in memory twice.
+ */
+class XmlWriter(private val out: Appendable) {
+
+    private var depth = 0
+
+    fun element(name: String, namespace: String? = null, body: XmlWriter.() -> Unit) {
+        indent().append('<').append(name)
+        namespace?.let { out.append(" xmlns=\"").append(it).append('"') }
+        out.append(">\n")
+        depth++
+        body()
+        depth--
+        indent().append("</").append(name).append(">\n")
+    }
+
+    fun leaf(name: String, value: Any, namespace: String? = null) {
+        indent().append('<').append(name)
+        namespace?.let { out.append(" xmlns=\"").append(it).append('"') }
+        out.append('>')
+            .append(escape(value.toString()))
+            .append("</").append(name).append(">\n")
+    }
+
+    fun empty(name: String) {
+        indent().append('<').append(name).append("/>\n")
+    }
+
+    private fun indent(): Appendable {
+        for (i in 0 until depth) {
+            out.append(INDENT)
+        }
+        return out
+    }
+
+    companion object {
+        private const val INDENT = "    "
+
+        private fun escape(value: String) =
+            if (value.none { it == '<' || it == '>' || it == '&' }) value
+            else value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+    }
+}
\ No newline at end of file
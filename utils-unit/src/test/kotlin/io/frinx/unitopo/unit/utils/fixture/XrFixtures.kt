@@ -0,0 +1,402 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.utils.fixture
+
+import io.frinx.unitopo.unit.utils.fixture.Fixture.Companion.ipv4
+
+/**
+ * Cisco IOS-XR underlay data of a given [FixtureScale].
+ *
+ * Physical interfaces are named GigabitEthernet0/0/0/N, subinterface M of interface N has dot1q VLAN M, address
+ * 10.x.y.z/31 and is referenced by OSPF, ISIS and L2VPN in order of creation. The first
+ * [FixtureScale.routingInstances] subinterfaces are each assigned to a VRF of their own.
+ */
+object XrFixtures {
+
+    private const val IFMGR_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-ifmgr-cfg"
+    private const val IFMGR_OPER = "http://cisco.com/ns/yang/Cisco-IOS-XR-ifmgr-oper"
+    private const val IPV4_IO_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-ipv4-io-cfg"
+    private const val L2_ETH_INFRA_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-l2-eth-infra-cfg"
+    private const val RSI_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-infra-rsi-cfg"
+    private const val BGP_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-ipv4-bgp-cfg"
+    private const val BGP_OPER = "http://cisco.com/ns/yang/Cisco-IOS-XR-ipv4-bgp-oper"
+    private const val STATIC_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-ip-static-cfg"
+    private const val OSPF_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-ipv4-ospf-cfg"
+    private const val ISIS_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-clns-isis-cfg"
+    private const val L2VPN_CFG = "http://cisco.com/ns/yang/Cisco-IOS-XR-l2vpn-cfg"
+
+    const val BGP_AS = 65000
+    const val L2VPN_GROUP = "frinx"
+
+    fun interfaceName(index: Int) = "GigabitEthernet0/0/0/$index"
+
+    fun subinterfaceName(scale: FixtureScale, index: Int) =
+        "${interfaceName(index / scale.subinterfacesPerInterface)}.${subinterfaceIndex(scale, index)}"
+
+    fun subinterfaceIndex(scale: FixtureScale, index: Int) = index % scale.subinterfacesPerInterface + 1
+
+    fun vrfName(index: Int) = "VRF$index"
+
+    /**
+     * All configuration parts.
+     */
+    fun getConfig(scale: FixtureScale) = Fixture(
+        vrfs(scale),
+        interfaceConfigurations(scale),
+        bgp(scale),
+        routerStatic(scale),
+        ospf(scale),
+        isis(scale),
+        l2vpn(scale))
+
+    /**
+     * All configuration and operational parts.
+     */
+    fun get(scale: FixtureScale) = getConfig(scale) + interfaceProperties(scale) + bgpOper(scale)
+
+    /**
+     * infra-rsi-cfg VRFs with IPv4 unicast, one for each subinterface assigned to a routing instance.
+     */
+    fun vrfs(scale: FixtureScale): FixturePart = {
+        element("vrfs", RSI_CFG) {
+            for (vrf in 0 until members(scale, scale.routingInstances)) {
+                element("vrf") {
+                    leaf("vrf-name", vrfName(vrf))
+                    empty("create")
+                    element("afs") {
+                        element("af") {
+                            leaf("af-name", "ipv4")
+                            leaf("saf-name", "unicast")
+                            leaf("topology-name", "default")
+                            empty("create")
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ifmgr-cfg interface configurations with l2-eth-infra-cfg VLANs, infra-rsi-cfg VRFs and ipv4-io-cfg addresses
+     * on subinterfaces.
+     */
+    fun interfaceConfigurations(scale: FixtureScale): FixturePart = {
+        val vrfs = members(scale, scale.routingInstances)
+        element("interface-configurations", IFMGR_CFG) {
+            for (ifc in 0 until scale.interfaces) {
+                element("interface-configuration") {
+                    leaf("active", "act")
+                    leaf("interface-name", interfaceName(ifc))
+                    leaf("description", "${interfaceName(ifc)} description")
+                    leaf("mtu", 1514)
+                }
+            }
+            for (subifc in 0 until scale.subinterfaces) {
+                element("interface-configuration") {
+                    leaf("active", "act")
+                    leaf("interface-name", subinterfaceName(scale, subifc))
+                    leaf("interface-mode-non-physical", "default")
+                    leaf("description", "subinterface $subifc")
+                    if (subifc < vrfs) {
+                        leaf("vrf", vrfName(subifc), RSI_CFG)
+                    }
+                    element("ipv4-network", IPV4_IO_CFG) {
+                        element("addresses") {
+                            element("primary") {
+                                leaf("address", ipv4(subifc * 2))
+                                leaf("netmask", "255.255.255.254")
+                            }
+                        }
+                    }
+                    element("vlan-sub-configuration", L2_ETH_INFRA_CFG) {
+                        element("vlan-identifier") {
+                            leaf("vlan-type", "vlan-type-dot1q")
+                            leaf("first-tag", subinterfaceIndex(scale, subifc))
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ifmgr-oper system view of all interfaces on node 0/0/CPU0.
+     */
+    fun interfaceProperties(scale: FixtureScale): FixturePart = {
+        val names = (0 until scale.interfaces).map { interfaceName(it) } +
+            (0 until scale.subinterfaces).map { subinterfaceName(scale, it) }
+        element("interface-properties", IFMGR_OPER) {
+            element("data-nodes") {
+                element("data-node") {
+                    leaf("data-node-name", "0/0/CPU0")
+                    element("system-view") {
+                        element("interfaces") {
+                            names.forEach {
+                                element("interface") {
+                                    leaf("interface-name", it)
+                                    leaf("interface", it)
+                                    leaf("type", "IFT_GETHERNET")
+                                    leaf("state", "im-state-up")
+                                    leaf("actual-state", "im-state-up")
+                                    leaf("line-state", "im-state-up")
+                                    leaf("actual-line-state", "im-state-up")
+                                    leaf("encapsulation", "ether")
+                                    leaf("mtu", 1514)
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ipv4-bgp-cfg default instance with neighbors in the default VRF, activated for IPv4 unicast.
+     */
+    fun bgp(scale: FixtureScale): FixturePart = {
+        element("bgp", BGP_CFG) {
+            element("instance") {
+                leaf("instance-name", "default")
+                element("instance-as") {
+                    leaf("as", 0)
+                    element("four-byte-as") {
+                        leaf("as", BGP_AS)
+                        empty("bgp-running")
+                        element("default-vrf") {
+                            element("global") {
+                                leaf("router-id", "10.255.255.1")
+                                element("global-afs") {
+                                    element("global-af") {
+                                        leaf("af-name", "ipv4-unicast")
+                                        empty("enable")
+                                    }
+                                }
+                            }
+                            element("bgp-entity") {
+                                element("neighbors") {
+                                    for (neighbor in 0 until scale.bgpNeighbors) {
+                                        bgpNeighbor(neighbor)
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private fun XmlWriter.bgpNeighbor(neighbor: Int) {
+        element("neighbor") {
+            leaf("neighbor-address", ipv4(neighbor, 11))
+            element("remote-as") {
+                leaf("as-xx", 0)
+                leaf("as-yy", BGP_AS + 1 + neighbor % 1000)
+            }
+            leaf("update-source-interface", "Loopback0")
+            leaf("description", "neighbor $neighbor")
+            element("neighbor-afs") {
+                element("neighbor-af") {
+                    leaf("af-name", "ipv4-unicast")
+                    empty("activate")
+                }
+            }
+        }
+    }
+
+    /**
+     * ipv4-bgp-oper state of neighbors in [bgp], every neighbor established with a prefix count and connection
+     * up and down counts derived from its index.
+     */
+    fun bgpOper(scale: FixtureScale): FixturePart = {
+        element("bgp", BGP_OPER) {
+            element("instances") {
+                element("instance") {
+                    leaf("instance-name", "default")
+                    element("instance-active") {
+                        element("default-vrf") {
+                            element("neighbors") {
+                                for (neighbor in 0 until scale.bgpNeighbors) {
+                                    element("neighbor") {
+                                        leaf("neighbor-address", ipv4(neighbor, 11))
+                                        leaf("speaker-id", 0)
+                                        leaf("local-as", BGP_AS)
+                                        leaf("remote-as", BGP_AS + 1 + neighbor % 1000)
+                                        leaf("messages-received", neighbor * 10L)
+                                        leaf("messages-sent", neighbor * 10L)
+                                        leaf("connection-state", "bgp-st-estab")
+                                        leaf("connection-up-count", 1 + neighbor % 5)
+                                        leaf("connection-down-count", neighbor % 5)
+                                        element("af-data") {
+                                            leaf("af-name", "ipv4")
+                                            leaf("prefixes-accepted", neighbor % 1000)
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ip-static-cfg IPv4 unicast /32 routes in the default VRF, each with a single next hop.
+     */
+    fun routerStatic(scale: FixtureScale): FixturePart = {
+        element("router-static", STATIC_CFG) {
+            element("default-vrf") {
+                element("address-family") {
+                    element("vrfipv4") {
+                        element("vrf-unicast") {
+                            element("vrf-prefixes") {
+                                for (route in 0 until scale.staticRoutes) {
+                                    element("vrf-prefix") {
+                                        leaf("prefix", ipv4(route, 20))
+                                        leaf("prefix-length", 32)
+                                        element("vrf-route") {
+                                            element("vrf-next-hop-table") {
+                                                element("vrf-next-hop-next-hop-address") {
+                                                    leaf("next-hop-address", ipv4(route % 256, 192))
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ipv4-ospf-cfg process 1 with subinterfaces spread round robin over areas of the default VRF.
+     */
+    fun ospf(scale: FixtureScale): FixturePart = {
+        val interfaces = members(scale, scale.ospfInterfaces)
+        element("ospf", OSPF_CFG) {
+            element("processes") {
+                element("process") {
+                    leaf("process-name", 1)
+                    element("default-vrf") {
+                        element("area-addresses") {
+                            for (area in 0 until scale.ospfAreas) {
+                                element("area-area-id") {
+                                    leaf("area-id", area)
+                                    element("name-scopes") {
+                                        for (subifc in area until interfaces step scale.ospfAreas) {
+                                            element("name-scope") {
+                                                leaf("interface-name", subinterfaceName(scale, subifc))
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * clns-isis-cfg instance with point-to-point IPv4 unicast subinterfaces.
+     */
+    fun isis(scale: FixtureScale): FixturePart = {
+        element("isis", ISIS_CFG) {
+            element("instances") {
+                element("instance") {
+                    leaf("instance-name", "ISIS-001")
+                    empty("running")
+                    element("interfaces") {
+                        for (subifc in 0 until members(scale, scale.isisInterfaces)) {
+                            element("interface") {
+                                leaf("interface-name", subinterfaceName(scale, subifc))
+                                empty("running")
+                                empty("point-to-point")
+                                element("interface-afs") {
+                                    element("interface-af") {
+                                        leaf("af-name", "ipv4")
+                                        leaf("saf-name", "unicast")
+                                        element("interface-af-data") {
+                                            empty("running")
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * l2vpn-cfg point-to-point xconnects and bridge domains in the [L2VPN_GROUP] groups, each with a single
+     * subinterface attachment circuit. Xconnects take subinterfaces first, bridge domains the following ones.
+     */
+    fun l2vpn(scale: FixtureScale): FixturePart = {
+        val xconnects = members(scale, scale.l2vpnXconnects)
+        val bridgeDomains = members(scale, xconnects + scale.l2vpnBridgeDomains) - xconnects
+        element("l2vpn", L2VPN_CFG) {
+            empty("enable")
+            element("database") {
+                element("xconnect-groups") {
+                    element("xconnect-group") {
+                        leaf("name", L2VPN_GROUP)
+                        element("p2p-xconnects") {
+                            for (xconnect in 0 until xconnects) {
+                                element("p2p-xconnect") {
+                                    leaf("name", "XC$xconnect")
+                                    element("attachment-circuits") {
+                                        element("attachment-circuit") {
+                                            leaf("name", subinterfaceName(scale, xconnect))
+                                            empty("enable")
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+                element("bridge-domain-groups") {
+                    element("bridge-domain-group") {
+                        leaf("name", L2VPN_GROUP)
+                        element("bridge-domains") {
+                            for (bridgeDomain in 0 until bridgeDomains) {
+                                element("bridge-domain") {
+                                    leaf("name", "BD$bridgeDomain")
+                                    element("bd-attachment-circuits") {
+                                        element("bd-attachment-circuit") {
+                                            leaf("name", subinterfaceName(scale, xconnects + bridgeDomain))
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private fun members(scale: FixtureScale, count: Int) = Math.min(count, scale.subinterfaces)
+}
\ No newline at end of file
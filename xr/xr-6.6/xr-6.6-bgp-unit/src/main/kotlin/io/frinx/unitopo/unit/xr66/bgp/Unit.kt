@@ -151,6 +151,13 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     override fun toString() = "Translate unit for Cisco-IOS-XR-ipv4-bgp-cfg@2019-06-15"
 }
 
+/**
+ * Interned BgpAsRange halves of AS numbers in dot notation.
+ */
+val BGP_AS_RANGES = io.frinx.unitopo.unit.utils.As.Ranges {
+    org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAsRange(it)
+}
+
 typealias IID<T> = org.opendaylight.yangtools.yang.binding.InstanceIdentifier<T>
 
 typealias UnderlayDefaultVrfGlobal = org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang
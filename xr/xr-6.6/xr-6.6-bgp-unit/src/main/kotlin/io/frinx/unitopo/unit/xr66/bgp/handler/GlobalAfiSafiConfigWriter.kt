@@ -22,6 +22,7 @@ import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr66.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr66.bgp.IID
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayDefaultVrfGlobal
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayVrfGlobal
@@ -44,7 +45,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.global.vrf.global.afs.VrfGlobalAfBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.global.vrf.global.afs.VrfGlobalAfKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAddressFamily
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.afi.safi.list.afi.safi.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Global
@@ -114,12 +114,10 @@ open class GlobalAfiSafiConfigWriter(private val underlayAccess: UnderlayAccess)
     companion object {
         fun getVrfId(vrfKey: NetworkInstanceKey, asNum: AsNumber, bgpAddressFamily: BgpAddressFamily):
             InstanceIdentifier<VrfGlobalAf> {
-            val (as1, as2) = As.asToDotNotation(asNum)
-
             return GlobalConfigWriter.XR_BGP_ID.child(Instance::class.java,
                 InstanceKey(GlobalConfigWriter.XR_BGP_INSTANCE_NAME))
-                .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(as1)))
-                .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(as2)))
+                .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asNum))))
+                .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asNum))))
                 .child(Vrfs::class.java)
                 .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfKey.name)))
                 .child(UnderlayVrfGlobal::class.java)
@@ -128,12 +126,10 @@ open class GlobalAfiSafiConfigWriter(private val underlayAccess: UnderlayAccess)
         }
 
         fun getGlobalId(asNum: AsNumber, bgpAddressFamily: BgpAddressFamily): InstanceIdentifier<GlobalAf> {
-            val (as1, as2) = As.asToDotNotation(asNum)
-
             return GlobalConfigWriter.XR_BGP_ID.child(Instance::class.java,
                 InstanceKey(GlobalConfigWriter.XR_BGP_INSTANCE_NAME))
-                .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(as1)))
-                .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(as2)))
+                .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asNum))))
+                .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asNum))))
                 .child(DefaultVrf::class.java)
                 .child(UnderlayDefaultVrfGlobal::class.java)
                 .child(GlobalAfs::class.java)
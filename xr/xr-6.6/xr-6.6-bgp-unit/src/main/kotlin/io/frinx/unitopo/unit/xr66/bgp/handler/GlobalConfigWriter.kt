@@ -20,6 +20,7 @@ import io.fd.honeycomb.translate.spi.write.WriterCustomizer
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr66.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr66.bgp.IID
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayBgp
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayBgpBuilder
@@ -29,7 +30,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`.DefaultVrfBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.Global
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.GlobalBuilder
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.afi.safi.list.AfiSafi
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.afi.safi.list.AfiSafiBuilder
@@ -70,8 +70,6 @@ open class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : Writ
         private val XR_EMPTY_BGP = UnderlayBgpBuilder().build()
 
         private fun renderGlobalData(bgpBuilder: UnderlayBgpBuilder, dataAfter: Config) {
-            val (as1, as2) = As.asToDotNotation(dataAfter.`as`)
-
             // Reuse existing fields for four byte as container
             val fourByteAsBuilder = bgpBuilder.instance.orEmpty().firstOrNull()
                     ?.instanceAs.orEmpty().firstOrNull()
@@ -94,10 +92,10 @@ open class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : Writ
                     .setInstance(listOf(InstanceBuilder()
                             .setInstanceName(XR_BGP_INSTANCE_NAME)
                             .setInstanceAs(listOf(InstanceAsBuilder()
-                                    .setAs(BgpAsRange(as1))
+                                    .setAs(BGP_AS_RANGES.get(As.asXx(dataAfter.`as`)))
                                     .setFourByteAs(listOf(fourByteAsBuilder
                                             .setBgpRunning(true)
-                                            .setAs(BgpAsRange(as2))
+                                            .setAs(BGP_AS_RANGES.get(As.asYy(dataAfter.`as`)))
                                             .setDefaultVrf(DefaultVrfBuilder()
                                                     .setGlobal(dataAfter.getGlobal(globalBuilder))
                                                     .build())
@@ -23,6 +23,7 @@ import io.frinx.translate.unit.commons.handler.spi.ChecksMap
 import io.frinx.translate.unit.commons.handler.spi.CompositeWriter
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr66.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr66.bgp.handler.BgpProtocolReader
 import io.frinx.unitopo.unit.xr66.bgp.handler.getAfiSafis
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.aggregate.address.table.AggregateAddresses
@@ -43,7 +44,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.global.vrf.global.afs.VrfGlobalAf
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.global.vrf.global.afs.VrfGlobalAfKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAddressFamily
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.extension.rev180323.NiProtAggAug
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.afi.safi.list.AfiSafi
@@ -151,11 +151,10 @@ open class BgpAggregateConfigWriter(private val access: UnderlayAccess) : Compos
         addr: IpAddress,
         prefix: Int
     ): IID<AggregateAddress> {
-        val (aXX, aYY) = As.asToDotNotation(asN)
         return BgpProtocolReader.UNDERLAY_BGP
             .child(Instance::class.java, InstanceKey(CiscoIosXrString(key.name)))
-            .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(aXX)))
-            .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(aYY)))
+            .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asN))))
+            .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asN))))
             .child(Vrfs::class.java)
             .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfName)))
             .child(VrfGlobal::class.java)
@@ -23,15 +23,12 @@ import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayNeighbor
-import io.frinx.unitopo.unit.xr66.bgp.handler.BgpProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.DESCRIPTION
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.PASSWORD
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.REMOTEAS
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.SHUTDOWN
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.InstanceKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.FourByteAs
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.ConfigBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
@@ -72,12 +69,7 @@ open class NeighborConfigReader(private val access: UnderlayAccess) : ConfigRead
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-            .checkedGet()
-            .orNull()
-
-        parseNeighbor(data, vrfKey, neighborKey, builder)
+        parseNeighbor(BgpNeighborIndex.read(access, readContext, protKey), vrfKey, neighborKey, builder)
     }
 
     companion object {
@@ -87,11 +79,16 @@ open class NeighborConfigReader(private val access: UnderlayAccess) : ConfigRead
             vrfKey: NetworkInstanceKey,
             neighborKey: NeighborKey,
             builder: ConfigBuilder
-        ) {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(underlayInstance)
+        ) = parseNeighbor(BgpNeighborIndex(underlayInstance), vrfKey, neighborKey, builder)
 
+        fun parseNeighbor(
+            index: BgpNeighborIndex,
+            vrfKey: NetworkInstanceKey,
+            neighborKey: NeighborKey,
+            builder: ConfigBuilder
+        ) {
             if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                getNeighbor(fourByteAs, neighborKey)
+                index.neighbor(neighborKey)
                     ?.let { builder.fromUnderlay(it) }
             }
         }
@@ -22,6 +22,7 @@ import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr66.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayNeighbor
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayNeighborBuilder
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayNeighborKey
@@ -50,7 +51,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.neighbors.vrf.neighbor.content.vrf.neighbor.afs.VrfNeighborAfBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.password.PasswordBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.remote.`as`.RemoteAsBuilder
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.InterfaceName
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.ProprietaryPassword
@@ -140,12 +140,10 @@ class NeighborWriter(private val access: UnderlayAccess) : ListWriterCustomizer<
 
         fun getVrfNeighborIdentifier(bgpProcess: AsNumber, vrfName: NetworkInstanceKey, neighbor: IpAddressNoZone):
             InstanceIdentifier<VrfNeighbor> {
-            val (asXX, asYY) = As.asToDotNotation(bgpProcess)
-
             return GlobalConfigWriter.XR_BGP_ID
                     .child(Instance::class.java, InstanceKey(XR_BGP_INSTANCE_NAME))
-                    .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(asXX)))
-                    .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(asYY)))
+                    .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(bgpProcess))))
+                    .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(bgpProcess))))
                     .child(Vrfs::class.java)
                     .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfName.name)))
                     .child(VrfNeighbors::class.java)
@@ -158,12 +156,11 @@ class NeighborWriter(private val access: UnderlayAccess) : ListWriterCustomizer<
         ) {
             // set update source to null
             data.config.peerAs?.let {
-                val (asXX, asYY) = As.asToDotNotation(it)
                 builder.setNeighborAddress(data.neighborAddress.toNoZone())
                         .setUpdateSourceInterface(null).remoteAs =
                         RemoteAsBuilder()
-                                .setAsXx(BgpAsRange(asXX))
-                                .setAsYy(BgpAsRange(asYY))
+                                .setAsXx(BGP_AS_RANGES.get(As.asXx(it)))
+                                .setAsYy(BGP_AS_RANGES.get(As.asYy(it)))
                                 .build()
             }
 
@@ -205,12 +202,10 @@ class NeighborWriter(private val access: UnderlayAccess) : ListWriterCustomizer<
 
         fun getGlobalNeighborIdentifier(bgpProcess: AsNumber, neighbor: IpAddressNoZone):
             InstanceIdentifier<UnderlayNeighbor> {
-            val (asXX, asYY) = As.asToDotNotation(bgpProcess)
-
             return GlobalConfigWriter.XR_BGP_ID
                     .child(Instance::class.java, InstanceKey(XR_BGP_INSTANCE_NAME))
-                    .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(asXX)))
-                    .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(asYY)))
+                    .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(bgpProcess))))
+                    .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(bgpProcess))))
                     .child(DefaultVrf::class.java)
                     .child(BgpEntity::class.java)
                     .child(Neighbors::class.java)
@@ -221,13 +216,12 @@ class NeighborWriter(private val access: UnderlayAccess) : ListWriterCustomizer<
             builder: UnderlayVrfNeighborBuilder,
             data: Neighbor
         ) {
-            val (asXX, asYY) = As.asToDotNotation(data.config.peerAs)
 
             builder.setNeighborAddress(data.neighborAddress.toNoZone())
                     .setUpdateSourceInterface(data.transport?.config?.localAddress?.toIfcName()).remoteAs =
                     RemoteAsBuilder()
-                            .setAsXx(BgpAsRange(asXX))
-                            .setAsYy(BgpAsRange(asYY))
+                            .setAsXx(BGP_AS_RANGES.get(As.asXx(data.config.peerAs)))
+                            .setAsYy(BGP_AS_RANGES.get(As.asYy(data.config.peerAs)))
                             .build()
 
             if (data.config.authPassword == null) {
@@ -19,12 +19,9 @@ package io.frinx.unitopo.unit.xr66.bgp.handler.peergroup
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr66.bgp.UnderlayNeighborGroup
-import io.frinx.unitopo.unit.xr66.bgp.handler.BgpProtocolReader
-import io.frinx.unitopo.unit.xr66.bgp.handler.toOpenconfig
+import io.frinx.unitopo.unit.xr66.bgp.handler.neighbor.BgpNeighborIndex
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.InstanceKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.neighbor.group.neighbor.group.afs.NeighborGroupAf
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.AfiSafi
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.AfiSafiKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.list.PeerGroup
@@ -47,12 +44,7 @@ open class PeerGroupAfiSafiApplyPolicyConfigReader(private val access: UnderlayA
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val afKey = id.firstKeyOf<AfiSafi, AfiSafiKey>(AfiSafi::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-            .checkedGet()
-            .orNull()
-
-        parseAfisafiApplyPolicy(data, pgkey, afKey, builder)
+        parseAfisafiApplyPolicy(BgpNeighborIndex.read(access, readContext, protKey), pgkey, afKey, builder)
     }
 
     companion object {
@@ -61,25 +53,24 @@ open class PeerGroupAfiSafiApplyPolicyConfigReader(private val access: UnderlayA
             pgKey: PeerGroupKey,
             afKey: AfiSafiKey,
             builder: ConfigBuilder
+        ) = parseAfisafiApplyPolicy(BgpNeighborIndex(underlayInstance), pgKey, afKey, builder)
+
+        fun parseAfisafiApplyPolicy(
+            index: BgpNeighborIndex,
+            pgKey: PeerGroupKey,
+            afKey: AfiSafiKey,
+            builder: ConfigBuilder
         ) {
-            PeerGroupListReader.getPeerGroup(
-                BgpProtocolReader.getFirst4ByteAs(underlayInstance),
-                pgKey
-            )?.let { builder.fromUnderlay(it, afKey) }
+            index.peerGroupAf(pgKey.peerGroupName, afKey)?.let { builder.fromUnderlay(it) }
         }
     }
 }
 
-private fun ConfigBuilder.fromUnderlay(underlay: UnderlayNeighborGroup?, afKey: AfiSafiKey) {
-    underlay?.let {
-        val af = it.neighborGroupAfs?.neighborGroupAf?.find {
-            it.afName.toOpenconfig() == afKey.afiSafiName
-        }
-        af?.routePolicyIn?.let {
-            importPolicy = listOf(it)
-        }
-        af?.routePolicyOut?.let {
-            exportPolicy = listOf(it)
-        }
+private fun ConfigBuilder.fromUnderlay(af: NeighborGroupAf) {
+    af.routePolicyIn?.let {
+        importPolicy = listOf(it)
+    }
+    af.routePolicyOut?.let {
+        exportPolicy = listOf(it)
     }
 }
\ No newline at end of file
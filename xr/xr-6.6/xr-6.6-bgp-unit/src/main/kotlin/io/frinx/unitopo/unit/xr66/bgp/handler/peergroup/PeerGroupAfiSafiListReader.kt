@@ -19,12 +19,9 @@ package io.frinx.unitopo.unit.xr66.bgp.handler.peergroup
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr66.bgp.handler.BgpProtocolReader
-import io.frinx.unitopo.unit.xr66.bgp.handler.toOpenconfig
+import io.frinx.unitopo.unit.xr66.bgp.handler.neighbor.BgpNeighborIndex
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.InstanceKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.FourByteAs
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.AfiSafi
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.AfiSafiBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.AfiSafiKey
@@ -41,11 +38,7 @@ open class PeerGroupAfiSafiListReader(private val access: UnderlayAccess) :
     override fun getAllIds(id: InstanceIdentifier<AfiSafi>, readContext: ReadContext): List<AfiSafiKey> {
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val pgKey = id.firstKeyOf(PeerGroup::class.java)
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-            .checkedGet()
-            .orNull()
-        return parseAfiSafis(data, pgKey)
+        return parseAfiSafis(BgpNeighborIndex.read(access, readContext, protKey), pgKey)
     }
 
     override fun readCurrentAttributes(
@@ -60,19 +53,11 @@ open class PeerGroupAfiSafiListReader(private val access: UnderlayAccess) :
     }
 
     companion object {
-        fun parseAfiSafis(data: Instance?, pgKey: PeerGroupKey): List<AfiSafiKey> {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(data)
+        fun parseAfiSafis(data: Instance?, pgKey: PeerGroupKey): List<AfiSafiKey> =
+            parseAfiSafis(BgpNeighborIndex(data), pgKey)
 
-            val afs = getPeerGroup(fourByteAs, pgKey)
-                    ?.neighborGroupAfs
-                    ?.neighborGroupAf.orEmpty()
-                    .map { it.afName }
-            return afs
-                .map { it.toOpenconfig() }
-                .filterNotNull()
-                .map { AfiSafiKey(it) }
-                .toList()
-        }
+        fun parseAfiSafis(index: BgpNeighborIndex, pgKey: PeerGroupKey): List<AfiSafiKey> =
+            index.peerGroupAfiSafiKeys(pgKey.peerGroupName)
 
         fun getPeerGroup(fourByteAs: FourByteAs?, key: PeerGroupKey) =
                 PeerGroupListReader.getPeerGroups(fourByteAs)
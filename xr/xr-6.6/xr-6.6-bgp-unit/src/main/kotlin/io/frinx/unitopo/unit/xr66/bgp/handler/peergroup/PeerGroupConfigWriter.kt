@@ -23,6 +23,7 @@ import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr66.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr66.bgp.handler.BgpProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.Instance
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.InstanceKey
@@ -36,7 +37,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.NeighborGroup
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.NeighborGroupBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.NeighborGroupKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev170626.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.base.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
@@ -88,11 +88,10 @@ open class PeerGroupConfigWriter(private val access: UnderlayAccess) : WriterCus
         key: ProtocolKey,
         name: String
     ): IID<NeighborGroup> {
-        val (aXX, aYY) = As.asToDotNotation(asN)
         return BgpProtocolReader.UNDERLAY_BGP
             .child(Instance::class.java, InstanceKey(CiscoIosXrString(key.name)))
-            .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(aXX)))
-            .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(aYY)))
+            .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asN))))
+            .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asN))))
             .child(DefaultVrf::class.java)
             .child(BgpEntity::class.java)
             .child(NeighborGroups::class.java)
@@ -22,10 +22,9 @@ import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr66.bgp.UnderlayNeighborGroup
 import io.frinx.unitopo.unit.xr66.bgp.handler.BgpProtocolReader
+import io.frinx.unitopo.unit.xr66.bgp.handler.neighbor.BgpNeighborIndex
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.InstanceKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.instance.instance.`as`.FourByteAs
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.base.ConfigBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.list.PeerGroup
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.list.PeerGroupBuilder
@@ -45,11 +44,7 @@ open class PeerGroupListReader(private val access: UnderlayAccess) :
             return emptyList()
         }
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-            .checkedGet()
-            .orNull()
-        return parsePeerGroups(data)
+        return BgpNeighborIndex.read(access, readContext, protKey).peerGroupKeys()
     }
 
     override fun readCurrentAttributes(
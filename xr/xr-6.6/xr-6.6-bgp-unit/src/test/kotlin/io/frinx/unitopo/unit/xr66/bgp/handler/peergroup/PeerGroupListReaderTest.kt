@@ -16,10 +16,12 @@
 
 package io.frinx.unitopo.unit.xr66.bgp.handler.peergroup
 
+import io.fd.honeycomb.translate.ModificationCache
 import io.fd.honeycomb.translate.read.ReadContext
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.AbstractNetconfHandlerTest
 import io.frinx.unitopo.unit.utils.NetconfAccessHelper
+import io.frinx.unitopo.unit.xr66.bgp.handler.BgpProtocolReader
 import org.hamcrest.Matchers
 import org.junit.Assert
 import org.junit.Before
@@ -27,6 +29,11 @@ import org.junit.Test
 import org.mockito.Mock
 import org.mockito.Mockito
 import org.mockito.MockitoAnnotations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.Instance
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev180615.bgp.InstanceKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.CiscoIosXrString
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.AfiSafi
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.base.AfiSafis
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.list.PeerGroup
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.list.PeerGroupKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
@@ -38,6 +45,9 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.insta
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.BGP
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.routing.policy.rev170714.apply.policy.group.ApplyPolicy
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.routing.policy.rev170714.apply.policy.group.apply.policy.Config
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.routing.policy.rev170714.apply.policy.group.apply.policy.ConfigBuilder
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 
 open class PeerGroupListReaderTest : AbstractNetconfHandlerTest() {
@@ -76,4 +86,27 @@ open class PeerGroupListReaderTest : AbstractNetconfHandlerTest() {
         Assert.assertThat(list.map { it.peerGroupName },
             Matchers.containsInAnyOrder(PEER_GROUP_NAME1, PEER_GROUP_NAME2))
     }
+
+    @Test
+    fun testInstanceReadOncePerTransaction() {
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        val afiSafiReader = PeerGroupAfiSafiListReader(underlayAccess)
+        val policyReader = PeerGroupAfiSafiApplyPolicyConfigReader(underlayAccess)
+
+        val policies = target.getAllIds(id, readContext).flatMap { pgKey ->
+            val pgId = id.firstIdentifierOf(PeerGroups::class.java).child(PeerGroup::class.java, pgKey)
+            afiSafiReader.getAllIds(pgId.child(AfiSafis::class.java).child(AfiSafi::class.java), readContext)
+                .map {
+                    val builder = ConfigBuilder()
+                    policyReader.readCurrentAttributes(pgId.child(AfiSafis::class.java)
+                        .child(AfiSafi::class.java, it)
+                        .child(ApplyPolicy::class.java)
+                        .child(Config::class.java), builder, readContext)
+                    builder.importPolicy.orEmpty()
+                }
+        }
+        Assert.assertEquals(listOf("POLICY-PEER-GROUP-IN"), policies.flatten())
+        Mockito.verify(underlayAccess, Mockito.times(1)).read(BgpProtocolReader.UNDERLAY_BGP
+            .child(Instance::class.java, InstanceKey(CiscoIosXrString("default"))))
+    }
 }
\ No newline at end of file
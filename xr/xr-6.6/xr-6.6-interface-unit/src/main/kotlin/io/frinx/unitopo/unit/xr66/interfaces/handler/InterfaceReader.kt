@@ -30,9 +30,8 @@ class InterfaceReader(underlayAccess: UnderlayAccess) :
     AbstractInterfaceReader<InterfaceConfigurations>(underlayAccess) {
 
     override fun parseInterfaceIds(data: InterfaceConfigurations): List<InterfaceKey> =
-        data.interfaceConfiguration
-        .orEmpty()
-        .map { InterfaceKey(it.interfaceName.value) }
+        Util.indexInterfaces(data).names
+        .map { InterfaceKey(it) }
 
     override val readIid: InstanceIdentifier<InterfaceConfigurations> = IFC_CFGS
 
@@ -51,8 +50,7 @@ class InterfaceReader(underlayAccess: UnderlayAccess) :
                 .checkedGet()
                 .orNull()
             configurations?.let { interfaceConfigurations ->
-                interfaceConfigurations.interfaceConfiguration.orEmpty()
-                    .firstOrNull { it.interfaceName.value == name }
+                Util.filterInterface(interfaceConfigurations, name)
                     .let { handler(it ?: Util.getDefaultIfcCfg(name)) }
             }
         }
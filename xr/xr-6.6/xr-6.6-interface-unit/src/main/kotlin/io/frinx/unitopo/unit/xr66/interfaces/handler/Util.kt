@@ -17,6 +17,8 @@
 package io.frinx.unitopo.unit.xr66.interfaces.handler
 
 import com.google.common.base.Preconditions
+import io.frinx.unitopo.unit.utils.InterfaceIndex
+import io.frinx.unitopo.unit.utils.SnapshotIndexer
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev170907.InterfaceConfigurations
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev170907._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev170907._interface.configurations.InterfaceConfigurationBuilder
@@ -76,10 +78,17 @@ class Util {
             }.build()
         }
 
+        private val IFC_CFG_INDEXER = SnapshotIndexer<InterfaceConfigurations, InterfaceIndex<InterfaceConfiguration>> {
+            InterfaceIndex(it.interfaceConfiguration.orEmpty()) { it.interfaceName.value }
+        }
+
+        /**
+         * Index of interface configurations by interface name, built once per read InterfaceConfigurations.
+         */
+        fun indexInterfaces(data: InterfaceConfigurations): InterfaceIndex<InterfaceConfiguration> =
+            IFC_CFG_INDEXER.indexOf(data)
+
         fun filterInterface(data: InterfaceConfigurations?, ifcName: String): InterfaceConfiguration? =
-            data?.let { interfaceConfigurations ->
-                interfaceConfigurations.interfaceConfiguration.orEmpty()
-                    .firstOrNull { it.interfaceName.value == ifcName }
-            }
+            data?.let { indexInterfaces(it)[ifcName] }
     }
 }
\ No newline at end of file
@@ -21,11 +21,8 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev170907.InterfaceActive
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev170907.InterfaceConfigurations
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev170907._interface.configurations.InterfaceConfiguration
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev170907._interface.configurations.InterfaceConfigurationKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev180629.InterfaceName
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.event.types.rev171024.LINKUPDOWN
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.InterfaceId
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.logging.rev171024.logging._interface.config.EnabledLoggingForEvent
@@ -53,27 +50,15 @@ open class LoggingInterfacesReader(private val underlayAccess: UnderlayAccess) :
         builder: InterfacesBuilder,
         readContext: ReadContext
     ) {
-        val names = readAllInterfaceNamesFromNative(underlayAccess)
-        val ifcList = names.filter {
-            it.startsWith("Bundle-Ether")
-        }.filter {
-            val key = InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName(it))
-            val iid = InstanceIdentifier
-                    .create(InterfaceConfigurations::class.java)
-                    .child(InterfaceConfiguration::class.java,
-                        key)
-            underlayAccess.read(iid, LogicalDatastoreType.CONFIGURATION)
-                .checkedGet()
-                .orNull()
-                .let {
-                    it?.isLinkStatus ?: false
-                }
-        }.map {
-            InterfaceBuilder().apply {
-                this.interfaceId = InterfaceId(it)
-                this.config = getIfcConfig(this.interfaceId)
-            }.build()
-        }.toList()
+        val ifcList = readAllInterfaceConfigurations(underlayAccess)
+            .filter { it.interfaceName.value.startsWith("Bundle-Ether") }
+            .filter { it.isLinkStatus ?: false }
+            .map {
+                InterfaceBuilder().apply {
+                    this.interfaceId = InterfaceId(it.interfaceName.value)
+                    this.config = getIfcConfig(this.interfaceId)
+                }.build()
+            }
 
         if (ifcList.isNotEmpty()) {
             builder.setInterface(ifcList)
@@ -91,18 +76,13 @@ open class LoggingInterfacesReader(private val underlayAccess: UnderlayAccess) :
             .build()
     }
 
-    private fun readAllInterfaceNamesFromNative(
-        underlayAccess: UnderlayAccess
-    ): List<String> {
-        val configurations = underlayAccess.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    private fun readAllInterfaceConfigurations(underlayAccess: UnderlayAccess): List<InterfaceConfiguration> {
+        // link status of all interfaces comes with the single subtree read, no per-interface reads needed
+        return underlayAccess.read(IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
             .checkedGet()
             .orNull()
-            .let {
-                it?.interfaceConfiguration?.map {
-                    it.interfaceName.value
-                }
-            }?.toList()
-        return configurations.orEmpty()
+            ?.interfaceConfiguration
+            .orEmpty()
     }
 
     companion object {
@@ -20,6 +20,7 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr66.ospf.handler.AreaInterfaceReader.Companion.findAreaNameScopes
+import io.frinx.unitopo.unit.xr66.ospf.handler.AreaInterfaceReader.Companion.findNameScope
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.ospf.types.rev170228.OspfMetric
@@ -48,14 +49,12 @@ open class AreaInterfaceConfigReader(private val access: UnderlayAccess) :
         val ifaceId = id.firstKeyOf(Interface::class.java).id
 
         val areas = OspfAreaReader.getAreas(access, protKey, vrfKey.name)
-        findAreaNameScopes(areas, areaKey)
-                ?.nameScope.orEmpty()
-                .find { it.interfaceName.value == ifaceId }
-                ?.let {
-                    config.id = ifaceId
-                    it.cost?.let {
-                        config.metric = OspfMetric(it.toInt())
-                    }
-                }
+        val nameScopes = findAreaNameScopes(areas, areaKey)
+        findNameScope(nameScopes, ifaceId)?.let {
+            config.id = ifaceId
+            it.cost?.let {
+                config.metric = OspfMetric(it.toInt())
+            }
+        }
     }
 }
\ No newline at end of file
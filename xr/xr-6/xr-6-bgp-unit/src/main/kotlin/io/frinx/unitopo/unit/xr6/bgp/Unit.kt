@@ -22,17 +22,21 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.network.instance.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.InstrumentingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalAfiSafiConfigReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalAfiSafiConfigWriter
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalAfiSafiReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalConfigReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalConfigWriter
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalStateReader
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.BgpNeighborOperState
 import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborEbgpMultihopConfigReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.PrefixesReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.afisafi.ApplyPolicyConfigReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborTransportConfigReader
-import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborWriter
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborsWriter
 import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborConfigReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborStateReader
@@ -79,8 +83,9 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         access: UnderlayAccess
     ) {
-        provideReaders(rRegistry, access)
-        provideWriters(wRegistry, access)
+        val instrumented = InstrumentingUnderlayAccess(CachingUnderlayAccess.shared(access), toString())
+        provideReaders(rRegistry, instrumented)
+        provideWriters(wRegistry, instrumented)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, access: UnderlayAccess) {
@@ -91,8 +96,9 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry.addAfter(IIDs.NE_NE_PR_PR_BG_GL_AF_AF_CONFIG, GlobalAfiSafiConfigWriter(access),
                 IIDs.NE_NE_PR_PR_BG_GL_CONFIG)
 
-        wRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR, NeighborWriter(access),
-                setOf(IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG,
+        wRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_NEIGHBORS, NeighborsWriter(access),
+                setOf(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR,
+                        IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG,
                         IIDs.NE_NE_PR_PR_BG_NE_NE_TRANSPORT,
                         IIDs.NE_NE_PR_PR_BG_NE_NE_TR_CONFIG,
                         IIDs.NE_NE_PR_PR_BG_NE_NE_APPLYPOLICY,
@@ -126,34 +132,37 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, access: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_CONFIG, GlobalConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_STATE, GlobalStateReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AFISAFI, GlobalAfiSafiReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AF_CONFIG, GlobalAfiSafiConfigReader(access))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_CONFIG, scoped(GlobalConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_STATE, scoped(GlobalStateReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AFISAFI, scoped(GlobalAfiSafiReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AF_CONFIG, scoped(GlobalAfiSafiConfigReader(access)))
 
         // neighbor
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR, NeighborReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG, NeighborConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_STATE, NeighborStateReader(access))
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AFISAFI, AfiSafiReader(access), setOf(IID_AFISAFI_CONFIG))
+        val operState = BgpNeighborOperState(access)
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR, scoped(NeighborReader(access, operState)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG, scoped(NeighborConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_STATE, scoped(NeighborStateReader(operState)))
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AFISAFI,
+            scoped(AfiSafiReader(access)), setOf(IID_AFISAFI_CONFIG))
         rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_IPV6UNICAST,
-                Ipv6UnicastReader(access), setOf(IIDs.NET_NET_PRO_PRO_BGP_NEI_NEI_AFI_AFI_IPV_CONFIG),
+                scoped(Ipv6UnicastReader(access)), setOf(IIDs.NET_NET_PRO_PRO_BGP_NEI_NEI_AFI_AFI_IPV_CONFIG),
             IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_CONFIG)
-        rRegistry.addAfter(IIDs.NE_NE_PR_PR_BG_NE_NE_EB_CONFIG, NeighborEbgpMultihopConfigReader(access),
+        rRegistry.addAfter(IIDs.NE_NE_PR_PR_BG_NE_NE_EB_CONFIG, scoped(NeighborEbgpMultihopConfigReader(access)),
                 IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG)
 
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_TR_CONFIG, NeighborTransportConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_AP_CONFIG, ApplyPolicyConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_ST_PREFIXES, PrefixesReader(access))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_TR_CONFIG, scoped(NeighborTransportConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_AP_CONFIG, scoped(ApplyPolicyConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_ST_PREFIXES, scoped(PrefixesReader(operState)))
 
         // peer-group
-        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PEERGROUP, PeerGroupListReader(access),
+        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PEERGROUP, scoped(PeerGroupListReader(access)),
             setOf(IIDs.NE_NE_PR_PR_BG_PE_PE_CONFIG),
             IIDs.NE_NE_PR_PR_BG_GL_CONFIG)
-        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AFISAFI, PeerGroupAfiSafiListReader(access),
+        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AFISAFI, scoped(PeerGroupAfiSafiListReader(access)),
             setOf(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_CONFIG),
             IIDs.NE_NE_PR_PR_BG_PE_PE_CONFIG)
-        rRegistry.addAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_AP_CONFIG, PeerGroupAfiSafiApplyPolicyConfigReader(access),
+        rRegistry.addAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_AP_CONFIG,
+            scoped(PeerGroupAfiSafiApplyPolicyConfigReader(access)),
             IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_CONFIG)
     }
 
@@ -165,6 +174,13 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     override fun toString() = "XR 6 (2015-07-30) BGP translate unit"
 }
 
+/**
+ * Interned BgpAsRange halves of AS numbers in dot notation.
+ */
+val BGP_AS_RANGES = io.frinx.unitopo.unit.utils.As.Ranges {
+    org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange(it)
+}
+
 typealias IID<T> = org.opendaylight.yangtools.yang.binding.InstanceIdentifier<T>
 
 // CFG
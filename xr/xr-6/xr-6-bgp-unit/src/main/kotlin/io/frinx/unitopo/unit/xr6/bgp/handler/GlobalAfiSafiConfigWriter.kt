@@ -17,11 +17,12 @@
 package io.frinx.unitopo.unit.xr6.bgp.handler
 
 import io.fd.honeycomb.translate.spi.write.WriterCustomizer
-import io.fd.honeycomb.translate.util.RWUtils
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.ni.base.NetworkInstanceView
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.utils.As.Companion.asToDotNotation
+import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr6.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr6.bgp.IID
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayDefaultVrfGlobal
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayVrfGlobal
@@ -44,10 +45,8 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.global.vrf.global.afs.VrfGlobalAfBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.global.vrf.global.afs.VrfGlobalAfKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAddressFamily
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.afi.safi.list.afi.safi.Config
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Global
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.AFISAFITYPE
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV4UNICAST
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV6UNICAST
@@ -66,7 +65,7 @@ class GlobalAfiSafiConfigWriter(private val underlayAccess: UnderlayAccess) : Wr
         writeContext: WriteContext
     ) {
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
-        val asNumber = writeContext.readAfter(RWUtils.cutId(id, Global::class.java)).get().config.`as`
+        val asNumber = NetworkInstanceView.after(id, writeContext).bgpAs!!
         val underlayAfi = requireNotNull(config.afiSafiName.toUnderlay(),
                 { "Unable to configure address family: ${config.afiSafiName}. Unsupported" })
 
@@ -101,7 +100,7 @@ class GlobalAfiSafiConfigWriter(private val underlayAccess: UnderlayAccess) : Wr
         writeContext: WriteContext
     ) {
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
-        val asNumber = writeContext.readBefore(RWUtils.cutId(id, Global::class.java)).get().config.`as`
+        val asNumber = NetworkInstanceView.before(id, writeContext).bgpAs!!
         val underlayAfi = requireNotNull(config.afiSafiName.toUnderlay(),
                 { "Unable to configure address family: ${config.afiSafiName}. Unsupported" })
 
@@ -115,12 +114,10 @@ class GlobalAfiSafiConfigWriter(private val underlayAccess: UnderlayAccess) : Wr
     companion object {
         fun getVrfId(vrfKey: NetworkInstanceKey, asNum: AsNumber, bgpAddressFamily: BgpAddressFamily):
             InstanceIdentifier<VrfGlobalAf> {
-            val (as1, as2) = asToDotNotation(asNum)
-
             return GlobalConfigWriter.XR_BGP_ID.child(Instance::class.java,
                 InstanceKey(GlobalConfigWriter.XR_BGP_INSTANCE_NAME))
-                    .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(as1)))
-                    .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(as2)))
+                    .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asNum))))
+                    .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asNum))))
                     .child(Vrfs::class.java)
                     .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfKey.name)))
                     .child(UnderlayVrfGlobal::class.java)
@@ -129,12 +126,10 @@ class GlobalAfiSafiConfigWriter(private val underlayAccess: UnderlayAccess) : Wr
         }
 
         fun getGlobalId(asNum: AsNumber, bgpAddressFamily: BgpAddressFamily): InstanceIdentifier<GlobalAf> {
-            val (as1, as2) = asToDotNotation(asNum)
-
             return GlobalConfigWriter.XR_BGP_ID.child(Instance::class.java,
                 InstanceKey(GlobalConfigWriter.XR_BGP_INSTANCE_NAME))
-                    .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(as1)))
-                    .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(as2)))
+                    .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asNum))))
+                    .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asNum))))
                     .child(DefaultVrf::class.java)
                     .child(UnderlayDefaultVrfGlobal::class.java)
                     .child(GlobalAfs::class.java)
@@ -19,8 +19,10 @@ package io.frinx.unitopo.unit.xr6.bgp.handler
 import io.fd.honeycomb.translate.spi.write.WriterCustomizer
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.ni.base.NetworkInstanceView
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.utils.As.Companion.asToDotNotation
+import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr6.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr6.bgp.IID
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayBgp
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayBgpBuilder
@@ -45,7 +47,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.VrfKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.VrfGlobal
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.VrfGlobalBuilder
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpExtcommAsnIndex
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpExtcommV4AddrIndex
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
@@ -53,16 +54,13 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.afi.safi.list.AfiSafiBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.base.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.NetworkInstances
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.types.rev170228.RouteDistinguisher
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4AddressNoZone
-import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import java.util.regex.Pattern
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Config as NetworkInstanceConfig
 
 class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : WriterCustomizer<Config> {
 
@@ -85,9 +83,7 @@ class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : WriterCus
             underlayAccess.put(XR_BGP_ID, bgpBuilder.build())
         } else {
             val vrfId = getVrfId(vrfKey, dataAfter.`as`)
-            val rd = writeContext.readAfter(InstanceIdentifier.create(NetworkInstances::class.java)
-                    .child(NetworkInstance::class.java, NetworkInstanceKey(vrfKey.name))
-                    .child(NetworkInstanceConfig::class.java)).orNull()?.routeDistinguisher
+            val rd = NetworkInstanceView.after(id, writeContext).routeDistinguisher
 
             val bgpBuilder = underlayAccess.read(vrfId)
                     .checkedGet()
@@ -107,9 +103,7 @@ class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : WriterCus
             renderGlobalData(bgpBuilder, dataAfter)
             underlayAccess.put(XR_BGP_ID, bgpBuilder.build())
         } else {
-            val rd = wc.readAfter(InstanceIdentifier.create(NetworkInstances::class.java)
-                    .child(NetworkInstance::class.java, NetworkInstanceKey(vrfKey.name))
-                    .child(NetworkInstanceConfig::class.java)).orNull()?.routeDistinguisher
+            val rd = NetworkInstanceView.after(id, wc).routeDistinguisher
 
             val bgpBuilder = VrfBuilder()
             renderVrfData(bgpBuilder, vrfKey, dataAfter, rd)
@@ -141,11 +135,9 @@ class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : WriterCus
         private val XR_EMPTY_VRF_BGP = VrfBuilder().build()
 
         public fun getVrfId(vrfKey: NetworkInstanceKey, asNum: AsNumber): IID<Vrf> {
-            val (as1, as2) = asToDotNotation(asNum)
-
             return XR_BGP_ID.child(Instance::class.java, InstanceKey(XR_BGP_INSTANCE_NAME))
-                    .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(as1)))
-                    .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(as2)))
+                    .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asNum))))
+                    .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asNum))))
                     .child(Vrfs::class.java)
                     .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfKey.name)))
         }
@@ -169,8 +161,6 @@ class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : WriterCus
         }
 
         private fun renderGlobalData(bgpBuilder: UnderlayBgpBuilder, dataAfter: Config) {
-            val (as1, as2) = asToDotNotation(dataAfter.`as`)
-
             // Reuse existing fields for four byte as container
             val fourByteAsBuilder = bgpBuilder.instance.orEmpty().firstOrNull()
                     ?.instanceAs.orEmpty().firstOrNull()
@@ -193,10 +183,10 @@ class GlobalConfigWriter(private val underlayAccess: UnderlayAccess) : WriterCus
                     .setInstance(listOf(InstanceBuilder()
                             .setInstanceName(XR_BGP_INSTANCE_NAME)
                             .setInstanceAs(listOf(InstanceAsBuilder()
-                                    .setAs(BgpAsRange(as1))
+                                    .setAs(BGP_AS_RANGES.get(As.asXx(dataAfter.`as`)))
                                     .setFourByteAs(listOf(fourByteAsBuilder
                                             .setBgpRunning(true)
-                                            .setAs(BgpAsRange(as2))
+                                            .setAs(BGP_AS_RANGES.get(As.asYy(dataAfter.`as`)))
                                             .setDefaultVrf(DefaultVrfBuilder()
                                                     .setGlobal(dataAfter.getGlobal(globalBuilder))
                                                     .build())
@@ -225,11 +215,12 @@ fun RouteDistinguisher.toXrRouteDistinguisher(): UnderlayRouteDistinguisher {
             val asPrefix = colonMatcher.group("prefix")
             val asSuffix = colonMatcher.group("suffix")
 
-            val (as1, as2) = asToDotNotation(AsNumber(asPrefix.toLong()))
+            val asNumber = AsNumber(asPrefix.toLong())
+            val asXx = As.asXx(asNumber)
             UnderlayRouteDistinguisherBuilder()
-                    .setType(if (as1 > 0) BgpRouteDistinguisher.FourByteAs else BgpRouteDistinguisher.As)
-                    .setAsXx(BgpAsRange(as1))
-                    .setAs(BgpAsRange(as2))
+                    .setType(if (asXx > 0) BgpRouteDistinguisher.FourByteAs else BgpRouteDistinguisher.As)
+                    .setAsXx(BGP_AS_RANGES.get(asXx))
+                    .setAs(BGP_AS_RANGES.get(As.asYy(asNumber)))
                     .setAsIndex(BgpExtcommAsnIndex(asSuffix.toLong()))
                     .build()
         }
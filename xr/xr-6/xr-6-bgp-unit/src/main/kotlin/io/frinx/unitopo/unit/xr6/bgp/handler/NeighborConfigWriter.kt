@@ -19,7 +19,8 @@ package io.frinx.unitopo.unit.xr6.bgp.handler
 import io.fd.honeycomb.translate.spi.write.WriterCustomizer
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.utils.As.Companion.asToDotNotation
+import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr6.bgp.BGP_AS_RANGES
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.Bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
@@ -100,12 +101,11 @@ class NeighborConfigWriter(private val underlayAccess: UnderlayAccess) : WriterC
 
     private fun getDefautVrfNeighbor(bgpProcess: Long, data: Config): Pair<IID<Neighbor>, Neighbor> {
         val iid = getDefaultVrfNeighborIdentifier(bgpProcess, IpAddressNoZone(data.neighborAddress.value))
-        val (xx, yy) = asToDotNotation(data.peerAs)
         val neighbor = NeighborBuilder()
                 .setKey(NeighborKey(IpAddressNoZone(data.neighborAddress.value)))
                 .setRemoteAs(RemoteAsBuilder()
-                        .setAsXx(BgpAsRange(xx))
-                        .setAsYy(BgpAsRange(yy))
+                        .setAsXx(BGP_AS_RANGES.get(As.asXx(data.peerAs)))
+                        .setAsYy(BGP_AS_RANGES.get(As.asYy(data.peerAs)))
                         .build())
                 .build()
         return Pair(iid, neighbor)
@@ -113,12 +113,11 @@ class NeighborConfigWriter(private val underlayAccess: UnderlayAccess) : WriterC
 
     private fun getVrfNeighbor(bgpProcess: Long, vrfName: String, data: Config): Pair<IID<VrfNeighbor>, VrfNeighbor> {
         val iid = getVrfNeighborIdentifier(bgpProcess, vrfName, IpAddressNoZone(data.neighborAddress.value))
-        val (xx, yy) = asToDotNotation(data.peerAs)
         val neighbor = VrfNeighborBuilder()
                 .setKey(VrfNeighborKey(IpAddressNoZone(data.neighborAddress.value)))
                 .setRemoteAs(RemoteAsBuilder()
-                        .setAsXx(BgpAsRange(xx))
-                        .setAsYy(BgpAsRange(yy))
+                        .setAsXx(BGP_AS_RANGES.get(As.asXx(data.peerAs)))
+                        .setAsYy(BGP_AS_RANGES.get(As.asYy(data.peerAs)))
                         .build())
                 .build()
         return Pair(iid, neighbor)
@@ -16,11 +16,11 @@
 
 package io.frinx.unitopo.unit.xr6.bgp.handler.aggregates
 
-import io.fd.honeycomb.translate.util.RWUtils
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.translate.unit.commons.handler.spi.ChecksMap
 import io.frinx.translate.unit.commons.handler.spi.CompositeWriter
+import io.frinx.unitopo.ni.base.NetworkInstanceView
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalAfiSafiConfigWriter
 import io.frinx.unitopo.unit.xr6.bgp.handler.getAfiSafis
@@ -31,14 +31,9 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.sourced.network.table.sourced.networks.SourcedNetworkKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAddressFamily
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.extension.rev180323.NiProtAggAug
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.local.routing.rev170515.local.aggregate.top.LocalAggregates
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.local.routing.rev170515.local.aggregate.top.local.aggregates.aggregate.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.ProtocolsBuilder
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.BGP
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.IpPrefix
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress
@@ -57,9 +52,8 @@ class BgpLocalAggregateConfigWriter(private val access: UnderlayAccess) : Compos
 
         val vrfKey = instanceIdentifier.firstKeyOf(NetworkInstance::class.java)
 
-        val networkInstance = writeContext.readAfter(RWUtils.cutId(instanceIdentifier,
-            NetworkInstance::class.java).child(Protocols::class.java)).get()
-        val bgp = getBgpGlobal(networkInstance)
+        val networkInstance = NetworkInstanceView.after(instanceIdentifier, writeContext)
+        val bgp = networkInstance.bgp
         requireNotNull(bgp,
                 { "BGP not configured for VRF: ${vrfKey.name}. Cannot configure networks" })
 
@@ -72,7 +66,7 @@ class BgpLocalAggregateConfigWriter(private val access: UnderlayAccess) : Compos
         require(afiSafis.isNotEmpty(),
                 { "BGP does not contain any AFI SAFI for VRF: ${vrfKey.name}. Cannot configure networks" })
 
-        val localaggregate = getLocalAggregate(networkInstance)
+        val localaggregate = networkInstance.bgpProtocol?.localAggregates
         val applyPolicyName = localaggregate?.aggregate.orEmpty().firstOrNull()?.config
             ?.getAugmentation(NiProtAggAug::class.java)?.applyPolicy.orEmpty().firstOrNull()
 
@@ -184,12 +178,8 @@ class BgpLocalAggregateConfigWriter(private val access: UnderlayAccess) : Compos
         }
 
         val vrfKey = instanceIdentifier.firstKeyOf(NetworkInstance::class.java)
-        val protocolsBefore = writeContext.readBefore(RWUtils.cutId(instanceIdentifier, NetworkInstance::class.java)
-            .child(Protocols::class.java)).get()
-        val protocolsAfter = writeContext.readAfter(RWUtils.cutId(instanceIdentifier, NetworkInstance::class.java)
-            .child(Protocols::class.java)).or(ProtocolsBuilder().build())
-        val bgp = getBgpGlobal(protocolsBefore)
-        val bgpAfter = getBgpGlobal(protocolsAfter)
+        val bgp = NetworkInstanceView.before(instanceIdentifier, writeContext).bgp
+        val afiSafisAfter = NetworkInstanceView.after(instanceIdentifier, writeContext).bgpAfiSafis
         val asNumber = bgp!!.global?.config?.`as`
         asNumber!!
         val afiSafis = bgp.getAfiSafis()
@@ -198,7 +188,7 @@ class BgpLocalAggregateConfigWriter(private val access: UnderlayAccess) : Compos
             afiSafis
                     .map { it.afiSafiName }
                     // Skip deletion of networks for AFI SAFI that's being deleted ... because XR
-                    .filter { bgpAfter?.global?.afiSafis?.afiSafi.orEmpty().map { it.afiSafiName }.contains(it) }
+                    .filter { afiSafisAfter.contains(it) }
                     .map { it.toUnderlay() }
                     .filterNotNull()
                     .forEach { deleteGlobalNetworkForAfi(it, asNumber, config.prefix) }
@@ -206,29 +196,13 @@ class BgpLocalAggregateConfigWriter(private val access: UnderlayAccess) : Compos
             afiSafis
                     .map { it.afiSafiName }
                     // Skip deletion of networks for AFI SAFI that's being deleted ... because XR
-                    .filter { bgpAfter?.global?.afiSafis?.afiSafi.orEmpty().map { it.afiSafiName }.contains(it) }
+                    .filter { afiSafisAfter.contains(it) }
                     .map { it.toUnderlay() }
                     .filterNotNull()
                     .forEach { deleteVrfNetworkForAfi(it, vrfKey, asNumber, config.prefix) }
         }
         return true
     }
-
-    companion object {
-
-        private fun getBgpGlobal(protocolsContainer: Protocols): Bgp? {
-            return protocolsContainer
-                    .protocol.orEmpty()
-                    .find { protocol -> protocol.identifier == BGP::class.java }
-                    ?.bgp
-        }
-
-        private fun getLocalAggregate(protocolsContainer: Protocols): LocalAggregates? {
-            return protocolsContainer
-                .protocol.orEmpty()
-                .find { protocol -> protocol.identifier == BGP::class.java }?.localAggregates
-        }
-    }
 }
 
 private fun IpPrefix.getNetAddress(): IpAddress {
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import com.google.common.base.Ticker
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.AsyncUnderlayReads
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayOperBgpInstance
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayOperBgpInstanceKey
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayOperNeighbor
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.oper.rev150827.Bgp
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.oper.rev150827.bgp.Instances
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.oper.rev150827.bgp.instances.instance.InstanceActive
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * Operational state of all neighbors of a BGP instance, fetched in bulk.
+ *
+ * Instead of one oper read per neighbor (and another one per neighbor address family for prefixes), the active
+ * instance with default VRF and per-VRF neighbor tables is read once and session state, peer AS and prefix counts
+ * of every neighbor are served from it. A snapshot is shared within a read transaction. By default every read
+ * transaction fetches its own one, callers tolerating stale state can opt in to a non-zero [maxAge], then
+ * following transactions reuse the snapshot until it is older than that.
+ *
+ * One instance is meant to be shared by all oper readers of a unit.
+ */
+class BgpNeighborOperState @JvmOverloads constructor(
+    private val access: UnderlayAccess,
+    maxAge: Long = DEFAULT_MAX_AGE_MILLIS,
+    maxAgeUnit: TimeUnit = TimeUnit.MILLISECONDS,
+    private val ticker: Ticker = Ticker.systemTicker()
+) {
+
+    private val maxAgeNanos = maxAgeUnit.toNanos(maxAge)
+
+    private val snapshots = ConcurrentHashMap<String, Snapshot>()
+
+    /**
+     * Oper data of a neighbor from the snapshot of BGP instance [protKey].
+     */
+    fun neighbor(
+        readContext: ReadContext,
+        protKey: ProtocolKey,
+        vrfKey: NetworkInstanceKey,
+        neighborKey: NeighborKey
+    ): UnderlayOperNeighbor? = snapshot(readContext, protKey.name).neighbor(vrfKey, neighborKey)
+
+    /**
+     * Issue the read of BGP instance [protKey] without waiting for it, unless the snapshot would be reused. The
+     * neighbor list reader calls this so that state is fetched while the neighbors are being listed.
+     */
+    fun request(readContext: ReadContext, protKey: ProtocolKey) {
+        if (readContext.modificationCache?.get(CacheKey(protKey.name)) != null) {
+            return
+        }
+        val current = snapshots[protKey.name]
+        if (current == null || !current.isFresh(ticker.read())) {
+            AsyncUnderlayReads.readAsync(access, readContext, getId(protKey.name), LogicalDatastoreType.OPERATIONAL)
+        }
+    }
+
+    /**
+     * Drop all snapshots, next read fetches fresh state from the device.
+     */
+    fun invalidate() = snapshots.clear()
+
+    private fun snapshot(readContext: ReadContext, instanceName: String): Snapshot {
+        val cacheKey = CacheKey(instanceName)
+        (readContext.modificationCache?.get(cacheKey) as Snapshot?)?.let { return it }
+
+        val now = ticker.read()
+        val snapshot = snapshots.compute(instanceName) { _, current ->
+            current?.takeIf { it.isFresh(now) } ?: Snapshot(now, read(readContext, instanceName))
+        }!!
+        readContext.modificationCache?.put(cacheKey, snapshot)
+        return snapshot
+    }
+
+    private fun read(readContext: ReadContext, instanceName: String) =
+        AsyncUnderlayReads.read(access, readContext, getId(instanceName), LogicalDatastoreType.OPERATIONAL)
+
+    private fun Snapshot.isFresh(now: Long) = maxAgeNanos > 0 && now - createdAt <= maxAgeNanos
+
+    private data class CacheKey(val instanceName: String)
+
+    private class Snapshot(val createdAt: Long, instance: InstanceActive?) {
+
+        private val neighbors = instance?.defaultVrf?.neighbors?.neighbor.orEmpty()
+            .associateBy { it.addressKey() }
+
+        private val vrfNeighbors = instance?.vrfs?.vrf.orEmpty()
+            .associate { it.vrfName.value to it.neighbors?.neighbor.orEmpty().associateBy { it.addressKey() } }
+
+        fun neighbor(vrfKey: NetworkInstanceKey, neighborKey: NeighborKey): UnderlayOperNeighbor? {
+            val address = String(neighborKey.neighborAddress.value)
+            return if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
+                neighbors[address]
+            } else {
+                vrfNeighbors[vrfKey.name]?.get(address)
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_MAX_AGE_MILLIS = 0L
+
+        fun getId(instanceName: String): InstanceIdentifier<InstanceActive> =
+            InstanceIdentifier.create(Bgp::class.java)
+                .child(Instances::class.java)
+                .child(UnderlayOperBgpInstance::class.java, UnderlayOperBgpInstanceKey(CiscoIosXrString(instanceName)))
+                .child(InstanceActive::class.java)
+
+        private fun UnderlayOperNeighbor.addressKey() = String(neighborAddress.value)
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import com.google.common.base.Ticker
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayOperNeighbor
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.oper.rev150827.BgpConnState
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.oper.rev150827.bgp.instances.instance.InstanceActive
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.AFISAFITYPE
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Collects accepted prefix counts and session flaps of all neighbors of a BGP instance.
+ *
+ * Each [sample] reads the active instance from the device once and appends the accepted prefixes per address family
+ * and the cumulative flap count of every neighbor to fixed size ring buffers of primitives. Flaps are the increase of
+ * the device's connection-down-count between samples, so sessions going down and up again between two samples are
+ * counted too. A counter lower than in the previous sample was cleared on the device and counts as it is. Devices
+ * not reporting the counter fall back to counting sessions seen leaving the established state. Nothing is translated
+ * to openconfig, so a dashboard can poll thousands of peers at a short interval and query deltas and flaps from
+ * memory.
+ *
+ * Neighbors missing from [maxMissedSamples] consecutive samples are removed together with their series.
+ *
+ * Sampling is driven by [start], or by calling [sample] directly.
+ */
+class BgpNeighborTelemetry @JvmOverloads constructor(
+    private val access: UnderlayAccess,
+    private val instanceName: String,
+    private val capacity: Int = DEFAULT_CAPACITY,
+    private val maxMissedSamples: Int = DEFAULT_MAX_MISSED_SAMPLES,
+    private val ticker: Ticker = Ticker.systemTicker()
+) : AutoCloseable {
+
+    private val series = mutableMapOf<NeighborId, Series>()
+
+    private var future: ScheduledFuture<*>? = null
+
+    init {
+        require(capacity > 1) { "Capacity must be at least 2 samples, was $capacity" }
+        require(maxMissedSamples > 0) { "Neighbors must be kept for at least 1 missed sample, was $maxMissedSamples" }
+    }
+
+    /**
+     * Sample the instance every [interval] on [scheduler] until [close].
+     */
+    @Synchronized
+    fun start(scheduler: ScheduledExecutorService, interval: Long, unit: TimeUnit) {
+        check(future == null) { "Telemetry of BGP instance $instanceName already started" }
+        future = scheduler.scheduleAtFixedRate({
+            try {
+                sample()
+            } catch (e: Exception) {
+                LOG.warn("Unable to sample BGP instance {}", instanceName, e)
+            }
+        }, 0, interval, unit)
+    }
+
+    fun sample() {
+        val instance = access.read(BgpNeighborOperState.getId(instanceName), LogicalDatastoreType.OPERATIONAL)
+            .checkedGet()
+            .orNull()
+        record(ticker.read(), instance)
+    }
+
+    @Synchronized
+    fun neighbors(): Set<NeighborId> = series.keys.toSet()
+
+    /**
+     * Sample times in nanoseconds of [ticker], oldest first.
+     */
+    @Synchronized
+    fun sampleTimes(neighbor: NeighborId): LongArray = series[neighbor]?.times?.toArray() ?: LongArray(0)
+
+    /**
+     * Accepted prefixes of the neighbor's address family, one value per sample that reported it, oldest first.
+     */
+    @Synchronized
+    fun prefixesAccepted(neighbor: NeighborId, afiSafi: Class<out AFISAFITYPE>): LongArray =
+        series[neighbor]?.prefixes?.get(afiSafi)?.toArray() ?: LongArray(0)
+
+    /**
+     * Change of accepted prefixes between the last two samples.
+     */
+    @Synchronized
+    fun prefixesDelta(neighbor: NeighborId, afiSafi: Class<out AFISAFITYPE>): Long =
+        series[neighbor]?.prefixes?.get(afiSafi)?.delta(1) ?: 0
+
+    /**
+     * Flaps within the last [samples] samples, the whole buffer by default.
+     */
+    @Synchronized
+    @JvmOverloads
+    fun flaps(neighbor: NeighborId, samples: Int = capacity - 1): Long =
+        series[neighbor]?.flaps?.delta(samples) ?: 0
+
+    /**
+     * Flaps since the neighbor was first sampled.
+     */
+    @Synchronized
+    fun totalFlaps(neighbor: NeighborId): Long = series[neighbor]?.flaps?.last() ?: 0
+
+    @Synchronized
+    fun sessionState(neighbor: NeighborId): BgpConnState? = series[neighbor]?.state
+
+    @Synchronized
+    override fun close() {
+        future?.cancel(false)
+        future = null
+    }
+
+    @Synchronized
+    private fun record(time: Long, instance: InstanceActive?) {
+        val neighbors = instance?.defaultVrf?.neighbors?.neighbor.orEmpty()
+            .map { it.toId(NetworInstance.DEFAULT_NETWORK_NAME) to it } +
+            instance?.vrfs?.vrf.orEmpty().flatMap { vrf ->
+                vrf.neighbors?.neighbor.orEmpty().map { it.toId(vrf.vrfName.value) to it }
+            }
+        neighbors.forEach { record(time, it.first, it.second) }
+
+        val sampled = neighbors.map { it.first }.toSet()
+        series.entries.removeAll { !sampled.contains(it.key) && ++it.value.missed >= maxMissedSamples }
+    }
+
+    private fun record(time: Long, id: NeighborId, neighbor: UnderlayOperNeighbor) {
+        val neighborSeries = series.getOrPut(id) { Series(capacity) }
+        val state = neighbor.connectionState
+        val downCount = neighbor.connectionDownCount
+        val flaps = if (downCount == null) {
+            if (neighborSeries.state == BgpConnState.BgpStEstab && state != BgpConnState.BgpStEstab) 1L else 0L
+        } else {
+            neighborSeries.downCount?.let { if (downCount >= it) downCount - it else downCount } ?: 0L
+        }
+        neighborSeries.state = state
+        neighborSeries.downCount = downCount
+        neighborSeries.missed = 0
+        neighborSeries.times.add(time)
+        neighborSeries.flaps.add(neighborSeries.flaps.last() + flaps)
+        neighbor.afData.orEmpty().forEach { af ->
+            af.afName?.toOpenconfig()?.let {
+                neighborSeries.prefixes.getOrPut(it) { LongRing(capacity) }.add(af.prefixesAccepted ?: 0)
+            }
+        }
+    }
+
+    /**
+     * Neighbor of the instance, [vrf] is [NetworInstance.DEFAULT_NETWORK_NAME] for the default VRF.
+     */
+    data class NeighborId(val vrf: String, val address: String)
+
+    private class Series(capacity: Int) {
+        var state: BgpConnState? = null
+        var downCount: Long? = null
+        var missed = 0
+        val times = LongRing(capacity)
+        val flaps = LongRing(capacity)
+        val prefixes = mutableMapOf<Class<out AFISAFITYPE>, LongRing>()
+    }
+
+    private class LongRing(capacity: Int) {
+        private val values = LongArray(capacity)
+        private var next = 0
+        private var size = 0
+
+        fun add(value: Long) {
+            values[next] = value
+            next = (next + 1) % values.size
+            size = minOf(size + 1, values.size)
+        }
+
+        fun last() = if (size == 0) 0 else get(size - 1)
+
+        /**
+         * Difference between the last value and the one [samples] samples back, or the oldest one.
+         */
+        fun delta(samples: Int) = if (size == 0) 0 else last() - get(maxOf(size - 1 - samples, 0))
+
+        fun toArray() = LongArray(size) { get(it) }
+
+        private fun get(index: Int) = values[(next - size + index + values.size) % values.size]
+    }
+
+    companion object {
+        const val DEFAULT_CAPACITY = 360
+
+        const val DEFAULT_MAX_MISSED_SAMPLES = 3
+
+        private val LOG = LoggerFactory.getLogger(BgpNeighborTelemetry::class.java)
+
+        private fun UnderlayOperNeighbor.toId(vrf: String) = NeighborId(vrf, String(neighborAddress.value))
+    }
+}
\ No newline at end of file
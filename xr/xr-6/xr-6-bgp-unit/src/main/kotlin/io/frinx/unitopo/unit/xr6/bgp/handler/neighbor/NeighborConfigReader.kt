@@ -24,16 +24,13 @@ import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As.Companion.asFromDotNotation
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighbor
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayVrfNeighbor
-import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.DESCRIPTION
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.PASSWORD
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.REMOTEAS
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.SHUTDOWN
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.FourByteAs
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.remove._private.`as`.entire.`as`.path.RemovePrivateAsEntireAsPath
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.ConfigBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
@@ -67,12 +64,7 @@ class NeighborConfigReader(private val access: UnderlayAccess) : ConfigReaderCus
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
-
-        parseNeighbor(data, vrfKey, neighborKey, builder)
+        parseNeighbor(BgpNeighborIndex.read(access, readContext, protKey), vrfKey, neighborKey, builder)
     }
 
     companion object {
@@ -81,14 +73,19 @@ class NeighborConfigReader(private val access: UnderlayAccess) : ConfigReaderCus
             vrfKey: NetworkInstanceKey,
             neighborKey: NeighborKey,
             builder: ConfigBuilder
-        ) {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(underlayInstance)
+        ) = parseNeighbor(BgpNeighborIndex(underlayInstance), vrfKey, neighborKey, builder)
 
+        fun parseNeighbor(
+            index: BgpNeighborIndex,
+            vrfKey: NetworkInstanceKey,
+            neighborKey: NeighborKey,
+            builder: ConfigBuilder
+        ) {
             if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                getNeighbor(fourByteAs, neighborKey)
+                index.neighbor(neighborKey)
                         ?.let { builder.fromUnderlay(it) }
             } else {
-                getVrfNeighbor(fourByteAs, vrfKey, neighborKey)
+                index.vrfNeighbor(vrfKey, neighborKey)
                         ?.let { builder.fromUnderlay(it) }
             }
         }
@@ -19,10 +19,7 @@ package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
@@ -41,12 +38,7 @@ class NeighborEbgpMultihopConfigReader(private val access: UnderlayAccess) :
     ) {
         val neighborKey = id.firstKeyOf(Neighbor::class.java)
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-                InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
-
-        parseEbgpMultihop(data, neighborKey, builder)
+        parseEbgpMultihop(BgpNeighborIndex.read(access, readContext, protKey), neighborKey, builder)
     }
 
     companion object {
@@ -54,9 +46,14 @@ class NeighborEbgpMultihopConfigReader(private val access: UnderlayAccess) :
             underlayInstance: Instance?,
             neighborKey: NeighborKey,
             builder: ConfigBuilder
+        ) = parseEbgpMultihop(BgpNeighborIndex(underlayInstance), neighborKey, builder)
+
+        fun parseEbgpMultihop(
+            index: BgpNeighborIndex,
+            neighborKey: NeighborKey,
+            builder: ConfigBuilder
         ) {
-            val first4ByteAs = BgpProtocolReader.getFirst4ByteAs(underlayInstance)
-            val ebgpMultihop = NeighborConfigReader.getNeighbor(first4ByteAs, neighborKey)?.ebgpMultihop
+            val ebgpMultihop = index.neighbor(neighborKey)?.ebgpMultihop
 
             ebgpMultihop?.isMplsDeactivation?.let { builder.setEnabled(it) }
             ebgpMultihop?.maxHopCount?.let { builder.setMultihopTtl(it.toShort()) }
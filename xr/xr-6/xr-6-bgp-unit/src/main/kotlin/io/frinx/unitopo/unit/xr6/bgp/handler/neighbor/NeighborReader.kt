@@ -18,15 +18,12 @@ package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
 
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
-import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighbor
-import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.FourByteAs
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.neighbors.VrfNeighbor
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
@@ -38,19 +35,21 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.re
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressNoZone
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 
-class NeighborReader(private val access: UnderlayAccess) :
-    ConfigListReaderCustomizer<Neighbor, NeighborKey, NeighborBuilder> {
+class NeighborReader @JvmOverloads constructor(
+    private val access: UnderlayAccess,
+    private val operState: BgpNeighborOperState? = null
+) : ConfigListReaderCustomizer<Neighbor, NeighborKey, NeighborBuilder> {
 
     override fun getAllIds(id: InstanceIdentifier<Neighbor>, readContext: ReadContext): List<NeighborKey> {
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
+        if (access.currentOperationType == LogicalDatastoreType.OPERATIONAL) {
+            // state and prefixes of the listed neighbors are read next, request them before listing
+            operState?.request(readContext, protKey)
+        }
 
-        return parseNeighbors(data, vrfKey)
+        return BgpNeighborIndex.read(access, readContext, protKey).neighborKeys(vrfKey)
     }
 
     override fun readCurrentAttributes(
@@ -62,23 +61,8 @@ class NeighborReader(private val access: UnderlayAccess) :
     }
 
     companion object {
-        fun parseNeighbors(data: Instance?, vrfKey: NetworkInstanceKey): List<NeighborKey> {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(data)
-
-            val neighbors = if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                getNeighbors(fourByteAs)
-                        .map { it.neighborAddress }
-            } else {
-                getVrfNeighbors(fourByteAs, vrfKey)
-                        .map { it.neighborAddress }
-            }
-
-            return neighbors
-                    .map { it.toIp() }
-                    .filterNotNull()
-                    .map { NeighborKey(it) }
-                    .toList()
-        }
+        fun parseNeighbors(data: Instance?, vrfKey: NetworkInstanceKey): List<NeighborKey> =
+                BgpNeighborIndex(data).neighborKeys(vrfKey)
 
         fun getVrfNeighbors(fourByteAs: FourByteAs?, vrfKey: NetworkInstanceKey): List<VrfNeighbor> {
             return fourByteAs
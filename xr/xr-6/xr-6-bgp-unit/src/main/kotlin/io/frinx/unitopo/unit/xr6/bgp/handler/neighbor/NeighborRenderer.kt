@@ -16,12 +16,9 @@
 
 package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
 
-import io.fd.honeycomb.translate.spi.write.ListWriterCustomizer
-import io.fd.honeycomb.translate.util.RWUtils
-import io.fd.honeycomb.translate.write.WriteContext
-import io.frinx.openconfig.network.instance.NetworInstance
-import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.utils.IidTemplate
+import io.frinx.unitopo.unit.xr6.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighbor
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighborBuilder
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighborKey
@@ -29,7 +26,7 @@ import io.frinx.unitopo.unit.xr6.bgp.UnderlayVrfNeighborBuilder
 import io.frinx.unitopo.unit.xr6.bgp.UnderlayVrfNeighborKey
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalConfigWriter
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalConfigWriter.Companion.XR_BGP_INSTANCE_NAME
-import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborWriter.Companion.NEXTHOPSELF_POLICY_NAME
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborRenderer.NEXTHOPSELF_POLICY_NAME
 import io.frinx.unitopo.unit.xr6.bgp.handler.toUnderlay
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827._default.originate.DefaultOriginateBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
@@ -59,7 +56,7 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.remove._private.`as`.entire.`as`.path.RemovePrivateAsEntireAsPath
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.remove._private.`as`.entire.`as`.path.RemovePrivateAsEntireAsPathBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.soft.reconfiguration.SoftReconfigurationBuilder
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAddressFamily
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.InterfaceName
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.ProprietaryPassword
@@ -68,273 +65,233 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafi
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafiKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Global
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.AFISAFITYPE
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.PRIVATEASREMOVEALL
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.PRIVATEASREPLACEALL
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.REMOVEPRIVATEASOPTION
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV6UNICAST
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV4UNICAST
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressNoZone
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 
-class NeighborWriter(private val access: UnderlayAccess) : ListWriterCustomizer<Neighbor, NeighborKey> {
+/**
+ * Rendering of openconfig BGP neighbors to XR underlay neighbors and the underlay paths they are written to, shared
+ * by [NeighborsWriter] and the readers mapping address families and policies back.
+ */
+object NeighborRenderer {
+    const val NEXTHOPSELF_POLICY_NAME: String = "nexthopself"
 
-    override fun writeCurrentAttributes(
-        instanceIdentifier: InstanceIdentifier<Neighbor>,
-        neighbor: Neighbor,
-        writeContext: WriteContext
-    ) {
-        val vrfKey = instanceIdentifier.firstKeyOf(NetworkInstance::class.java)
+    private val INSTANCE_ID = GlobalConfigWriter.XR_BGP_ID
+            .child(Instance::class.java, InstanceKey(XR_BGP_INSTANCE_NAME))
 
-        val bgpGlobal = writeContext.readAfter(RWUtils.cutId(instanceIdentifier, Bgp::class.java))
-            .get().global
-        val bgpAs = bgpGlobal?.config?.`as`!!
+    private val FOUR_BYTE_AS = IidTemplate<Instance, FourByteAs, AsNumber>(INSTANCE_ID) { prefix, bgpProcess ->
+        prefix.child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(bgpProcess))))
+                .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(bgpProcess))))
+    }
 
-        val neighAfiSafi = getAfiSafisForNeighbor(bgpGlobal, neighbor)
+    private fun AsNumber.toRemoteAs() = RemoteAsBuilder()
+            .setAsXx(BGP_AS_RANGES.get(As.asXx(this)))
+            .setAsYy(BGP_AS_RANGES.get(As.asYy(this)))
+            .build()
 
-        if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-            val neighborBuilder = UnderlayNeighborBuilder()
-            renderGlobalNeighbor(neighborBuilder, neighbor, neighAfiSafi)
-            access.merge(getGlobalNeighborIdentifier(bgpAs, neighbor.neighborAddress.toNoZone()),
-                neighborBuilder.build())
-        } else {
-            val neighborBuilder = UnderlayVrfNeighborBuilder()
-            renderVrfNeighbor(neighborBuilder, neighbor, neighAfiSafi)
-            access.merge(getVrfNeighborIdentifier(bgpAs, vrfKey, neighbor.neighborAddress.toNoZone()),
-                neighborBuilder.build())
-        }
+    private val GLOBAL_NEIGHBORS = IidTemplate<Instance, Neighbors, AsNumber>(INSTANCE_ID) { _, bgpProcess ->
+        FOUR_BYTE_AS.get(bgpProcess)
+                .child(DefaultVrf::class.java)
+                .child(BgpEntity::class.java)
+                .child(Neighbors::class.java)
     }
 
-    override fun updateCurrentAttributes(
-        instanceIdentifier: InstanceIdentifier<Neighbor>,
-        dataBefore: Neighbor,
-        dataAfter: Neighbor,
-        writeContext: WriteContext
-    ) {
-        val vrfKey = instanceIdentifier.firstKeyOf(NetworkInstance::class.java)
+    private val VRF_NEIGHBORS = IidTemplate<Instance, VrfNeighbors, Pair<AsNumber, NetworkInstanceKey>>(
+        INSTANCE_ID) { _, (bgpProcess, vrfName) ->
+        FOUR_BYTE_AS.get(bgpProcess)
+                .child(Vrfs::class.java)
+                .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfName.name)))
+                .child(VrfNeighbors::class.java)
+    }
 
-        val bgpGlobal = writeContext.readAfter(RWUtils.cutId(instanceIdentifier, Bgp::class.java)).get().global
-        val bgpAs = bgpGlobal?.config?.`as`!!
+    fun getVrfNeighborIdentifier(bgpProcess: AsNumber, vrfName: NetworkInstanceKey, neighbor: IpAddressNoZone):
+        InstanceIdentifier<VrfNeighbor> = getVrfNeighborsIdentifier(bgpProcess, vrfName)
+                .child(VrfNeighbor::class.java, UnderlayVrfNeighborKey(neighbor))
 
-        val neighAfiSafi = getAfiSafisForNeighbor(bgpGlobal, dataAfter)
+    fun getVrfNeighborsIdentifier(bgpProcess: AsNumber, vrfName: NetworkInstanceKey):
+        InstanceIdentifier<VrfNeighbors> = VRF_NEIGHBORS.get(bgpProcess to vrfName)
 
-        if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-            val globalNeighborIdentifier = getGlobalNeighborIdentifier(bgpAs, dataAfter.neighborAddress.toNoZone())
+    fun renderGlobalNeighbor(
+        builder: UnderlayNeighborBuilder,
+        data: Neighbor,
+        neighAfiSafi: List<Class<out AFISAFITYPE>>
+    ) {
+        // set update source to null
+        builder.setNeighborAddress(data.neighborAddress.toNoZone())
+            .setUpdateSourceInterface(null)
+            .remoteAs = data.config.peerAs.toRemoteAs()
 
-            val neighborBuilderBefore = UnderlayNeighborBuilder()
-            val neighborBuilderAfter = UnderlayNeighborBuilder()
+        data.ebgpMultihop?.config?.let { builder.setEbgpMultihop(EbgpMultihopBuilder()
+            .setMplsDeactivation(false)
+            .setMaxHopCount(it.multihopTtl.toLong()).build()) }
 
-            renderGlobalNeighbor(neighborBuilderBefore, dataBefore, neighAfiSafi)
-            renderGlobalNeighbor(neighborBuilderAfter, dataAfter, neighAfiSafi)
+        // overwrite null if new data contains transport
+        builder.updateSourceInterface = data.transport?.config?.localAddress?.toIfcName()
 
-            access.safeMerge(globalNeighborIdentifier, neighborBuilderBefore.build(),
-                globalNeighborIdentifier, neighborBuilderAfter.build())
+        if (data.config.authPassword == null) {
+            builder.password = null
         } else {
-            val vrfNeighborIdentifier = getVrfNeighborIdentifier(bgpAs, vrfKey, dataAfter.neighborAddress.toNoZone())
+            builder.password = PasswordBuilder().apply {
+                password = ProprietaryPassword("!" + data.config.authPassword.value)
+                isPasswordDisable = false
+            }.build()
+        }
 
-            val neighborBuilderBefore = UnderlayVrfNeighborBuilder()
-            val neighborBuilderAfter = UnderlayVrfNeighborBuilder()
+        data.config?.description?.let { builder.setDescription(it) }
+        data.config.isEnabled?.let { if (!it) { builder.setShutdown(true) } }
+        data.config?.peerGroup?.let { builder.setNeighborGroupAddMember(it) }
+
+        // Get current Afs to map
+        val currentAfs = builder
+                .neighborAfs
+                ?.neighborAf.orEmpty()
+                .map { it.afName to it }
+                .toMap()
+                .toMutableMap()
+
+        val afiSafis = getAfiSafisByUnderlayName(data)
+
+        // Rebuild AFs, use existing configuration if present
+        neighAfiSafi
+                .map { it.toUnderlay() }
+                .map { it to currentAfs[it] }
+                .map { it.second ?: NeighborAfBuilder().setAfName(it.first).build() }
+                .map {
+                    val afiSafi = afiSafis[it.afName.getName()]
+                    val neighborAfBuilder = parseNeighborAfBuilder(data, afiSafi, it)
+                    Pair(it.afName, neighborAfBuilder
+                            .setActivate(true)
+                            .build())
+                }.forEach { currentAfs[it.first] = it.second }
+
+        builder.neighborAfs = NeighborAfsBuilder()
+                .setNeighborAf(currentAfs.values.toList())
+                .build()
+    }
 
-            renderVrfNeighbor(neighborBuilderBefore, dataBefore, neighAfiSafi)
-            renderVrfNeighbor(neighborBuilderAfter, dataAfter, neighAfiSafi)
+    fun getGlobalNeighborIdentifier(bgpProcess: AsNumber, neighbor: IpAddressNoZone):
+        InstanceIdentifier<UnderlayNeighbor> = getGlobalNeighborsIdentifier(bgpProcess)
+                .child(UnderlayNeighbor::class.java, UnderlayNeighborKey(neighbor))
 
-            access.safeMerge(vrfNeighborIdentifier, neighborBuilderBefore.build(),
-                vrfNeighborIdentifier, neighborBuilderAfter.build())
-        }
-    }
+    fun getGlobalNeighborsIdentifier(bgpProcess: AsNumber): InstanceIdentifier<Neighbors> =
+        GLOBAL_NEIGHBORS.get(bgpProcess)
 
-    override fun deleteCurrentAttributes(
-        instanceIdentifier: InstanceIdentifier<Neighbor>,
-        neighbor: Neighbor,
-        writeContext: WriteContext
+    fun renderVrfNeighbor(
+        builder: UnderlayVrfNeighborBuilder,
+        data: Neighbor,
+        neighAfiSafi: List<Class<out AFISAFITYPE>>
     ) {
-        val vrfKey = instanceIdentifier.firstKeyOf(NetworkInstance::class.java)
+        builder.setNeighborAddress(data.neighborAddress.toNoZone())
+                .setUpdateSourceInterface(data.transport?.config?.localAddress?.toIfcName()).remoteAs =
+                data.config.peerAs.toRemoteAs()
 
-        val bgpGlobal = writeContext.readBefore(RWUtils.cutId(instanceIdentifier, Bgp::class.java)).get().global
-        val bgpAs = bgpGlobal?.config?.`as`!!
+        data.ebgpMultihop?.config?.let { builder.setEbgpMultihop(EbgpMultihopBuilder()
+            .setMplsDeactivation(false)
+            .setMaxHopCount(it.multihopTtl.toLong()).build()) }
 
-        if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-            access.delete(getGlobalNeighborIdentifier(bgpAs, neighbor.neighborAddress.toNoZone()))
+        if (data.config.authPassword == null) {
+            builder.password = null
         } else {
-            access.delete(getVrfNeighborIdentifier(bgpAs, vrfKey, neighbor.neighborAddress.toNoZone()))
+            builder.password = PasswordBuilder().apply {
+                password = ProprietaryPassword("!" + data.config.authPassword.value)
+                isPasswordDisable = false
+            }.build()
         }
+
+        data.config?.description?.let { builder.setDescription(it) }
+        data.config.isEnabled?.let { if (!it) { builder.setShutdown(true) } }
+        data.config?.peerGroup?.let { builder.setNeighborGroupAddMember(it) }
+
+        // Get current Afs to map
+        val currentAfs = builder
+                .vrfNeighborAfs
+                ?.vrfNeighborAf.orEmpty()
+                .map { it.afName to it }
+                .toMap()
+                .toMutableMap()
+
+        val afiSafis = getAfiSafisByUnderlayName(data)
+
+        // Reconfigure those coming as an update
+        neighAfiSafi
+                .map { it.toUnderlay() }
+                .mapNotNull { currentAfs.getOrPut(it, { VrfNeighborAfBuilder()
+                        .setAfName(it)
+                        .build() }) }
+                .map {
+                    val afiSafi = afiSafis[it.afName.getName()]
+                    val vrfNeighborAfBuilder = parseVrfNeighborAfBuilder(data, afiSafi, it)
+                    Pair(it.afName, vrfNeighborAfBuilder
+                            .setActivate(true).build())
+                }.forEach { currentAfs[it.first] = it.second }
+
+        builder.vrfNeighborAfs = VrfNeighborAfsBuilder()
+                .setVrfNeighborAf(currentAfs.values.toList())
+                .build()
     }
 
-    companion object {
-        const val NEXTHOPSELF_POLICY_NAME: String = "nexthopself"
-        fun getVrfNeighborIdentifier(bgpProcess: AsNumber, vrfName: NetworkInstanceKey, neighbor: IpAddressNoZone):
-            InstanceIdentifier<VrfNeighbor> {
-            val (asXX, asYY) = As.asToDotNotation(bgpProcess)
-
-            return GlobalConfigWriter.XR_BGP_ID
-                    .child(Instance::class.java, InstanceKey(XR_BGP_INSTANCE_NAME))
-                    .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(asXX)))
-                    .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(asYY)))
-                    .child(Vrfs::class.java)
-                    .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfName.name)))
-                    .child(VrfNeighbors::class.java)
-                    .child(VrfNeighbor::class.java, UnderlayVrfNeighborKey(neighbor))
-        }
+    /**
+     * Leave out address families equal in [before] and [after] rendering of a neighbor, so that safe merge
+     * only sends address families that changed.
+     */
+    fun diffNeighborAfs(before: UnderlayNeighbor, after: UnderlayNeighbor):
+        Pair<UnderlayNeighbor, UnderlayNeighbor> {
+        val afsBefore = before.neighborAfs?.neighborAf.orEmpty().associateBy { it.afName }
+        val afsAfter = after.neighborAfs?.neighborAf.orEmpty().associateBy { it.afName }
+        val changed = (afsBefore.keys + afsAfter.keys).filter { afsBefore[it] != afsAfter[it] }.toSet()
+        return Pair(before.withNeighborAfs(changed), after.withNeighborAfs(changed))
+    }
 
-        fun renderGlobalNeighbor(
-            builder: UnderlayNeighborBuilder,
-            data: Neighbor,
-            neighAfiSafi: List<Class<out AFISAFITYPE>>
-        ) {
-            val (asXX, asYY) = As.asToDotNotation(data.config.peerAs)
-
-            // set update source to null
-            builder.setNeighborAddress(data.neighborAddress.toNoZone())
-                .setUpdateSourceInterface(null)
-                .remoteAs = RemoteAsBuilder()
-                            .setAsXx(BgpAsRange(asXX))
-                            .setAsYy(BgpAsRange(asYY))
-                            .build()
-
-            data.ebgpMultihop?.config?.let { builder.setEbgpMultihop(EbgpMultihopBuilder()
-                .setMplsDeactivation(false)
-                .setMaxHopCount(it.multihopTtl.toLong()).build()) }
-
-            // overwrite null if new data contains transport
-            builder.updateSourceInterface = data.transport?.config?.localAddress?.toIfcName()
-
-            if (data.config.authPassword == null) {
-                builder.password = null
-            } else {
-                builder.password = PasswordBuilder().apply {
-                    password = ProprietaryPassword("!" + data.config.authPassword.value)
-                    isPasswordDisable = false
-                }.build()
-            }
-
-            data.config?.description?.let { builder.setDescription(it) }
-            data.config.isEnabled?.let { if (!it) { builder.setShutdown(true) } }
-            data.config?.peerGroup?.let { builder.setNeighborGroupAddMember(it) }
-
-            // Get current Afs to map
-            val currentAfs = builder
-                    .neighborAfs
-                    ?.neighborAf.orEmpty()
-                    .map { it.afName to it }
-                    .toMap()
-                    .toMutableMap()
-
-            // Rebuild AFs, use existing configuration if present
-            neighAfiSafi
-                    .map { it.toUnderlay() }
-                    .map { it to currentAfs[it] }
-                    .map { it.second ?: NeighborAfBuilder().setAfName(it.first).build() }
-                    .map {
-                        val afiSafi = data.afiSafis?.afiSafi
-                                ?.find { afiSafi -> transformAfiToString(afiSafi.key) == it.afName.getName() }
-                        val neighborAfBuilder = parseNeighborAfBuilder(data, afiSafi, it)
-                        Pair(it.afName, neighborAfBuilder
-                                .setActivate(true)
-                                .build())
-                    }.forEach { currentAfs[it.first] = it.second }
-
-            builder.neighborAfs = NeighborAfsBuilder()
-                    .setNeighborAf(currentAfs.values.toList())
-                    .build()
-        }
+    fun diffVrfNeighborAfs(before: VrfNeighbor, after: VrfNeighbor): Pair<VrfNeighbor, VrfNeighbor> {
+        val afsBefore = before.vrfNeighborAfs?.vrfNeighborAf.orEmpty().associateBy { it.afName }
+        val afsAfter = after.vrfNeighborAfs?.vrfNeighborAf.orEmpty().associateBy { it.afName }
+        val changed = (afsBefore.keys + afsAfter.keys).filter { afsBefore[it] != afsAfter[it] }.toSet()
+        return Pair(before.withVrfNeighborAfs(changed), after.withVrfNeighborAfs(changed))
+    }
 
-        fun getGlobalNeighborIdentifier(bgpProcess: AsNumber, neighbor: IpAddressNoZone):
-            InstanceIdentifier<UnderlayNeighbor> {
-            val (asXX, asYY) = As.asToDotNotation(bgpProcess)
-
-            return GlobalConfigWriter.XR_BGP_ID
-                    .child(Instance::class.java, InstanceKey(XR_BGP_INSTANCE_NAME))
-                    .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(asXX)))
-                    .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(asYY)))
-                    .child(DefaultVrf::class.java)
-                    .child(BgpEntity::class.java)
-                    .child(Neighbors::class.java)
-                    .child(UnderlayNeighbor::class.java, UnderlayNeighborKey(neighbor))
-        }
+    private fun UnderlayNeighbor.withNeighborAfs(afNames: Set<BgpAddressFamily?>): UnderlayNeighbor {
+        val afs = neighborAfs?.neighborAf.orEmpty().filter { afNames.contains(it.afName) }
+        return UnderlayNeighborBuilder(this)
+            .setNeighborAfs(if (afs.isEmpty()) null else NeighborAfsBuilder().setNeighborAf(afs).build())
+            .build()
+    }
 
-        fun renderVrfNeighbor(
-            builder: UnderlayVrfNeighborBuilder,
-            data: Neighbor,
-            neighAfiSafi: List<Class<out AFISAFITYPE>>
-        ) {
-            val (asXX, asYY) = As.asToDotNotation(data.config.peerAs)
-
-            builder.setNeighborAddress(data.neighborAddress.toNoZone())
-                    .setUpdateSourceInterface(data.transport?.config?.localAddress?.toIfcName()).remoteAs =
-                    RemoteAsBuilder()
-                            .setAsXx(BgpAsRange(asXX))
-                            .setAsYy(BgpAsRange(asYY))
-                            .build()
-
-            data.ebgpMultihop?.config?.let { builder.setEbgpMultihop(EbgpMultihopBuilder()
-                .setMplsDeactivation(false)
-                .setMaxHopCount(it.multihopTtl.toLong()).build()) }
-
-            if (data.config.authPassword == null) {
-                builder.password = null
-            } else {
-                builder.password = PasswordBuilder().apply {
-                    password = ProprietaryPassword("!" + data.config.authPassword.value)
-                    isPasswordDisable = false
-                }.build()
-            }
-
-            data.config?.description?.let { builder.setDescription(it) }
-            data.config.isEnabled?.let { if (!it) { builder.setShutdown(true) } }
-            data.config?.peerGroup?.let { builder.setNeighborGroupAddMember(it) }
-
-            // Get current Afs to map
-            val currentAfs = builder
-                    .vrfNeighborAfs
-                    ?.vrfNeighborAf.orEmpty()
-                    .map { it.afName to it }
-                    .toMap()
-                    .toMutableMap()
-
-            // Reconfigure those coming as an update
-            neighAfiSafi
-                    .map { it.toUnderlay() }
-                    .mapNotNull { currentAfs.getOrPut(it, { VrfNeighborAfBuilder()
-                            .setAfName(it)
-                            .build() }) }
-                    .map {
-                        val afiSafi = data.afiSafis?.afiSafi
-                                ?.find { afiSafi -> transformAfiToString(afiSafi.key) == it.afName.getName() }
-                        val vrfNeighborAfBuilder = parseVrfNeighborAfBuilder(data, afiSafi, it)
-                        Pair(it.afName, vrfNeighborAfBuilder
-                                .setActivate(true).build())
-                    }.forEach { currentAfs[it.first] = it.second }
-
-            builder.vrfNeighborAfs = VrfNeighborAfsBuilder()
-                    .setVrfNeighborAf(currentAfs.values.toList())
-                    .build()
-        }
+    private fun VrfNeighbor.withVrfNeighborAfs(afNames: Set<BgpAddressFamily?>): VrfNeighbor {
+        val afs = vrfNeighborAfs?.vrfNeighborAf.orEmpty().filter { afNames.contains(it.afName) }
+        return UnderlayVrfNeighborBuilder(this)
+            .setVrfNeighborAfs(if (afs.isEmpty()) null else VrfNeighborAfsBuilder().setVrfNeighborAf(afs).build())
+            .build()
+    }
 
-        fun transformAfiToString(afiSafiKey: AfiSafiKey): String {
-            // FIXME: add more if necessary
-            when (afiSafiKey.afiSafiName) {
-                IPV4UNICAST::class.java -> return "ipv4-unicast"
-                IPV6UNICAST::class.java -> return "ipv6-unicast"
-                else -> throw IllegalArgumentException("Unknown AFI/SAFI type ${afiSafiKey.afiSafiName}")
-            }
+    private fun getAfiSafisByUnderlayName(data: Neighbor) =
+        data.afiSafis?.afiSafi.orEmpty().associateBy { transformAfiToString(it.key) }
+
+    fun transformAfiToString(afiSafiKey: AfiSafiKey): String {
+        // FIXME: add more if necessary
+        when (afiSafiKey.afiSafiName) {
+            IPV4UNICAST::class.java -> return "ipv4-unicast"
+            IPV6UNICAST::class.java -> return "ipv6-unicast"
+            else -> throw IllegalArgumentException("Unknown AFI/SAFI type ${afiSafiKey.afiSafiName}")
         }
+    }
 
-        private fun getAfiSafisForNeighbor(bgpGlobal: Global, neighbor: Neighbor): List<Class<out AFISAFITYPE>> {
-            return if (neighbor.afiSafis?.afiSafi.orEmpty().isNotEmpty()) {
-                neighbor.afiSafis?.afiSafi.orEmpty()
-                        .map { it.afiSafiName }
-                        .toList()
-            } else {
-                bgpGlobal.afiSafis.afiSafi.orEmpty()
-                        .map { it.afiSafiName }
-                        .toList()
-            }
+    fun getAfiSafisForNeighbor(
+        globalAfiSafis: List<Class<out AFISAFITYPE>>,
+        neighbor: Neighbor
+    ): List<Class<out AFISAFITYPE>> {
+        return if (neighbor.afiSafis?.afiSafi.orEmpty().isNotEmpty()) {
+            neighbor.afiSafis?.afiSafi.orEmpty()
+                    .map { it.afiSafiName }
+                    .toList()
+        } else {
+            globalAfiSafis
         }
     }
 }
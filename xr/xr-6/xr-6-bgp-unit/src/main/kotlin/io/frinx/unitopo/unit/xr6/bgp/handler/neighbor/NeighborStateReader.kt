@@ -48,7 +48,9 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.re
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressNoZone
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 
-class NeighborStateReader(private val access: UnderlayAccess) : OperReaderCustomizer<State, StateBuilder> {
+class NeighborStateReader(private val operState: BgpNeighborOperState) : OperReaderCustomizer<State, StateBuilder> {
+
+    constructor(access: UnderlayAccess) : this(BgpNeighborOperState(access))
 
     override fun readCurrentAttributes(
         id: InstanceIdentifier<State>,
@@ -61,11 +63,7 @@ class NeighborStateReader(private val access: UnderlayAccess) : OperReaderCustom
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
 
-        val data = access.read(getId(protKey, vrfKey, neighborKey))
-                .checkedGet()
-                .orNull()
-
-        builder.fromUnderlay(data)
+        builder.fromUnderlay(operState.neighbor(readContext, protKey, vrfKey, neighborKey))
     }
 
     companion object {
@@ -20,11 +20,8 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.UPDATESOURCEINTERFACE
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.BgpCommonNeighborGroupTransportConfig
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.transport.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.transport.ConfigBuilder
@@ -48,12 +45,7 @@ class NeighborTransportConfigReader(private val access: UnderlayAccess) :
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
-
-        parseNeighbor(data, vrfKey, neighborKey, builder)
+        parseNeighbor(BgpNeighborIndex.read(access, readContext, protKey), vrfKey, neighborKey, builder)
     }
 
     companion object {
@@ -62,13 +54,19 @@ class NeighborTransportConfigReader(private val access: UnderlayAccess) :
             vrfKey: NetworkInstanceKey,
             neighborKey: NeighborKey,
             builder: ConfigBuilder
+        ) = parseNeighbor(BgpNeighborIndex(underlayInstance), vrfKey, neighborKey, builder)
+
+        fun parseNeighbor(
+            index: BgpNeighborIndex,
+            vrfKey: NetworkInstanceKey,
+            neighborKey: NeighborKey,
+            builder: ConfigBuilder
         ) {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(underlayInstance)
             if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                NeighborConfigReader.getNeighbor(fourByteAs, neighborKey)
+                index.neighbor(neighborKey)
                         ?.let { builder.fromUnderlay(it) }
             } else {
-                NeighborConfigReader.getVrfNeighbor(fourByteAs, vrfKey, neighborKey)
+                index.vrfNeighbor(vrfKey, neighborKey)
                         ?.let { builder.fromUnderlay(it) }
             }
         }
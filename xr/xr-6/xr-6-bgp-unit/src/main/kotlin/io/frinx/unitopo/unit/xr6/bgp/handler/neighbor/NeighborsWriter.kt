@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import io.fd.honeycomb.translate.spi.write.WriterCustomizer
+import io.fd.honeycomb.translate.write.WriteContext
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.ni.base.NetworkInstanceView
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighborBuilder
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayVrfNeighborBuilder
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.NeighborsBuilder
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.VrfNeighborsBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Neighbors
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.AFISAFITYPE
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+/**
+ * Writes the neighbor list of a network instance as a whole.
+ *
+ * Added neighbors of a VRF are sent in a single merge of the underlay neighbors container and changed ones in a single
+ * safe merge, with only the address families that changed.
+ * Unchanged neighbors are not sent at all, removed ones are deleted one by one.
+ */
+class NeighborsWriter(private val access: UnderlayAccess) : WriterCustomizer<Neighbors> {
+
+    override fun writeCurrentAttributes(
+        id: InstanceIdentifier<Neighbors>,
+        dataAfter: Neighbors,
+        writeContext: WriteContext
+    ) {
+        writeNeighbors(id, emptyMap(), dataAfter.byKey(), writeContext)
+    }
+
+    override fun updateCurrentAttributes(
+        id: InstanceIdentifier<Neighbors>,
+        dataBefore: Neighbors,
+        dataAfter: Neighbors,
+        writeContext: WriteContext
+    ) {
+        writeNeighbors(id, dataBefore.byKey(), dataAfter.byKey(), writeContext)
+    }
+
+    override fun deleteCurrentAttributes(
+        id: InstanceIdentifier<Neighbors>,
+        dataBefore: Neighbors,
+        writeContext: WriteContext
+    ) {
+        writeNeighbors(id, dataBefore.byKey(), emptyMap(), writeContext)
+    }
+
+    private fun writeNeighbors(
+        id: InstanceIdentifier<Neighbors>,
+        before: Map<NeighborKey, Neighbor>,
+        after: Map<NeighborKey, Neighbor>,
+        writeContext: WriteContext
+    ) {
+        val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
+
+        val removed = before.keys - after.keys
+        if (removed.isNotEmpty()) {
+            val bgpAs = NetworkInstanceView.before(id, writeContext).bgpAs!!
+            removed.forEach { deleteNeighbor(bgpAs, vrfKey, it) }
+        }
+
+        val added = after.values.filter { !before.containsKey(it.key) }
+        val updated = after.values.filter { before.containsKey(it.key) && before[it.key] != it }
+        if (added.isEmpty() && updated.isEmpty()) {
+            return
+        }
+
+        val bgp = NetworkInstanceView.after(id, writeContext)
+        val bgpAs = bgp.bgpAs!!
+        val globalAfiSafis = bgp.bgpAfiSafis
+
+        // AFI/SAFIs of the neighbor after the change apply to both renderings
+        val afterAfiSafis = (added + updated)
+            .associate { it.key to NeighborRenderer.getAfiSafisForNeighbor(globalAfiSafis, it) }
+
+        if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
+            val neighborsId = NeighborRenderer.getGlobalNeighborsIdentifier(bgpAs)
+            if (added.isNotEmpty()) {
+                access.merge(neighborsId, NeighborsBuilder()
+                    .setNeighbor(added.map { renderGlobalNeighbor(it, afterAfiSafis[it.key]!!) })
+                    .build())
+            }
+            val changed = updated
+                .map {
+                    NeighborRenderer.diffNeighborAfs(renderGlobalNeighbor(before[it.key]!!, afterAfiSafis[it.key]!!),
+                        renderGlobalNeighbor(it, afterAfiSafis[it.key]!!))
+                }
+                .filter { it.first != it.second }
+            if (changed.isNotEmpty()) {
+                access.safeMerge(neighborsId, NeighborsBuilder().setNeighbor(changed.map { it.first }).build(),
+                    neighborsId, NeighborsBuilder().setNeighbor(changed.map { it.second }).build())
+            }
+        } else {
+            val neighborsId = NeighborRenderer.getVrfNeighborsIdentifier(bgpAs, vrfKey)
+            if (added.isNotEmpty()) {
+                access.merge(neighborsId, VrfNeighborsBuilder()
+                    .setVrfNeighbor(added.map { renderVrfNeighbor(it, afterAfiSafis[it.key]!!) })
+                    .build())
+            }
+            val changed = updated
+                .map {
+                    NeighborRenderer.diffVrfNeighborAfs(renderVrfNeighbor(before[it.key]!!, afterAfiSafis[it.key]!!),
+                        renderVrfNeighbor(it, afterAfiSafis[it.key]!!))
+                }
+                .filter { it.first != it.second }
+            if (changed.isNotEmpty()) {
+                access.safeMerge(neighborsId, VrfNeighborsBuilder().setVrfNeighbor(changed.map { it.first }).build(),
+                    neighborsId, VrfNeighborsBuilder().setVrfNeighbor(changed.map { it.second }).build())
+            }
+        }
+    }
+
+    private fun deleteNeighbor(bgpAs: AsNumber, vrfKey: NetworkInstanceKey, neighborKey: NeighborKey) {
+        if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
+            access.delete(NeighborRenderer.getGlobalNeighborIdentifier(bgpAs, neighborKey.neighborAddress.toNoZone()))
+        } else {
+            access.delete(NeighborRenderer.getVrfNeighborIdentifier(bgpAs, vrfKey,
+                neighborKey.neighborAddress.toNoZone()))
+        }
+    }
+
+    companion object {
+
+        private fun Neighbors.byKey() = neighbor.orEmpty().associateBy { it.key }
+
+        private fun renderGlobalNeighbor(data: Neighbor, afiSafis: List<Class<out AFISAFITYPE>>) =
+            UnderlayNeighborBuilder().apply { NeighborRenderer.renderGlobalNeighbor(this, data, afiSafis) }.build()
+
+        private fun renderVrfNeighbor(data: Neighbor, afiSafis: List<Class<out AFISAFITYPE>>) =
+            UnderlayVrfNeighborBuilder().apply { NeighborRenderer.renderVrfNeighbor(this, data, afiSafis) }.build()
+    }
+}
\ No newline at end of file
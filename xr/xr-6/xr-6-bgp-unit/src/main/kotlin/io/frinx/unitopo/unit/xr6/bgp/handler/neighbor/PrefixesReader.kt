@@ -36,7 +36,9 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.insta
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 
-class PrefixesReader(private val access: UnderlayAccess) : OperReaderCustomizer<Prefixes, PrefixesBuilder> {
+class PrefixesReader(private val operState: BgpNeighborOperState) : OperReaderCustomizer<Prefixes, PrefixesBuilder> {
+
+    constructor(access: UnderlayAccess) : this(BgpNeighborOperState(access))
 
     override fun readCurrentAttributes(
         id: InstanceIdentifier<Prefixes>,
@@ -48,11 +50,7 @@ class PrefixesReader(private val access: UnderlayAccess) : OperReaderCustomizer<
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
         val afiSafiKey = id.firstKeyOf(AfiSafi::class.java)
 
-        val data = access.read(NeighborStateReader.getId(protKey, vrfKey, neighborKey))
-                .checkedGet()
-                .orNull()
-
-        builder.fromUnderlay(data, afiSafiKey)
+        builder.fromUnderlay(operState.neighbor(readContext, protKey, vrfKey, neighborKey), afiSafiKey)
     }
 }
 
@@ -20,15 +20,11 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
-import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborConfigReader
-import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborWriter
-import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.toNoZone
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.BgpNeighborIndex
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborRenderer
 import io.frinx.unitopo.unit.xr6.bgp.handler.toOpenconfig
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbors.neighbor.neighbor.afs.NeighborAf
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.extension.rev180323.BgpNeAfAug
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.extension.rev180323.BgpNeAfAugBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.extension.rev180323.soft.reconfiguration.group.SoftReconfigurationBuilder
@@ -52,12 +48,7 @@ class AfiSafiReader(private val access: UnderlayAccess) :
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
         val neighborKey = id.firstKeyOf(Neighbor::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
-
-        return parseAfiSafis(data, vrfKey, neighborKey)
+        return parseAfiSafis(BgpNeighborIndex.read(access, readContext, protKey), vrfKey, neighborKey)
     }
 
     override fun readCurrentAttributes(
@@ -70,15 +61,12 @@ class AfiSafiReader(private val access: UnderlayAccess) :
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val afKey = id.firstKeyOf<AfiSafi, AfiSafiKey>(AfiSafi::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-                InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
+        val index = BgpNeighborIndex.read(access, readContext, protKey)
 
         afiSafiBuilder.afiSafiName = id.firstKeyOf(AfiSafi::class.java).afiSafiName
 
         val configBuilder = ConfigBuilder().setAfiSafiName(afiSafiBuilder.afiSafiName)
-        val softReconfiguration = findNeighborAf(data, neighborKey, afKey)?.softReconfiguration
+        val softReconfiguration = findNeighborAf(index, neighborKey, afKey)?.softReconfiguration
         softReconfiguration?.let { configBuilder.addAugmentation(BgpNeAfAug::class.java, BgpNeAfAugBuilder()
                 .setSoftReconfiguration(SoftReconfigurationBuilder()
                         .setAlways(it.isSoftAlways)
@@ -89,16 +77,21 @@ class AfiSafiReader(private val access: UnderlayAccess) :
     }
 
     companion object {
-        fun parseAfiSafis(data: Instance?, vrfKey: NetworkInstanceKey, neighborKey: NeighborKey): List<AfiSafiKey> {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(data)
-
+        fun parseAfiSafis(data: Instance?, vrfKey: NetworkInstanceKey, neighborKey: NeighborKey): List<AfiSafiKey> =
+                parseAfiSafis(BgpNeighborIndex(data), vrfKey, neighborKey)
+
+        fun parseAfiSafis(
+            index: BgpNeighborIndex,
+            vrfKey: NetworkInstanceKey,
+            neighborKey: NeighborKey
+        ): List<AfiSafiKey> {
             val afs = if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                NeighborConfigReader.getNeighbor(fourByteAs, neighborKey)
+                index.neighbor(neighborKey)
                         ?.neighborAfs
                         ?.neighborAf.orEmpty()
                         .map { it.afName }
             } else {
-                NeighborConfigReader.getVrfNeighbor(fourByteAs, vrfKey, neighborKey)
+                index.vrfNeighbor(vrfKey, neighborKey)
                         ?.vrfNeighborAfs
                         ?.vrfNeighborAf.orEmpty()
                         .map { it.afName }
@@ -115,16 +108,9 @@ class AfiSafiReader(private val access: UnderlayAccess) :
             underlayInstance: Instance?,
             neighborKey: NeighborKey,
             afKey: AfiSafiKey
-        ): NeighborAf? {
-            return BgpProtocolReader.getFirst4ByteAs(underlayInstance)
-                    ?.defaultVrf
-                    ?.bgpEntity
-                    ?.neighbors
-                    ?.neighbor
-                    ?.find { it.key.neighborAddress == neighborKey.neighborAddress.toNoZone() }
-                    ?.neighborAfs
-                    ?.neighborAf
-                    ?.find { it.key.afName.getName() == NeighborWriter.transformAfiToString(afKey) }
-        }
+        ): NeighborAf? = findNeighborAf(BgpNeighborIndex(underlayInstance), neighborKey, afKey)
+
+        fun findNeighborAf(index: BgpNeighborIndex, neighborKey: NeighborKey, afKey: AfiSafiKey): NeighborAf? =
+                index.neighborAf(neighborKey, NeighborRenderer.transformAfiToString(afKey))
     }
 }
\ No newline at end of file
@@ -20,12 +20,9 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
-import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborConfigReader
-import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborWriter
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.BgpNeighborIndex
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.NeighborRenderer
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafi
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafiKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
@@ -51,12 +48,7 @@ class ApplyPolicyConfigReader(private val access: UnderlayAccess) :
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
         val afKey = id.firstKeyOf<AfiSafi, AfiSafiKey>(AfiSafi::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
-
-        parseNeighbor(data, vrfKey, neighborKey, afKey, builder)
+        parseNeighbor(BgpNeighborIndex.read(access, readContext, protKey), vrfKey, neighborKey, afKey, builder)
     }
 
     companion object {
@@ -66,27 +58,29 @@ class ApplyPolicyConfigReader(private val access: UnderlayAccess) :
             neighborKey: NeighborKey,
             afKey: AfiSafiKey,
             builder: ConfigBuilder
+        ) = parseNeighbor(BgpNeighborIndex(underlayInstance), vrfKey, neighborKey, afKey, builder)
+
+        fun parseNeighbor(
+            index: BgpNeighborIndex,
+            vrfKey: NetworkInstanceKey,
+            neighborKey: NeighborKey,
+            afKey: AfiSafiKey,
+            builder: ConfigBuilder
         ) {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(underlayInstance)
+            val afName = NeighborRenderer.transformAfiToString(afKey)
             if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                val neighborAf = NeighborConfigReader.getNeighbor(fourByteAs, neighborKey)
-                        ?.neighborAfs
-                        ?.neighborAf
-                        ?.find { it.key.afName.getName() == NeighborWriter.transformAfiToString(afKey) }
+                val neighborAf = index.neighborAf(neighborKey, afName)
                 neighborAf?.routePolicyIn?.let { builder.importPolicy = listOf(it) }
                 if (neighborAf?.isNextHopSelf ?: false) {
-                    builder.exportPolicy = listOf(NeighborWriter.NEXTHOPSELF_POLICY_NAME)
+                    builder.exportPolicy = listOf(NeighborRenderer.NEXTHOPSELF_POLICY_NAME)
                 } else {
                     neighborAf?.routePolicyOut?.let { builder.exportPolicy = listOf(it) }
                 }
             } else {
-                val vrfNeighborAf = NeighborConfigReader.getVrfNeighbor(fourByteAs, vrfKey, neighborKey)
-                        ?.vrfNeighborAfs
-                        ?.vrfNeighborAf
-                        ?.find { it.key.afName.getName() == NeighborWriter.transformAfiToString(afKey) }
+                val vrfNeighborAf = index.vrfNeighborAf(vrfKey, neighborKey, afName)
                 vrfNeighborAf?.routePolicyIn?.let { builder.importPolicy = listOf(it) }
                 if (vrfNeighborAf?.isNextHopSelf ?: false) {
-                    builder.exportPolicy = listOf(NeighborWriter.NEXTHOPSELF_POLICY_NAME)
+                    builder.exportPolicy = listOf(NeighborRenderer.NEXTHOPSELF_POLICY_NAME)
                 } else {
                     vrfNeighborAf?.routePolicyOut?.let { builder.exportPolicy = listOf(it) }
                 }
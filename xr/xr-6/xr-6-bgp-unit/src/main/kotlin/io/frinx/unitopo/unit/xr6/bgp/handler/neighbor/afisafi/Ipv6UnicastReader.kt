@@ -19,10 +19,8 @@ package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.afisafi
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.BgpNeighborIndex
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.common.mp.all.afi.safi.common.PrefixLimitBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.common.mp.all.afi.safi.common.prefix.limit.ConfigBuilder as PrefixLimitConfigBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.common.mp.ipv4.ipv6.unicast.common.ConfigBuilder as Ipv6UnicastConfigBuilder
@@ -48,12 +46,7 @@ class Ipv6UnicastReader(private val access: UnderlayAccess) :
         val neighborKey = id.firstKeyOf(Neighbor::class.java)
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val afKey = id.firstKeyOf<AfiSafi, AfiSafiKey>(AfiSafi::class.java)
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-                InstanceKey(CiscoIosXrString(protKey.name))))
-                .checkedGet()
-                .orNull()
-
-        parseAfisafiIpv6Unicast(data, neighborKey, afKey, builder)
+        parseAfisafiIpv6Unicast(BgpNeighborIndex.read(access, readContext, protKey), neighborKey, afKey, builder)
     }
 
     companion object {
@@ -62,8 +55,15 @@ class Ipv6UnicastReader(private val access: UnderlayAccess) :
             neighborKey: NeighborKey,
             afKey: AfiSafiKey,
             builder: Ipv6UnicastBuilder
+        ) = parseAfisafiIpv6Unicast(BgpNeighborIndex(underlayInstance), neighborKey, afKey, builder)
+
+        fun parseAfisafiIpv6Unicast(
+            index: BgpNeighborIndex,
+            neighborKey: NeighborKey,
+            afKey: AfiSafiKey,
+            builder: Ipv6UnicastBuilder
         ) {
-            val neighborAf = AfiSafiReader.findNeighborAf(underlayInstance, neighborKey, afKey)
+            val neighborAf = AfiSafiReader.findNeighborAf(index, neighborKey, afKey)
             val maxPrefix = neighborAf?.maximumPrefixes?.prefixLimit
             val sendDefaultRoute = neighborAf?.defaultOriginate?.isEnable
 
@@ -20,6 +20,7 @@ import io.fd.honeycomb.translate.spi.write.WriterCustomizer
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr6.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
 import io.frinx.unitopo.unit.xr6.bgp.handler.toUnderlay
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
@@ -37,7 +38,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.neighbor.group.neighbor.group.afs.NeighborGroupAf
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.neighbor.group.neighbor.group.afs.NeighborGroupAfBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.neighbor.group.neighbor.group.afs.NeighborGroupAfKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.afi.safi.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.list.PeerGroup
@@ -102,11 +102,10 @@ open class PeerGroupAfiSafiConfigWriter(private val access: UnderlayAccess) : Wr
             neighborGroupName: String,
             ocAfiSafi: Class<out AFISAFITYPE>
         ): IID<NeighborGroupAf> {
-            val (aXX, aYY) = As.asToDotNotation(asN)
             return BgpProtocolReader.UNDERLAY_BGP
                 .child(Instance::class.java, InstanceKey(CiscoIosXrString(key.name)))
-                .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(aXX)))
-                .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(aYY)))
+                .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asN))))
+                .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asN))))
                 .child(DefaultVrf::class.java)
                 .child(BgpEntity::class.java)
                 .child(NeighborGroups::class.java)
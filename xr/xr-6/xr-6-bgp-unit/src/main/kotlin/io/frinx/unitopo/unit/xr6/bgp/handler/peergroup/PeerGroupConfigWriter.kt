@@ -23,6 +23,7 @@ import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr6.bgp.BGP_AS_RANGES
 import io.frinx.unitopo.unit.xr6.bgp.handler.BgpProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
@@ -36,7 +37,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.NeighborGroup
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.NeighborGroupBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.neighbor.groups.NeighborGroupKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.base.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
@@ -57,7 +57,12 @@ open class PeerGroupConfigWriter(private val access: UnderlayAccess) : WriterCus
         requires(context, id)
         val asNumber = getAsNumber(id, context::readAfter)
         val underlayId = getUnderlayId(asNumber, protocolKey, config.peerGroupName)
-        val data = createUnderlayBuilder(underlayId, config).build()
+        val neighborGroups = readNeighborGroups(underlayId, context)
+        val underlayData = when (neighborGroups) {
+            null -> readNeighborGroup(underlayId)
+            else -> neighborGroups[config.peerGroupName]
+        }
+        val data = createUnderlayBuilder(underlayData, config).build()
         access.safePut(underlayId, data)
     }
 
@@ -79,7 +84,7 @@ open class PeerGroupConfigWriter(private val access: UnderlayAccess) : WriterCus
         requires(context, id)
         val asNumber = getAsNumber(id, context::readBefore)
         val underlayId = getUnderlayId(asNumber, protocolKey, dataBefore.peerGroupName)
-        val data = createUnderlayBuilder(underlayId, dataBefore).build()
+        val data = createUnderlayBuilder(readNeighborGroup(underlayId), dataBefore).build()
         access.safeDelete(underlayId, data)
     }
 
@@ -88,19 +93,36 @@ open class PeerGroupConfigWriter(private val access: UnderlayAccess) : WriterCus
         key: ProtocolKey,
         name: String
     ): IID<NeighborGroup> {
-        val (aXX, aYY) = As.asToDotNotation(asN)
         return BgpProtocolReader.UNDERLAY_BGP
             .child(Instance::class.java, InstanceKey(CiscoIosXrString(key.name)))
-            .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(aXX)))
-            .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(aYY)))
+            .child(InstanceAs::class.java, InstanceAsKey(BGP_AS_RANGES.get(As.asXx(asN))))
+            .child(FourByteAs::class.java, FourByteAsKey(BGP_AS_RANGES.get(As.asYy(asN))))
             .child(DefaultVrf::class.java)
             .child(BgpEntity::class.java)
             .child(NeighborGroups::class.java)
             .child(NeighborGroup::class.java, NeighborGroupKey(CiscoIosXrString(name)))
     }
 
-    private fun createUnderlayBuilder(id: IID<NeighborGroup>, config: Config): NeighborGroupBuilder {
-        val underlayData = access.read(id).checkedGet().orNull()
+    private fun readNeighborGroup(id: IID<NeighborGroup>) = access.read(id).checkedGet().orNull()
+
+    /**
+     * All underlay peer groups of the instance by name, read once per write transaction. Deletes are processed
+     * before writes and peer group configuration is written before its address families, so the snapshot taken
+     * on first write holds the current content of every group.
+     */
+    private fun readNeighborGroups(id: IID<NeighborGroup>, context: WriteContext): Map<String, NeighborGroup>? {
+        val cache = context.modificationCache ?: return null
+        val groupsId = id.firstIdentifierOf(NeighborGroups::class.java)
+        val cacheKey = CacheKey(groupsId)
+        @Suppress("UNCHECKED_CAST")
+        return cache.get(cacheKey) as Map<String, NeighborGroup>? ?: access.read(groupsId).checkedGet().orNull()
+            ?.neighborGroup.orEmpty()
+            .filter { it.neighborGroupName != null }
+            .associateBy { it.neighborGroupName.value }
+            .also { cache.put(cacheKey, it) }
+    }
+
+    private fun createUnderlayBuilder(underlayData: NeighborGroup?, config: Config): NeighborGroupBuilder {
         val builder = when (underlayData) {
             null -> NeighborGroupBuilder()
             else -> NeighborGroupBuilder(underlayData)
@@ -116,6 +138,8 @@ open class PeerGroupConfigWriter(private val access: UnderlayAccess) : WriterCus
             { "Can't add neighbor-group in network-insance ${vrfKey.name}." })
     }
 
+    private data class CacheKey(val id: IID<NeighborGroups>)
+
     companion object {
         fun <T : DataObject> getAsNumber(
             id: IID<T>,
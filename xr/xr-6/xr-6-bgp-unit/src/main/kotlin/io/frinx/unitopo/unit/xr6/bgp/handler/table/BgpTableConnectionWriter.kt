@@ -17,11 +17,10 @@
 package io.frinx.unitopo.unit.xr6.bgp.handler.table
 
 import com.google.common.base.Preconditions
-import io.fd.honeycomb.translate.util.RWUtils
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
-import io.frinx.openconfig.openconfig.network.instance.IIDs
 import io.frinx.translate.unit.commons.handler.spi.CompositeWriter
+import io.frinx.unitopo.ni.base.NetworkInstanceView
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr6.bgp.IID
 import io.frinx.unitopo.unit.xr6.bgp.handler.GlobalAfiSafiConfigWriter
@@ -33,8 +32,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.ProtocolsBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.table.connections.table.connection.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.openconfig.types.rev170113.ADDRESSFAMILY
@@ -54,16 +51,10 @@ class BgpTableConnectionWriter(private val access: UnderlayAccess) : CompositeWr
         var wasWriting = false
         if (config.dstProtocol == BGP::class.java) {
 
-            val allProtocols = writeContext.readAfter(RWUtils.cutId(instanceIdentifier, IIDs.NE_NETWORKINSTANCE)
-                .child(Protocols::class.java))
-                    .or(ProtocolsBuilder().setProtocol(emptyList()).build())
-                    .protocol.orEmpty()
+            val networkInstance = NetworkInstanceView.after(instanceIdentifier, writeContext)
 
-            val dstProtocols = allProtocols
-                    .filter { p -> p.identifier == BGP::class.java }
-
-            for (dstProtocol in dstProtocols) {
-                writeCurrentAttributesForBgp(instanceIdentifier, dstProtocol, config, allProtocols, true)
+            for (dstProtocol in networkInstance.protocols(BGP::class.java)) {
+                writeCurrentAttributesForBgp(instanceIdentifier, dstProtocol, config, networkInstance, true)
                 wasWriting = true
             }
         }
@@ -85,7 +76,7 @@ class BgpTableConnectionWriter(private val access: UnderlayAccess) : CompositeWr
         id: IID<Config>,
         bgpProtocol: Protocol,
         config: Config,
-        protocols: List<Protocol>,
+        networkInstance: NetworkInstanceView,
         add: Boolean
     ) {
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
@@ -93,8 +84,7 @@ class BgpTableConnectionWriter(private val access: UnderlayAccess) : CompositeWr
         Preconditions.checkArgument(config.srcProtocol == OSPF::class.java,
                 "Unable to redistribute from: %s protocol, not supported", config.srcProtocol)
 
-        val srcProtocols = protocols
-                .filter({ p -> p.identifier == config.srcProtocol })
+        val srcProtocols = networkInstance.protocols(config.srcProtocol)
 
         Preconditions.checkArgument(!srcProtocols.isEmpty(),
                 "No protocols: %s configured in current network", config.srcProtocol)
@@ -125,16 +115,10 @@ class BgpTableConnectionWriter(private val access: UnderlayAccess) : CompositeWr
         var wasDeleting = false
         if (config.dstProtocol == BGP::class.java) {
 
-            val allProtocols = writeContext.readAfter(RWUtils.cutId(instanceIdentifier, IIDs.NE_NETWORKINSTANCE)
-                .child(Protocols::class.java))
-                    .or(ProtocolsBuilder().setProtocol(emptyList()).build())
-                    .protocol.orEmpty()
-
-            val dstProtocols = allProtocols
-                    .filter { p -> p.identifier == BGP::class.java }
+            val networkInstance = NetworkInstanceView.after(instanceIdentifier, writeContext)
 
-            for (dstProtocol in dstProtocols) {
-                writeCurrentAttributesForBgp(instanceIdentifier, dstProtocol, config, allProtocols, true)
+            for (dstProtocol in networkInstance.protocols(BGP::class.java)) {
+                writeCurrentAttributesForBgp(instanceIdentifier, dstProtocol, config, networkInstance, true)
                 wasDeleting = true
             }
         }
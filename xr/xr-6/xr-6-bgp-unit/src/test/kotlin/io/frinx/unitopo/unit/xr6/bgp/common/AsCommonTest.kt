@@ -17,12 +17,14 @@
 package io.frinx.unitopo.unit.xr6.bgp.common
 
 import io.frinx.unitopo.unit.utils.AbstractNetconfHandlerTest
+import io.frinx.unitopo.unit.utils.As
 import io.frinx.unitopo.unit.utils.As.Companion.MAX_AS_2BYTE
 import io.frinx.unitopo.unit.utils.As.Companion.MAX_AS_4BYTE
 import io.frinx.unitopo.unit.utils.As.Companion.asFromDotNotation
 import io.frinx.unitopo.unit.utils.As.Companion.asToDotNotation
 import org.junit.Assert
 import org.junit.Test
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
 
 class AsCommonTest : AbstractNetconfHandlerTest() {
@@ -57,4 +59,17 @@ class AsCommonTest : AbstractNetconfHandlerTest() {
         Assert.assertEquals(asToDotNotation(AsNumber(7274497)).first, 111)
         Assert.assertEquals(asToDotNotation(AsNumber(7274497)).second, 1)
     }
+
+    @Test
+    fun testAsHalves() {
+        Assert.assertEquals(0, As.asXx(AsNumber(MAX_AS_2BYTE)))
+        Assert.assertEquals(MAX_AS_2BYTE, As.asYy(AsNumber(MAX_AS_2BYTE)))
+        Assert.assertEquals(478, As.asXx(AsNumber(31326862)))
+        Assert.assertEquals(654, As.asYy(AsNumber(31326862)))
+        Assert.assertEquals(31326862, As.packDotNotation(478, 654))
+
+        val ranges = As.Ranges { BgpAsRange(it) }
+        Assert.assertEquals(BgpAsRange(654), ranges.get(654))
+        Assert.assertSame(ranges.get(654), ranges.get(As.asYy(AsNumber(31326862))))
+    }
 }
\ No newline at end of file
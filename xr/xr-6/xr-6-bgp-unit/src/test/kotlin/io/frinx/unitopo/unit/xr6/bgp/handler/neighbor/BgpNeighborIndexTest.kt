@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator.Rpc
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import io.frinx.unitopo.unit.xr6.bgp.handler.neighbor.afisafi.AfiSafiReader
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.MockitoAnnotations
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafi
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.AfiSafis
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.Config
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.ConfigBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Neighbors
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV4UNICAST
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.NetworkInstances
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.BGP
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+class BgpNeighborIndexTest {
+
+    @Mock
+    private lateinit var readContext: ReadContext
+
+    private lateinit var device: NetconfDeviceSimulator
+
+    @Before
+    fun setUp() {
+        MockitoAnnotations.initMocks(this)
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        val config = Fixture(XrFixtures.bgp(FixtureScale(bgpNeighbors = 50))).toFile().toURI().toURL()
+        device = NetconfDeviceSimulator(config)
+    }
+
+    @After
+    fun tearDown() {
+        device.close()
+    }
+
+    @Test
+    fun testInstanceReadOncePerTransaction() {
+        val neighborKeys = NeighborReader(device).getAllIds(NEIGHBORS_ID.child(Neighbor::class.java), readContext)
+        Assert.assertEquals(50, neighborKeys.size)
+
+        val configReader = NeighborConfigReader(device)
+        val afiSafiReader = AfiSafiReader(device)
+        neighborKeys.forEach {
+            val neighborId = NEIGHBORS_ID.child(Neighbor::class.java, it)
+            val builder = ConfigBuilder()
+            configReader.readCurrentAttributes(neighborId.child(Config::class.java), builder, readContext)
+            Assert.assertNotNull(builder.peerAs)
+
+            val afiSafiKeys = afiSafiReader.getAllIds(neighborId.child(AfiSafis::class.java)
+                .child(AfiSafi::class.java), readContext)
+            Assert.assertEquals(listOf(IPV4UNICAST::class.java), afiSafiKeys.map { it.afiSafiName })
+        }
+        Assert.assertEquals(1, device.rpcCount(Rpc.GET_CONFIG))
+    }
+
+    companion object {
+        private val NEIGHBORS_ID = InstanceIdentifier.create(NetworkInstances::class.java)
+            .child(NetworkInstance::class.java, NetworInstance.DEFAULT_NETWORK)
+            .child(Protocols::class.java)
+            .child(Protocol::class.java, ProtocolKey(BGP::class.java, "default"))
+            .child(Bgp::class.java)
+            .child(Neighbors::class.java)
+    }
+}
\ No newline at end of file
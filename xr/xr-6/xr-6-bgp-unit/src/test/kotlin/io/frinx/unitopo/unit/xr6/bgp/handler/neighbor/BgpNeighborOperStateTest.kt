@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import com.google.common.base.Ticker
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator.Rpc
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.MockitoAnnotations
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.BgpNeighborState
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafi
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafiKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.afi.safi.State as AfiSafiState
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.state.Prefixes
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.state.PrefixesBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.AfiSafis
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.State
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.StateBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Neighbors
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV4UNICAST
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.NetworkInstances
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.BGP
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import java.util.concurrent.TimeUnit
+
+class BgpNeighborOperStateTest {
+
+    @Mock
+    private lateinit var readContext: ReadContext
+
+    private lateinit var device: NetconfDeviceSimulator
+
+    private var nanos = 0L
+
+    private val ticker = object : Ticker() {
+        override fun read() = nanos
+    }
+
+    @Before
+    fun setUp() {
+        MockitoAnnotations.initMocks(this)
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        val scale = FixtureScale(bgpNeighbors = 3)
+        device = NetconfDeviceSimulator(
+            Fixture(XrFixtures.bgp(scale)).toFile().toURI().toURL(),
+            Fixture(XrFixtures.bgpOper(scale)).toFile().toURI().toURL(),
+            0,
+            LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @After
+    fun tearDown() {
+        device.close()
+    }
+
+    @Test
+    fun testStateOfAllNeighborsReadOnce() {
+        val neighborKeys = NeighborReader(device).getAllIds(NEIGHBORS_ID.child(Neighbor::class.java), readContext)
+        Assert.assertEquals(3, neighborKeys.size)
+        // BGP instance
+        Assert.assertEquals(1, device.rpcCount(Rpc.GET))
+
+        val operState = BgpNeighborOperState(device, 10, TimeUnit.SECONDS, ticker)
+        readAll(operState, neighborKeys.map { NEIGHBORS_ID.child(Neighbor::class.java, it) })
+        // active instance with all neighbors
+        Assert.assertEquals(2, device.rpcCount(Rpc.GET))
+
+        // following poll within max age
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        nanos = TimeUnit.SECONDS.toNanos(10)
+        readAll(operState, neighborKeys.map { NEIGHBORS_ID.child(Neighbor::class.java, it) })
+        Assert.assertEquals(2, device.rpcCount(Rpc.GET))
+
+        // stale
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        nanos = TimeUnit.SECONDS.toNanos(11)
+        readAll(operState, neighborKeys.map { NEIGHBORS_ID.child(Neighbor::class.java, it) })
+        Assert.assertEquals(3, device.rpcCount(Rpc.GET))
+    }
+
+    @Test
+    fun testSnapshotPerTransactionByDefault() {
+        val neighborIds = NeighborReader(device).getAllIds(NEIGHBORS_ID.child(Neighbor::class.java), readContext)
+            .map { NEIGHBORS_ID.child(Neighbor::class.java, it) }
+        device.resetRpcCounts()
+        val operState = BgpNeighborOperState(device, ticker = ticker)
+        readAll(operState, neighborIds)
+        readAll(operState, neighborIds)
+        Assert.assertEquals(1, device.rpcCount(Rpc.GET))
+
+        // next transaction at the same time
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        readAll(operState, neighborIds)
+        Assert.assertEquals(2, device.rpcCount(Rpc.GET))
+    }
+
+    @Test
+    fun testStateRequestedWithNeighborList() {
+        val operState = BgpNeighborOperState(device, ticker = ticker)
+        val neighborIds = NeighborReader(device, operState)
+            .getAllIds(NEIGHBORS_ID.child(Neighbor::class.java), readContext)
+            .map { NEIGHBORS_ID.child(Neighbor::class.java, it) }
+        // BGP instance and active instance, both issued by the list reader
+        Assert.assertEquals(2, device.rpcCount(Rpc.GET))
+
+        readAll(operState, neighborIds)
+        Assert.assertEquals(2, device.rpcCount(Rpc.GET))
+    }
+
+    private fun readAll(operState: BgpNeighborOperState, neighborIds: List<InstanceIdentifier<Neighbor>>) {
+        val stateReader = NeighborStateReader(operState)
+        val prefixesReader = PrefixesReader(operState)
+        neighborIds.forEach {
+            val builder = StateBuilder()
+            stateReader.readCurrentAttributes(it.child(State::class.java), builder, readContext)
+            Assert.assertEquals(BgpNeighborState.SessionState.ESTABLISHED, builder.sessionState)
+            Assert.assertNotNull(builder.peerAs)
+
+            val prefixesBuilder = PrefixesBuilder()
+            prefixesReader.readCurrentAttributes(it.child(AfiSafis::class.java)
+                .child(AfiSafi::class.java, AfiSafiKey(IPV4UNICAST::class.java))
+                .child(AfiSafiState::class.java)
+                .child(Prefixes::class.java), prefixesBuilder, readContext)
+            Assert.assertNotNull(prefixesBuilder.received)
+        }
+    }
+
+    companion object {
+        private val NEIGHBORS_ID = InstanceIdentifier.create(NetworkInstances::class.java)
+            .child(NetworkInstance::class.java, NetworInstance.DEFAULT_NETWORK)
+            .child(Protocols::class.java)
+            .child(Protocol::class.java, ProtocolKey(BGP::class.java, "default"))
+            .child(Bgp::class.java)
+            .child(Neighbors::class.java)
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import com.google.common.base.Ticker
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.MockitoAnnotations
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.oper.rev150827.BgpConnState
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV4UNICAST
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import java.io.File
+import java.util.concurrent.TimeUnit
+
+class BgpNeighborTelemetryTest {
+
+    @Mock
+    private lateinit var access: UnderlayAccess
+
+    private val devices = mutableListOf<NetconfDeviceSimulator>()
+
+    private var nanos = 0L
+
+    private val ticker = object : Ticker() {
+        override fun read() = nanos
+    }
+
+    private val neighbor = BgpNeighborTelemetry.NeighborId(NetworInstance.DEFAULT_NETWORK_NAME, "11.0.0.1")
+
+    @Before
+    fun setUp() {
+        MockitoAnnotations.initMocks(this)
+    }
+
+    @After
+    fun tearDown() {
+        devices.forEach { it.close() }
+    }
+
+    @Test
+    fun testPrefixesAndFlaps() {
+        replay(device(), device(idle = true, downCount = 2), device(downCount = 2), device(downCount = 2))
+        val telemetry = BgpNeighborTelemetry(access, "default", 3, ticker = ticker)
+
+        sample(telemetry, 10)
+        sample(telemetry, 20)
+        Assert.assertEquals(3, telemetry.neighbors().size)
+        Assert.assertEquals(BgpConnState.BgpStIdle, telemetry.sessionState(neighbor))
+        Assert.assertEquals(1, telemetry.flaps(neighbor))
+
+        sample(telemetry, 30)
+        sample(telemetry, 40)
+        Assert.assertEquals(BgpConnState.BgpStEstab, telemetry.sessionState(neighbor))
+        // flap dropped out of the buffer
+        Assert.assertEquals(0, telemetry.flaps(neighbor))
+        Assert.assertEquals(1, telemetry.totalFlaps(neighbor))
+        Assert.assertArrayEquals(longArrayOf(20, 30, 40).map { TimeUnit.SECONDS.toNanos(it) }.toLongArray(),
+            telemetry.sampleTimes(neighbor))
+        Assert.assertArrayEquals(longArrayOf(1, 1, 1), telemetry.prefixesAccepted(neighbor, IPV4UNICAST::class.java))
+        Assert.assertEquals(0, telemetry.prefixesDelta(neighbor, IPV4UNICAST::class.java))
+    }
+
+    @Test
+    fun testFlapsBetweenSamplesCounted() {
+        replay(device(), device(downCount = 3), device(downCount = 0))
+        val telemetry = BgpNeighborTelemetry(access, "default", 3, ticker = ticker)
+
+        sample(telemetry, 10)
+        sample(telemetry, 20)
+        // established in both samples, flapped twice in between
+        Assert.assertEquals(BgpConnState.BgpStEstab, telemetry.sessionState(neighbor))
+        Assert.assertEquals(2, telemetry.flaps(neighbor))
+
+        // counters cleared on the device
+        sample(telemetry, 30)
+        Assert.assertEquals(2, telemetry.totalFlaps(neighbor))
+    }
+
+    @Test
+    fun testFlapsWithoutCounter() {
+        replay(device(downCount = null), device(idle = true, downCount = null), device(downCount = null))
+        val telemetry = BgpNeighborTelemetry(access, "default", 3, ticker = ticker)
+
+        sample(telemetry, 10)
+        sample(telemetry, 20)
+        sample(telemetry, 30)
+        Assert.assertEquals(1, telemetry.flaps(neighbor))
+    }
+
+    @Test
+    fun testMissingNeighborsRemoved() {
+        replay(device(neighbors = 3), device(neighbors = 2), device(neighbors = 2))
+        val telemetry = BgpNeighborTelemetry(access, "default", 3, 2, ticker)
+        val removed = BgpNeighborTelemetry.NeighborId(NetworInstance.DEFAULT_NETWORK_NAME, "11.0.0.2")
+
+        sample(telemetry, 10)
+        sample(telemetry, 20)
+        Assert.assertEquals(3, telemetry.neighbors().size)
+
+        sample(telemetry, 30)
+        Assert.assertEquals(setOf(BgpNeighborTelemetry.NeighborId(NetworInstance.DEFAULT_NETWORK_NAME, "11.0.0.0"),
+            neighbor), telemetry.neighbors())
+        Assert.assertEquals(0, telemetry.sampleTimes(removed).size)
+    }
+
+    /**
+     * Answer reads of the telemetry from [sampled] devices in turn, one device per sample.
+     */
+    private fun replay(vararg sampled: NetconfDeviceSimulator) {
+        var samples = 0
+        Mockito.doAnswer {
+            sampled[samples++].read(BgpNeighborOperState.getId("default"), LogicalDatastoreType.OPERATIONAL)
+        }.`when`(access).read(Mockito.any(InstanceIdentifier::class.java),
+            Mockito.eq(LogicalDatastoreType.OPERATIONAL))
+    }
+
+    /**
+     * Device with [neighbors] neighbors, the connection-down-count of 11.0.0.1 set to [downCount] or left out for
+     * all of them if null.
+     */
+    private fun device(neighbors: Int = 3, idle: Boolean = false, downCount: Long? = 1): NetconfDeviceSimulator {
+        var oper = Fixture(XrFixtures.bgpOper(FixtureScale(bgpNeighbors = neighbors))).toString()
+        if (idle) {
+            oper = oper.replace("bgp-st-estab", "bgp-st-idle")
+        }
+        oper = if (downCount == null) {
+            oper.replace(Regex(" *<connection-down-count>.*</connection-down-count>\\n"), "")
+        } else {
+            oper.replaceFirst("<connection-down-count>1<", "<connection-down-count>$downCount<")
+        }
+        return NetconfDeviceSimulator(null, toUrl(oper)).also { devices.add(it) }
+    }
+
+    private fun sample(telemetry: BgpNeighborTelemetry, seconds: Long) {
+        nanos = TimeUnit.SECONDS.toNanos(seconds)
+        telemetry.sample()
+    }
+
+    private fun toUrl(xml: String) = File.createTempFile("unitopo-fixture", ".xml")
+        .apply {
+            deleteOnExit()
+            writeText(xml)
+        }
+        .toURI()
+        .toURL()
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighbor
+import io.frinx.unitopo.unit.xr6.bgp.UnderlayNeighborKey
+import org.junit.Assert
+import org.junit.Test
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.Bgp
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.Instance
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.InstanceKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.InstanceAs
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.InstanceAsKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.FourByteAs
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.FourByteAsKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.DefaultVrf
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.BgpEntity
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev150827.BgpAsRange
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressNoZone
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4AddressNoZone
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.Neighbors as UnderlayNeighbors
+
+class NeighborRendererTest {
+
+    @Test
+    fun testUnderlayIdentifiersInterned() {
+        val neighborsId = NeighborRenderer.getGlobalNeighborsIdentifier(AsNumber(666L))
+        Assert.assertEquals(NATIVE_IID.firstIdentifierOf(UnderlayNeighbors::class.java), neighborsId)
+        Assert.assertSame(neighborsId, NeighborRenderer.getGlobalNeighborsIdentifier(AsNumber(666L)))
+        Assert.assertEquals(NATIVE_IID, NeighborRenderer.getGlobalNeighborIdentifier(AsNumber(666L),
+            IpAddressNoZone(Ipv4AddressNoZone("99.0.0.99"))))
+    }
+
+    companion object {
+        private val NATIVE_IID = InstanceIdentifier
+            .create(Bgp::class.java)!!
+            .child(Instance::class.java, InstanceKey(CiscoIosXrString("default")))
+            .child(InstanceAs::class.java, InstanceAsKey(BgpAsRange(0L)))
+            .child(FourByteAs::class.java, FourByteAsKey(BgpAsRange(666L)))
+            .child(DefaultVrf::class.java)
+            .child(BgpEntity::class.java)
+            .child(UnderlayNeighbors::class.java)
+            .child(UnderlayNeighbor::class.java, UnderlayNeighborKey(IpAddressNoZone(Ipv4AddressNoZone("99.0.0.99"))))
+    }
+}
\ No newline at end of file
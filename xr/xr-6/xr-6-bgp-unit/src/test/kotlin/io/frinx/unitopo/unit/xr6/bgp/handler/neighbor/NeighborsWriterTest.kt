@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.bgp.handler.neighbor
+
+import com.google.common.base.Optional
+import io.fd.honeycomb.translate.write.WriteContext
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator.Rpc
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.ArgumentCaptor
+import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.MockitoAnnotations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`._default.vrf.bgp.entity.Neighbors as UnderlayNeighbors
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev150827.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.VrfNeighbors
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.afi.safi.list.AfiSafiBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.base.AfiSafisBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.global.base.ConfigBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.base.ConfigBuilder as NeighborConfigBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.Bgp
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.BgpBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.GlobalBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.Neighbors
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.top.bgp.NeighborsBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV4UNICAST
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.NetworkInstances
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.ProtocolsBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.policy.types.rev160512.BGP
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.routing.policy.rev170714.apply.policy.group.ApplyPolicyBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.routing.policy.rev170714.apply.policy.group.apply.policy.ConfigBuilder as ApplyPolicyConfigBuilder
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.IpAddress
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.Ipv4Address
+import org.opendaylight.yangtools.yang.binding.DataObject
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+class NeighborsWriterTest {
+
+    @Mock
+    private lateinit var writeContext: WriteContext
+    @Mock
+    private lateinit var access: UnderlayAccess
+
+    private lateinit var device: NetconfDeviceSimulator
+
+    private lateinit var writer: NeighborsWriter
+
+    @Before
+    fun setUp() {
+        MockitoAnnotations.initMocks(this)
+        Mockito.doReturn(PROTOCOLS).`when`(writeContext).readAfter(Mockito.any(InstanceIdentifier::class.java))
+        Mockito.doReturn(PROTOCOLS).`when`(writeContext).readBefore(Mockito.any(InstanceIdentifier::class.java))
+        device = NetconfDeviceSimulator(null)
+        writer = NeighborsWriter(device)
+    }
+
+    @After
+    fun tearDown() {
+        device.close()
+    }
+
+    @Test
+    fun testNeighborsWrittenInSingleEdit() {
+        val neighbors = (0 until 1000).map { neighbor(it, "peer $it") }
+        writer.writeCurrentAttributes(NEIGHBORS_ID, NeighborsBuilder().setNeighbor(neighbors).build(), writeContext)
+        Assert.assertEquals(1, device.rpcCount(Rpc.EDIT_CONFIG))
+        device.commit()
+
+        val underlay = device.read(NeighborRenderer.getGlobalNeighborsIdentifier(AS)).checkedGet().get()
+        Assert.assertEquals(1000, underlay.neighbor.size)
+        Assert.assertEquals(listOf("ipv4-unicast"),
+            underlay.neighbor[0].neighborAfs.neighborAf.map { it.afName.getName() })
+    }
+
+    @Test
+    fun testOnlyChangedNeighborsWritten() {
+        val before = (0 until 10).map { neighbor(it, "peer $it") }
+        val after = before.toMutableList().apply {
+            set(3, neighbor(3, "changed"))
+            removeAt(7)
+        }
+        writer.updateCurrentAttributes(NEIGHBORS_ID, NeighborsBuilder().setNeighbor(before).build(),
+            NeighborsBuilder().setNeighbor(after).build(), writeContext)
+
+        // safe merge of the changed neighbor and delete of the removed one
+        Assert.assertEquals(2, device.rpcCount(Rpc.EDIT_CONFIG))
+    }
+
+    @Test
+    fun testUpdateWithoutAfChangeSendsNoAfs() {
+        val before = neighbor(1, "peer")
+        val dataCap = ArgumentCaptor.forClass(DataObject::class.java) as ArgumentCaptor<UnderlayNeighbors>
+
+        NeighborsWriter(access).updateCurrentAttributes(NEIGHBORS_ID, neighbors(before),
+            neighbors(neighbor(1, "changed")), writeContext)
+        Mockito.verify(access).safeMerge(Mockito.any(), dataCap.capture(), Mockito.any(), dataCap.capture())
+        Assert.assertNull(dataCap.allValues[0].neighbor.single().neighborAfs)
+        Assert.assertNull(dataCap.allValues[1].neighbor.single().neighborAfs)
+        Assert.assertEquals("changed", dataCap.allValues[1].neighbor.single().description)
+    }
+
+    @Test
+    fun testUpdateWithAfChangeSendsChangedAfs() {
+        val before = neighbor(1, "peer")
+        val after = NeighborBuilder(before)
+            .setApplyPolicy(ApplyPolicyBuilder().setConfig(ApplyPolicyConfigBuilder()
+                .setExportPolicy(listOf(NeighborRenderer.NEXTHOPSELF_POLICY_NAME))
+                .setImportPolicy(listOf("policy2"))
+                .build()).build())
+            .build()
+        val dataCap = ArgumentCaptor.forClass(DataObject::class.java) as ArgumentCaptor<UnderlayNeighbors>
+
+        NeighborsWriter(access).updateCurrentAttributes(NEIGHBORS_ID, neighbors(before), neighbors(after),
+            writeContext)
+        Mockito.verify(access).safeMerge(Mockito.any(), dataCap.capture(), Mockito.any(), dataCap.capture())
+        val afAfter = dataCap.allValues[1].neighbor.single().neighborAfs.neighborAf.single()
+        Assert.assertEquals("policy2", afAfter.routePolicyIn)
+        Assert.assertEquals(true, afAfter.isNextHopSelf)
+    }
+
+    @Test
+    fun testVrfUpdateWithoutAfChangeSendsNoAfs() {
+        val before = neighbor(1, "peer")
+        val dataCap = ArgumentCaptor.forClass(DataObject::class.java) as ArgumentCaptor<VrfNeighbors>
+
+        NeighborsWriter(access).updateCurrentAttributes(VRF_NEIGHBORS_ID, neighbors(before),
+            neighbors(neighbor(1, "changed")), writeContext)
+        Mockito.verify(access).safeMerge(Mockito.any(), dataCap.capture(), Mockito.any(), dataCap.capture())
+        Assert.assertNull(dataCap.allValues[0].vrfNeighbor.single().vrfNeighborAfs)
+        Assert.assertNull(dataCap.allValues[1].vrfNeighbor.single().vrfNeighborAfs)
+        Assert.assertEquals("changed", dataCap.allValues[1].vrfNeighbor.single().description)
+    }
+
+    @Test
+    fun testUpdateWithoutChangeSendsNothing() {
+        val neighbors = (0 until 10).map { neighbor(it, "peer $it") }
+        NeighborsWriter(access).updateCurrentAttributes(NEIGHBORS_ID, NeighborsBuilder().setNeighbor(neighbors).build(),
+            NeighborsBuilder().setNeighbor(neighbors.map { NeighborBuilder(it).build() }).build(), writeContext)
+        Mockito.verifyZeroInteractions(access)
+    }
+
+    companion object {
+        private val AS = AsNumber(666L)
+
+        private val PROTOCOLS = Optional.of(ProtocolsBuilder().setProtocol(listOf(ProtocolBuilder()
+            .setIdentifier(BGP::class.java)
+            .setName("default")
+            .setBgp(BgpBuilder()
+                .setGlobal(GlobalBuilder()
+                    .setAfiSafis(AfiSafisBuilder().setAfiSafi(listOf(AfiSafiBuilder()
+                        .setAfiSafiName(IPV4UNICAST::class.java).build())).build())
+                    .setConfig(ConfigBuilder().setAs(AS).build()).build()).build())
+            .build())).build())
+
+        private val NEIGHBORS_ID = InstanceIdentifier.create(NetworkInstances::class.java)
+            .child(NetworkInstance::class.java, NetworInstance.DEFAULT_NETWORK)
+            .child(Protocols::class.java)
+            .child(Protocol::class.java, ProtocolKey(BGP::class.java, "default"))
+            .child(Bgp::class.java)
+            .child(Neighbors::class.java)
+
+        private val VRF_NEIGHBORS_ID = InstanceIdentifier.create(NetworkInstances::class.java)
+            .child(NetworkInstance::class.java, NetworkInstanceKey("vrf1"))
+            .child(Protocols::class.java)
+            .child(Protocol::class.java, ProtocolKey(BGP::class.java, "default"))
+            .child(Bgp::class.java)
+            .child(Neighbors::class.java)
+
+        private fun neighbors(vararg neighbors: Neighbor) = NeighborsBuilder().setNeighbor(neighbors.toList()).build()
+
+        private fun neighbor(index: Int, description: String): Neighbor = NeighborBuilder()
+            .setKey(NeighborKey(IpAddress(Ipv4Address("10.${index / 256}.${index % 256}.1"))))
+            .setConfig(NeighborConfigBuilder()
+                .setPeerAs(AsNumber(65001L + index))
+                .setDescription(description)
+                .build())
+            .build()
+    }
+}
\ No newline at end of file
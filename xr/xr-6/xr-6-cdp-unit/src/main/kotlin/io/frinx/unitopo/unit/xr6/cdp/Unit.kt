@@ -24,10 +24,12 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.cdp.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.OperationalDataCache
 import io.frinx.unitopo.unit.xr6.init.Unit
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.cdp.rev171024.cdp.top.CdpBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.lldp.rev160516.lldp._interface.top.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.lldp.rev160516.lldp.neighbor.top.NeighborsBuilder
+import java.util.concurrent.TimeUnit
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.cdp.cfg.rev150730.`$YangModuleInfoImpl` as UnderlayCdpCfgYangInfo
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.cdp.oper.rev150730.`$YangModuleInfoImpl` as UnderlayCdpOperYangInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.cdp.rev171024.`$YangModuleInfoImpl` as CdpYangInfo
@@ -56,8 +58,11 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        // CDP interfaces come with their neighbors in one subtree, read once for the list and state of every neighbor
+        val cached = OperationalDataCache.shared(underlayAccess)
+            .expireAfter(InterfaceReader.CDP_OPER.targetType, NEIGHBORS_TTL_SECONDS, TimeUnit.SECONDS)
+        provideReaders(rRegistry, cached)
+        provideWriters(wRegistry, cached)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlayAccess: UnderlayAccess) {
@@ -74,4 +79,8 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     }
 
     override fun toString(): String = "XR 6 (2015-07-30) CDP translate unit"
+
+    companion object {
+        private const val NEIGHBORS_TTL_SECONDS = 30L
+    }
 }
\ No newline at end of file
@@ -25,8 +25,8 @@ import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.CfgHistGl
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.RecordType
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.RecordTypeBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.RecordTypeKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.record.type.Record
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.configuration.metadata.rev180731.metadata.ConfigurationMetadata
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.configuration.metadata.rev180731.metadata.ConfigurationMetadataBuilder
@@ -48,22 +48,7 @@ class ConfigMetadataReader(private val access: UnderlayAccess) :
         configmetadata: ConfigurationMetadataBuilder,
         ctx: ReadContext
     ) {
-        val commitHistoryOpt = getCommitHistory(0)
-        configmetadata.lastConfigurationFingerprint = parseTimestamp(commitHistoryOpt.or(RecordTypeBuilder().build()))
-    }
-
-    private fun getCommitHistory(attempts: Int): Optional<RecordType> {
-        val future = access.read(COMMIT_HISTORY_IID, LogicalDatastoreType.OPERATIONAL)
-        return try {
-            future.checkedGet()
-        } catch (e: ReadFailedException) {
-            val updatedAttempts = attempts + 1
-            if (updatedAttempts >= MAX_READ_METADATA_ATTEMPTS) {
-                throw e
-            }
-            LOG.warn("Cannot read configuration records from device (attempt {}), trying again.", updatedAttempts, e)
-            getCommitHistory(updatedAttempts)
-        }
+        configmetadata.lastConfigurationFingerprint = readFingerprint(access)
     }
 
     override fun merge(
@@ -81,16 +66,40 @@ class ConfigMetadataReader(private val access: UnderlayAccess) :
         private val COMMIT_HISTORY_IID = InstanceIdentifier.create(CfgHistGl::class.java)
             .child(RecordType::class.java, RecordTypeKey(CiscoIosXrString(RECORD_TYPE_COMMIT)))
 
+        /**
+         * Time and record number of the last commit on the device, null if there is no commit record.
+         */
+        fun readFingerprint(access: UnderlayAccess): String? =
+            readCommitHistory(access).orNull()?.let { parseFingerprint(it) }
+
+        private fun readCommitHistory(access: UnderlayAccess): Optional<RecordType> {
+            var attempt = 1
+            while (true) {
+                try {
+                    return access.read(COMMIT_HISTORY_IID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+                } catch (e: ReadFailedException) {
+                    if (attempt >= MAX_READ_METADATA_ATTEMPTS) {
+                        throw e
+                    }
+                    LOG.warn("Cannot read configuration records from device (attempt {}), trying again.", attempt, e)
+                    attempt++
+                }
+            }
+        }
+
+        /**
+         * Fingerprint of the newest record, e.g. `2018-10-10T11:04:35 1273`. Timestamps have a resolution of one
+         * second, records of the same second are told apart by the record number, which grows with every record.
+         */
         @VisibleForTesting
-        fun parseTimestamp(data: RecordType): String {
-            val lastTimestamp = data.record.orEmpty()
-                .asSequence()
-                .map { it.timestamp }
-                .filterNotNull()
-                .sorted()
-                .last()
+        fun parseFingerprint(data: RecordType): String? {
+            // newest record in a single pass, the history is not sorted
+            val last = data.record.orEmpty()
+                .filter { it.timestamp != null }
+                .maxWith(compareBy<Record>({ it.timestamp }, { it.record }))
+                ?: return null
 
-            return LocalDateTime.ofEpochSecond(lastTimestamp, 0, ZoneOffset.UTC).toString()
+            return "${LocalDateTime.ofEpochSecond(last.timestamp, 0, ZoneOffset.UTC)} ${last.record}"
         }
     }
 }
\ No newline at end of file
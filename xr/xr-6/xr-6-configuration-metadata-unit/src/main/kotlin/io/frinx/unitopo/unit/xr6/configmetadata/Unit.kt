@@ -23,6 +23,8 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.configuration.metadata.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr6.init.Unit
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.`$YangModuleInfoImpl` as CiscoYangInfoimport
@@ -43,7 +45,12 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
+        // snapshot shared with the other units of the device is carried over to the next read transaction while
+        // the last commit stays the same, the reader holds the shared access for as long as the handlers are
+        // registered
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+            .gateOn { ConfigMetadataReader.readFingerprint(underlayAccess) }
+        provideReaders(rRegistry, access)
     }
 
     private var reg: TranslationUnitCollector.Registration? = null
@@ -59,7 +66,7 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     override fun getRpcs(underlayAccess: UnderlayAccess) = emptySet<RpcService<*, *>>()
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
-        rRegistry.add(GenericOperReader(IIDs.CONFIGURATIONMETADATA, ConfigMetadataReader(underlayAccess)))
+        rRegistry.add(GenericOperReader(IIDs.CONFIGURATIONMETADATA, scoped(ConfigMetadataReader(underlayAccess))))
     }
 
     override fun toString() = "XR 6 (2015-09-11) Configuration metadata translation unit"
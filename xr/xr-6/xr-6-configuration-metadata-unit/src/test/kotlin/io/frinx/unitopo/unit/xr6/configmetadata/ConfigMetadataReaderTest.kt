@@ -17,12 +17,14 @@
 package io.frinx.unitopo.unit.xr6.configmetadata
 
 import io.frinx.unitopo.unit.utils.AbstractNetconfHandlerTest
-import io.frinx.unitopo.unit.xr6.configmetadata.ConfigMetadataReader.Companion.parseTimestamp
+import io.frinx.unitopo.unit.xr6.configmetadata.ConfigMetadataReader.Companion.parseFingerprint
 import org.junit.Assert
 import org.junit.Test
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.CfgHistGl
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.RecordType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.RecordTypeBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.RecordTypeKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev151109.cfg.hist.gl.record.type.RecordBuilder
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 
@@ -31,10 +33,26 @@ class ConfigMetadataReaderTest : AbstractNetconfHandlerTest() {
     private val DATA_NODES = getResourceAsString("/config-metadata-oper.xml")
 
     @Test
-    fun testGetTimestamp() {
+    fun testGetFingerprint() {
         val recordType = parseGetCfgResponse(DATA_NODES, InstanceIdentifier.create(CfgHistGl::class.java)
             .child(RecordType::class.java, RecordTypeKey(CiscoIosXrString(ConfigMetadataReader.RECORD_TYPE_COMMIT))))
-        val lastCommitTime = parseTimestamp(recordType)
-        Assert.assertEquals("2018-10-10T11:04:35", lastCommitTime)
+        val lastCommit = parseFingerprint(recordType)
+        Assert.assertEquals("2018-10-10T11:04:35 1273", lastCommit)
+    }
+
+    @Test
+    fun testGetFingerprintOfCommitsWithinSecond() {
+        val first = RecordBuilder().setRecord(1273).setTimestamp(1539169475L).build()
+        val second = RecordBuilder().setRecord(1274).setTimestamp(1539169475L).build()
+
+        Assert.assertEquals("2018-10-10T11:04:35 1273",
+            parseFingerprint(RecordTypeBuilder().setRecord(listOf(first)).build()))
+        Assert.assertEquals("2018-10-10T11:04:35 1274",
+            parseFingerprint(RecordTypeBuilder().setRecord(listOf(second, first)).build()))
+    }
+
+    @Test
+    fun testGetFingerprintWithoutCommits() {
+        Assert.assertNull(parseFingerprint(RecordTypeBuilder().build()))
     }
 }
\ No newline at end of file
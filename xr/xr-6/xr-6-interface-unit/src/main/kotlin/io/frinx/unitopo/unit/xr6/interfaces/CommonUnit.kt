@@ -23,9 +23,16 @@ import io.fd.honeycomb.translate.impl.read.GenericOperReader
 import io.fd.honeycomb.translate.impl.write.GenericWriter
 import io.fd.honeycomb.translate.spi.builder.CustomizerAwareReadRegistryBuilder
 import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
+import io.fd.honeycomb.translate.spi.write.WriterCustomizer
 import io.frinx.openconfig.openconfig.interfaces.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.CoalescingUnderlayAccess
+import io.frinx.unitopo.unit.utils.CoalescingWriterCustomizer
+import io.frinx.unitopo.unit.utils.InstrumentingUnderlayAccess
+import io.frinx.unitopo.unit.utils.OperationalDataCache
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr6.init.Unit
 import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceConfigReader
 import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceConfigWriter
@@ -60,7 +67,9 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.SubinterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.vlan.logical.top.VlanBuilder
+import org.opendaylight.yangtools.yang.binding.DataObject
 import org.opendaylight.yangtools.yang.binding.YangModuleInfo
+import java.util.concurrent.TimeUnit
 import io.frinx.openconfig.openconfig._if.ip.IIDs as IfIpIIDs
 import io.frinx.openconfig.openconfig.network.instance.IIDs as NetworkInstanceIIDs
 import io.frinx.openconfig.openconfig.vlan.IIDs as VlanIIDs
@@ -103,80 +112,92 @@ abstract class CommonUnit(private val registry: TranslationUnitCollector) : Unit
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideSpecificReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
-        provideSpecificWriters(wRegistry, underlayAccess)
+        // interface state of all interfaces in one subtree, polled by every state and counters read. The shared
+        // snapshot below bypasses operational reads, so the state is never older than the TTL.
+        val cached = OperationalDataCache.shared(underlayAccess)
+            .expireAfter(InterfaceReader.DATA_NODES_ID.targetType, INTERFACE_STATE_TTL_SECONDS, TimeUnit.SECONDS)
+        val access = InstrumentingUnderlayAccess(CachingUnderlayAccess.shared(underlayAccess, cached), toString())
+        provideReaders(rRegistry, access)
+        provideSpecificReaders(rRegistry, access)
+        provideWriters(wRegistry, CoalescingUnderlayAccess(access))
+        provideSpecificWriters(wRegistry, access)
     }
 
-    private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlayAccess: UnderlayAccess) {
+    private fun provideWriters(
+        wRegistry: CustomizerAwareWriteRegistryBuilder,
+        underlayAccess: CoalescingUnderlayAccess
+    ) {
+        // a delete and put of the same subtree within one writer call are sent as the put alone
+        fun <T : DataObject> coalescing(customizer: WriterCustomizer<T>) =
+            CoalescingWriterCustomizer(customizer, underlayAccess)
+
         wRegistry.addNoop(IIDs.IN_INTERFACE)
-        wRegistry.add(GenericWriter(IIDs.IN_IN_CONFIG, InterfaceConfigWriter(underlayAccess)))
+        wRegistry.add(GenericWriter(IIDs.IN_IN_CONFIG, coalescing(InterfaceConfigWriter(underlayAccess))))
 
         wRegistry.addNoop(IIDs.IN_IN_SU_SUBINTERFACE)
-        wRegistry.addAfter(GenericWriter(IIDs.IN_IN_SU_SU_CONFIG, SubinterfaceConfigWriter(underlayAccess)),
+        wRegistry.addAfter(GenericWriter(IIDs.IN_IN_SU_SU_CONFIG, coalescing(SubinterfaceConfigWriter(underlayAccess))),
                 IIDs.IN_IN_CONFIG)
         wRegistry.addAfter(GenericWriter(IIDs.IN_IN_AUG_IFDAMPAUG_DA_CONFIG,
-            InterfaceDampeningConfigWriter(underlayAccess)),
+            coalescing(InterfaceDampeningConfigWriter(underlayAccess))),
             IIDs.IN_IN_CONFIG)
         wRegistry.addAfter(GenericWriter(IIDs.IN_IN_AUG_IFCISCOSTATSAUG_ST_CONFIG,
-            InterfaceStatisticsConfigWriter(underlayAccess)),
+            coalescing(InterfaceStatisticsConfigWriter(underlayAccess))),
             IIDs.IN_IN_CONFIG)
         wRegistry.addAfter(GenericWriter(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_VL_CONFIG,
-            SubinterfaceVlanConfigWriter(underlayAccess)), IIDs.IN_IN_SU_SU_CONFIG)
+            coalescing(SubinterfaceVlanConfigWriter(underlayAccess))), IIDs.IN_IN_SU_SU_CONFIG)
 
         wRegistry.add(GenericWriter(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_ADDRESS, Ipv4AddressWriter()))
         wRegistry.addAfter(GenericWriter(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_AD_CONFIG,
-            Ipv4AddressConfigWriter(underlayAccess)), NetworkInstanceIIDs.NE_NE_IN_IN_CONFIG)
+            coalescing(Ipv4AddressConfigWriter(underlayAccess))), NetworkInstanceIIDs.NE_NE_IN_IN_CONFIG)
         wRegistry.addAfter(GenericWriter(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_CONFIG,
-            Ipv4MtuConfigWriter(underlayAccess)),
+            coalescing(Ipv4MtuConfigWriter(underlayAccess))),
             setOf(IIDs.IN_IN_SU_SU_CONFIG, IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IPV4))
         wRegistry.addAfter(GenericWriter(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOSTATSAUG_ST_CONFIG,
-            SubinterfaceStatisticsConfigWriter(underlayAccess)),
+            coalescing(SubinterfaceStatisticsConfigWriter(underlayAccess))),
             IIDs.IN_IN_SU_SU_CONFIG)
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         rRegistry.addStructuralReader(IIDs.INTERFACES, InterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, InterfaceReader(underlayAccess)))
-        rRegistry.add(GenericOperReader(IIDs.IN_IN_STATE, InterfaceStateReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, InterfaceConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, scoped(InterfaceReader(underlayAccess))))
+        rRegistry.add(GenericOperReader(IIDs.IN_IN_STATE, scoped(InterfaceStateReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, scoped(InterfaceConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFCISCOSTATSAUG, IfCiscoStatsAugBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFCISCOSTATSAUG_STATISTICS, StatisticsBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_AUG_IFCISCOSTATSAUG_ST_CONFIG,
-            InterfaceStatisticsConfigReader(underlayAccess)))
+            scoped(InterfaceStatisticsConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFDAMPAUG, IfDampAugBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFDAMPAUG_DAMPING, DampingBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_AUG_IFDAMPAUG_DA_CONFIG,
-            InterfaceDampeningConfigReader(underlayAccess)))
+            scoped(InterfaceDampeningConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.IN_IN_SUBINTERFACES, SubinterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, SubinterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, SubinterfaceConfigReader(underlayAccess)))
-        rRegistry.add(GenericOperReader(IIDs.IN_IN_SU_SU_STATE, SubinterfaceStateReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, scoped(SubinterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, scoped(SubinterfaceConfigReader(underlayAccess))))
+        rRegistry.add(GenericOperReader(IIDs.IN_IN_SU_SU_STATE, scoped(SubinterfaceStateReader(underlayAccess))))
 
         rRegistry.addStructuralReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1, VlanAugBuilder::class.java)
         rRegistry.addStructuralReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_VLAN, VlanBuilder::class.java)
         rRegistry.add(GenericConfigReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_VL_CONFIG,
-            SubinterfaceVlanConfigReader(underlayAccess)))
+            scoped(SubinterfaceVlanConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1, Subinterface1Builder::class.java)
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IPV4, Ipv4Builder::class.java)
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_ADDRESSES, AddressesBuilder::class.java)
         rRegistry.add(GenericConfigListReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_ADDRESS,
-            Ipv4AddressReader(underlayAccess)))
+            scoped(Ipv4AddressReader(underlayAccess))))
         rRegistry.add(GenericConfigReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_AD_CONFIG,
-            Ipv4AddressConfigReader(underlayAccess)))
+            scoped(Ipv4AddressConfigReader(underlayAccess))))
 
         rRegistry.add(GenericConfigReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_CONFIG,
-                Ipv4MtuConfigReader(underlayAccess)))
+                scoped(Ipv4MtuConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOSTATSAUG,
                 IfSubifCiscoStatsAugBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOSTATSAUG_STATISTICS,
                 StatisticsBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOSTATSAUG_ST_CONFIG,
-                SubinterfaceStatisticsConfigReader(underlayAccess)))
+                scoped(SubinterfaceStatisticsConfigReader(underlayAccess))))
     }
 
     abstract fun getSpecificYangSchemas(): Set<YangModuleInfo>
@@ -185,6 +206,8 @@ abstract class CommonUnit(private val registry: TranslationUnitCollector) : Unit
     abstract fun provideSpecificReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess)
 
     companion object {
+        private const val INTERFACE_STATE_TTL_SECONDS = 5L
+
         private val UNDERLAY_SCHEMAS = setOf(
                 UnderlayInterfacesYangInfo.getInstance(),
                 UnderlayInterfacesOperYangInfo.getInstance(),
@@ -42,7 +42,8 @@ class InterfaceDampeningConfigReader(private val underlayAccess: UnderlayAccess)
 
         val ifcName = instanceIdentifier.firstKeyOf(Interface::class.java).name
         if (isSupportedInterface(ifcName)) {
-            InterfaceReader.readInterfaceCfg(underlayAccess, ifcName, { extractDamping(it, builder) })
+            InterfacesSnapshot.read(underlayAccess, readContext)
+                .readInterfaceCfg(ifcName) { extractDamping(it, builder) }
         }
     }
 
@@ -19,6 +19,8 @@ package io.frinx.unitopo.unit.xr6.interfaces.handler
 import io.fd.honeycomb.translate.read.ReadContext
 import io.frinx.unitopo.ifc.base.handler.AbstractInterfaceReader
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.InterfaceIndex
+import io.frinx.unitopo.unit.utils.SnapshotIndexer
 import io.frinx.unitopo.unit.xr6.interfaces.Util
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
@@ -33,13 +35,16 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.op
 class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<DataNodes>(underlayAccess) {
 
     override fun parseInterfaceIds(data: DataNodes): List<InterfaceKey> =
-        data.dataNode.orEmpty()
-        .flatMap { it.systemView?.interfaces?.`interface`.orEmpty() }
-        .map { it.key }
-        .map { InterfaceKey(it.interfaceName.value) }
+        indexInterfaceProps(data).names
+        .map { InterfaceKey(it) }
 
     override fun getAllIds(instanceIdentifier: InstanceIdentifier<Interface>, readContext: ReadContext):
-        List<InterfaceKey> = getInterfaceIds().filter { !Util.isSubinterface(it.name) }
+        List<InterfaceKey> {
+        // per-interface readers need config of the listed interfaces, it is fetched along with their names
+        return InterfacesSnapshot.read(underlayAccess, readContext).requestAll().interfaceNames
+            .filter { !Util.isSubinterface(it) }
+            .map { InterfaceKey(it) }
+    }
 
     override val readIid: InstanceIdentifier<DataNodes> = DATA_NODES_ID
 
@@ -62,14 +67,24 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
                 .checkedGet()
                 .orNull()
                 ?.let { interfaceConfigurations ->
-                    interfaceConfigurations.interfaceConfiguration.orEmpty()
-                        .firstOrNull { it.interfaceName.value == name }
+                    Util.filterInterface(interfaceConfigurations, name)
                         // Invoke handler with read value or use default
                         // XR returns no config data for interface that has no configuration but is up
                         .let { handler(it ?: Util.getDefaultIfcCfg(name)) }
                 }
         }
 
+        private val IFC_PROPS_INDEXER = SnapshotIndexer<DataNodes, InterfaceIndex<UnderlayInterface>> {
+            InterfaceIndex(it.dataNode.orEmpty().flatMap { it.systemView?.interfaces?.`interface`.orEmpty() }) {
+                it.interfaceName.value
+            }
+        }
+
+        /**
+         * Index of interface properties by interface name, built once per read DataNodes.
+         */
+        fun indexInterfaceProps(data: DataNodes): InterfaceIndex<UnderlayInterface> = IFC_PROPS_INDEXER.indexOf(data)
+
         /**
          * Read interface properties
          */
@@ -82,9 +97,7 @@ class InterfaceReader(underlayAccess: UnderlayAccess) : AbstractInterfaceReader<
                     .checkedGet()
                     .orNull()
                     ?.let { dataNodes ->
-                        dataNodes.dataNode.orEmpty()
-                                .flatMap { it.systemView?.interfaces?.`interface`.orEmpty() }
-                                .firstOrNull { it.interfaceName.value == name }
+                        indexInterfaceProps(dataNodes)[name]
                                 ?.let { handler(it) }
                     }
         }
@@ -46,8 +46,9 @@ class InterfaceStateReader(private val underlayAccess: UnderlayAccess) : OperRea
         try {
             // Using InterfaceConfiguration and also InterfaceProperties to collect all necessary information
             val name = instanceIdentifier.firstKeyOf(Interface::class.java).name
-            InterfaceReader.readInterfaceCfg(underlayAccess, name, { stateBuilder.fromUnderlay(it) })
-            InterfaceReader.readInterfaceProps(underlayAccess, name, { stateBuilder.fromUnderlayProps(it) })
+            val snapshot = InterfacesSnapshot.read(underlayAccess, readContext)
+            snapshot.readInterfaceCfg(name) { stateBuilder.fromUnderlay(it) }
+            snapshot.readInterfaceProps(name) { stateBuilder.fromUnderlayProps(it) }
         } catch (e: MDSalReadFailed) {
             throw ReadFailedException(instanceIdentifier, e)
         }
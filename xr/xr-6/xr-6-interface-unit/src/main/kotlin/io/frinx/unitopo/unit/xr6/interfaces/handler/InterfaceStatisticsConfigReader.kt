@@ -42,7 +42,8 @@ open class InterfaceStatisticsConfigReader(private val underlayAccess: UnderlayA
         readContext: ReadContext
     ) {
         val ifcName = instanceIdentifier.firstKeyOf(Interface::class.java).name
-        InterfaceReader.readInterfaceCfg(underlayAccess, ifcName, { extractStatictics(it, configBuilder) })
+        InterfacesSnapshot.read(underlayAccess, readContext)
+            .readInterfaceCfg(ifcName) { extractStatictics(it, configBuilder) }
     }
 
     private fun extractStatictics(ifcCfg: InterfaceConfiguration, builder: ConfigBuilder) {
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.interfaces.handler
+
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.AsyncUnderlayReads
+import io.frinx.unitopo.unit.xr6.interfaces.Util
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730._interface.properties.DataNodes
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730._interface.table.interfaces.Interface as UnderlayInterface
+
+/**
+ * Config (IFC_CFGS) and oper (DATA_NODES_ID) data of all interfaces, read once per read transaction.
+ *
+ * The snapshot is kept in the modification cache of the read context, customizers then only look up their
+ * interface in it. Each half is read on first use, so config readers do not trigger the oper read and vice versa.
+ * Reading the whole /interfaces tree thus costs at most two device reads, independent of the number of interfaces
+ * and registered handlers. The interface list reader issues both reads at once (see [requestAll]), so they are
+ * fetched concurrently.
+ */
+class InterfacesSnapshot private constructor(
+    private val underlayAccess: UnderlayAccess,
+    private val readContext: ReadContext
+) {
+
+    private val configurations: InterfaceConfigurations? by lazy {
+        AsyncUnderlayReads.read(underlayAccess, readContext, InterfaceReader.IFC_CFGS,
+            LogicalDatastoreType.CONFIGURATION)
+    }
+
+    private val dataNodes: DataNodes? by lazy {
+        AsyncUnderlayReads.read(underlayAccess, readContext, InterfaceReader.DATA_NODES_ID,
+            LogicalDatastoreType.OPERATIONAL)
+    }
+
+    /**
+     * Issue reads of both halves without waiting for them.
+     */
+    fun requestAll(): InterfacesSnapshot {
+        AsyncUnderlayReads.readAsync(underlayAccess, readContext, InterfaceReader.IFC_CFGS,
+            LogicalDatastoreType.CONFIGURATION)
+        AsyncUnderlayReads.readAsync(underlayAccess, readContext, InterfaceReader.DATA_NODES_ID,
+            LogicalDatastoreType.OPERATIONAL)
+        return this
+    }
+
+    /**
+     * Names of all interfaces and subinterfaces present in oper data, including un-configured ones.
+     */
+    val interfaceNames: Set<String>
+        get() = dataNodes?.let { InterfaceReader.indexInterfaceProps(it).names }.orEmpty()
+
+    /**
+     * Same as [InterfaceReader.readInterfaceCfg], without a device read.
+     */
+    fun readInterfaceCfg(name: String, handler: (InterfaceConfiguration) -> Unit) {
+        configurations?.let {
+            // XR returns no config data for interface that has no configuration but is up
+            handler(Util.indexInterfaces(it)[name] ?: Util.getDefaultIfcCfg(name))
+        }
+    }
+
+    /**
+     * Same as [InterfaceReader.readInterfaceProps], without a device read.
+     */
+    fun readInterfaceProps(name: String, handler: (UnderlayInterface) -> Unit) {
+        dataNodes?.let { InterfaceReader.indexInterfaceProps(it)[name] }?.let { handler(it) }
+    }
+
+    fun subinterfaceProps(ifcName: String): List<UnderlayInterface> =
+        dataNodes?.let { InterfaceReader.indexInterfaceProps(it).subinterfaces(ifcName) }.orEmpty()
+
+    companion object {
+        private val CACHE_KEY = InterfacesSnapshot::class.java.name + ".snapshot"
+
+        fun read(underlayAccess: UnderlayAccess, readContext: ReadContext): InterfacesSnapshot {
+            // modification cache lives as long as the read transaction
+            val cache: ModificationCache? = readContext.modificationCache
+            (cache?.get(CACHE_KEY) as InterfacesSnapshot?)?.let { return it }
+            val snapshot = InterfacesSnapshot(underlayAccess, readContext)
+            cache?.put(CACHE_KEY, snapshot)
+            return snapshot
+        }
+    }
+}
\ No newline at end of file
@@ -52,7 +52,7 @@ class Ipv4AddressReader(private val underlayAccess: UnderlayAccess) :
             else -> Util.getSubIfcName(name, ifcIndex)
         }
         val keys = mutableListOf<AddressKey>()
-        InterfaceReader.readInterfaceCfg(underlayAccess, subIfcName) { extractAddresses(it, keys) }
+        InterfacesSnapshot.read(underlayAccess, context).readInterfaceCfg(subIfcName) { extractAddresses(it, keys) }
         return keys
     }
 
@@ -19,7 +19,7 @@ package io.frinx.unitopo.unit.xr6.interfaces.handler.subifc
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.io.cfg.rev150730.InterfaceConfiguration1
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv4.top.ipv4.addresses.Address
@@ -43,7 +43,7 @@ class Ipv4ConfigReader(private val underlayAccess: UnderlayAccess) : ConfigReade
 
         val name = id.firstKeyOf(Interface::class.java).name
         builder.ip = id.firstKeyOf(Address::class.java).ip
-        InterfaceReader.readInterfaceCfg(underlayAccess, name, { extractAddress(it, builder) })
+        InterfacesSnapshot.read(underlayAccess, ctx).readInterfaceCfg(name, { extractAddress(it, builder) })
     }
 
     override fun merge(builder: Builder<out DataObject>, readValue: Config) {
@@ -16,41 +16,54 @@
 
 package io.frinx.unitopo.unit.xr6.interfaces.handler.subifc
 
+import io.fd.honeycomb.translate.read.ReadContext
 import io.frinx.unitopo.ifc.base.handler.subinterfaces.AbstractSubinterfaceReader
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr6.interfaces.Util
 import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730._interface.properties.DataNodes
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.Interface
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.subinterfaces.Subinterface
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.subinterfaces.SubinterfaceKey
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 import io.frinx.unitopo.unit.xr6.interfaces.handler.subifc.ip6.r150730.Ipv6AddressReader as Ipv6AddressRev150730Reader
 import io.frinx.unitopo.unit.xr6.interfaces.handler.subifc.ip6.r170303.Ipv6AddressConfigReader as Ipv6AddressRev170303Reader
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730._interface.table.interfaces.Interface as UnderlayInterface
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv4.top.ipv4.addresses.AddressKey as Ipv4AddressKey
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ip.rev161222.ipv6.top.ipv6.addresses.AddressKey as Ipv6AddressKey
 
 class SubinterfaceReader(underlayAccess: UnderlayAccess) : AbstractSubinterfaceReader<DataNodes>(underlayAccess) {
 
-    private val ifaceReader = InterfaceReader(underlayAccess)
-
     override fun readIid(ifcName: String): InstanceIdentifier<DataNodes> = InterfaceReader.DATA_NODES_ID
 
     override val readDSType: LogicalDatastoreType = LogicalDatastoreType.OPERATIONAL
 
-    override fun parseSubInterfaceIds(data: DataNodes, ifcName: String): List<SubinterfaceKey> {
-        val subIfcKeys = ifaceReader.getInterfaceIds()
-            .filter { Util.isSubinterface(it.name) }
-            .filter { it.name.startsWith(ifcName) }
-            .map { Util.getSubinterfaceKey(it.name) }
+    override fun getAllIds(iid: InstanceIdentifier<Subinterface>, context: ReadContext): List<SubinterfaceKey> {
+        val ifcName = iid.firstKeyOf(Interface::class.java).name
+        val snapshot = InterfacesSnapshot.read(underlayAccess, context)
+        return getSubinterfaceIds(snapshot.subinterfaceProps(ifcName)) { snapshot.readInterfaceCfg(ifcName, it) }
+    }
 
-        val ipv4Keys = mutableListOf<Ipv4AddressKey>()
-        InterfaceReader.readInterfaceCfg(underlayAccess, ifcName) { Ipv4AddressReader.extractAddresses(it, ipv4Keys) }
+    override fun parseSubInterfaceIds(data: DataNodes, ifcName: String): List<SubinterfaceKey> =
+        getSubinterfaceIds(InterfaceReader.indexInterfaceProps(data).subinterfaces(ifcName)) {
+            InterfaceReader.readInterfaceCfg(underlayAccess, ifcName, it)
+        }
 
+    private fun getSubinterfaceIds(
+        subifcProps: List<UnderlayInterface>,
+        readIfcCfg: ((InterfaceConfiguration) -> Unit) -> Unit
+    ): List<SubinterfaceKey> {
+        val subIfcKeys = subifcProps
+            .map { Util.getSubinterfaceKey(it.interfaceName.value) }
+
+        val ipv4Keys = mutableListOf<Ipv4AddressKey>()
         val ipv6Keys = mutableListOf<Ipv6AddressKey>()
-        InterfaceReader.readInterfaceCfg(underlayAccess, ifcName) {
+        readIfcCfg {
+            Ipv4AddressReader.extractAddresses(it, ipv4Keys)
             Ipv6AddressRev150730Reader.extractAddresses(it, ipv6Keys)
-        }
-        InterfaceReader.readInterfaceCfg(underlayAccess, ifcName) {
             Ipv6AddressRev170303Reader.extractAddresses(it, ipv6Keys)
         }
 
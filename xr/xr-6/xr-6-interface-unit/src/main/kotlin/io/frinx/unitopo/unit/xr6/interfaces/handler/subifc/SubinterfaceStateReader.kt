@@ -19,7 +19,7 @@ package io.frinx.unitopo.unit.xr6.interfaces.handler.subifc
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.OperReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.oper.rev150730.ImStateEnum
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.InterfaceCommonState
@@ -50,8 +50,9 @@ class SubinterfaceStateReader(private val underlayAccess: UnderlayAccess) : Oper
 
         val subifcName = getSubIfcName(ifcName, subifcIndex)
 
-        InterfaceReader.readInterfaceCfg(underlayAccess, subifcName, { builder.fromUnderlay(it) })
-        InterfaceReader.readInterfaceProps(underlayAccess, subifcName, { builder.fromUnderlayProps(it) })
+        val snapshot = InterfacesSnapshot.read(underlayAccess, ctx)
+        snapshot.readInterfaceCfg(subifcName) { builder.fromUnderlay(it) }
+        snapshot.readInterfaceProps(subifcName) { builder.fromUnderlayProps(it) }
     }
 }
 
@@ -20,7 +20,7 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr6.interfaces.Util
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.infra.statsd.cfg.rev151109.InterfaceConfiguration1
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.infra.statsd.cfg.rev151109._interface.configurations._interface.configuration.Statistics
@@ -54,7 +54,8 @@ open class SubinterfaceStatisticsConfigReader(private val underlayAccess: Underl
         }
 
         val subifcName = Util.getSubIfcName(ifcName, subifcIndex)
-        InterfaceReader.readInterfaceCfg(underlayAccess, subifcName, { extractStatistics(it, configBuilder) })
+        InterfacesSnapshot.read(underlayAccess, readContext)
+            .readInterfaceCfg(subifcName) { extractStatistics(it, configBuilder) }
     }
 
     private fun extractStatistics(ifcCfg: InterfaceConfiguration, builder: ConfigBuilder) {
@@ -19,7 +19,7 @@ package io.frinx.unitopo.unit.xr6.interfaces.handler.subifc.vlan
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import io.frinx.unitopo.unit.xr6.interfaces.handler.subifc.getSubIfcName
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.Interface
@@ -42,7 +42,7 @@ class SubinterfaceVlanConfigReader(private val underlayAccess: UnderlayAccess) :
         val subifcIndex = id.firstKeyOf(Subinterface::class.java).index
 
         val subIfcName = getSubIfcName(ifcName, subifcIndex)
-        InterfaceReader.readInterfaceCfg(underlayAccess, subIfcName, { builder.fromUnderlay(it) })
+        InterfacesSnapshot.read(underlayAccess, ctx).readInterfaceCfg(subIfcName, { builder.fromUnderlay(it) })
     }
 
     override fun merge(parentBuilder: Builder<out DataObject>, readValue: Config) {
@@ -20,7 +20,7 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.read.ReadFailedException
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.bundlemgr.cfg.rev161216.InterfaceConfiguration2
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.aggregate.rev161222.aggregation.logical.top.aggregation.Config
@@ -36,7 +36,7 @@ class AggregateConfigReader(private val underlayAccess: UnderlayAccess) :
     override fun readCurrentAttributes(iid: IID<Config>, builder: ConfigBuilder, context: ReadContext) {
         try {
             val name = iid.firstKeyOf(Interface::class.java).name
-            InterfaceReader.readInterfaceCfg(underlayAccess, name, { builder.fromUnderlay(it) })
+            InterfacesSnapshot.read(underlayAccess, context).readInterfaceCfg(name) { builder.fromUnderlay(it) }
         } catch (e: MDSalReadFailed) {
             throw ReadFailedException(iid, e)
         }
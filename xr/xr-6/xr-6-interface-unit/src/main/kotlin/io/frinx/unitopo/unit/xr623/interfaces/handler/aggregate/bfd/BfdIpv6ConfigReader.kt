@@ -19,7 +19,7 @@ package io.frinx.unitopo.unit.xr623.interfaces.handler.aggregate.bfd
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.bundlemgr.cfg.rev161216.InterfaceConfiguration1
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.bfd.rev171024.bfd.top.bfd.ipv6.Config
@@ -33,7 +33,7 @@ class BfdIpv6ConfigReader(private val underlayAccess: UnderlayAccess) :
 
     override fun readCurrentAttributes(iid: IID<Config>, builder: ConfigBuilder, context: ReadContext) {
             val name = iid.firstKeyOf(Interface::class.java).name
-            InterfaceReader.readInterfaceCfg(underlayAccess, name, { builder.fromUnderlay(it) })
+            InterfacesSnapshot.read(underlayAccess, context).readInterfaceCfg(name) { builder.fromUnderlay(it) }
     }
 }
 
@@ -20,7 +20,7 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr6.interfaces.Util
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.Interface
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.ethernet.rev161222.ethernet.top.ethernet.Config
@@ -51,7 +51,8 @@ open class EthernetConfigReader(private val underlayAccess: UnderlayAccess) :
         if (!PHYS_IFC_TYPES.contains(Util.parseIfcType(ifcName))) {
             return
         }
-        InterfaceReader.readInterfaceCfg(underlayAccess, ifcName, { configBuilder.fromUnderlay(it) })
+        InterfacesSnapshot.read(underlayAccess, readContext)
+            .readInterfaceCfg(ifcName) { configBuilder.fromUnderlay(it) }
     }
 
     companion object {
@@ -20,7 +20,7 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr6.interfaces.Util
-import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfacesSnapshot
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.drivers.media.eth.cfg.rev150730.InterfaceConfiguration1
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222._interface.phys.holdtime.top.hold.time.Config
@@ -40,7 +40,8 @@ class HoldTimeConfigReader(private val underlayAccess: UnderlayAccess)
         val ifcName = instanceIdentifier.firstKeyOf(Interface::class.java).name
 
         if (isSupportedInterface(ifcName)) {
-            InterfaceReader.readInterfaceCfg(underlayAccess, ifcName) { extractHoldTime(it, builder) }
+            InterfacesSnapshot.read(underlayAccess, readContext)
+                .readInterfaceCfg(ifcName) { extractHoldTime(it, builder) }
         }
     }
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.interfaces
+
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator
+import io.frinx.unitopo.unit.utils.NetconfDeviceSimulator.Rpc
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import org.junit.After
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceActive
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730.InterfaceConfigurations
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfiguration
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfigurationBuilder
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ifmgr.cfg.rev150730._interface.configurations.InterfaceConfigurationKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.InterfaceName
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yangtools.yang.common.QName
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode
+import org.opendaylight.yangtools.yang.model.api.SchemaPath
+import org.w3c.dom.Element
+
+class NetconfDeviceSimulatorTest {
+
+    private lateinit var device: NetconfDeviceSimulator
+
+    @Before
+    fun setUp() {
+        val scale = FixtureScale(interfaces = 2)
+        val config = Fixture(XrFixtures.interfaceConfigurations(scale)).toFile().toURI().toURL()
+        val state = Fixture(XrFixtures.interfaceProperties(scale)).toFile().toURI().toURL()
+        device = NetconfDeviceSimulator(config, state)
+    }
+
+    @After
+    fun tearDown() {
+        device.close()
+    }
+
+    @Test
+    fun testReadFixture() {
+        val ifcCfgs = device.read(IFC_CFGS).checkedGet().get()
+        Assert.assertEquals(2, ifcCfgs.interfaceConfiguration.size)
+        Assert.assertTrue(device.read(IFC_CFG, LogicalDatastoreType.OPERATIONAL).checkedGet().isPresent)
+        Assert.assertEquals(1, device.rpcCount(Rpc.GET_CONFIG))
+        Assert.assertEquals(1, device.rpcCount(Rpc.GET))
+    }
+
+    @Test
+    fun testEditConfigAppliedOnCommit() {
+        device.put(NEW_IFC_CFG, InterfaceConfigurationBuilder()
+            .setKey(NEW_IFC_CFG.key)
+            .setDescription("new")
+            .build())
+        Assert.assertFalse(device.read(NEW_IFC_CFG).checkedGet().isPresent)
+
+        device.commit()
+        Assert.assertEquals("new", device.read(NEW_IFC_CFG).checkedGet().get().description)
+
+        device.delete(IFC_CFG)
+        device.discardChanges()
+        Assert.assertTrue(device.read(IFC_CFG).checkedGet().isPresent)
+
+        Assert.assertEquals(2, device.rpcCount(Rpc.EDIT_CONFIG))
+        Assert.assertEquals(1, device.rpcCount(Rpc.COMMIT))
+    }
+
+    @Test
+    fun testCommitRevisionInformation() {
+        Assert.assertTrue(commitRevision().endsWith("-0"))
+
+        device.delete(IFC_CFG)
+        device.commit()
+        Assert.assertTrue(commitRevision().endsWith("-1"))
+        Assert.assertEquals(2, device.rpcCount(Rpc.OTHER))
+    }
+
+    @Test
+    fun testRpcWithoutReplyFails() {
+        try {
+            device.invokeRpc(SchemaPath.create(true, QName.create(RPC_NAMESPACE, "unknown")), null).checkedGet()
+        } catch (e: DOMRpcImplementationNotAvailableException) {
+            return
+        }
+        Assert.fail("Exception expected")
+    }
+
+    private fun commitRevision(): String {
+        val rpc = QName.create(RPC_NAMESPACE, NetconfDeviceSimulator.GET_COMMIT_REVISION_INFORMATION)
+        val output = device.invokeRpc(SchemaPath.create(true, rpc), null).checkedGet().result as ContainerNode
+        val choice = output.getChild(NodeIdentifier(QName.create(rpc, "output_c"))).get() as ChoiceNode
+        val information = choice.getChild(NodeIdentifier(QName.create(rpc, "commit-revision-information"))).get()
+        return ((information as AnyXmlNode).value.node as Element)
+            .getElementsByTagName("revision").item(0).textContent
+    }
+
+    companion object {
+        private const val RPC_NAMESPACE = "urn:test:rpc"
+        private val IFC_CFGS = InstanceIdentifier.create(InterfaceConfigurations::class.java)
+        private val IFC_CFG = IFC_CFGS.child(InterfaceConfiguration::class.java,
+            InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName(XrFixtures.interfaceName(0))))
+        private val NEW_IFC_CFG = IFC_CFGS.child(InterfaceConfiguration::class.java,
+            InterfaceConfigurationKey(InterfaceActive("act"), InterfaceName("Loopback0")))
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.interfaces
+
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.openconfig.openconfig.interfaces.IIDs
+import io.frinx.unitopo.unit.utils.fixture.Fixture
+import io.frinx.unitopo.unit.utils.fixture.FixtureScale
+import io.frinx.unitopo.unit.utils.fixture.XrFixtures
+import io.frinx.unitopo.unit.xr6.interfaces.handler.InterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.subifc.SubinterfaceReader
+import io.frinx.unitopo.unit.xr6.interfaces.handler.subifc.vlan.SubinterfaceVlanConfigReader
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.MockitoAnnotations
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.Interface
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.InterfaceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.Subinterfaces
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.subinterfaces.Subinterface
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.subinterfaces.top.subinterfaces.SubinterfaceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.Subinterface1
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.vlan.logical.top.Vlan
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.vlan.logical.top.vlan.Config
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.vlan.rev170714.vlan.logical.top.vlan.ConfigBuilder
+
+class XrFixturesTest {
+
+    @Mock
+    private lateinit var readContext: ReadContext
+
+    @Before
+    fun setUp() {
+        MockitoAnnotations.initMocks(this)
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+    }
+
+    @Test
+    fun testGeneratedInterfaces() {
+        val scale = FixtureScale(interfaces = 3, subinterfacesPerInterface = 2)
+        val access = Fixture(XrFixtures.interfaceConfigurations(scale), XrFixtures.interfaceProperties(scale))
+            .toAccess()
+
+        val ifcKeys = InterfaceReader(access).getAllIds(IIDs.IN_INTERFACE, readContext)
+        Assert.assertEquals((0 until 3).map { InterfaceKey(XrFixtures.interfaceName(it)) }.toSet(), ifcKeys.toSet())
+
+        val subifcId = IIDs.INTERFACES
+            .child(Interface::class.java, InterfaceKey(XrFixtures.interfaceName(1)))
+            .child(Subinterfaces::class.java)
+            .child(Subinterface::class.java)
+        Assert.assertTrue(SubinterfaceReader(access).getAllIds(subifcId, readContext)
+            .containsAll(listOf(SubinterfaceKey(1L), SubinterfaceKey(2L))))
+
+        val vlanConfigId = IIDs.INTERFACES
+            .child(Interface::class.java, InterfaceKey(XrFixtures.interfaceName(1)))
+            .child(Subinterfaces::class.java)
+            .child(Subinterface::class.java, SubinterfaceKey(2L))
+            .augmentation(Subinterface1::class.java)
+            .child(Vlan::class.java)
+            .child(Config::class.java)
+        val vlanConfig = ConfigBuilder()
+        SubinterfaceVlanConfigReader(access).readCurrentAttributes(vlanConfigId, vlanConfig, readContext)
+        Assert.assertEquals(2, vlanConfig.vlanId.vlanId.value)
+    }
+}
\ No newline at end of file
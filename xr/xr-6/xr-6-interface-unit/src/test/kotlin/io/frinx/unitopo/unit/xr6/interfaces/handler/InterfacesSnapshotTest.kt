@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr6.interfaces.handler
+
+import io.fd.honeycomb.translate.ModificationCache
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.openconfig.openconfig.interfaces.IIDs
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.NetconfAccessHelper
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito
+import org.mockito.MockitoAnnotations
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.Interfaces
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.Interface
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces.InterfaceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces._interface.State
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.interfaces.rev161222.interfaces.top.interfaces._interface.StateBuilder
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+
+class InterfacesSnapshotTest {
+
+    @Mock
+    private lateinit var readContext: ReadContext
+
+    private lateinit var underlayAccess: UnderlayAccess
+
+    companion object {
+        private val NC_HELPER = NetconfAccessHelper("/data_nodes.xml")
+    }
+
+    @Before
+    fun setUp() {
+        MockitoAnnotations.initMocks(this)
+        Mockito.`when`(readContext.modificationCache).thenReturn(ModificationCache())
+        underlayAccess = Mockito.spy(NetconfAccessHelper(NC_HELPER))
+    }
+
+    @Test
+    fun testWholeTreeReadOnce() {
+        val ifcKeys = InterfaceReader(underlayAccess).getAllIds(IIDs.IN_INTERFACE, readContext)
+        Assert.assertTrue(ifcKeys.contains(InterfaceKey("GigabitEthernet0/0/0/0")))
+
+        val stateReader = InterfaceStateReader(underlayAccess)
+        ifcKeys.forEach {
+            val id = InstanceIdentifier.create(Interfaces::class.java)
+                .child(Interface::class.java, it)
+                .child(State::class.java)
+            stateReader.readCurrentAttributes(id, StateBuilder(), readContext)
+        }
+
+        Mockito.verify(underlayAccess, Mockito.times(1))
+            .read(InterfaceReader.IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Mockito.verify(underlayAccess, Mockito.times(1))
+            .read(InterfaceReader.DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+
+    @Test
+    fun testListReaderRequestsConfig() {
+        InterfaceReader(underlayAccess).getAllIds(IIDs.IN_INTERFACE, readContext)
+
+        // issued together with the oper read, before any per-interface reader asks for it
+        Mockito.verify(underlayAccess, Mockito.times(1))
+            .read(InterfaceReader.IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+    }
+
+    @Test
+    fun testReadInterfaceCfg() {
+        val snapshot = InterfacesSnapshot.read(underlayAccess, readContext)
+        val builder = StateBuilder()
+        snapshot.readInterfaceCfg("GigabitEthernet0/0/0/0") { builder.fromUnderlay(it) }
+        snapshot.readInterfaceProps("GigabitEthernet0/0/0/0") { builder.fromUnderlayProps(it) }
+
+        Assert.assertEquals("IF_DESCRIPTION-001", builder.description)
+        Assert.assertSame(snapshot, InterfacesSnapshot.read(underlayAccess, readContext))
+    }
+
+    @Test
+    fun testConfigReadWithoutOperData() {
+        InterfacesSnapshot.read(underlayAccess, readContext).readInterfaceCfg("GigabitEthernet0/0/0/0") { }
+
+        Mockito.verify(underlayAccess, Mockito.times(1))
+            .read(InterfaceReader.IFC_CFGS, LogicalDatastoreType.CONFIGURATION)
+        Mockito.verify(underlayAccess, Mockito.never())
+            .read(InterfaceReader.DATA_NODES_ID, LogicalDatastoreType.OPERATIONAL)
+    }
+}
\ No newline at end of file
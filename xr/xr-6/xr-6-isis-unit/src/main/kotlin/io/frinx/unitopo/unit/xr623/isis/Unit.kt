@@ -23,6 +23,8 @@ import io.frinx.openconfig.openconfig.network.instance.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.TranslateUnit
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr623.isis.handler.interfaces.IsisInterfaceAfiSafiConfigReader
 import io.frinx.unitopo.unit.xr623.isis.handler.interfaces.IsisInterfaceAfiSafiReader
 import io.frinx.unitopo.unit.xr623.isis.handler.interfaces.IsisInterfaceAuthConfigReader
@@ -64,8 +66,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, access: UnderlayAccess) {
@@ -98,19 +101,19 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, access: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NE_PR_PR_IS_IN_INTERFACE, IsisInterfaceReader(access))
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_IS_IN_IN_CONFIG, IsisInterfaceConfigReader(access),
+        rRegistry.add(IIDs.NE_NE_PR_PR_IS_IN_INTERFACE, scoped(IsisInterfaceReader(access)))
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_IS_IN_IN_CONFIG, scoped(IsisInterfaceConfigReader(access)),
             setOf(RWUtils.cutIdFromStart(IIDs.NE_NE_PR_PR_IS_IN_IN_CO_AUG_ISISIFCONFAUG,
                 IIDs.NE_NE_PR_PR_IS_IN_IN_CONFIG)))
 
-        rRegistry.add(IIDs.NE_NE_PR_PR_IS_IN_IN_AU_KE_CONFIG, IsisInterfaceAuthConfigReader(access))
+        rRegistry.add(IIDs.NE_NE_PR_PR_IS_IN_IN_AU_KE_CONFIG, scoped(IsisInterfaceAuthConfigReader(access)))
 
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_IS_IN_IN_TI_CONFIG, IsisInterfaceTimersConfigReader(access),
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_IS_IN_IN_TI_CONFIG, scoped(IsisInterfaceTimersConfigReader(access)),
             setOf(RWUtils.cutIdFromStart(IIDs.NE_NE_PR_PR_IS_IN_IN_TI_CO_AUG_ISISIFTIMERSCONFAUG,
                 IIDs.NE_NE_PR_PR_IS_IN_IN_TI_CONFIG)))
 
-        rRegistry.add(IIDs.NE_NE_PR_PR_IS_IN_IN_AF_AF, IsisInterfaceAfiSafiReader(access))
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_IS_IN_IN_AF_AF_CONFIG, IsisInterfaceAfiSafiConfigReader(access),
+        rRegistry.add(IIDs.NE_NE_PR_PR_IS_IN_IN_AF_AF, scoped(IsisInterfaceAfiSafiReader(access)))
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_IS_IN_IN_AF_AF_CONFIG, scoped(IsisInterfaceAfiSafiConfigReader(access)),
             setOf(RWUtils.cutIdFromStart(IIDs.NE_NE_PR_PR_IS_IN_IN_AF_AF_CO_AUG_ISISIFAFCONFAUG,
                 IIDs.NE_NE_PR_PR_IS_IN_IN_AF_AF_CONFIG)))
     }
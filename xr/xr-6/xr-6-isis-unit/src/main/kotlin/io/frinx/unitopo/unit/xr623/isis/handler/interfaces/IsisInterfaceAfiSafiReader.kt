@@ -61,11 +61,7 @@ open class IsisInterfaceAfiSafiReader(private val access: UnderlayAccess)
 
     companion object {
         fun getInterfaceAfs(access: UnderlayAccess, protKey: ProtocolKey, interfaceKey: InterfaceKey): InterfaceAfs? {
-            return IsisInterfaceReader.getInterfaces(access, protKey)
-                ?.`interface`.orEmpty()
-                .find {
-                    it.interfaceName.value == interfaceKey.interfaceId.value
-                }
+            return IsisInterfaceReader.getInterface(access, protKey, interfaceKey.interfaceId)
                 ?.interfaceAfs
         }
 
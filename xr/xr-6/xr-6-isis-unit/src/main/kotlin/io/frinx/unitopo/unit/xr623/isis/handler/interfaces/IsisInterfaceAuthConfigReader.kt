@@ -35,9 +35,7 @@ open class IsisInterfaceAuthConfigReader(private val access: UnderlayAccess) :
         val protKey = id.firstKeyOf(Protocol::class.java)
         val ifaceId = id.firstKeyOf(Interface::class.java).interfaceId
 
-        IsisInterfaceReader.getInterfaces(access, protKey)
-                ?.`interface`.orEmpty()
-                .find { it.interfaceName.value == ifaceId.value }
+        IsisInterfaceReader.getInterface(access, protKey, ifaceId)
                 ?.let {
                     it.helloPasswords?.helloPassword.orEmpty()
                             .find { it.level == IsisInternalLevel.NotSet }
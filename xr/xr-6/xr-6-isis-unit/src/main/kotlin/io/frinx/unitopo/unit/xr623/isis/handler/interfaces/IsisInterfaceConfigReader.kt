@@ -37,9 +37,7 @@ open class IsisInterfaceConfigReader(private val access: UnderlayAccess) :
         val protKey = id.firstKeyOf(Protocol::class.java)
         val ifaceId = id.firstKeyOf(Interface::class.java).interfaceId
 
-        IsisInterfaceReader.getInterfaces(access, protKey)
-                ?.`interface`.orEmpty()
-                .find { it.interfaceName.value == ifaceId.value }
+        IsisInterfaceReader.getInterface(access, protKey, ifaceId)
                 ?.let {
                     config.interfaceId = ifaceId
                     it.isPointToPoint?.let {
@@ -19,6 +19,8 @@ package io.frinx.unitopo.unit.xr623.isis.handler.interfaces
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.InterfaceIndex
+import io.frinx.unitopo.unit.utils.SnapshotIndexer
 import io.frinx.unitopo.unit.xr623.isis.handler.IsisProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.clns.isis.cfg.rev151109.isis.instances.Instance
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.clns.isis.cfg.rev151109.isis.instances.instance.Interfaces
@@ -29,6 +31,7 @@ import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.openconfig.is
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.openconfig.isis.rev181121.isis.interfaces.InterfaceBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.openconfig.isis.rev181121.isis.interfaces.InterfaceKey
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.clns.isis.cfg.rev151109.isis.instances.instance.interfaces.Interface as UnderlayInterface
 
 open class IsisInterfaceReader(private val access: UnderlayAccess) :
     ConfigListReaderCustomizer<Interface, InterfaceKey, InterfaceBuilder> {
@@ -65,5 +68,13 @@ open class IsisInterfaceReader(private val access: UnderlayAccess) :
         fun getInterfaces(access: UnderlayAccess, protKey: ProtocolKey): Interfaces? {
             return getInstances(access, protKey)?.interfaces
         }
+
+        private val INTERFACE_INDEXER = SnapshotIndexer<Interfaces, InterfaceIndex<UnderlayInterface>> {
+            InterfaceIndex(it.`interface`.orEmpty()) { it.interfaceName.value }
+        }
+
+        fun getInterface(access: UnderlayAccess, protKey: ProtocolKey, ifaceId: InterfaceId): UnderlayInterface? {
+            return getInterfaces(access, protKey)?.let { INTERFACE_INDEXER.indexOf(it)[ifaceId.value] }
+        }
     }
 }
\ No newline at end of file
@@ -23,10 +23,12 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.lldp.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.OperationalDataCache
 import io.frinx.unitopo.unit.xr6.init.Unit
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.lldp.rev160516.lldp._interface.top.InterfacesBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.lldp.rev160516.lldp.neighbor.top.NeighborsBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.lldp.rev160516.lldp.top.LldpBuilder
+import java.util.concurrent.TimeUnit
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ethernet.lldp.cfg.rev151109.`$YangModuleInfoImpl` as UnderlayLldpCfgYangInfo
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ethernet.lldp.oper.rev151109.`$YangModuleInfoImpl` as UnderlayLldpOperYangInfo
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.lldp.rev160516.`$YangModuleInfoImpl` as LldpYangInfo
@@ -55,8 +57,11 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        // LLDP neighbor readers of all interfaces walk the same oper subtree, kept so a walk costs one device read
+        val cached = OperationalDataCache.shared(underlayAccess)
+            .expireAfter(InterfaceReader.LLDP_OPER.targetType, NEIGHBORS_TTL_SECONDS, TimeUnit.SECONDS)
+        provideReaders(rRegistry, cached)
+        provideWriters(wRegistry, cached)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlayAccess: UnderlayAccess) {
@@ -73,4 +78,8 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     }
 
     override fun toString(): String = "XR 6 (2015-11-09) LLDP translate unit"
+
+    companion object {
+        private const val NEIGHBORS_TTL_SECONDS = 30L
+    }
 }
\ No newline at end of file
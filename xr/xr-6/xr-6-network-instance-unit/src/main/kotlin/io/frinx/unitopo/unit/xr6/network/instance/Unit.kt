@@ -27,6 +27,8 @@ import io.frinx.unitopo.ni.base.handler.vrf.protocol.ProtocolStateReader
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.TranslateUnit
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr6.network.instance.handler.ConnectionPointsReader
 import io.frinx.unitopo.unit.xr6.network.instance.handler.ConnectionPointsWriter
 import io.frinx.unitopo.unit.xr6.network.instance.handler.NetworkInstanceConfigReader
@@ -78,8 +80,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     ) {
         rRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
         wRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlay: UnderlayAccess) {
@@ -132,30 +135,30 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlay: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NETWORKINSTANCE, NetworkInstanceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_CONFIG, NetworkInstanceConfigReader(underlay))
-        rRegistry.add(IIDs.NE_NE_STATE, NetworkInstanceStateReader(underlay))
+        rRegistry.add(IIDs.NE_NETWORKINSTANCE, scoped(NetworkInstanceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_CONFIG, scoped(NetworkInstanceConfigReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_STATE, scoped(NetworkInstanceStateReader(underlay)))
 
-        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, VrfInterfaceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, VrfInterfaceConfigReader())
+        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, scoped(VrfInterfaceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, scoped(VrfInterfaceConfigReader()))
 
-        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, ProtocolConfigReader())
-        rRegistry.add(IIDs.NE_NE_PR_PR_STATE, ProtocolStateReader())
-        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, ProtocolReader(underlay))
+        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, scoped(ProtocolConfigReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PR_STATE, scoped(ProtocolStateReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, scoped(ProtocolReader(underlay)))
 
         // Local aggregates
-        rRegistry.add(IIDs.NE_NE_PR_PR_LO_AGGREGATE, LocalAggregateReader(underlay))
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_LO_AG_CONFIG, LocalAggregateConfigReader(underlay),
+        rRegistry.add(IIDs.NE_NE_PR_PR_LO_AGGREGATE, scoped(LocalAggregateReader(underlay)))
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_LO_AG_CONFIG, scoped(LocalAggregateConfigReader(underlay)),
             setOf(RWUtils.cutIdFromStart(
                 IIDs.NE_NE_PR_PR_LO_AG_CO_AUG_NIPROTAGGAUG, IIDs.NE_NE_PR_PR_LO_AG_CONFIG)))
 
         // Table connections for VRF
-        rRegistry.subtreeAdd(IIDs.NE_NE_TA_TABLECONNECTION, TableConnectionReader(underlay),
+        rRegistry.subtreeAdd(IIDs.NE_NE_TA_TABLECONNECTION, scoped(TableConnectionReader(underlay)),
             setOf(RWUtils.cutIdFromStart<TableConnection>(IIDs.NE_NE_TA_TA_CONFIG,
                 InstanceIdentifier.create(TableConnection::class.java))))
 
         // Connection points for L2P2p
-        rRegistry.subtreeAdd(IIDs.NE_NE_CONNECTIONPOINTS, ConnectionPointsReader(underlay),
+        rRegistry.subtreeAdd(IIDs.NE_NE_CONNECTIONPOINTS, scoped(ConnectionPointsReader(underlay)),
             setOf(
                 RWUtils.cutIdFromStart(IIDs.NE_NE_CO_CONNECTIONPOINT, CONN_PTS_ID),
                 RWUtils.cutIdFromStart(IIDs.NE_NE_CO_CO_CONFIG, CONN_PTS_ID),
@@ -27,6 +27,8 @@ import io.frinx.unitopo.ni.base.handler.vrf.protocol.ProtocolStateReader
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.TranslateUnit
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr623.network.instance.handler.NetworkInstanceConfigReader
 import io.frinx.unitopo.unit.xr623.network.instance.handler.NetworkInstanceReader
 import io.frinx.unitopo.unit.xr623.network.instance.handler.pf.PolicyForwardingInterfaceConfigReader
@@ -82,8 +84,9 @@ open class Unit(private val registry: TranslationUnitCollector) : TranslateUnit
     ) {
         rRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
         wRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlay: UnderlayAccess) {
@@ -105,17 +108,17 @@ open class Unit(private val registry: TranslationUnitCollector) : TranslateUnit
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlay: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NETWORKINSTANCE, NetworkInstanceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_CONFIG, NetworkInstanceConfigReader())
-        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, ProtocolReader(underlay))
-        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, ProtocolConfigReader())
-        rRegistry.add(IIDs.NE_NE_PR_PR_STATE, ProtocolStateReader())
-        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, VrfInterfaceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, VrfInterfaceConfigReader())
+        rRegistry.add(IIDs.NE_NETWORKINSTANCE, scoped(NetworkInstanceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_CONFIG, scoped(NetworkInstanceConfigReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, scoped(ProtocolReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_CONFIG, scoped(ProtocolConfigReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PR_STATE, scoped(ProtocolStateReader()))
+        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, scoped(VrfInterfaceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, scoped(VrfInterfaceConfigReader()))
 
         // PF
-        rRegistry.add(IIDs.NE_NE_PO_IN_INTERFACE, PolicyForwardingInterfaceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_PO_IN_IN_CONFIG, PolicyForwardingInterfaceConfigReader(underlay))
+        rRegistry.add(IIDs.NE_NE_PO_IN_INTERFACE, scoped(PolicyForwardingInterfaceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_PO_IN_IN_CONFIG, scoped(PolicyForwardingInterfaceConfigReader(underlay)))
     }
 
     override fun toString(): String = "XR 6 (2016-12-19) network-instance translate unit"
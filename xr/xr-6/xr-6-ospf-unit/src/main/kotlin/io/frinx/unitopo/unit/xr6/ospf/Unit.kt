@@ -21,6 +21,8 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.network.instance.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr6.init.Unit
 import io.frinx.unitopo.unit.xr6.ospf.handler.AreaConfigReader
 import io.frinx.unitopo.unit.xr6.ospf.handler.AreaConfigWriter
@@ -63,8 +65,9 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, access: UnderlayAccess) {
@@ -91,13 +94,13 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, access: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_GL_CONFIG, GlobalConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_GL_STATE, GlobalStateReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AREA, OspfAreaReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_CONFIG, AreaConfigReader())
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_STATE, AreaStateReader())
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_INTERFACE, AreaInterfaceReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_IN_CONFIG, AreaInterfaceConfigReader(access))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_GL_CONFIG, scoped(GlobalConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_GL_STATE, scoped(GlobalStateReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AREA, scoped(OspfAreaReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_CONFIG, scoped(AreaConfigReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_STATE, scoped(AreaStateReader()))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_INTERFACE, scoped(AreaInterfaceReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_OS_AR_AR_IN_IN_CONFIG, scoped(AreaInterfaceConfigReader(access)))
     }
 
     override fun toString(): String = "XR 6 (2015-07-30) OSPF translate unit"
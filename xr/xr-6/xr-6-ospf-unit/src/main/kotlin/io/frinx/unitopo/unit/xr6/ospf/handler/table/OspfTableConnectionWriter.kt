@@ -16,13 +16,13 @@
 
 package io.frinx.unitopo.unit.xr6.ospf.handler.table
 
-import io.fd.honeycomb.translate.util.RWUtils
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.network.instance.NetworInstance
-import io.frinx.openconfig.openconfig.network.instance.IIDs
 import io.frinx.translate.unit.commons.handler.spi.CompositeWriter
+import io.frinx.unitopo.ni.base.NetworkInstanceView
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.utils.IidTemplate
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.ospf.cfg.rev151109.Ospf
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.ospf.cfg.rev151109.OspfRedistLsa
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.ospf.cfg.rev151109.OspfRedistProtocol
@@ -45,8 +45,6 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.osp
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev150629.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.Protocols
-import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.ProtocolsBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.table.connections.table.connection.Config
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.openconfig.types.rev170113.IPV4
@@ -75,15 +73,11 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
     ): Boolean {
         var wasDeleting = false
         if (config.dstProtocol == OSPF::class.java) {
-            val allProtocols = writeContext.readBefore(RWUtils.cutId(instanceIdentifier, IIDs.NE_NETWORKINSTANCE)
-                .child(Protocols::class.java))
-                    .or(ProtocolsBuilder().setProtocol(emptyList()).build())
-                    .protocol.orEmpty()
+            val networkInstance = NetworkInstanceView.before(instanceIdentifier, writeContext)
 
-            allProtocols
-                    .filter { it.identifier == OSPF::class.java }
+            networkInstance.protocols(OSPF::class.java)
                     .forEach {
-                        writeCurrentAttributesForOspf(instanceIdentifier, config, it, allProtocols, false)
+                        writeCurrentAttributesForOspf(instanceIdentifier, config, it, networkInstance, false)
                         wasDeleting = true
                     }
         }
@@ -97,15 +91,11 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
     ): Boolean {
         var wasWriting = false
         if (config.dstProtocol == OSPF::class.java) {
-            val allProtocols = writeContext.readAfter(RWUtils.cutId(instanceIdentifier, IIDs.NE_NETWORKINSTANCE)
-                .child(Protocols::class.java))
-                    .or(ProtocolsBuilder().setProtocol(emptyList()).build())
-                    .protocol.orEmpty()
+            val networkInstance = NetworkInstanceView.after(instanceIdentifier, writeContext)
 
-            allProtocols
-                    .filter { it.identifier == OSPF::class.java }
+            networkInstance.protocols(OSPF::class.java)
                     .forEach {
-                        writeCurrentAttributesForOspf(instanceIdentifier, config, it, allProtocols, true)
+                        writeCurrentAttributesForOspf(instanceIdentifier, config, it, networkInstance, true)
                         wasWriting = true
                     }
         }
@@ -116,13 +106,12 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
         id: InstanceIdentifier<Config>,
         config: Config,
         dstProtocol: Protocol,
-        protocols: List<Protocol>,
+        networkInstance: NetworkInstanceView,
         add: Boolean
     ) {
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
 
-        val srcProtocols = protocols
-                .filter { p -> p.identifier == config.srcProtocol }
+        val srcProtocols = networkInstance.protocols(config.srcProtocol)
 
         require(!srcProtocols.isEmpty(),
                 { "No protocols: ${config.srcProtocol} configured in current network" })
@@ -141,8 +130,9 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
                 access.merge(globalId, globalData)
             } else {
                 if (it.identifier == BGP::class.java && it.bgp?.global?.config?.`as` != null) {
-                    val (asXX, asYY) = As.asToDotNotation(it.bgp.global.config.`as`)
-                    access.delete(globalId.child(Bgp::class.java, BgpKey(asXX, asYY, CiscoIosXrString("bgp"))))
+                    val bgpAs = it.bgp.global.config.`as`
+                    access.delete(globalId.child(Bgp::class.java,
+                        BgpKey(As.asXx(bgpAs), As.asYy(bgpAs), CiscoIosXrString("bgp"))))
                 } else {
                     access.delete(globalId)
                 }
@@ -152,6 +142,27 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
 
     companion object {
 
+        private val PROCESSES = InstanceIdentifier.create(Ospf::class.java).child(Processes::class.java)
+
+        private val GLOBAL_REDISTRIBUTE = IidTemplate<Processes, Redistribute, Pair<String, OspfRedistProtocol>>(
+            PROCESSES) { prefix, (processName, srcProtocol) ->
+            prefix.child(Process::class.java, ProcessKey(CiscoIosXrString(processName)))
+                    .child(DefaultVrf::class.java)
+                    .child(Redistribution::class.java)
+                    .child(Redistributes::class.java)
+                    .child(Redistribute::class.java, RedistributeKey(srcProtocol))
+        }
+
+        private val VRF_REDISTRIBUTE = IidTemplate<Processes, Redistribute, Triple<String, String, OspfRedistProtocol>>(
+            PROCESSES) { prefix, (processName, vrfName, srcProtocol) ->
+            prefix.child(Process::class.java, ProcessKey(CiscoIosXrString(processName)))
+                    .child(Vrfs::class.java)
+                    .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfName)))
+                    .child(Redistribution::class.java)
+                    .child(Redistributes::class.java)
+                    .child(Redistribute::class.java, RedistributeKey(srcProtocol))
+        }
+
         private fun getId(
             config: Config,
             dstProtocol: Protocol,
@@ -172,13 +183,7 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
             requireNotNull(srcProtocol,
                     { "Unsupported source protocol type: ${config.srcProtocol}" })
 
-            return InstanceIdentifier.create(Ospf::class.java)
-                    .child(Processes::class.java)
-                    .child(Process::class.java, ProcessKey(CiscoIosXrString(dstProtocol.name)))
-                    .child(DefaultVrf::class.java)
-                    .child(Redistribution::class.java)
-                    .child(Redistributes::class.java)
-                    .child(Redistribute::class.java, RedistributeKey(srcProtocol))
+            return GLOBAL_REDISTRIBUTE.get(dstProtocol.name to srcProtocol!!)
         }
 
         private fun getVrfId(
@@ -193,14 +198,7 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
             requireNotNull(srcProtocol,
                     { "Unsupported source protocol type: ${config.srcProtocol}" })
 
-            return InstanceIdentifier.create(Ospf::class.java)
-                    .child(Processes::class.java)
-                    .child(Process::class.java, ProcessKey(CiscoIosXrString(dstProtocol.name)))
-                    .child(Vrfs::class.java)
-                    .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfKey.name)))
-                    .child(Redistribution::class.java)
-                    .child(Redistributes::class.java)
-                    .child(Redistribute::class.java, RedistributeKey(srcProtocol))
+            return VRF_REDISTRIBUTE.get(Triple(dstProtocol.name, vrfKey.name, srcProtocol!!))
         }
 
         private fun getData(srcProto: Protocol, importPolicy: List<String>): Redistribute? {
@@ -217,8 +215,8 @@ class OspfTableConnectionWriter(private val access: UnderlayAccess) : CompositeW
                         .setProtocolName(srcProtocolType)
                         .setBgp(listOf(BgpBuilder()
                                 .setInstanceName(CiscoIosXrString("bgp"))
-                                .setAsXx(As.asToDotNotation(srcProto.bgp.global.config.`as`).first)
-                                .setAsYy(As.asToDotNotation(srcProto.bgp.global.config.`as`).second)
+                                .setAsXx(As.asXx(srcProto.bgp.global.config.`as`))
+                                .setAsYy(As.asYy(srcProto.bgp.global.config.`as`))
                                 .setClassful(false)
                                 .setOspfRedistLsaType(OspfRedistLsa.External)
                                 .setRoutePolicyName(importPolicy.firstOrNull())
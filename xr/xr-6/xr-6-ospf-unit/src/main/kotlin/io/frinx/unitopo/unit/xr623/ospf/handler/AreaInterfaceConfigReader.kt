@@ -47,14 +47,12 @@ open class AreaInterfaceConfigReader(private val access: UnderlayAccess) :
         val ifaceId = id.firstKeyOf(Interface::class.java).id
 
         val areas = OspfAreaReader.getAreas(access, protKey, vrfKey.name)
-        AreaInterfaceReader.findAreaNameScopes(areas, areaKey)
-                ?.nameScope.orEmpty()
-                .find { it.interfaceName.value == ifaceId }
-                ?.let {
-                    config.id = ifaceId
-                    it.cost?.let {
-                        config.metric = OspfMetric(it.toInt())
-                    }
-                }
+        val nameScopes = AreaInterfaceReader.findAreaNameScopes(areas, areaKey)
+        AreaInterfaceReader.findNameScope(nameScopes, ifaceId)?.let {
+            config.id = ifaceId
+            it.cost?.let {
+                config.metric = OspfMetric(it.toInt())
+            }
+        }
     }
 }
\ No newline at end of file
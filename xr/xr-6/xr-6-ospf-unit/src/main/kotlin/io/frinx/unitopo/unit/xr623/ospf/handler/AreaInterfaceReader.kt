@@ -20,8 +20,11 @@ import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.read.ReadFailedException
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.InterfaceIndex
+import io.frinx.unitopo.unit.utils.SnapshotIndexer
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.ospf.cfg.rev170102.area.table.AreaAddresses
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.ospf.cfg.rev170102.area.table.area.addresses.area.content.NameScopes
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.ospf.cfg.rev170102.area.table.area.addresses.area.content.name.scopes.NameScope
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstance
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.Protocol
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.ospfv2.rev170228.ospfv2.area.interfaces.structure.InterfacesBuilder
@@ -80,5 +83,12 @@ open class AreaInterfaceReader(private val access: UnderlayAccess)
                         ?.nameScopes
             }
         }
+
+        private val NAME_SCOPE_INDEXER = SnapshotIndexer<NameScopes, InterfaceIndex<NameScope>> {
+            InterfaceIndex(it.nameScope.orEmpty()) { it.interfaceName.value }
+        }
+
+        fun findNameScope(nameScopes: NameScopes?, ifcName: String): NameScope? =
+            nameScopes?.let { NAME_SCOPE_INDEXER.indexOf(it)[ifcName] }
     }
 }
\ No newline at end of file
@@ -23,11 +23,13 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.platform.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.OperationalDataCache
 import io.frinx.unitopo.unit.xr6.init.Unit
 import io.frinx.unitopo.unit.xr6.platform.handler.ComponentConfigReader
 import io.frinx.unitopo.unit.xr6.platform.handler.ComponentReader
 import io.frinx.unitopo.unit.xr6.platform.handler.ComponentStateReader
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.platform.rev161222.platform.component.top.ComponentsBuilder
+import java.util.concurrent.TimeUnit
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.asr9k.sc.invmgr.admin.oper.rev151109.`$YangModuleInfoImpl` as UnderlayInventoryModule
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.platform.rev161222.`$YangModuleInfoImpl` as OpenconfigPlatformModule
 
@@ -57,8 +59,11 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         access: UnderlayAccess
     ) {
-        provideReaders(rRegistry, access)
-        provideWriters(wRegistry, access)
+        // inventory changes only with hardware, the whole racks subtree is expensive to read
+        val cached = OperationalDataCache.shared(access)
+            .expireAfter(ComponentReader.RACKS_ID.targetType, INVENTORY_TTL_HOURS, TimeUnit.HOURS)
+        provideReaders(rRegistry, cached)
+        provideWriters(wRegistry, cached)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, access: UnderlayAccess) {
@@ -73,4 +78,8 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     }
 
     override fun toString() = "XR 6 platform translate unit"
+
+    companion object {
+        private const val INVENTORY_TTL_HOURS = 1L
+    }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package io.frinx.unitopo.unit.xr6.platform.handler
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.OperListReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.asr9k.sc.invmgr.admin.oper.rev151109.Inventory
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.asr9k.sc.invmgr.admin.oper.rev151109.inventory.Racks
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.platform.rev161222.platform.component.top.ComponentsBuilder
@@ -37,7 +38,7 @@ class ComponentReader(private val access: UnderlayAccess)
         readContext: ReadContext
     ): List<ComponentKey> {
 
-        return access.read(RACKS_ID).checkedGet().orNull()
+        return access.read(RACKS_ID, LogicalDatastoreType.OPERATIONAL).checkedGet().orNull()
                 // TODO we should be able to read all nodes from XR inventory
                 // (all the Racks, Slots, Cards, Fans etc.) not just line cards
                 ?.let { parseLineCardComponentIds(it) }
@@ -63,7 +64,7 @@ class ComponentReader(private val access: UnderlayAccess)
 
     companion object {
 
-        private val RACKS_ID = InstanceIdentifier.create(Inventory::class.java).child(Racks::class.java)
+        val RACKS_ID = InstanceIdentifier.create(Inventory::class.java).child(Racks::class.java)
 
         // TODO Make this regexp more robust, so we can match various line cards
         private val LINE_CARD_PATTERN = Pattern.compile(".*Line Card.*")
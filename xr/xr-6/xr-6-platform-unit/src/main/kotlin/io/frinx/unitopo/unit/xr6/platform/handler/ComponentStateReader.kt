@@ -18,7 +18,7 @@ package io.frinx.unitopo.unit.xr6.platform.handler
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.OperReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.asr9k.sc.invmgr.admin.oper.rev151109.Inventory
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.asr9k.sc.invmgr.admin.oper.rev151109.basic.attributes.basic.attributes.BasicInfo
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.asr9k.sc.invmgr.admin.oper.rev151109.inventory.Racks
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.platform.rev161222.PlatformComponentState
@@ -41,7 +41,7 @@ class ComponentStateReader(private val access: UnderlayAccess) : OperReaderCusto
         ctx: ReadContext
     ) {
 
-        access.read(RACKS_ID).checkedGet().orNull()
+        access.read(ComponentReader.RACKS_ID, LogicalDatastoreType.OPERATIONAL).checkedGet().orNull()
                 ?.let {
                     getBasicInfoForComponent(id, it)
                 }
@@ -70,10 +70,6 @@ class ComponentStateReader(private val access: UnderlayAccess) : OperReaderCusto
 
     companion object {
 
-        // TODO RACKS_ID InstanceIdentifier is defined also in ComponentReader class.
-        // We should move it to some more appropriate place, so it can be reused.
-        private val RACKS_ID = InstanceIdentifier.create(Inventory::class.java).child(Racks::class.java)
-
         private fun getBasicInfoForComponent(id: InstanceIdentifier<State>, racks: Racks): BasicInfo? {
             // TODO The component's name from XR's inventory model is not the best key for
             // Component. Maybe we should try to encode the real key from the inventory model
@@ -20,6 +20,7 @@ import io.fd.honeycomb.translate.spi.write.WriterCustomizer
 import io.fd.honeycomb.translate.write.WriteContext
 import io.frinx.openconfig.openconfig.network.instance.IIDs
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.IidTemplate
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.infra.rsi.cfg.rev150730.VrfAddressFamily
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.infra.rsi.cfg.rev150730.VrfSubAddressFamily
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.infra.rsi.cfg.rev150730.Vrfs
@@ -202,15 +203,15 @@ class ExtCommunitySetConfigWriter(private val underlayAccess: UnderlayAccess) :
         val EXPORT_TARGET_PATTERN = Pattern.compile("(?<vrf>.+)-route-target-export-set")
         val ROUTE_TARGET = Pattern.compile("(?<as>.+):(?<asIndex>.+)")
 
-        public fun getBgpIid(vrfName: String): IID<Bgp> {
-
-            return IID.create(Vrfs::class.java)
-                    .child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfName)))
+        private val VRF_BGP = IidTemplate<Vrfs, Bgp, String>(IID.create(Vrfs::class.java)) { prefix, vrfName ->
+            prefix.child(Vrf::class.java, VrfKey(CiscoIosXrString(vrfName)))
                     .child(Afs::class.java)
                     .child(Af::class.java, AfKey(VrfAddressFamily.Ipv4, VrfSubAddressFamily.Unicast,
                         CiscoIosXrString("default")))
                     .augmentation(Af1::class.java)
                     .child(Bgp::class.java)
         }
+
+        public fun getBgpIid(vrfName: String): IID<Bgp> = VRF_BGP.get(vrfName)
     }
 }
\ No newline at end of file
@@ -23,6 +23,8 @@ import io.fd.honeycomb.translate.util.RWUtils
 import io.frinx.openconfig.openconfig.network.instance.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr7.bgp.handler.GlobalAfiSafiConfigReader
 import io.frinx.unitopo.unit.xr7.bgp.handler.GlobalAfiSafiConfigWriter
 import io.frinx.unitopo.unit.xr7.bgp.handler.GlobalAfiSafiReader
@@ -80,8 +82,9 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, access: UnderlayAccess) {
@@ -121,24 +124,25 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, access: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_CONFIG, GlobalConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AFISAFI, GlobalAfiSafiReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AF_CONFIG, GlobalAfiSafiConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR, NeighborReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG, NeighborConfigReader(access))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_CONFIG, NeighborAfiSafiConfigReader(access))
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AFISAFI, NeighborAfiSafiReader(access),
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_CONFIG, scoped(GlobalConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AFISAFI, scoped(GlobalAfiSafiReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_GL_AF_AF_CONFIG, scoped(GlobalAfiSafiConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NEIGHBOR, scoped(NeighborReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_CONFIG, scoped(NeighborConfigReader(access)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AF_CONFIG, scoped(NeighborAfiSafiConfigReader(access)))
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_BG_NE_NE_AF_AFISAFI, scoped(NeighborAfiSafiReader(access)),
             setOf(IID_AFISAFI_CONFIG))
-        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_TR_CONFIG, NeighborTransportConfigReader(access))
+        rRegistry.add(IIDs.NE_NE_PR_PR_BG_NE_NE_TR_CONFIG, scoped(NeighborTransportConfigReader(access)))
 
         // peer-group
-        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PEERGROUP, PeerGroupListReader(access),
+        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PEERGROUP, scoped(PeerGroupListReader(access)),
             setOf(IIDs.NE_NE_PR_PR_BG_PE_PE_CONFIG),
             IIDs.NE_NE_PR_PR_BG_GL_CONFIG)
-        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AFISAFI, PeerGroupAfiSafiListReader(access),
+        rRegistry.subtreeAddAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AFISAFI, scoped(PeerGroupAfiSafiListReader(access)),
             setOf(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_CONFIG),
             IIDs.NE_NE_PR_PR_BG_PE_PE_CONFIG)
-        rRegistry.addAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_AP_CONFIG, PeerGroupAfiSafiApplyPolicyConfigReader(access),
+        rRegistry.addAfter(IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_AP_CONFIG,
+            scoped(PeerGroupAfiSafiApplyPolicyConfigReader(access)),
             IIDs.NE_NE_PR_PR_BG_PE_PE_AF_AF_CONFIG)
     }
 
@@ -151,6 +155,13 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     override fun toString() = "Translate unit for Cisco-IOS-XR-ipv4-bgp-cfg@2019-04-05"
 }
 
+/**
+ * Interned BgpAsRange halves of AS numbers in dot notation.
+ */
+val BGP_AS_RANGES = io.frinx.unitopo.unit.utils.As.Ranges {
+    org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.datatypes.rev190405.BgpAsRange(it)
+}
+
 typealias IID<T> = org.opendaylight.yangtools.yang.binding.InstanceIdentifier<T>
 
 typealias UnderlayDefaultVrfGlobal = org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang
@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr7.bgp.handler.neighbor
+
+import io.fd.honeycomb.translate.read.ReadContext
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.As
+import io.frinx.unitopo.unit.xr7.bgp.UnderlayNeighbor
+import io.frinx.unitopo.unit.xr7.bgp.UnderlayNeighborGroup
+import io.frinx.unitopo.unit.xr7.bgp.handler.BgpProtocolReader
+import io.frinx.unitopo.unit.xr7.bgp.handler.toOpenconfig
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.Instance
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.InstanceKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.neighbors.VrfNeighbor
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.remote.`as`.RemoteAs
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev190405.CiscoIosXrString
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafiKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.afi.safi.list.AfiSafiKey as PeerGroupAfiSafiKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.peer.group.list.PeerGroupKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.AFISAFITYPE
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.NetworkInstanceKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.network.instance.rev170228.network.instance.top.network.instances.network.instance.protocols.ProtocolKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddressNoZone
+
+/**
+ * Lookup tables over the neighbors of one underlay BGP instance.
+ *
+ * Neighbors are indexed by VRF and address, their address families by AFI-SAFI and peer groups by name, so that
+ * per-neighbor readers do not scan the whole instance for each neighbor. Tables are built on first use. The index is
+ * read once per read transaction with [read] and shared by all neighbor readers.
+ *
+ * Peer group membership is resolved into [effectiveNeighbor], the configuration a neighbor inherits from its
+ * peer group is served from there without walking the peer groups again.
+ */
+class BgpNeighborIndex(instance: Instance?) {
+
+    private val fourByteAs = BgpProtocolReader.getFirst4ByteAs(instance)
+
+    private val neighbors: Map<String, UnderlayNeighbor> by lazy {
+        NeighborReader.getNeighbors(fourByteAs).associateBy { it.neighborAddress.toKey() }
+    }
+
+    private val vrfNeighbors: Map<String, Map<String, VrfNeighbor>> by lazy {
+        fourByteAs?.vrfs?.vrf.orEmpty().associate {
+            it.vrfName.value to it.vrfNeighbors?.vrfNeighbor.orEmpty().associateBy { it.neighborAddress.toKey() }
+        }
+    }
+
+    private val neighborAfs by lazy {
+        neighbors.mapValues { it.value.neighborAfs?.neighborAf.orEmpty().associateBy { it.afName.toOpenconfig() } }
+    }
+
+    private val vrfNeighborAfs by lazy {
+        vrfNeighbors.mapValues {
+            it.value.mapValues {
+                it.value.vrfNeighborAfs?.vrfNeighborAf.orEmpty().associateBy { it.afName.toOpenconfig() }
+            }
+        }
+    }
+
+    private val peerGroups: Map<String, UnderlayNeighborGroup> by lazy {
+        fourByteAs?.defaultVrf?.bgpEntity?.neighborGroups?.neighborGroup.orEmpty()
+            .filter { it.neighborGroupName != null }
+            .associateBy { it.neighborGroupName.value }
+    }
+
+    private val peerGroupAfs by lazy {
+        peerGroups.mapValues {
+            it.value.neighborGroupAfs?.neighborGroupAf.orEmpty().associateBy { it.afName.toOpenconfig() }
+        }
+    }
+
+    private val effectiveNeighbors: Map<String, Map<String, EffectiveNeighbor>> by lazy {
+        val defaultVrf = neighbors.mapValues {
+            val afs = it.value.neighborAfs?.neighborAf.orEmpty()
+                .associate { it.afName.toOpenconfig() to EffectiveNeighborAf(it.routePolicyIn, it.routePolicyOut) }
+            effectiveNeighbor(it.value.neighborGroupAddMember, it.value.remoteAs?.toAsNumber(), afs)
+        }
+        vrfNeighbors.mapValues {
+            it.value.mapValues {
+                val afs = it.value.vrfNeighborAfs?.vrfNeighborAf.orEmpty()
+                    .associate { it.afName.toOpenconfig() to EffectiveNeighborAf(it.routePolicyIn, it.routePolicyOut) }
+                effectiveNeighbor(it.value.neighborGroupAddMember, it.value.remoteAs?.toAsNumber(), afs)
+            }
+        } + (NetworInstance.DEFAULT_NETWORK_NAME to defaultVrf)
+    }
+
+    fun neighborKeys(vrfKey: NetworkInstanceKey): List<NeighborKey> {
+        val addresses = if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
+            neighbors.values.map { it.neighborAddress }
+        } else {
+            vrfNeighbors[vrfKey.name]?.values.orEmpty().map { it.neighborAddress }
+        }
+        return addresses.mapNotNull { it.toIp() }.map { NeighborKey(it) }
+    }
+
+    fun neighbor(neighborKey: NeighborKey) = neighbors[neighborKey.toKey()]
+
+    fun vrfNeighbor(vrfKey: NetworkInstanceKey, neighborKey: NeighborKey) =
+        vrfNeighbors[vrfKey.name]?.get(neighborKey.toKey())
+
+    fun neighborAf(neighborKey: NeighborKey, afKey: AfiSafiKey) =
+        neighborAfs[neighborKey.toKey()]?.get(afKey.afiSafiName)
+
+    fun vrfNeighborAf(vrfKey: NetworkInstanceKey, neighborKey: NeighborKey, afKey: AfiSafiKey) =
+        vrfNeighborAfs[vrfKey.name]?.get(neighborKey.toKey())?.get(afKey.afiSafiName)
+
+    /**
+     * Keys of the address families the neighbor is configured with, in underlay order.
+     */
+    fun afiSafiKeys(vrfKey: NetworkInstanceKey, neighborKey: NeighborKey): List<AfiSafiKey> {
+        val afs = if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
+            neighborAfs[neighborKey.toKey()]?.keys
+        } else {
+            vrfNeighborAfs[vrfKey.name]?.get(neighborKey.toKey())?.keys
+        }
+        return afs.orEmpty().filterNotNull().map { AfiSafiKey(it) }
+    }
+
+    fun peerGroup(name: String) = peerGroups[name]
+
+    fun peerGroupKeys() = peerGroups.keys.map { PeerGroupKey(it) }
+
+    fun peerGroupAf(name: String, afKey: PeerGroupAfiSafiKey) = peerGroupAfs[name]?.get(afKey.afiSafiName)
+
+    /**
+     * Keys of the address families the peer group is configured with, in underlay order.
+     */
+    fun peerGroupAfiSafiKeys(name: String): List<PeerGroupAfiSafiKey> =
+        peerGroupAfs[name]?.keys.orEmpty().filterNotNull().map { PeerGroupAfiSafiKey(it) }
+
+    /**
+     * Configuration of a neighbor as applied by the device, with the remote AS and address family policies the
+     * neighbor does not set itself inherited from its peer group. Resolved for all neighbors at once, on first use.
+     */
+    fun effectiveNeighbor(vrfKey: NetworkInstanceKey, neighborKey: NeighborKey) =
+        effectiveNeighbors[vrfKey.name]?.get(neighborKey.toKey())
+
+    private fun effectiveNeighbor(
+        peerGroupName: String?,
+        peerAs: AsNumber?,
+        afs: Map<Class<out AFISAFITYPE>?, EffectiveNeighborAf>
+    ): EffectiveNeighbor {
+        val peerGroup = peerGroupName?.let { peerGroups[it] }
+        val groupAfs = peerGroupName?.let { peerGroupAfs[it] }.orEmpty()
+        val effectiveAfs = (afs.keys + groupAfs.keys).filterNotNull().associate {
+            val own = afs[it]
+            val inherited = groupAfs[it]
+            it to EffectiveNeighborAf(own?.importPolicy ?: inherited?.routePolicyIn,
+                own?.exportPolicy ?: inherited?.routePolicyOut)
+        }
+        return EffectiveNeighbor(peerGroupName, peerAs ?: peerGroup?.remoteAs?.toAsNumber(), effectiveAfs)
+    }
+
+    companion object {
+
+        /**
+         * Index of BGP instance [protKey], read from the device once per read transaction.
+         */
+        fun read(access: UnderlayAccess, readContext: ReadContext, protKey: ProtocolKey): BgpNeighborIndex {
+            val cacheKey = CacheKey(protKey.name, access.currentOperationType)
+            (readContext.modificationCache?.get(cacheKey) as BgpNeighborIndex?)?.let { return it }
+
+            val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
+                InstanceKey(CiscoIosXrString(protKey.name))))
+                .checkedGet()
+                .orNull()
+            return BgpNeighborIndex(data).also { readContext.modificationCache?.put(cacheKey, it) }
+        }
+
+        private fun IpAddressNoZone.toKey() = String(value)
+
+        private fun RemoteAs.toAsNumber() = asYy?.let { As.asFromDotNotation(asXx?.value, it.value) }
+
+        private fun NeighborKey.toKey() = String(neighborAddress.value)
+
+        private data class CacheKey(val instanceName: String, val type: LogicalDatastoreType?)
+    }
+}
+
+/**
+ * Neighbor configuration with values inherited from its peer group resolved, see [BgpNeighborIndex.effectiveNeighbor].
+ */
+data class EffectiveNeighbor(
+    val peerGroup: String?,
+    val peerAs: AsNumber?,
+    val afiSafis: Map<Class<out AFISAFITYPE>, EffectiveNeighborAf>
+)
+
+data class EffectiveNeighborAf(val importPolicy: String?, val exportPolicy: String?)
\ No newline at end of file
@@ -18,13 +18,8 @@ package io.frinx.unitopo.unit.xr7.bgp.handler.neighbor
 
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
-import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
-import io.frinx.unitopo.unit.xr7.bgp.handler.BgpProtocolReader
-import io.frinx.unitopo.unit.xr7.bgp.handler.toOpenconfig
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.InstanceKey
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev190405.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafi
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafiBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.afi.safi.list.AfiSafiKey
@@ -48,12 +43,7 @@ open class NeighborAfiSafiReader(private val access: UnderlayAccess) :
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
         val neighborKey = id.firstKeyOf(Neighbor::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-            .checkedGet()
-            .orNull()
-
-        return parseAfiSafis(data, vrfKey, neighborKey)
+        return BgpNeighborIndex.read(access, readContext, protKey).afiSafiKeys(vrfKey, neighborKey)
     }
 
     override fun merge(builder: Builder<out DataObject>, list: List<AfiSafi>) {
@@ -74,26 +64,7 @@ open class NeighborAfiSafiReader(private val access: UnderlayAccess) :
     override fun getBuilder(instanceIdentifier: InstanceIdentifier<AfiSafi>) = AfiSafiBuilder()
 
     companion object {
-        fun parseAfiSafis(data: Instance?, vrfKey: NetworkInstanceKey, neighborKey: NeighborKey): List<AfiSafiKey> {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(data)
-
-            val afs = if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                NeighborConfigReader.getNeighbor(fourByteAs, neighborKey)
-                    ?.neighborAfs
-                    ?.neighborAf.orEmpty()
-                    .map { it.afName }
-            } else {
-                NeighborConfigReader.getVrfNeighbor(fourByteAs, vrfKey, neighborKey)
-                    ?.vrfNeighborAfs
-                    ?.vrfNeighborAf.orEmpty()
-                    .map { it.afName }
-            }
-
-            return afs
-                .map { it.toOpenconfig() }
-                .filterNotNull()
-                .map { AfiSafiKey(it) }
-                .toList()
-        }
+        fun parseAfiSafis(data: Instance?, vrfKey: NetworkInstanceKey, neighborKey: NeighborKey): List<AfiSafiKey> =
+            BgpNeighborIndex(data).afiSafiKeys(vrfKey, neighborKey)
     }
 }
\ No newline at end of file
@@ -18,15 +18,11 @@ package io.frinx.unitopo.unit.xr7.bgp.handler.neighbor
 
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigListReaderCustomizer
-import io.frinx.openconfig.network.instance.NetworInstance
 import io.frinx.unitopo.registry.spi.UnderlayAccess
 import io.frinx.unitopo.unit.xr7.bgp.UnderlayNeighbor
-import io.frinx.unitopo.unit.xr7.bgp.handler.BgpProtocolReader
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.Instance
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.InstanceKey
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.instance.instance.`as`.FourByteAs
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.instance.instance.`as`.four._byte.`as`.vrfs.vrf.vrf.neighbors.VrfNeighbor
-import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev190405.CiscoIosXrString
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.Neighbor
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborBuilder
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
@@ -50,12 +46,7 @@ open class NeighborReader(private val access: UnderlayAccess) :
         val protKey = id.firstKeyOf<Protocol, ProtocolKey>(Protocol::class.java)
         val vrfKey = id.firstKeyOf(NetworkInstance::class.java)
 
-        val data = access.read(BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java,
-            InstanceKey(CiscoIosXrString(protKey.name))))
-            .checkedGet()
-            .orNull()
-
-        return parseNeighbors(data, vrfKey)
+        return BgpNeighborIndex.read(access, readContext, protKey).neighborKeys(vrfKey)
     }
 
     override fun merge(builder: Builder<out DataObject>, list: List<Neighbor>) {
@@ -73,23 +64,8 @@ open class NeighborReader(private val access: UnderlayAccess) :
     override fun getBuilder(instanceIdentifier: InstanceIdentifier<Neighbor>) = NeighborBuilder()
 
     companion object {
-        fun parseNeighbors(data: Instance?, vrfKey: NetworkInstanceKey): List<NeighborKey> {
-            val fourByteAs = BgpProtocolReader.getFirst4ByteAs(data)
-
-            val neighbors = if (vrfKey == NetworInstance.DEFAULT_NETWORK) {
-                getNeighbors(fourByteAs)
-                    .map { it.neighborAddress }
-            } else {
-                getVrfNeighbors(fourByteAs, vrfKey)
-                    .map { it.neighborAddress }
-            }
-
-            return neighbors
-                .map { it.toIp() }
-                .filterNotNull()
-                .map { NeighborKey(it) }
-                .toList()
-        }
+        fun parseNeighbors(data: Instance?, vrfKey: NetworkInstanceKey): List<NeighborKey> =
+            BgpNeighborIndex(data).neighborKeys(vrfKey)
 
         fun getVrfNeighbors(fourByteAs: FourByteAs?, vrfKey: NetworkInstanceKey): List<VrfNeighbor> {
             return fourByteAs
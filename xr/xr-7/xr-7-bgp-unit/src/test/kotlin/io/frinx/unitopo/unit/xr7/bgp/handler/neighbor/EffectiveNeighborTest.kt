@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2020 Frinx and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.frinx.unitopo.unit.xr7.bgp.handler.neighbor
+
+import io.frinx.openconfig.network.instance.NetworInstance
+import io.frinx.unitopo.unit.utils.AbstractNetconfHandlerTest
+import io.frinx.unitopo.unit.xr7.bgp.handler.BgpProtocolReader
+import org.junit.Assert
+import org.junit.Test
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.Instance
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.ipv4.bgp.cfg.rev190405.bgp.InstanceKey
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.xr.types.rev190405.CiscoIosXrString
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.rev170202.bgp.neighbor.list.NeighborKey
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.IPV4UNICAST
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.bgp.types.rev170202.L3VPNIPV4UNICAST
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.AsNumber
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.IpAddress
+import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.types.inet.rev170403.Ipv4Address
+
+class EffectiveNeighborTest : AbstractNetconfHandlerTest() {
+
+    private val index = BgpNeighborIndex(parseGetCfgResponse(getResourceAsString("/bgp-conf-peer-group-member.xml"),
+        BgpProtocolReader.UNDERLAY_BGP.child(Instance::class.java, InstanceKey(CiscoIosXrString("default")))))
+
+    @Test
+    fun testInheritedFromPeerGroup() {
+        val neighbor = index.effectiveNeighbor(NetworInstance.DEFAULT_NETWORK, neighborKey("10.0.0.1"))!!
+
+        Assert.assertEquals("PEERGR01", neighbor.peerGroup)
+        Assert.assertEquals(AsNumber(65100L), neighbor.peerAs)
+        Assert.assertEquals(setOf(IPV4UNICAST::class.java, L3VPNIPV4UNICAST::class.java), neighbor.afiSafis.keys)
+        Assert.assertEquals(EffectiveNeighborAf("POLICY-NEIGHBOR-IN", "POLICY-PEER-GROUP-OUT"),
+            neighbor.afiSafis[L3VPNIPV4UNICAST::class.java])
+        Assert.assertEquals(EffectiveNeighborAf(null, null), neighbor.afiSafis[IPV4UNICAST::class.java])
+    }
+
+    @Test
+    fun testOwnRemoteAsWins() {
+        val neighbor = index.effectiveNeighbor(NetworInstance.DEFAULT_NETWORK, neighborKey("10.0.0.2"))!!
+
+        Assert.assertEquals(AsNumber(65200L), neighbor.peerAs)
+        Assert.assertNull(index.effectiveNeighbor(NetworInstance.DEFAULT_NETWORK, neighborKey("10.0.0.3")))
+    }
+
+    private fun neighborKey(address: String) = NeighborKey(IpAddress(Ipv4Address(address)))
+}
\ No newline at end of file
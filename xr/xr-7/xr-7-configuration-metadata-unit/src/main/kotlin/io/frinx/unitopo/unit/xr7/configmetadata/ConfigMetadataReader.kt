@@ -27,6 +27,7 @@ import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.c
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev190405.config.manager.Global
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev190405.config.manager.global.ConfigCommit
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev190405.config.manager.global.config.commit.Commits
+import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.config.cfgmgr.exec.oper.rev190405.config.manager.global.config.commit.commits.Commit
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.configuration.metadata.rev180731.metadata.ConfigurationMetadata
 import org.opendaylight.yang.gen.v1.http.frinx.openconfig.net.yang.configuration.metadata.rev180731.metadata.ConfigurationMetadataBuilder
 import org.opendaylight.yangtools.concepts.Builder
@@ -47,24 +48,7 @@ class ConfigMetadataReader(private val underlayAccess: UnderlayAccess) :
         configmetadata: ConfigurationMetadataBuilder,
         ctx: ReadContext
     ) {
-        getCommitHistory(0).orNull()
-            ?.commit.orEmpty()
-            .maxBy { parseDateFormat(it.timestamp) }
-            ?.let { configmetadata.lastConfigurationFingerprint = it.timestamp }
-    }
-
-    private fun getCommitHistory(attempts: Int): Optional<Commits> {
-        val future = underlayAccess.read(COMMITS_IID, LogicalDatastoreType.OPERATIONAL)
-        return try {
-            future.checkedGet()
-        } catch (e: ReadFailedException) {
-            val updatedAttempts = attempts + 1
-            if (updatedAttempts >= MAX_READ_METADATA_ATTEMPTS) {
-                throw e
-            }
-            LOG.warn("Cannot read commit records from device (attempt {}), trying again.", updatedAttempts, e)
-            getCommitHistory(updatedAttempts)
-        }
+        readFingerprint(underlayAccess)?.let { configmetadata.lastConfigurationFingerprint = it }
     }
 
     override fun merge(
@@ -88,5 +72,31 @@ class ConfigMetadataReader(private val underlayAccess: UnderlayAccess) :
 
         private fun parseDateFormat(timestamp: String): Date =
             DATE_FORMAT.parse(timestamp)
+
+        /**
+         * Timestamp and id of the newest commit on the device, e.g. `Thu Nov  1 19:54:22 2018 1000000013`, null if
+         * there is no commit. Commits of the same second are told apart by the commit id, which grows with every
+         * commit.
+         */
+        fun readFingerprint(underlayAccess: UnderlayAccess): String? =
+            readCommitHistory(underlayAccess).orNull()
+                ?.commit.orEmpty()
+                .maxWith(compareBy<Commit>({ parseDateFormat(it.timestamp) }, { it.commitId?.toLongOrNull() }))
+                ?.let { listOfNotNull(it.timestamp, it.commitId).joinToString(" ") }
+
+        private fun readCommitHistory(underlayAccess: UnderlayAccess): Optional<Commits> {
+            var attempt = 1
+            while (true) {
+                try {
+                    return underlayAccess.read(COMMITS_IID, LogicalDatastoreType.OPERATIONAL).checkedGet()
+                } catch (e: ReadFailedException) {
+                    if (attempt >= MAX_READ_METADATA_ATTEMPTS) {
+                        throw e
+                    }
+                    LOG.warn("Cannot read commit records from device (attempt {}), trying again.", attempt, e)
+                    attempt++
+                }
+            }
+        }
     }
 }
\ No newline at end of file
@@ -56,6 +56,6 @@ class ConfigMetadataReaderTest : AbstractNetconfHandlerTest() {
     }
 
     companion object {
-        private const val EXPECTED_FINGERPRINT = "Thu Nov  1 19:54:22 2018"
+        private const val EXPECTED_FINGERPRINT = "Thu Nov  1 19:54:22 2018 1000000013"
     }
 }
\ No newline at end of file
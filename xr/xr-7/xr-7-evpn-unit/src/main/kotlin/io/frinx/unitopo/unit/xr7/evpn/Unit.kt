@@ -28,7 +28,9 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.evpn.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr7.evpn.handler.group.EvpnGroupListWriter
 import io.frinx.unitopo.unit.xr7.evpn.handler.group.coreifc.EvpnGroupCoreInterfaceConfigWriter
 import io.frinx.unitopo.unit.xr7.evpn.handler.ifc.EvpnInterfaceListWriter
@@ -77,8 +79,9 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlayAccess: UnderlayAccess) {
@@ -102,29 +105,29 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
-        rRegistry.add(GenericConfigReader(IIDs.EVPN, EvpnReader(underlayAccess)))
+        rRegistry.add(GenericConfigReader(IIDs.EVPN, scoped(EvpnReader(underlayAccess))))
         // groups
         rRegistry.addStructuralReader(IIDs.EV_GROUPS, GroupsBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.EV_GR_GROUP, EvpnGroupListReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.EV_GR_GROUP, scoped(EvpnGroupListReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.EV_GR_GR_COREINTERFACES, CoreInterfacesBuilder::class.java)
         rRegistry.subtreeAdd(
             setOf(
                 RWUtils.cutIdFromStart(IIDs.EV_GR_GR_CO_IN_CONFIG,
                     IID.create(CoreInterface::class.java))),
             GenericConfigListReader(IIDs.EV_GR_GR_CO_INTERFACE,
-                EvpnGroupCoreInterfaceListReader(underlayAccess)))
+                scoped(EvpnGroupCoreInterfaceListReader(underlayAccess))))
         // interfaces
         rRegistry.addStructuralReader(IIDs.EV_INTERFACES, InterfacesBuilder::class.java)
         rRegistry.subtreeAdd(
             setOf(RWUtils.cutIdFromStart(IIDs.EV_IN_IN_CONFIG,
                 IID.create(Interface::class.java))),
-            GenericConfigListReader(IIDs.EV_IN_INTERFACE, EvpnInterfaceListReader(underlayAccess)))
+            GenericConfigListReader(IIDs.EV_IN_INTERFACE, scoped(EvpnInterfaceListReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.EV_IN_IN_ETHERNETSEGMENT, EthernetSegmentBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.EV_IN_IN_ET_CONFIG,
-            EvpnEthernetSegmentConfigReader(underlayAccess)))
+            scoped(EvpnEthernetSegmentConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.EV_IN_IN_COREISOLATIONGROUP, CoreIsolationGroupBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.EV_IN_IN_CO_CONFIG,
-            EvpnCoreIsolationGroupConfigReader(underlayAccess)))
+            scoped(EvpnCoreIsolationGroupConfigReader(underlayAccess))))
     }
 
     override fun toString(): String = "Translate unit Cisco-IOS-XR-l2vpn-cfg@2019-04-05"
@@ -19,6 +19,8 @@ package io.frinx.unitopo.unit.xr7.evpn.handler.ifc.core.isolation.group
 import io.fd.honeycomb.translate.read.ReadContext
 import io.fd.honeycomb.translate.spi.read.ConfigReaderCustomizer
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.InterfaceIndex
+import io.frinx.unitopo.unit.utils.SnapshotIndexer
 import io.frinx.unitopo.unit.xr7.evpn.handler.group.EvpnGroupListReader
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType
 import org.opendaylight.yang.gen.v1.http.cisco.com.ns.yang.cisco.ios.xr.l2vpn.cfg.rev190405.evpn.evpn.tables.EvpnInterfaces
@@ -41,25 +43,26 @@ open class EvpnCoreIsolationGroupConfigReader(private val underlayAccess: Underl
         builder: ConfigBuilder,
         readContext: ReadContext
     ) {
-        var ifcName = id.firstKeyOf(Interface::class.java).name
+        val ifcName = id.firstKeyOf(Interface::class.java).name
         val underlayId = EvpnGroupListReader.EVPN_TABLES
             .child(EvpnInterfaces::class.java)
 
         underlayAccess.read(underlayId, LogicalDatastoreType.CONFIGURATION)
             .checkedGet()
             .orNull()
-            ?.let {
-                it.evpnInterface?.filter {
-                    it.interfaceName.value == ifcName
-                }?.get(0)?.let {
-                    builder.fromUnderlay(it)
-                }
-            }
+            ?.let { EVPN_IFC_INDEXER.indexOf(it)[ifcName] }
+            ?.let { builder.fromUnderlay(it) }
     }
 
     override fun merge(builder: Builder<out DataObject>, config: Config) {
         (builder as CoreIsolationGroupBuilder).config = config
     }
+
+    companion object {
+        private val EVPN_IFC_INDEXER = SnapshotIndexer<EvpnInterfaces, InterfaceIndex<EvpnInterface>> {
+            InterfaceIndex(it.evpnInterface.orEmpty()) { it.interfaceName.value }
+        }
+    }
 }
 
 fun ConfigBuilder.fromUnderlay(ifc: EvpnInterface) {
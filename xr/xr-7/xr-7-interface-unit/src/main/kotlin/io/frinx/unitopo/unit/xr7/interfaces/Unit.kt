@@ -27,8 +27,10 @@ import io.fd.honeycomb.translate.spi.builder.CustomizerAwareWriteRegistryBuilder
 import io.frinx.openconfig.openconfig.interfaces.IIDs
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
 import io.frinx.unitopo.unit.utils.NoopListWriter
 import io.frinx.unitopo.unit.utils.NoopWriter
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr7.init.Unit
 import io.frinx.unitopo.unit.xr7.interfaces.handler.InterfaceConfigReader
 import io.frinx.unitopo.unit.xr7.interfaces.handler.InterfaceConfigWriter
@@ -132,8 +134,9 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         wRegistry: CustomizerAwareWriteRegistryBuilder,
         underlayAccess: UnderlayAccess
     ) {
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlayAccess: UnderlayAccess) {
@@ -193,40 +196,40 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlayAccess: UnderlayAccess) {
         rRegistry.addStructuralReader(IIDs.INTERFACES, InterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, InterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, InterfaceConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_INTERFACE, scoped(InterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_CONFIG, scoped(InterfaceConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFCISCOSTATSAUG, IfCiscoStatsAugBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFCISCOSTATSAUG_STATISTICS, StatisticsBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_AUG_IFCISCOSTATSAUG_ST_CONFIG,
-            InterfaceStatisticsConfigReader(underlayAccess)))
+            scoped(InterfaceStatisticsConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IIDs.IN_IN_SUBINTERFACES, SubinterfacesBuilder::class.java)
-        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, SubinterfaceReader(underlayAccess)))
-        rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, SubinterfaceConfigReader(underlayAccess)))
+        rRegistry.add(GenericConfigListReader(IIDs.IN_IN_SU_SUBINTERFACE, scoped(SubinterfaceReader(underlayAccess))))
+        rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_CONFIG, scoped(SubinterfaceConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFDAMPAUG, IfDampAugBuilder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_IFDAMPAUG_DAMPING, DampingBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_AUG_IFDAMPAUG_DA_CONFIG,
-            InterfaceDampingConfigReader(underlayAccess)))
+            scoped(InterfaceDampingConfigReader(underlayAccess))))
         rRegistry.addStructuralReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOSTATSAUG, SubInt1Builder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOSTATSAUG_STATISTICS,
             StatisticsBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOSTATSAUG_ST_CONFIG,
-            SubinterfaceStatisticsConfigReader(underlayAccess)))
+            scoped(SubinterfaceStatisticsConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1, VlanAugBuilder::class.java)
         rRegistry.addStructuralReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_VLAN, VlanBuilder::class.java)
         rRegistry.add(GenericConfigReader(VlanIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_VL_CONFIG,
-            SubinterfaceVlanConfigReader(underlayAccess)))
+            scoped(SubinterfaceVlanConfigReader(underlayAccess))))
 
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1, Subinterface1Builder::class.java)
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IPV4, Ipv4Builder::class.java)
         rRegistry.addStructuralReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_ADDRESSES, AddressesBuilder::class.java)
         rRegistry.add(GenericConfigReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_CONFIG,
-            Ipv4MtuConfigReader(underlayAccess)))
+            scoped(Ipv4MtuConfigReader(underlayAccess))))
         rRegistry.add(GenericConfigListReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_ADDRESS,
-            Ipv4AddressReader(underlayAccess)))
+            scoped(Ipv4AddressReader(underlayAccess))))
         rRegistry.add(GenericConfigReader(IfIpIIDs.IN_IN_SU_SU_AUG_SUBINTERFACE1_IP_AD_AD_CONFIG,
-            Ipv4ConfigReader(underlayAccess)))
+            scoped(Ipv4ConfigReader(underlayAccess))))
 
         // if-ethernet
         rRegistry.addStructuralReader(IIDs.INTER_INTER_AUG_INTERFACE1, Interface1Builder::class.java)
@@ -235,14 +238,14 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
             RWUtils.cutIdFromStart(IIDs.INT_INT_ETH_CON_AUG_CONFIG1, IIDs.IN_IN_AUG_INTERFACE1_ET_CONFIG),
             RWUtils.cutIdFromStart(io.frinx.openconfig.openconfig.lacp.IIDs.IN_IN_ET_CO_AUG_CONFIG1,
                 IIDs.IN_IN_AUG_INTERFACE1_ET_CONFIG)),
-            GenericConfigReader(IIDs.IN_IN_AUG_INTERFACE1_ET_CONFIG, EthernetConfigReader(underlayAccess)))
+            GenericConfigReader(IIDs.IN_IN_AUG_INTERFACE1_ET_CONFIG, scoped(EthernetConfigReader(underlayAccess))))
 
         // if-aggregation
         rRegistry.addStructuralReader(IIDs.INT_INT_AUG_INTERFACE1, AggregateInterface1Builder::class.java)
         rRegistry.addStructuralReader(IIDs.IN_IN_AUG_INTERFACE1_AGGREGATION, AggregationBuilder::class.java)
         rRegistry.subtreeAdd(setOf(
                 RWUtils.cutIdFromStart(IIDs.IN_IN_AG_CO_AUG_IFLAGAUG, InstanceIdentifier.create(Config::class.java))),
-                GenericConfigReader(IIDs.IN_IN_AUG_INTERFACE1_AG_CONFIG, AggregateConfigReader(underlayAccess)))
+                GenericConfigReader(IIDs.IN_IN_AUG_INTERFACE1_AG_CONFIG, scoped(AggregateConfigReader(underlayAccess))))
 
         // hold-time(sub-interface)
         rRegistry.addStructuralReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOHOLDTIMEAUG,
@@ -250,7 +253,7 @@ class Unit(private val registry: TranslationUnitCollector) : Unit() {
         rRegistry.addStructuralReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOHOLDTIMEAUG_HOLDTIME,
             HoldTimeBuilder::class.java)
         rRegistry.add(GenericConfigReader(IIDs.IN_IN_SU_SU_AUG_IFSUBIFCISCOHOLDTIMEAUG_HO_CONFIG,
-            HoldTimeConfigReader(underlayAccess)))
+            scoped(HoldTimeConfigReader(underlayAccess))))
     }
 
     override fun toString(): String = "Translation unit of Cisco-IOS-XR-ifmgr-cfg@2019-04-05"
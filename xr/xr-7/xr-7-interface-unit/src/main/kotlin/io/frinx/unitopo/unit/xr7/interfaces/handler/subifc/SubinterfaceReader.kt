@@ -32,21 +32,19 @@ import org.opendaylight.yangtools.yang.binding.InstanceIdentifier
 class SubinterfaceReader(underlayAccess: UnderlayAccess) :
     AbstractSubinterfaceReader<InterfaceConfigurations>(underlayAccess) {
 
-    private val ifcReader = InterfaceReader(underlayAccess)
-
     override fun readIid(ifcName: String): InstanceIdentifier<InterfaceConfigurations> = InterfaceReader.IFC_CFGS
 
     override fun parseSubInterfaceIds(data: InterfaceConfigurations, ifcName: String): List<SubinterfaceKey> {
-        val subIfcKeys = ifcReader.getInterfaceIds()
-            .filter { Util.isSubinterface(it.name) }
-            .filter { it.name.startsWith(ifcName) }
-            .map { Util.getSubinterfaceKey(it.name) }
+        val index = Util.indexInterfaces(data)
+        val subIfcKeys = index.subinterfaces(ifcName)
+            .map { Util.getSubinterfaceKey(it.interfaceName.value) }
 
         val ipv4Keys = mutableListOf<AddressKey>()
-        InterfaceReader.readInterfaceCfg(underlayAccess, ifcName) { Ipv4AddressReader.extractAddresses(it, ipv4Keys) }
-
         val mtuKeys = mutableListOf<MtuKey>()
-        InterfaceReader.readInterfaceCfg(underlayAccess, ifcName) { extractMtus(it, mtuKeys) }
+        index[ifcName]?.let {
+            Ipv4AddressReader.extractAddresses(it, ipv4Keys)
+            extractMtus(it, mtuKeys)
+        }
 
         return if (ipv4Keys.isNotEmpty() || mtuKeys.isNotEmpty())
             subIfcKeys.plus(SubinterfaceKey(Util.ZERO_SUBINTERFACE_ID)) else
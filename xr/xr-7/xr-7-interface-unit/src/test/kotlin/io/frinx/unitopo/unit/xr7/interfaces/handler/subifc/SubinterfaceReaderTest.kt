@@ -65,4 +65,26 @@ class SubinterfaceReaderTest : AbstractNetconfHandlerTest() {
         target.readCurrentAttributes(IID_SUB_INTERFACE, builder, readContext)
         Assert.assertEquals(1L, builder.index)
     }
+
+    @Test
+    fun testGetAllIds() {
+        val id = InstanceIdentifier
+                .create(Interfaces::class.java)
+                .child(Interface::class.java, InterfaceKey("Bundle-Ether4001"))
+                .child(Subinterfaces::class.java)
+                .child(Subinterface::class.java)
+
+        Assert.assertEquals(listOf(SubinterfaceKey(10), SubinterfaceKey(20)), target.getAllIds(id, readContext))
+    }
+
+    @Test
+    fun testGetAllIdsIgnoresInterfacesWithSamePrefix() {
+        val id = InstanceIdentifier
+                .create(Interfaces::class.java)
+                .child(Interface::class.java, InterfaceKey("Bundle-Ether30"))
+                .child(Subinterfaces::class.java)
+                .child(Subinterface::class.java)
+
+        Assert.assertTrue(target.getAllIds(id, readContext).isEmpty())
+    }
 }
\ No newline at end of file
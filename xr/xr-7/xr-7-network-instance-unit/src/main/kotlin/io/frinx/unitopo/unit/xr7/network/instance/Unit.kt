@@ -25,6 +25,8 @@ import io.frinx.unitopo.ni.base.handler.vrf.ifc.VrfInterfaceConfigReader
 import io.frinx.unitopo.registry.api.TranslationUnitCollector
 import io.frinx.unitopo.registry.spi.TranslateUnit
 import io.frinx.unitopo.registry.spi.UnderlayAccess
+import io.frinx.unitopo.unit.utils.CachingUnderlayAccess
+import io.frinx.unitopo.unit.utils.ReadTransactionScope.scoped
 import io.frinx.unitopo.unit.xr7.network.instance.handler.pf.PolicyForwardingInterfaceConfigReader
 import io.frinx.unitopo.unit.xr7.network.instance.handler.pf.PolicyForwardingInterfaceConfigWriter
 import io.frinx.unitopo.unit.xr7.network.instance.handler.pf.PolicyForwardingInterfaceReader
@@ -85,8 +87,9 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     ) {
         rRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
         wRegistry.addCheckRegistry(ChecksMap.OPENCONFIG_REGISTRY)
-        provideReaders(rRegistry, underlayAccess)
-        provideWriters(wRegistry, underlayAccess)
+        val access = CachingUnderlayAccess.shared(underlayAccess)
+        provideReaders(rRegistry, access)
+        provideWriters(wRegistry, access)
     }
 
     private fun provideWriters(wRegistry: CustomizerAwareWriteRegistryBuilder, underlay: UnderlayAccess) {
@@ -114,16 +117,16 @@ class Unit(private val registry: TranslationUnitCollector) : TranslateUnit {
     }
 
     private fun provideReaders(rRegistry: CustomizerAwareReadRegistryBuilder, underlay: UnderlayAccess) {
-        rRegistry.add(IIDs.NE_NETWORKINSTANCE, NetworkInstanceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_CONFIG, NetworkInstanceConfigReader(underlay))
-        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, VrfInterfaceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, VrfInterfaceConfigReader())
+        rRegistry.add(IIDs.NE_NETWORKINSTANCE, scoped(NetworkInstanceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_CONFIG, scoped(NetworkInstanceConfigReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_IN_INTERFACE, scoped(VrfInterfaceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_IN_IN_CONFIG, scoped(VrfInterfaceConfigReader()))
         // PF
-        rRegistry.add(IIDs.NE_NE_PO_IN_INTERFACE, PolicyForwardingInterfaceReader(underlay))
-        rRegistry.add(IIDs.NE_NE_PO_IN_IN_CONFIG, PolicyForwardingInterfaceConfigReader(underlay))
-        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, ProtocolReader(underlay))
-        rRegistry.add(IIDs.NE_NE_PR_PR_LO_AGGREGATE, LocalAggregateReader(underlay))
-        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_LO_AG_CONFIG, LocalAggregateConfigReader(underlay),
+        rRegistry.add(IIDs.NE_NE_PO_IN_INTERFACE, scoped(PolicyForwardingInterfaceReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_PO_IN_IN_CONFIG, scoped(PolicyForwardingInterfaceConfigReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_PR_PROTOCOL, scoped(ProtocolReader(underlay)))
+        rRegistry.add(IIDs.NE_NE_PR_PR_LO_AGGREGATE, scoped(LocalAggregateReader(underlay)))
+        rRegistry.subtreeAdd(IIDs.NE_NE_PR_PR_LO_AG_CONFIG, scoped(LocalAggregateConfigReader(underlay)),
             setOf(RWUtils.cutIdFromStart(
                 IIDs.NE_NE_PR_PR_LO_AG_CO_AUG_NIPROTAGGAUG, IIDs.NE_NE_PR_PR_LO_AG_CONFIG))
             )